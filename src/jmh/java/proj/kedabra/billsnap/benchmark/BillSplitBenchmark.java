@@ -0,0 +1,73 @@
+package proj.kedabra.billsnap.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import proj.kedabra.billsnap.business.dto.BillSplitDTO;
+import proj.kedabra.billsnap.business.facade.impl.BillFacadeImpl;
+import proj.kedabra.billsnap.business.mapper.AccountMapper;
+import proj.kedabra.billsnap.business.mapper.BillMapper;
+import proj.kedabra.billsnap.business.mapper.ItemMapper;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.service.impl.CalculatePaymentServiceImpl;
+import proj.kedabra.billsnap.business.service.impl.CentsCalculatePaymentServiceImpl;
+
+/**
+ * Measures the full read path of a bill: mapping, subtotal, taxes, tip and the per-account split.
+ * Only the MapStruct mappers are wired through Spring; the services are not needed by {@code getBillSplitDTO}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BillSplitBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int items;
+
+    @Param({"2", "10", "50"})
+    private int accounts;
+
+    @Param({"0", "2", "5"})
+    private int taxes;
+
+    @Param({"big-decimal", "cents"})
+    private String engine;
+
+    private AnnotationConfigApplicationContext mapperContext;
+
+    private BillFacadeImpl billFacade;
+
+    private Bill bill;
+
+    @Setup
+    public void setUp() {
+        mapperContext = new AnnotationConfigApplicationContext("proj.kedabra.billsnap.business.mapper");
+        billFacade = new BillFacadeImpl(null, null,
+                mapperContext.getBean(BillMapper.class),
+                mapperContext.getBean(AccountMapper.class),
+                mapperContext.getBean(ItemMapper.class),
+                "cents".equals(engine) ? new CentsCalculatePaymentServiceImpl() : new CalculatePaymentServiceImpl(),
+                event -> { });
+        bill = SyntheticBillFactory.create(items, accounts, taxes);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mapperContext.close();
+    }
+
+    @Benchmark
+    public BillSplitDTO getBillSplitDTO() {
+        return billFacade.getBillSplitDTO(bill);
+    }
+}
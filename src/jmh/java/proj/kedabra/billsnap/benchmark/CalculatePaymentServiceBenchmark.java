@@ -0,0 +1,61 @@
+package proj.kedabra.billsnap.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.service.CalculatePaymentService;
+import proj.kedabra.billsnap.business.service.impl.CalculatePaymentServiceImpl;
+import proj.kedabra.billsnap.business.service.impl.CentsCalculatePaymentServiceImpl;
+
+/**
+ * Compares the BigDecimal and cents engines on the calculations made for every bill read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CalculatePaymentServiceBenchmark {
+
+    @Param({"1", "50", "500"})
+    private int items;
+
+    @Param({"2", "10", "50"})
+    private int accounts;
+
+    @Param({"0", "2", "5"})
+    private int taxes;
+
+    @Param({"big-decimal", "cents"})
+    private String engine;
+
+    private CalculatePaymentService calculatePaymentService;
+
+    private Bill bill;
+
+    @Setup
+    public void setUp() {
+        calculatePaymentService = "cents".equals(engine) ? new CentsCalculatePaymentServiceImpl() : new CalculatePaymentServiceImpl();
+        bill = SyntheticBillFactory.create(items, accounts, taxes);
+    }
+
+    @Benchmark
+    public BigDecimal calculateBalance() {
+        return calculatePaymentService.calculateBalance(bill);
+    }
+
+    @Benchmark
+    public Map<Account, BigDecimal> calculateAccountSubTotals() {
+        return calculatePaymentService.calculateAccountSubTotals(bill);
+    }
+}
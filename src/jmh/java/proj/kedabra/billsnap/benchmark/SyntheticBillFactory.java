@@ -0,0 +1,104 @@
+package proj.kedabra.billsnap.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.model.entities.AccountBill;
+import proj.kedabra.billsnap.business.model.entities.AccountItem;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.model.entities.Item;
+import proj.kedabra.billsnap.business.model.entities.Tax;
+import proj.kedabra.billsnap.business.utils.enums.AccountStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
+
+/**
+ * Builds detached {@link Bill} graphs shaped like the ones returned by the repositories, so the split math can be
+ * benchmarked without a database. A fixed seed keeps every run on the same data.
+ */
+public final class SyntheticBillFactory {
+
+    private static final long SEED = 42L;
+
+    private static final BigDecimal[] TAX_PERCENTAGES = {
+            new BigDecimal("5"), new BigDecimal("9.975"), new BigDecimal("13"), new BigDecimal("0.5"), new BigDecimal("2.25")
+    };
+
+    private SyntheticBillFactory() {}
+
+    public static Bill create(final int itemCount, final int accountCount, final int taxCount) {
+        final var random = new Random(SEED);
+
+        final List<Account> accounts = new ArrayList<>(accountCount);
+        for (int i = 0; i < accountCount; i++) {
+            final var account = new Account();
+            account.setId((long) i + 1);
+            account.setEmail("benchmark" + i + "@billsnap.com");
+            account.setFirstName("First" + i);
+            account.setLastName("Last" + i);
+            account.setStatus(AccountStatusEnum.REGISTERED);
+            accounts.add(account);
+        }
+
+        final var bill = new Bill();
+        bill.setId(1L);
+        bill.setName("benchmark bill");
+        bill.setStatus(BillStatusEnum.OPEN);
+        bill.setSplitBy(SplitByEnum.ITEM);
+        bill.setActive(true);
+        bill.setTipPercent(new BigDecimal("15"));
+        bill.setResponsible(accounts.get(0));
+        bill.setCreator(accounts.get(0));
+
+        accounts.forEach(account -> {
+            final var accountBill = new AccountBill();
+            accountBill.setAccount(account);
+            accountBill.setBill(bill);
+            accountBill.setPercentage(BigDecimal.ZERO);
+            accountBill.setStatus(InvitationStatusEnum.ACCEPTED);
+            accountBill.setAmountPaid(BigDecimal.ZERO);
+            bill.getAccounts().add(accountBill);
+            account.getBills().add(accountBill);
+        });
+
+        for (int i = 0; i < itemCount; i++) {
+            final var item = new Item();
+            item.setId((long) i + 1);
+            item.setName("item" + i);
+            item.setCost(BigDecimal.valueOf(100 + random.nextInt(10_000), 2));
+            item.setBill(bill);
+
+            // alternate between items owned by one account and items shared evenly by two
+            if (i % 2 == 0 || accountCount == 1) {
+                addAccountItem(item, accounts.get(i % accountCount), BigDecimal.valueOf(100));
+            } else {
+                addAccountItem(item, accounts.get(i % accountCount), BigDecimal.valueOf(50));
+                addAccountItem(item, accounts.get((i + 1) % accountCount), BigDecimal.valueOf(50));
+            }
+            bill.getItems().add(item);
+        }
+
+        for (int i = 0; i < taxCount; i++) {
+            final var tax = new Tax();
+            tax.setId((long) i + 1);
+            tax.setName("Tax " + i);
+            tax.setPercentage(TAX_PERCENTAGES[i % TAX_PERCENTAGES.length]);
+            tax.setBill(bill);
+            bill.getTaxes().add(tax);
+        }
+
+        return bill;
+    }
+
+    private static void addAccountItem(final Item item, final Account account, final BigDecimal percentage) {
+        final var accountItem = new AccountItem();
+        accountItem.setItem(item);
+        accountItem.setAccount(account);
+        accountItem.setPercentage(percentage);
+        item.getAccounts().add(accountItem);
+    }
+}
@@ -0,0 +1,120 @@
+package proj.kedabra.billsnap.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+import proj.kedabra.billsnap.business.dto.BillSplitDTO;
+import proj.kedabra.billsnap.business.facade.BillFacade;
+import proj.kedabra.billsnap.business.facade.impl.BillFacadeImpl;
+import proj.kedabra.billsnap.business.mapper.AccountMapper;
+import proj.kedabra.billsnap.business.mapper.BillMapper;
+import proj.kedabra.billsnap.business.mapper.ItemMapper;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.service.CalculatePaymentService;
+import proj.kedabra.billsnap.business.service.impl.CalculatePaymentServiceImpl;
+import proj.kedabra.billsnap.config.LogMethodInterceptor;
+import proj.kedabra.billsnap.config.TracingProperties;
+
+/**
+ * Compares the bill read path without tracing, with tracing below the enabled level, with unsampled calls and with
+ * every call traced. The {@code ALL} scope also traces the payment service, as the former pointcut on every method of
+ * the application did. Traces are formatted into events that a no-op appender drops, so only the cost of building them
+ * is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TracingBenchmark {
+
+    public enum Tracing {
+        OFF, LEVEL_OFF, UNSAMPLED, ON
+    }
+
+    public enum TracingScope {
+        FACADE, ALL
+    }
+
+    @Param({"OFF", "LEVEL_OFF", "UNSAMPLED", "ON"})
+    private Tracing tracing;
+
+    @Param({"FACADE", "ALL"})
+    private TracingScope scope;
+
+    @Param({"50"})
+    private int items;
+
+    private AnnotationConfigApplicationContext mapperContext;
+
+    private BillFacade billFacade;
+
+    private Bill bill;
+
+    @Setup
+    public void setUp() {
+        mapperContext = new AnnotationConfigApplicationContext("proj.kedabra.billsnap.business.mapper");
+        final var tracingProperties = new TracingProperties();
+        tracingProperties.setSampleRates(Map.of("BillFacadeImpl.getBillSplitDTO", tracing == Tracing.UNSAMPLED ? 0.0 : 1.0));
+        final var interceptor = new LogMethodInterceptor(tracingProperties, false);
+
+        final var logger = (Logger) LoggerFactory.getLogger(LogMethodInterceptor.class);
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.setLevel(tracing == Tracing.LEVEL_OFF ? Level.WARN : Level.INFO);
+        final var appender = new AppenderBase<ILoggingEvent>() {
+            @Override
+            protected void append(final ILoggingEvent event) {
+                event.getFormattedMessage();
+            }
+        };
+        appender.start();
+        logger.addAppender(appender);
+
+        CalculatePaymentService calculatePaymentService = new CalculatePaymentServiceImpl();
+        if (tracing != Tracing.OFF && scope == TracingScope.ALL) {
+            calculatePaymentService = proxy(calculatePaymentService, CalculatePaymentService.class, interceptor);
+        }
+        final BillFacade facade = new BillFacadeImpl(null, null,
+                mapperContext.getBean(BillMapper.class),
+                mapperContext.getBean(AccountMapper.class),
+                mapperContext.getBean(ItemMapper.class),
+                calculatePaymentService,
+                event -> { });
+        billFacade = tracing == Tracing.OFF ? facade : proxy(facade, BillFacade.class, interceptor);
+        bill = SyntheticBillFactory.create(items, 10, 2);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mapperContext.close();
+    }
+
+    @Benchmark
+    public BillSplitDTO getBillSplitDTO() {
+        return billFacade.getBillSplitDTO(bill);
+    }
+
+    private static <T> T proxy(final T target, final Class<T> type, final LogMethodInterceptor interceptor) {
+        final var proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(type);
+        proxyFactory.addAdvice(interceptor);
+        return type.cast(proxyFactory.getProxy());
+    }
+}
@@ -1,6 +1,9 @@
 package proj.kedabra.billsnap;
 
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -11,7 +14,9 @@ import proj.kedabra.billsnap.business.exception.AccessForbiddenException;
 import proj.kedabra.billsnap.business.exception.FieldValidationException;
 import proj.kedabra.billsnap.business.exception.FunctionalWorkflowException;
 import proj.kedabra.billsnap.business.exception.ResourceNotFoundException;
+import proj.kedabra.billsnap.business.exception.TooManyConnectionsException;
 import proj.kedabra.billsnap.presentation.ApiError;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
 
 @RestControllerAdvice
 public class BillSnapExceptionHandler extends ResponseEntityExceptionHandler {
@@ -54,6 +59,22 @@ public class BillSnapExceptionHandler extends ResponseEntityExceptionHandler {
         return new ApiError(HttpStatus.METHOD_NOT_ALLOWED, ex.getMessage());
     }
 
+    /**
+     * The event stream only produces text/event-stream, so the content type is set for the error to be written.
+     */
+    @ExceptionHandler(TooManyConnectionsException.class)
+    protected ResponseEntity<ApiError> handleTooManyConnections(final TooManyConnectionsException ex) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ApiError(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage()));
+    }
+
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    protected ApiError handleConcurrencyFailure(final ConcurrencyFailureException ex) {
+        return new ApiError(HttpStatus.CONFLICT, ErrorMessageEnum.CONCURRENT_MODIFICATION.getMessage());
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     protected ApiError handleUnknownException(final Exception ex) {
@@ -0,0 +1,13 @@
+package proj.kedabra.billsnap.business.dto;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+@Data
+public class AccountPercentageDTO {
+
+    private String email;
+
+    private BigDecimal percentage;
+}
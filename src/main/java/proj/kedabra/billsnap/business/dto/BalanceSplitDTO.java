@@ -0,0 +1,14 @@
+package proj.kedabra.billsnap.business.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class BalanceSplitDTO {
+
+    private Long id;
+
+    private List<AccountPercentageDTO> accounts = new ArrayList<>();
+}
@@ -43,4 +43,8 @@ public class BillCompleteDTO {
 
     private BigDecimal balance;
 
+    private Integer occurrence;
+
+    private ZonedDateTime nextOccurrence;
+
 }
@@ -0,0 +1,24 @@
+package proj.kedabra.billsnap.business.dto;
+
+import java.time.ZonedDateTime;
+
+import lombok.Data;
+
+import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
+
+/**
+ * The sort keys of the last bill of a page. The next page starts right after it.
+ */
+@Data
+public class BillCursorDTO {
+
+    private ZonedDateTime created;
+
+    private BillStatusEnum status;
+
+    private String category;
+
+    private String name;
+
+    private Long id;
+}
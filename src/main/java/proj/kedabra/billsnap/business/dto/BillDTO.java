@@ -6,6 +6,8 @@ import java.util.List;
 
 import lombok.Data;
 
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
+
 @Data
 public class BillDTO {
 
@@ -26,4 +28,8 @@ public class BillDTO {
     private BigDecimal tipPercent;
 
     private List<TaxDTO> taxes = new ArrayList<>();
+
+    private SplitByEnum splitBy;
+
+    private Integer occurrence;
 }
@@ -0,0 +1,13 @@
+package proj.kedabra.billsnap.business.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BillImportErrorDTO {
+
+    private long row;
+
+    private String message;
+}
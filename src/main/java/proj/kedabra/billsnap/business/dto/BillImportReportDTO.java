@@ -0,0 +1,21 @@
+package proj.kedabra.billsnap.business.dto;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import lombok.Data;
+
+@Data
+public class BillImportReportDTO {
+
+    private int imported;
+
+    private List<BillImportErrorDTO> errors = new ArrayList<>();
+
+    /**
+     * Emails of the accounts taking part in the imported bills, whose caches are out of date.
+     */
+    private Set<String> participantEmails = new HashSet<>();
+}
@@ -0,0 +1,22 @@
+package proj.kedabra.billsnap.business.dto;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+@Data
+public class BillTotalsMismatchDTO {
+
+    private Long billId;
+
+    /**
+     * Null for the totals of the bill itself.
+     */
+    private Long accountId;
+
+    private String total;
+
+    private BigDecimal stored;
+
+    private BigDecimal computed;
+}
@@ -0,0 +1,21 @@
+package proj.kedabra.billsnap.business.dto;
+
+import java.time.ZonedDateTime;
+
+import lombok.Data;
+
+/**
+ * Changes whenever the bills it was read for change, or any participation in them. Versions only ever grow, so their
+ * sums do as well.
+ */
+@Data
+public class BillVersionDTO {
+
+    private ZonedDateTime updated;
+
+    private Long accountBills;
+
+    private Long version;
+
+    private Long accountsVersion;
+}
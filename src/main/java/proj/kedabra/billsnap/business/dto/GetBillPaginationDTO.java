@@ -31,6 +31,8 @@ public class GetBillPaginationDTO {
 
     private Pageable pageable;
 
+    private BillCursorDTO cursor;
+
     public void setStartDate(LocalDate startDate) {
         this.startDate = startDate.atStartOfDay().atZone(ZoneId.systemDefault());
     }
@@ -0,0 +1,19 @@
+package proj.kedabra.billsnap.business.dto;
+
+import java.math.BigDecimal;
+
+import lombok.Data;
+
+@Data
+public class GroupBalanceDTO {
+
+    private String email;
+
+    private Long bills;
+
+    private BigDecimal totalOwed;
+
+    private BigDecimal amountPaid;
+
+    private BigDecimal amountRemaining;
+}
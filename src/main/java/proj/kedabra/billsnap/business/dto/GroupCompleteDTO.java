@@ -0,0 +1,23 @@
+package proj.kedabra.billsnap.business.dto;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class GroupCompleteDTO {
+
+    private Long id;
+
+    private String name;
+
+    private Boolean approvalOption;
+
+    private ZonedDateTime created;
+
+    private ZonedDateTime updated;
+
+    private List<GroupMemberDTO> members = new ArrayList<>();
+}
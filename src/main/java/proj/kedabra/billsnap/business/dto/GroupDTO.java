@@ -0,0 +1,16 @@
+package proj.kedabra.billsnap.business.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class GroupDTO {
+
+    private String name;
+
+    private Boolean approvalOption;
+
+    private List<String> accounts = new ArrayList<>();
+}
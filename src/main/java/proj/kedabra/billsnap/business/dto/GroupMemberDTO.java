@@ -0,0 +1,17 @@
+package proj.kedabra.billsnap.business.dto;
+
+import lombok.Data;
+
+import proj.kedabra.billsnap.business.utils.enums.GroupRoleEnum;
+
+@Data
+public class GroupMemberDTO {
+
+    private String email;
+
+    private String firstName;
+
+    private String lastName;
+
+    private GroupRoleEnum role;
+}
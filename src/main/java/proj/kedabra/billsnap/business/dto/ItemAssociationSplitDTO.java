@@ -16,6 +16,11 @@ public class ItemAssociationSplitDTO {
 
     private List<ItemPercentageSplitDTO> items = new ArrayList<>();
 
+    /**
+     * Percentage of the balance owed by the account, only when the bill is split by balance.
+     */
+    private BigDecimal percentage;
+
     private BigDecimal subTotal = BigDecimal.ZERO;
 
     private BigDecimal tip = BigDecimal.ZERO;
@@ -0,0 +1,20 @@
+package proj.kedabra.billsnap.business.dto;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import lombok.Data;
+
+@Data
+public class RecurrenceCopyDTO {
+
+    /**
+     * Bills copied, leaving out the ones claimed again by another node.
+     */
+    private int copied;
+
+    /**
+     * Emails of the participants of the copies.
+     */
+    private Set<String> participantEmails = new HashSet<>();
+}
@@ -0,0 +1,28 @@
+package proj.kedabra.billsnap.business.dto;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+import lombok.Data;
+
+import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
+
+@Data
+public class ShortBillDTO {
+
+    private Long id;
+
+    private String name;
+
+    private AccountDTO responsible;
+
+    private BillStatusEnum status;
+
+    private String category;
+
+    private ZonedDateTime created;
+
+    private BigDecimal balance;
+
+    private BigDecimal amountOwed;
+}
@@ -0,0 +1,13 @@
+package proj.kedabra.billsnap.business.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class ShortBillPageDTO {
+
+    private List<ShortBillDTO> shortBills;
+
+    private BillCursorDTO nextCursor;
+}
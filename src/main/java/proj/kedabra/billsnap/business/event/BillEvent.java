@@ -0,0 +1,24 @@
+package proj.kedabra.billsnap.business.event;
+
+import java.util.Collection;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.utils.enums.BillEventTypeEnum;
+
+/**
+ * Published when a bill changes in a way its participants should see. The recipients are resolved when the event is
+ * published; the bill is only read for its id and name, which a new bill only has once the transaction is flushed.
+ */
+@Getter
+@AllArgsConstructor
+public class BillEvent {
+
+    private final BillEventTypeEnum type;
+
+    private final Bill bill;
+
+    private final Collection<String> emails;
+}
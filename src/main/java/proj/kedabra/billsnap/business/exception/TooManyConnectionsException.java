@@ -0,0 +1,11 @@
+package proj.kedabra.billsnap.business.exception;
+
+import lombok.Getter;
+
+@Getter
+public class TooManyConnectionsException extends BillSnapException {
+
+    public TooManyConnectionsException(final String message) {
+        super(message);
+    }
+}
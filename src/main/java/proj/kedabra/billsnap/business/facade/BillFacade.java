@@ -1,13 +1,18 @@
 package proj.kedabra.billsnap.business.facade;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 import proj.kedabra.billsnap.business.dto.AssociateBillDTO;
+import proj.kedabra.billsnap.business.dto.BalanceSplitDTO;
 import proj.kedabra.billsnap.business.dto.BillCompleteDTO;
 import proj.kedabra.billsnap.business.dto.BillDTO;
 import proj.kedabra.billsnap.business.dto.BillSplitDTO;
+import proj.kedabra.billsnap.business.dto.BillVersionDTO;
 import proj.kedabra.billsnap.business.dto.EditBillDTO;
 import proj.kedabra.billsnap.business.dto.GetBillPaginationDTO;
+import proj.kedabra.billsnap.business.dto.ShortBillDTO;
+import proj.kedabra.billsnap.business.dto.ShortBillPageDTO;
 import proj.kedabra.billsnap.business.model.entities.Bill;
 
 public interface BillFacade {
@@ -16,12 +21,28 @@ public interface BillFacade {
 
     List<BillSplitDTO> getAllBillsByEmailPageable(GetBillPaginationDTO dto);
 
+    void exportBillsByEmail(GetBillPaginationDTO dto, Consumer<BillSplitDTO> writer);
+
+    List<ShortBillDTO> getShortBillsByEmailPageable(GetBillPaginationDTO dto);
+
+    ShortBillPageDTO getShortBillsByEmailAfterCursor(GetBillPaginationDTO dto);
+
     BillSplitDTO associateAccountsToBill(AssociateBillDTO associateBillDTO);
 
+    BillSplitDTO setBalancePercentages(BalanceSplitDTO balanceSplitDTO);
+
     BillSplitDTO inviteRegisteredToBill(Long billId, List<String> accounts);
 
+    BillSplitDTO inviteGroupToBill(Long billId, Long groupId, String email);
+
     BillSplitDTO getDetailedBill(Long billId);
 
+    List<String> getParticipantEmails(Long billId);
+
+    BillVersionDTO getBillVersion(Long billId);
+
+    BillVersionDTO getBillsVersion(String email);
+
     BillSplitDTO startBill(Long billId);
 
     BillSplitDTO getBillSplitDTO(Bill bill);
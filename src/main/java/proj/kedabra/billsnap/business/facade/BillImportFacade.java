@@ -0,0 +1,11 @@
+package proj.kedabra.billsnap.business.facade;
+
+import java.util.Iterator;
+
+import proj.kedabra.billsnap.business.dto.BillImportDTO;
+import proj.kedabra.billsnap.business.dto.BillImportReportDTO;
+
+public interface BillImportFacade {
+
+    BillImportReportDTO importBills(String email, Iterator<BillImportDTO> bills);
+}
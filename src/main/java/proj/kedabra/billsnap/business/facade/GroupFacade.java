@@ -0,0 +1,22 @@
+package proj.kedabra.billsnap.business.facade;
+
+import java.util.List;
+
+import proj.kedabra.billsnap.business.dto.GroupBalanceDTO;
+import proj.kedabra.billsnap.business.dto.GroupCompleteDTO;
+import proj.kedabra.billsnap.business.dto.GroupDTO;
+
+public interface GroupFacade {
+
+    GroupCompleteDTO createGroup(String email, GroupDTO groupDTO);
+
+    List<GroupCompleteDTO> getGroups(String email);
+
+    GroupCompleteDTO getGroup(Long groupId, String email);
+
+    GroupCompleteDTO editGroup(Long groupId, String email, GroupDTO groupDTO);
+
+    void deleteGroup(Long groupId, String email);
+
+    List<GroupBalanceDTO> getGroupBalances(Long groupId, String email);
+}
@@ -33,6 +33,7 @@ public class AccountFacadeImpl implements AccountFacade {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public AccountDTO getAccount(String email) {
         return accountMapper.toDTO(accountService.getAccount(email));
     }
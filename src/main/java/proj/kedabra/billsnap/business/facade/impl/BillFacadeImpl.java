@@ -5,22 +5,34 @@ import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import proj.kedabra.billsnap.business.dto.AssociateBillDTO;
+import proj.kedabra.billsnap.business.dto.BalanceSplitDTO;
 import proj.kedabra.billsnap.business.dto.BillCompleteDTO;
+import proj.kedabra.billsnap.business.dto.BillCursorDTO;
 import proj.kedabra.billsnap.business.dto.BillDTO;
 import proj.kedabra.billsnap.business.dto.BillSplitDTO;
+import proj.kedabra.billsnap.business.dto.BillVersionDTO;
 import proj.kedabra.billsnap.business.dto.DetailedAccountBillInformation;
 import proj.kedabra.billsnap.business.dto.EditBillDTO;
 import proj.kedabra.billsnap.business.dto.GetBillPaginationDTO;
 import proj.kedabra.billsnap.business.dto.ItemAssociationSplitDTO;
 import proj.kedabra.billsnap.business.dto.ItemPercentageSplitDTO;
+import proj.kedabra.billsnap.business.dto.ShortBillDTO;
+import proj.kedabra.billsnap.business.dto.ShortBillPageDTO;
+import proj.kedabra.billsnap.business.event.BillEvent;
 import proj.kedabra.billsnap.business.facade.BillFacade;
 import proj.kedabra.billsnap.business.mapper.AccountMapper;
 import proj.kedabra.billsnap.business.mapper.BillMapper;
@@ -30,18 +42,24 @@ import proj.kedabra.billsnap.business.model.entities.AccountBill;
 import proj.kedabra.billsnap.business.model.entities.AccountItem;
 import proj.kedabra.billsnap.business.model.entities.Bill;
 import proj.kedabra.billsnap.business.model.entities.Item;
+import proj.kedabra.billsnap.business.model.entities.Tax;
+import proj.kedabra.billsnap.business.model.projections.BillCost;
+import proj.kedabra.billsnap.business.model.projections.ShortBill;
 import proj.kedabra.billsnap.business.service.AccountService;
 import proj.kedabra.billsnap.business.service.BillService;
 import proj.kedabra.billsnap.business.service.CalculatePaymentService;
+import proj.kedabra.billsnap.business.service.GroupService;
+import proj.kedabra.billsnap.business.utils.enums.BillEventTypeEnum;
 import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.GroupRoleEnum;
 import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
 import proj.kedabra.billsnap.utils.ErrorMessageEnum;
 import proj.kedabra.billsnap.utils.tuples.AccountStatusPair;
 
 @Service
 public class BillFacadeImpl implements BillFacade {
 
-    private static final BigDecimal PERCENTAGE_DIVISOR = BigDecimal.valueOf(100);
 
     private static final String ITEM_PERCENTAGES_MUST_ADD_TO_100 = "The percentage split for this item must add up to 100: {%s, Percentage: %s}";
 
@@ -57,15 +75,22 @@ public class BillFacadeImpl implements BillFacade {
 
     private final CalculatePaymentService calculatePaymentService;
 
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final GroupService groupService;
+
 
     @Autowired
-    public BillFacadeImpl(final BillService billService, final AccountService accountService, final BillMapper billMapper, final AccountMapper accountMapper, final ItemMapper itemMapper, final CalculatePaymentService calculatePaymentService) {
+    public BillFacadeImpl(final BillService billService, final AccountService accountService, final BillMapper billMapper, final AccountMapper accountMapper, final ItemMapper itemMapper,
+                          final CalculatePaymentService calculatePaymentService, final ApplicationEventPublisher eventPublisher, final GroupService groupService) {
         this.billService = billService;
         this.accountService = accountService;
         this.billMapper = billMapper;
         this.accountMapper = accountMapper;
         this.itemMapper = itemMapper;
         this.calculatePaymentService = calculatePaymentService;
+        this.eventPublisher = eventPublisher;
+        this.groupService = groupService;
     }
 
     @Override
@@ -85,16 +110,59 @@ public class BillFacadeImpl implements BillFacade {
         return billService.getAllBillsByAccountPageable(dto).map(this::getBillSplitDTO).collect(Collectors.toList());
     }
 
+    /**
+     * Writes the split of every bill of the account as soon as it is computed, all within one read-only transaction,
+     * instead of collecting the splits like {@link #getAllBillsByEmailPageable} does.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportBillsByEmail(final GetBillPaginationDTO dto, final Consumer<BillSplitDTO> writer) {
+        billService.forEachBillByAccount(dto, bill -> writer.accept(getBillSplitDTO(bill)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ShortBillDTO> getShortBillsByEmailPageable(final GetBillPaginationDTO dto) {
+        return getShortBillDTOs(billService.getShortBillsByAccountPageable(dto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ShortBillPageDTO getShortBillsByEmailAfterCursor(final GetBillPaginationDTO dto) {
+        final List<ShortBill> shortBills = billService.getShortBillsByAccountAfterCursor(dto);
+
+        final var shortBillPageDTO = new ShortBillPageDTO();
+        shortBillPageDTO.setShortBills(getShortBillDTOs(shortBills));
+        if (shortBills.size() == dto.getPageable().getPageSize()) {
+            shortBillPageDTO.setNextCursor(getCursor(shortBills.get(shortBills.size() - 1)));
+        }
+
+        return shortBillPageDTO;
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public BillSplitDTO associateAccountsToBill(final AssociateBillDTO associateBillDTO) {
         final var bill = billService.getBill(associateBillDTO.getId());
         billService.verifyBillStatus(bill, BillStatusEnum.OPEN);
         final Bill associatedBill = billService.associateItemsToAccountBill(associateBillDTO);
+        publishBillUpdated(associatedBill);
 
         return getBillSplitDTO(associatedBill);
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public BillSplitDTO setBalancePercentages(final BalanceSplitDTO balanceSplitDTO) {
+        final var bill = billService.getBill(balanceSplitDTO.getId());
+        billService.verifyBillStatus(bill, BillStatusEnum.OPEN);
+
+        final Bill splitBill = billService.setBalancePercentages(balanceSplitDTO);
+        publishBillUpdated(splitBill);
+
+        return getBillSplitDTO(splitBill);
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public BillSplitDTO inviteRegisteredToBill(final Long billId, final List<String> accounts) {
@@ -111,30 +179,79 @@ public class BillFacadeImpl implements BillFacade {
         }
 
         billService.inviteRegisteredToBill(bill, accountsList);
-
+        publishBillUpdated(bill);
 
         return getBillSplitDTO(bill);
     }
 
+    /**
+     * Invites the members of the group not yet part of the bill. They are resolved in one query and their invitations
+     * are inserted in JDBC batches on flush, whatever the size of the group.
+     */
     @Override
     @Transactional(rollbackFor = Exception.class)
+    public BillSplitDTO inviteGroupToBill(final Long billId, final Long groupId, final String email) {
+        final var bill = billService.getBill(billId);
+        billService.verifyBillStatus(bill, BillStatusEnum.OPEN);
+        final var group = groupService.getGroup(groupId);
+        groupService.verifyRole(group, email, GroupRoleEnum.MEMBER);
+
+        final List<Account> members = groupService.getMembersNotInBill(group, bill);
+        if (!members.isEmpty()) {
+            billService.inviteRegisteredToBill(bill, members);
+            publishBillUpdated(bill);
+        }
+        groupService.linkBill(group, bill);
+
+        return getBillSplitDTO(bill);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public BillSplitDTO getDetailedBill(final Long billId) {
         return getBillSplitDTO(billService.getBill(billId));
     }
 
     @Override
+    public List<String> getParticipantEmails(final Long billId) {
+        return billService.getParticipantEmails(billId);
+    }
+
+    @Override
+    public BillVersionDTO getBillVersion(final Long billId) {
+        return billMapper.toDTO(billService.getBillVersion(billId));
+    }
+
+    @Override
+    public BillVersionDTO getBillsVersion(final String email) {
+        return billMapper.toDTO(billService.getBillsVersion(email));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
     public BillSplitDTO startBill(Long billId) {
         final Bill bill = billService.startBill(billId);
+        publishBillUpdated(bill);
         return getBillSplitDTO(bill);
     }
 
     @Override
+    @Transactional(rollbackFor = Exception.class)
     public BillSplitDTO editBill(final Long billId, final String email, final EditBillDTO editBill) {
         final var account = accountService.getAccount(email);
         final Bill bill = billService.editBill(billId, account, editBill);
+        publishBillUpdated(bill);
         return getBillSplitDTO(bill);
     }
 
+    /**
+     * Tells every participant of the bill, invited ones included, to fetch it again once the change commits.
+     */
+    private void publishBillUpdated(final Bill bill) {
+        final List<String> emails = bill.getAccounts().stream().map(AccountBill::getAccount).map(Account::getEmail).collect(Collectors.toList());
+        eventPublisher.publishEvent(new BillEvent(BillEventTypeEnum.BILL_UPDATED, bill, emails));
+    }
+
     private BillCompleteDTO getBillCompleteDTO(Bill bill) {
         final BillCompleteDTO billCompleteDTO = billMapper.toBillCompleteDTO(bill);
 
@@ -160,18 +277,22 @@ public class BillFacadeImpl implements BillFacade {
         billSplitDTO.setTotalTip(totalTip);
         billSplitDTO.setBalance(balance);
 
-        mapAccountSubTotalCostIntoBillSplitDTO(bill, billSplitDTO);
-
-        billSplitDTO.getInformationPerAccount()
-                .stream()
-                .filter(information -> BigDecimal.ZERO.compareTo(information.getSubTotal()) < 0)
-                .forEach(item -> {
-                    item.setTaxes(calculatePaymentService.calculateTaxes(item.getSubTotal(), bill.getTaxes()));
-                    final var accountTip = item.getSubTotal().divide(billSubTotal, RoundingMode.HALF_UP).multiply(totalTip).setScale(CalculatePaymentService.DOLLAR_SCALE, RoundingMode.HALF_UP);
-                    item.setTip(accountTip);
-                    final var total = item.getSubTotal().add(item.getTaxes()).add(item.getTip());
-                    item.setAmountRemaining(calculatePaymentService.calculateAmountRemaining(total, Optional.ofNullable(item.getAmountPaid()).orElse(BigDecimal.ZERO)));
-                });
+        if (bill.getSplitBy() == SplitByEnum.BALANCE) {
+            mapBalanceSharesIntoBillSplitDTO(bill, billSplitDTO);
+        } else {
+            mapAccountSubTotalCostIntoBillSplitDTO(bill, billSplitDTO);
+
+            billSplitDTO.getInformationPerAccount()
+                    .stream()
+                    .filter(information -> BigDecimal.ZERO.compareTo(information.getSubTotal()) < 0)
+                    .forEach(item -> {
+                        item.setTaxes(calculatePaymentService.calculateTaxes(item.getSubTotal(), bill.getTaxes()));
+                        final var accountTip = calculatePaymentService.calculateAccountTip(item.getSubTotal(), billSubTotal, totalTip);
+                        item.setTip(accountTip);
+                        final var total = item.getSubTotal().add(item.getTaxes()).add(item.getTip());
+                        item.setAmountRemaining(calculatePaymentService.calculateAmountRemaining(total, Optional.ofNullable(item.getAmountPaid()).orElse(BigDecimal.ZERO)));
+                    });
+        }
 
         final var itemDTOs = bill.getItems().stream().map(itemMapper::toDTO).collect(Collectors.toList());
         billSplitDTO.setItems(itemDTOs);
@@ -179,6 +300,120 @@ public class BillFacadeImpl implements BillFacade {
         return billSplitDTO;
     }
 
+    private List<ShortBillDTO> getShortBillDTOs(final List<ShortBill> shortBills) {
+        if (shortBills.isEmpty()) {
+            return List.of();
+        }
+
+        //only the bills whose totals were never stored need their sums from the database
+        final List<Long> billIds = shortBills.stream()
+                .filter(Predicate.not(BillFacadeImpl::hasStoredTotals))
+                .map(ShortBill::getId)
+                .collect(Collectors.toList());
+        final Map<Long, BillCost> costsPerBill = billService.getBillCosts(billIds, shortBills.get(0).getAccountId())
+                .stream()
+                .collect(Collectors.toMap(BillCost::getBillId, Function.identity()));
+        final Map<Long, List<Tax>> taxesPerBill = billService.getTaxes(billIds)
+                .stream()
+                .collect(Collectors.groupingBy(tax -> tax.getBill().getId()));
+
+        return shortBills.stream()
+                .map(shortBill -> hasStoredTotals(shortBill)
+                        ? getStoredShortBillDTO(shortBill)
+                        : getShortBillDTO(shortBill, costsPerBill.get(shortBill.getId()), taxesPerBill.getOrDefault(shortBill.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean hasStoredTotals(final ShortBill shortBill) {
+        return shortBill.getBalance() != null && shortBill.getAccountSubTotal() != null && shortBill.getTotalOwed() != null;
+    }
+
+    private static BillCursorDTO getCursor(final ShortBill shortBill) {
+        final var cursor = new BillCursorDTO();
+        cursor.setCreated(shortBill.getCreated());
+        cursor.setStatus(shortBill.getStatus());
+        cursor.setCategory(shortBill.getCategory());
+        cursor.setName(shortBill.getName());
+        cursor.setId(shortBill.getId());
+        return cursor;
+    }
+
+    private ShortBillDTO getStoredShortBillDTO(final ShortBill shortBill) {
+        final var shortBillDTO = toShortBillDTO(shortBill);
+        shortBillDTO.setBalance(shortBill.getBalance());
+        shortBillDTO.setAmountOwed(BigDecimal.ZERO);
+
+        if (shortBill.getInvitationStatus() == InvitationStatusEnum.ACCEPTED && BigDecimal.ZERO.compareTo(shortBill.getAccountSubTotal()) < 0) {
+            shortBillDTO.setAmountOwed(calculatePaymentService.calculateAmountRemaining(shortBill.getTotalOwed(), Optional.ofNullable(shortBill.getAmountPaid()).orElse(BigDecimal.ZERO)));
+        }
+
+        return shortBillDTO;
+    }
+
+    /**
+     * Computes the balance and the caller's amount owed the same way {@link #getBillSplitDTO(Bill)} does, from sums
+     * calculated by the database instead of from the bill's items and splits.
+     */
+    private ShortBillDTO getShortBillDTO(final ShortBill shortBill, @Nullable final BillCost billCost, final List<Tax> taxes) {
+        final BigDecimal billSubTotal = Optional.ofNullable(billCost).map(BillCost::getSubTotal).orElse(BigDecimal.ZERO);
+        final BigDecimal accountSubTotal = Optional.ofNullable(billCost)
+                .map(BillCost::getAccountCost)
+                .orElse(BigDecimal.ZERO)
+                .setScale(CalculatePaymentService.DOLLAR_SCALE, RoundingMode.HALF_UP);
+
+        final var shortBillDTO = toShortBillDTO(shortBill);
+        shortBillDTO.setBalance(calculatePaymentService.calculateBalance(billSubTotal, taxes, shortBill.getTipAmount(), shortBill.getTipPercent()));
+        shortBillDTO.setAmountOwed(BigDecimal.ZERO);
+
+        if (shortBill.getInvitationStatus() == InvitationStatusEnum.ACCEPTED && BigDecimal.ZERO.compareTo(accountSubTotal) < 0) {
+            final BigDecimal totalTip = calculatePaymentService.calculateTip(shortBill.getTipAmount(), shortBill.getTipPercent(), billSubTotal);
+            final var total = accountSubTotal
+                    .add(calculatePaymentService.calculateTaxes(accountSubTotal, taxes))
+                    .add(calculatePaymentService.calculateAccountTip(accountSubTotal, billSubTotal, totalTip));
+            shortBillDTO.setAmountOwed(calculatePaymentService.calculateAmountRemaining(total, Optional.ofNullable(shortBill.getAmountPaid()).orElse(BigDecimal.ZERO)));
+        }
+
+        return shortBillDTO;
+    }
+
+    private ShortBillDTO toShortBillDTO(final ShortBill shortBill) {
+        final var shortBillDTO = new ShortBillDTO();
+        shortBillDTO.setId(shortBill.getId());
+        shortBillDTO.setName(shortBill.getName());
+        shortBillDTO.setResponsible(accountMapper.toDTO(shortBill.getResponsible()));
+        shortBillDTO.setStatus(shortBill.getStatus());
+        shortBillDTO.setCategory(shortBill.getCategory());
+        shortBillDTO.setCreated(shortBill.getCreated());
+        return shortBillDTO;
+    }
+
+    /**
+     * The shares of a bill split by balance depend only on the percentages of its accounts, so they are read from the
+     * totals stored on every write instead of walking the items.
+     */
+    private void mapBalanceSharesIntoBillSplitDTO(final Bill bill, final BillSplitDTO billSplitDTO) {
+        final List<ItemAssociationSplitDTO> informationPerAccount = bill.getAccounts().stream().map(accountBill -> {
+            final var itemSplitDTO = new ItemAssociationSplitDTO();
+            itemSplitDTO.setAccount(accountMapper.toDTO(accountBill.getAccount()));
+            itemSplitDTO.setInvitationStatus(accountBill.getStatus());
+            itemSplitDTO.setPaidStatus(accountBill.getPaymentStatus());
+            itemSplitDTO.setPercentage(accountBill.getPercentage());
+
+            if (accountBill.getStatus() == InvitationStatusEnum.ACCEPTED) {
+                itemSplitDTO.setSubTotal(Optional.ofNullable(accountBill.getSubTotal()).orElse(BigDecimal.ZERO));
+                itemSplitDTO.setTaxes(Optional.ofNullable(accountBill.getTax()).orElse(BigDecimal.ZERO));
+                itemSplitDTO.setTip(Optional.ofNullable(accountBill.getTip()).orElse(BigDecimal.ZERO));
+                itemSplitDTO.setAmountPaid(accountBill.getAmountPaid());
+                final var amountPaid = Optional.ofNullable(accountBill.getAmountPaid()).orElse(BigDecimal.ZERO);
+                itemSplitDTO.setAmountRemaining(calculatePaymentService.calculateAmountRemaining(Optional.ofNullable(accountBill.getTotalOwed()).orElse(BigDecimal.ZERO), amountPaid));
+            }
+
+            return itemSplitDTO;
+        }).collect(Collectors.toList());
+
+        billSplitDTO.setInformationPerAccount(informationPerAccount);
+    }
+
     private void mapAccountSubTotalCostIntoBillSplitDTO(Bill bill, BillSplitDTO billSplitDTO) {
         final List<ItemAssociationSplitDTO> itemsPerAccount = new ArrayList<>();
         final HashMap<Account, DetailedAccountBillInformation> accountPairMap = new HashMap<>();
@@ -187,6 +422,8 @@ public class BillFacadeImpl implements BillFacade {
             accountPairMap.put(accountBill.getAccount(), costItemsPair);
         });
         mapAllBillAccountItemsIntoHashMap(bill, accountPairMap);
+        final Map<Account, BigDecimal> accountSubTotals = calculatePaymentService.calculateAccountSubTotals(bill);
+        accountPairMap.forEach((account, detailedAccountBillInformation) -> detailedAccountBillInformation.setCost(accountSubTotals.getOrDefault(account, BigDecimal.ZERO)));
         mapHashMapIntoItemAssociation(accountPairMap, itemsPerAccount);
         billSplitDTO.setInformationPerAccount(itemsPerAccount);
     }
@@ -233,10 +470,6 @@ public class BillFacadeImpl implements BillFacade {
         final ItemPercentageSplitDTO itemPercentageSplitDTO = itemMapper.toItemPercentageSplitDTO(item);
         final BigDecimal itemPercentage = accountItem.getPercentage().setScale(CalculatePaymentService.PERCENT_SCALE, RoundingMode.HALF_UP);
         itemPercentageSplitDTO.setPercentage(itemPercentage);
-
-        final BigDecimal itemCostForAccount = item.getCost().multiply(itemPercentage.divide(PERCENTAGE_DIVISOR, RoundingMode.HALF_UP));
-        final BigDecimal newAccountTotalCost = accountPairMap.get(thisAccount).getCost().add(itemCostForAccount);
-        accountPairMap.get(thisAccount).setCost(newAccountTotalCost);
         accountPairMap.get(thisAccount).getItemList().add(itemPercentageSplitDTO);
     }
 
@@ -0,0 +1,145 @@
+package proj.kedabra.billsnap.business.facade.impl;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import proj.kedabra.billsnap.business.dto.BillDTO;
+import proj.kedabra.billsnap.business.dto.BillImportDTO;
+import proj.kedabra.billsnap.business.dto.BillImportErrorDTO;
+import proj.kedabra.billsnap.business.dto.BillImportReportDTO;
+import proj.kedabra.billsnap.business.facade.BillImportFacade;
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.service.AccountService;
+import proj.kedabra.billsnap.business.service.BillService;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
+
+@Service
+public class BillImportFacadeImpl implements BillImportFacade {
+
+    private final AccountService accountService;
+
+    private final BillService billService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    @Autowired
+    public BillImportFacadeImpl(final AccountService accountService, final BillService billService, final PlatformTransactionManager transactionManager,
+                                @Value("${bills.import.batch-size:100}") final int batchSize) {
+        this.accountService = accountService;
+        this.billService = billService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Creates the bills read from the iterator, {@code bills.import.batch-size} at a time. Each batch is created in its
+     * own transaction with one lookup of all of its invitees, and its inserts are flushed together on commit; only a
+     * batch is held in memory. A bill that cannot be created is reported by row and skipped. A batch failing as a
+     * whole is created again bill by bill to find the ones at fault.
+     */
+    @Override
+    public BillImportReportDTO importBills(final String email, final Iterator<BillImportDTO> bills) {
+        final var report = new BillImportReportDTO();
+        //emails known not to exist are not looked up again for the next batches
+        final Set<String> unknownEmails = new HashSet<>();
+        final List<BillImportDTO> batch = new ArrayList<>(batchSize);
+        while (bills.hasNext()) {
+            batch.add(bills.next());
+            if (batch.size() == batchSize) {
+                importBatch(email, batch, unknownEmails, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(email, batch, unknownEmails, report);
+        }
+
+        return report;
+    }
+
+    private void importBatch(final String email, final List<BillImportDTO> batch, final Set<String> unknownEmails, final BillImportReportDTO report) {
+        final var batchReport = new BillImportReportDTO();
+        try {
+            transactionTemplate.execute(status -> createBills(email, batch, unknownEmails, batchReport));
+        } catch (RuntimeException e) {
+            //the transaction of the caller is already marked for rollback
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw e;
+            }
+            if (batch.size() == 1) {
+                report.getErrors().add(new BillImportErrorDTO(batch.get(0).getRow(), NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+            } else {
+                batch.forEach(bill -> importBatch(email, List.of(bill), unknownEmails, report));
+            }
+            return;
+        }
+
+        report.setImported(report.getImported() + batchReport.getImported());
+        report.getErrors().addAll(batchReport.getErrors());
+        report.getParticipantEmails().addAll(batchReport.getParticipantEmails());
+    }
+
+    private BillImportReportDTO createBills(final String email, final List<BillImportDTO> batch, final Set<String> unknownEmails, final BillImportReportDTO batchReport) {
+        final Account creator = accountService.getAccount(email);
+        final Map<String, Account> accounts = accountService.getAccountsByEmail(batch.stream()
+                .flatMap(bill -> bill.getBill().getAccountsList().stream())
+                .filter(Predicate.not(unknownEmails::contains))
+                .collect(Collectors.toSet()));
+
+        batch.forEach(bill -> {
+            final BillDTO billDTO = bill.getBill();
+            final List<String> emails = billDTO.getAccountsList().stream().distinct().collect(Collectors.toList());
+            final Optional<String> error = validateBill(email, billDTO, emails, accounts, unknownEmails);
+            if (error.isPresent()) {
+                batchReport.getErrors().add(new BillImportErrorDTO(bill.getRow(), error.get()));
+                return;
+            }
+
+            billDTO.setAccountsList(emails);
+            billService.createBillToAccount(billDTO, creator, emails.stream().map(accounts::get).collect(Collectors.toList()));
+            batchReport.setImported(batchReport.getImported() + 1);
+            batchReport.getParticipantEmails().add(email);
+            batchReport.getParticipantEmails().addAll(emails);
+        });
+
+        return batchReport;
+    }
+
+    /**
+     * Checks what {@link BillFacadeImpl#addPersonalBill} would reject, reporting unknown invitees instead of failing.
+     */
+    private static Optional<String> validateBill(final String email, final BillDTO billDTO, final List<String> emails, final Map<String, Account> accounts,
+                                                 final Set<String> unknownEmails) {
+        if ((billDTO.getTipAmount() == null) == (billDTO.getTipPercent() == null)) {
+            return Optional.of(ErrorMessageEnum.MULTIPLE_TIP_METHOD.getMessage());
+        }
+        if (emails.contains(email)) {
+            return Optional.of(ErrorMessageEnum.LIST_CANNOT_CONTAIN_BILL_CREATOR.getMessage());
+        }
+
+        final List<String> nonExistentEmails = emails.stream().filter(Predicate.not(accounts::containsKey)).collect(Collectors.toList());
+        if (!nonExistentEmails.isEmpty()) {
+            unknownEmails.addAll(nonExistentEmails);
+            return Optional.of(ErrorMessageEnum.LIST_ACCOUNT_DOES_NOT_EXIST.getMessage(nonExistentEmails.toString()));
+        }
+
+        return Optional.empty();
+    }
+}
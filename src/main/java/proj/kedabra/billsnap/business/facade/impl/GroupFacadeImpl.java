@@ -0,0 +1,85 @@
+package proj.kedabra.billsnap.business.facade.impl;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import proj.kedabra.billsnap.business.dto.GroupBalanceDTO;
+import proj.kedabra.billsnap.business.dto.GroupCompleteDTO;
+import proj.kedabra.billsnap.business.dto.GroupDTO;
+import proj.kedabra.billsnap.business.facade.GroupFacade;
+import proj.kedabra.billsnap.business.mapper.GroupMapper;
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.model.entities.Group;
+import proj.kedabra.billsnap.business.service.AccountService;
+import proj.kedabra.billsnap.business.service.GroupService;
+import proj.kedabra.billsnap.business.utils.enums.GroupRoleEnum;
+
+@Service
+public class GroupFacadeImpl implements GroupFacade {
+
+    private final GroupService groupService;
+
+    private final AccountService accountService;
+
+    private final GroupMapper groupMapper;
+
+    public GroupFacadeImpl(final GroupService groupService, final AccountService accountService, final GroupMapper groupMapper) {
+        this.groupService = groupService;
+        this.accountService = accountService;
+        this.groupMapper = groupMapper;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public GroupCompleteDTO createGroup(final String email, final GroupDTO groupDTO) {
+        final Account admin = accountService.getAccount(email);
+        final List<Account> members = accountService.getAccounts(distinct(groupDTO.getAccounts()));
+        return groupMapper.toDTO(groupService.createGroup(groupDTO, admin, members));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GroupCompleteDTO> getGroups(final String email) {
+        return groupService.getGroupsByEmail(email).stream().map(groupMapper::toDTO).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public GroupCompleteDTO getGroup(final Long groupId, final String email) {
+        final Group group = groupService.getGroup(groupId);
+        groupService.verifyRole(group, email, GroupRoleEnum.MEMBER);
+        return groupMapper.toDTO(group);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public GroupCompleteDTO editGroup(final Long groupId, final String email, final GroupDTO groupDTO) {
+        final Group group = groupService.getGroup(groupId);
+        groupService.verifyRole(group, email, GroupRoleEnum.ADMIN);
+        final List<Account> members = accountService.getAccounts(distinct(groupDTO.getAccounts()));
+        return groupMapper.toDTO(groupService.editGroup(group, groupDTO, members));
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void deleteGroup(final Long groupId, final String email) {
+        final Group group = groupService.getGroup(groupId);
+        groupService.verifyRole(group, email, GroupRoleEnum.ADMIN);
+        groupService.deleteGroup(group);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GroupBalanceDTO> getGroupBalances(final Long groupId, final String email) {
+        final Group group = groupService.getGroup(groupId);
+        groupService.verifyRole(group, email, GroupRoleEnum.MEMBER);
+        return groupService.getGroupBalances(group).stream().map(groupMapper::toDTO).collect(Collectors.toList());
+    }
+
+    private static List<String> distinct(final List<String> emails) {
+        return emails.stream().distinct().collect(Collectors.toList());
+    }
+}
@@ -2,10 +2,16 @@ package proj.kedabra.billsnap.business.facade.impl;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import proj.kedabra.billsnap.business.dto.PaymentInformationDTO;
 import proj.kedabra.billsnap.business.dto.PaymentOwedDTO;
@@ -23,12 +29,24 @@ public class PaymentFacadeImpl implements PaymentFacade {
 
     private final PaymentService paymentService;
 
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxAttempts;
+
+    private final long backoffMillis;
+
 
     @Autowired
-    public PaymentFacadeImpl(final AccountService accountService, final BillServiceImpl billService, final PaymentService paymentService) {
+    public PaymentFacadeImpl(final AccountService accountService, final BillServiceImpl billService, final PaymentService paymentService,
+                             final PlatformTransactionManager transactionManager,
+                             @Value("${payment.retry.max-attempts:5}") final int maxAttempts,
+                             @Value("${payment.retry.backoff-ms:20}") final long backoffMillis) {
         this.accountService = accountService;
         this.billService = billService;
         this.paymentService = paymentService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
     }
 
     @Override
@@ -39,12 +57,39 @@ public class PaymentFacadeImpl implements PaymentFacade {
         return billService.calculateAmountOwed(account);
     }
 
+    /**
+     * Each attempt runs in its own transaction, reading the account and bill afresh. An attempt losing an optimistic
+     * check or a lock to a concurrent payment is retried after a jittered backoff, up to
+     * {@code payment.retry.max-attempts}.
+     * Called within an existing transaction, the payment joins it and is attempted once since a failed attempt has
+     * already marked it for rollback.
+     */
     @Override
-    @Transactional(rollbackFor = Exception.class)
     public BigDecimal payBill(PaymentInformationDTO paymentInfo) {
-        final var account = accountService.getAccount(paymentInfo.getEmail());
-        final var bill = billService.getBill(paymentInfo.getBillId());
-        return paymentService.payBill(account, bill, paymentInfo.getAmount());
+        final int attempts = TransactionSynchronizationManager.isActualTransactionActive() ? 1 : maxAttempts;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    final var account = accountService.getAccount(paymentInfo.getEmail());
+                    final var bill = billService.getBill(paymentInfo.getBillId());
+                    return paymentService.payBill(account, bill, paymentInfo.getAmount());
+                });
+            } catch (ConcurrencyFailureException e) {
+                if (attempt >= attempts) {
+                    throw e;
+                }
+                backoff(attempt, e);
+            }
+        }
+    }
+
+    private void backoff(final int attempt, final ConcurrencyFailureException cause) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(backoffMillis * attempt + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw cause;
+        }
     }
 
 }
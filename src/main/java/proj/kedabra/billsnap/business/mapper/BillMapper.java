@@ -11,14 +11,21 @@ import org.mapstruct.Named;
 import org.mapstruct.ReportingPolicy;
 
 import proj.kedabra.billsnap.business.dto.AssociateBillDTO;
+import proj.kedabra.billsnap.business.dto.BalanceSplitDTO;
 import proj.kedabra.billsnap.business.dto.BillCompleteDTO;
 import proj.kedabra.billsnap.business.dto.BillDTO;
+import proj.kedabra.billsnap.business.dto.BillImportReportDTO;
 import proj.kedabra.billsnap.business.dto.BillSplitDTO;
+import proj.kedabra.billsnap.business.dto.BillVersionDTO;
 import proj.kedabra.billsnap.business.dto.EditBillDTO;
 import proj.kedabra.billsnap.business.dto.ItemAssociationSplitDTO;
+import proj.kedabra.billsnap.business.dto.ShortBillDTO;
 import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.model.projections.BillVersion;
 import proj.kedabra.billsnap.presentation.resources.AssociateBillResource;
+import proj.kedabra.billsnap.presentation.resources.BalanceSplitResource;
 import proj.kedabra.billsnap.presentation.resources.BillCreationResource;
+import proj.kedabra.billsnap.presentation.resources.BillImportReportResource;
 import proj.kedabra.billsnap.presentation.resources.BillResource;
 import proj.kedabra.billsnap.presentation.resources.BillSplitResource;
 import proj.kedabra.billsnap.presentation.resources.EditBillResource;
@@ -38,6 +45,8 @@ public interface BillMapper {
     @Mapping(target = "amountOwed", source = ".", qualifiedByName = "getMoneyOwedByEmail")
     ShortBillResource toShortBillResource(BillSplitDTO billSplitDTO, @Context String email);
 
+    ShortBillResource toShortBillResource(ShortBillDTO shortBillDTO);
+
     BillSplitResource toResource(BillSplitDTO billSplitDTO);
 
     BillSplitDTO toBillSplitDTO(Bill bill);
@@ -47,6 +56,12 @@ public interface BillMapper {
 
     EditBillDTO toDTO(EditBillResource editBillResource);
 
+    BalanceSplitDTO toDTO(BalanceSplitResource balanceSplitResource);
+
+    BillImportReportResource toResource(BillImportReportDTO billImportReportDTO);
+
+    BillVersionDTO toDTO(BillVersion billVersion);
+
     @Mapping(source = "editBillDTO.name", target = "name")
     @Mapping(source = "editBillDTO.company", target = "company")
     @Mapping(source = "editBillDTO.category", target = "category")
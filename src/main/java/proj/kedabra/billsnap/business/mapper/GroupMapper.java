@@ -0,0 +1,37 @@
+package proj.kedabra.billsnap.business.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+import proj.kedabra.billsnap.business.dto.GroupBalanceDTO;
+import proj.kedabra.billsnap.business.dto.GroupCompleteDTO;
+import proj.kedabra.billsnap.business.dto.GroupDTO;
+import proj.kedabra.billsnap.business.dto.GroupMemberDTO;
+import proj.kedabra.billsnap.business.model.entities.AccountGroup;
+import proj.kedabra.billsnap.business.model.entities.Group;
+import proj.kedabra.billsnap.business.model.projections.GroupBalance;
+import proj.kedabra.billsnap.presentation.resources.GroupBalanceResource;
+import proj.kedabra.billsnap.presentation.resources.GroupCreationResource;
+import proj.kedabra.billsnap.presentation.resources.GroupResource;
+
+@Mapper(unmappedTargetPolicy = ReportingPolicy.IGNORE, unmappedSourcePolicy = ReportingPolicy.IGNORE)
+public interface GroupMapper {
+
+    GroupDTO toDTO(GroupCreationResource groupCreationResource);
+
+    @Mapping(source = "accounts", target = "members")
+    GroupCompleteDTO toDTO(Group group);
+
+    @Mapping(source = "account.email", target = "email")
+    @Mapping(source = "account.firstName", target = "firstName")
+    @Mapping(source = "account.lastName", target = "lastName")
+    @Mapping(source = "groupRole", target = "role")
+    GroupMemberDTO toDTO(AccountGroup accountGroup);
+
+    GroupBalanceDTO toDTO(GroupBalance groupBalance);
+
+    GroupResource toResource(GroupCompleteDTO groupCompleteDTO);
+
+    GroupBalanceResource toResource(GroupBalanceDTO groupBalanceDTO);
+}
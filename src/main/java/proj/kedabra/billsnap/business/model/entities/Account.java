@@ -43,7 +43,7 @@ public class Account implements Serializable {
     @Id
     @Column(name = "id")
     @GeneratedValue(generator = "account_id_seq")
-    @SequenceGenerator(name = "account_id_seq", sequenceName = "account_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "account_id_seq", sequenceName = "account_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "email", length = 50)
@@ -12,12 +12,14 @@ import javax.persistence.FetchType;
 import javax.persistence.ManyToOne;
 import javax.persistence.MapsId;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 import com.vladmihalcea.hibernate.type.basic.PostgreSQLEnumType;
 import org.hibernate.annotations.Type;
 import org.hibernate.annotations.TypeDef;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 
 import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
 import proj.kedabra.billsnap.business.utils.enums.PaymentStatusEnum;
@@ -57,4 +59,29 @@ public class AccountBill implements Serializable {
     @Enumerated(EnumType.STRING)
     @Type(type = "pgsql_enum")
     private PaymentStatusEnum paymentStatus;
+
+    /**
+     * Share of the bill's totals owed by the account whatever its invitation status, maintained on write by
+     * {@link proj.kedabra.billsnap.business.service.BillTotalsService}. Null until first computed.
+     */
+    @Column(name = "sub_total", precision = 14, scale = 2)
+    @EqualsAndHashCode.Exclude
+    private BigDecimal subTotal;
+
+    @Column(name = "tax", precision = 14, scale = 2)
+    @EqualsAndHashCode.Exclude
+    private BigDecimal tax;
+
+    @Column(name = "tip", precision = 14, scale = 2)
+    @EqualsAndHashCode.Exclude
+    private BigDecimal tip;
+
+    @Column(name = "total_owed", precision = 14, scale = 2)
+    @EqualsAndHashCode.Exclude
+    private BigDecimal totalOwed;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    @EqualsAndHashCode.Exclude
+    private long version;
 }
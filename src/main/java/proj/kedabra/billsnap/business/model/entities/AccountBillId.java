@@ -18,4 +18,11 @@ public class AccountBillId implements Serializable {
 
     @Column(name = "bill_id", nullable = false)
     private Long billId;
+
+    public static AccountBillId of(final Account account, final Bill bill) {
+        final var id = new AccountBillId();
+        id.setAccountId(account.getId());
+        id.setBillId(bill.getId());
+        return id;
+    }
 }
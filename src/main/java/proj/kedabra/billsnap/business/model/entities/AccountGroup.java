@@ -32,7 +32,7 @@ public class AccountGroup implements Serializable {
     private static final long serialVersionUID = 1639503885990999000L;
 
     @EmbeddedId
-    private AccountGroupId id;
+    private AccountGroupId id = new AccountGroupId();
 
     @ManyToOne(fetch = FetchType.LAZY)
     @MapsId("accountId")
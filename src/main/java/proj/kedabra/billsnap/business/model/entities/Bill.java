@@ -16,10 +16,14 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 import com.vladmihalcea.hibernate.type.basic.PostgreSQLEnumType;
 import org.hibernate.annotations.CreationTimestamp;
@@ -37,6 +41,15 @@ import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
 @Data
 @Entity
 @Table(name = "bill", schema = "public")
+@NamedEntityGraph(name = Bill.SUMMARY_GRAPH, attributeNodes = {
+        @NamedAttributeNode("responsible"),
+        @NamedAttributeNode("creator")
+})
+@NamedEntityGraph(name = Bill.FULL_SPLIT_GRAPH, attributeNodes = {
+        @NamedAttributeNode("responsible"),
+        @NamedAttributeNode("creator"),
+        @NamedAttributeNode(value = "items", subgraph = "items")
+}, subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("accounts")))
 @TypeDef(
         name = "pgsql_enum",
         typeClass = PostgreSQLEnumType.class
@@ -45,10 +58,21 @@ public class Bill implements Serializable {
 
     private static final long serialVersionUID = 5673217785097106248L;
 
+    /**
+     * Bill with its responsible and creator. Collections are loaded lazily, in batches across bills.
+     */
+    public static final String SUMMARY_GRAPH = "bill-summary";
+
+    /**
+     * Bill with its items and their account splits in one query. Taxes and participants are loaded lazily, fetching
+     * them in the same query would multiply the rows by every item split.
+     */
+    public static final String FULL_SPLIT_GRAPH = "bill-full-split";
+
     @Id
     @Column(name = "id")
     @GeneratedValue(generator = "bill_id_seq")
-    @SequenceGenerator(name = "bill_id_seq", sequenceName = "bill_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "bill_id_seq", sequenceName = "bill_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", length = 30)
@@ -84,6 +108,21 @@ public class Bill implements Serializable {
     @Column(name = "occurrence")
     private Integer occurrence;
 
+    /**
+     * When the recurrence scheduler next copies the bill, null if it does not recur. A scheduler node copying it
+     * holds it until {@code occurrenceLockedUntil}. Both are left out of the updates of the entity, so that a bill
+     * loaded before the scheduler moved it cannot write the old values back. Once the bill is created, they are only
+     * written with bulk updates, which leave the version alone so that the scheduler never conflicts with the
+     * participants' own changes.
+     */
+    @Column(name = "next_occurrence", updatable = false)
+    @EqualsAndHashCode.Exclude
+    private ZonedDateTime nextOccurrence;
+
+    @Column(name = "occurrence_locked_until", updatable = false)
+    @EqualsAndHashCode.Exclude
+    private ZonedDateTime occurrenceLockedUntil;
+
     @Column(name = "tip_percent", precision = 7, scale = 4)
     private BigDecimal tipPercent;
 
@@ -102,12 +141,37 @@ public class Bill implements Serializable {
     @Column(name = "active", nullable = false)
     private Boolean active;
 
-    @OneToMany(fetch = FetchType.EAGER, mappedBy = "bill", cascade = CascadeType.ALL, orphanRemoval = true)
+    /**
+     * Totals maintained on write by {@link proj.kedabra.billsnap.business.service.BillTotalsService}, null until
+     * first computed. Excluded from equality since they change with the items while the bill sits in sets.
+     */
+    @Column(name = "sub_total", precision = 14, scale = 2)
+    @EqualsAndHashCode.Exclude
+    private BigDecimal subTotal;
+
+    @Column(name = "total_tip", precision = 14, scale = 2)
+    @EqualsAndHashCode.Exclude
+    private BigDecimal totalTip;
+
+    @Column(name = "balance", precision = 14, scale = 2)
+    @EqualsAndHashCode.Exclude
+    private BigDecimal balance;
+
+    /**
+     * Incremented on every change of the bill, and forced on the payment settling a participant so that racing final
+     * payments cannot both miss each other while resolving the bill.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    @EqualsAndHashCode.Exclude
+    private long version;
+
+    @OneToMany(mappedBy = "bill", cascade = CascadeType.ALL, orphanRemoval = true)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private Set<Item> items = new HashSet<>();
 
-    @OneToMany(fetch = FetchType.EAGER, mappedBy = "bill", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "bill", cascade = CascadeType.ALL, orphanRemoval = true)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     private Set<Tax> taxes = new HashSet<>();
@@ -13,6 +13,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.JoinTable;
+import javax.persistence.ManyToMany;
 import javax.persistence.OneToMany;
 import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
@@ -21,10 +22,13 @@ import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 @Data
 @Entity
-@Table(name = "group", schema = "public")
+//group is a reserved word, the table name is quoted
+@Table(name = "`group`", schema = "public")
 public class Group implements Serializable {
 
     private static final long serialVersionUID = -6156582594279723983L;
@@ -49,12 +53,21 @@ public class Group implements Serializable {
     @Column(name = "approval_option", nullable = false)
     private Boolean approvalOption;
 
-    @OneToMany(fetch = FetchType.LAZY, orphanRemoval = true, cascade = CascadeType.ALL)
+    /**
+     * Bills the group was invited to. The bills outlive the group, only the links are removed with it. Linked with
+     * {@link proj.kedabra.billsnap.business.repository.GroupRepository#linkBill} so that the list is never loaded to
+     * add one.
+     */
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "bills_vs_groups",
             joinColumns = @JoinColumn(name = "group_id"),
             inverseJoinColumns = @JoinColumn(name = "bill_id"))
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Bill> bills = new ArrayList<>();
 
     @OneToMany(mappedBy = "group", orphanRemoval = true, cascade = CascadeType.ALL)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<AccountGroup> accounts = new ArrayList<>();
 }
@@ -28,7 +28,7 @@ public class Item {
     @Id
     @Column(name = "id")
     @GeneratedValue(generator = "item_id_seq")
-    @SequenceGenerator(name = "item_id_seq", sequenceName = "item_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "item_id_seq", sequenceName = "item_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "name", length = 30, nullable = false)
@@ -41,7 +41,7 @@ public class Item {
     @JoinColumn(name = "bill_id", nullable = false)
     private Bill bill;
 
-    @OneToMany(mappedBy = "item", orphanRemoval = true, cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "item", orphanRemoval = true, cascade = CascadeType.ALL)
     @EqualsAndHashCode.Exclude
     @ToString.Exclude
     private Set<AccountItem> accounts = new HashSet<>();
@@ -26,7 +26,7 @@ public class Notifications implements Serializable {
     @Id
     @Column(name = "id")
     @GeneratedValue(generator = "notifications_id_seq")
-    @SequenceGenerator(name = "notifications_id_seq", sequenceName = "notifications_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "notifications_id_seq", sequenceName = "notifications_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,70 @@
+package proj.kedabra.billsnap.business.model.entities;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import lombok.Data;
+
+import proj.kedabra.billsnap.business.utils.enums.OutboxStatusEnum;
+
+/**
+ * Mail written in the transaction that triggers it, sent afterwards by the outbox dispatcher. A message is claimed
+ * until {@code lockedUntil} under the {@code lockedBy} of its claim; a dispatcher dying mid-send leaves it to be
+ * claimed again once the lease expires.
+ */
+@Data
+@Entity
+@Table(name = "outbox", schema = "public")
+public class OutboxMessage implements Serializable {
+
+    private static final long serialVersionUID = -2913456587311823412L;
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(generator = "outbox_id_seq")
+    @SequenceGenerator(name = "outbox_id_seq", sequenceName = "outbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "recipient", length = 50, nullable = false)
+    private String recipient;
+
+    @Column(name = "subject", length = 100, nullable = false)
+    private String subject;
+
+    @Column(name = "body", length = 2000, nullable = false)
+    private String body;
+
+    @Column(name = "status", length = 15, nullable = false)
+    @Enumerated(EnumType.STRING)
+    private OutboxStatusEnum status = OutboxStatusEnum.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "created", nullable = false, updatable = false)
+    private ZonedDateTime created;
+
+    @Column(name = "available_at", nullable = false)
+    private ZonedDateTime availableAt;
+
+    @Column(name = "locked_until")
+    private ZonedDateTime lockedUntil;
+
+    @Column(name = "locked_by", length = 36)
+    private String lockedBy;
+
+    @Column(name = "sent")
+    private ZonedDateTime sent;
+
+    @Column(name = "last_error")
+    private String lastError;
+}
@@ -22,7 +22,7 @@ public class Tax {
     @Id
     @Column(name = "id")
     @GeneratedValue(generator = "tax_id_seq")
-    @SequenceGenerator(name = "tax_id_seq", sequenceName = "tax_id_seq", allocationSize = 1)
+    @SequenceGenerator(name = "tax_id_seq", sequenceName = "tax_id_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,10 @@
+package proj.kedabra.billsnap.business.model.projections;
+
+public interface BillAuthority {
+
+    Long getBillId();
+
+    Long getAccountId();
+
+    Long getResponsibleId();
+}
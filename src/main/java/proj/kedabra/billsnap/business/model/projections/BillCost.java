@@ -0,0 +1,15 @@
+package proj.kedabra.billsnap.business.model.projections;
+
+import java.math.BigDecimal;
+
+public interface BillCost {
+
+    Long getBillId();
+
+    BigDecimal getSubTotal();
+
+    /**
+     * @return the sum of the cost of each item multiplied by the account's share of it, not rounded to the cent
+     */
+    BigDecimal getAccountCost();
+}
@@ -0,0 +1,17 @@
+package proj.kedabra.billsnap.business.model.projections;
+
+import java.time.ZonedDateTime;
+
+public interface BillVersion {
+
+    /**
+     * @return the latest update of the bills, null if there are none
+     */
+    ZonedDateTime getUpdated();
+
+    Long getAccountBills();
+
+    Long getVersion();
+
+    Long getAccountsVersion();
+}
@@ -0,0 +1,18 @@
+package proj.kedabra.billsnap.business.model.projections;
+
+import java.math.BigDecimal;
+
+public interface GroupBalance {
+
+    String getEmail();
+
+    Long getBills();
+
+    BigDecimal getTotalOwed();
+
+    BigDecimal getAmountPaid();
+
+    default BigDecimal getAmountRemaining() {
+        return getTotalOwed().subtract(getAmountPaid());
+    }
+}
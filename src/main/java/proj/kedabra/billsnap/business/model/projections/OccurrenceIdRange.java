@@ -0,0 +1,11 @@
+package proj.kedabra.billsnap.business.model.projections;
+
+public interface OccurrenceIdRange {
+
+    /**
+     * @return the lowest id of the due recurring bills, null if none is due
+     */
+    Long getFirstId();
+
+    Long getLastId();
+}
@@ -0,0 +1,48 @@
+package proj.kedabra.billsnap.business.model.projections;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
+
+public interface ShortBill {
+
+    Long getId();
+
+    String getName();
+
+    BillStatusEnum getStatus();
+
+    String getCategory();
+
+    ZonedDateTime getCreated();
+
+    Account getResponsible();
+
+    BigDecimal getTipAmount();
+
+    BigDecimal getTipPercent();
+
+    Long getAccountId();
+
+    InvitationStatusEnum getInvitationStatus();
+
+    BigDecimal getAmountPaid();
+
+    /**
+     * Stored balance of the bill, null if its totals were never computed.
+     */
+    BigDecimal getBalance();
+
+    /**
+     * Stored sub total of the account, null if the bill's totals were never computed.
+     */
+    BigDecimal getAccountSubTotal();
+
+    /**
+     * Stored total owed by the account before its payments, null if the bill's totals were never computed.
+     */
+    BigDecimal getTotalOwed();
+}
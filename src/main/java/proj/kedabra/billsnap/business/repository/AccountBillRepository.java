@@ -0,0 +1,31 @@
+package proj.kedabra.billsnap.business.repository;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import proj.kedabra.billsnap.business.model.entities.AccountBill;
+import proj.kedabra.billsnap.business.model.entities.AccountBillId;
+
+public interface AccountBillRepository extends CrudRepository<AccountBill, AccountBillId> {
+
+    /**
+     * Adds the payment to the amount paid in a single statement, only if part of the amount owed is left to pay
+     * afterwards. The version is incremented so that a concurrent read-modify-write of the row fails its optimistic
+     * check instead of overwriting the payment.
+     *
+     * @return 1 if the payment was added, 0 if it would settle or exceed the amount owed
+     */
+    @Modifying
+    @Query("UPDATE AccountBill ab " +
+            "SET ab.amountPaid = COALESCE(ab.amountPaid, 0) + :amount, ab.version = ab.version + 1 " +
+            "WHERE ab.id.billId = :billId " +
+            "AND ab.id.accountId = :accountId " +
+            "AND COALESCE(ab.amountPaid, 0) + :amount < :amountOwed")
+    int addPartialPayment(@Param("billId") Long billId, @Param("accountId") Long accountId,
+                          @Param("amount") BigDecimal amount, @Param("amountOwed") BigDecimal amountOwed);
+
+}
@@ -1,23 +1,52 @@
 package proj.kedabra.billsnap.business.repository;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Stream;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.lang.Nullable;
 
 import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.model.entities.Tax;
+import proj.kedabra.billsnap.business.model.projections.BillAuthority;
+import proj.kedabra.billsnap.business.model.projections.BillCost;
+import proj.kedabra.billsnap.business.model.projections.BillVersion;
+import proj.kedabra.billsnap.business.model.projections.OccurrenceIdRange;
+import proj.kedabra.billsnap.business.model.projections.ShortBill;
+import proj.kedabra.billsnap.business.service.CalculatePaymentService;
 import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
 import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
 
-public interface BillRepository extends PagingAndSortingRepository<Bill, Long> {
+public interface BillRepository extends PagingAndSortingRepository<Bill, Long>, BillRepositoryCustom {
+
+    String SHORT_BILL_SELECT = "SELECT b.id as id, b.name as name, b.status as status, b.category as category, b.created as created, " +
+            "r as responsible, b.tipAmount as tipAmount, b.tipPercent as tipPercent, " +
+            "a.id as accountId, ba.status as invitationStatus, ba.amountPaid as amountPaid, " +
+            "b.balance as balance, ba.subTotal as accountSubTotal, ba.totalOwed as totalOwed " +
+            "FROM Bill as b JOIN b.responsible as r, AccountBill as ba, Account as a ";
+
+    String EXPORT_FETCH_SIZE = "100";
 
     Bill getBillById(Long id);
 
+    @Override
+    @EntityGraph(Bill.FULL_SPLIT_GRAPH)
+    Optional<Bill> findById(Long id);
+
+    @EntityGraph(Bill.SUMMARY_GRAPH)
     @Query(value = "SELECT b " +
             "FROM Bill as b, AccountBill as ba, Account as a " +
             "where b.created >= :startDate " +
@@ -35,5 +64,127 @@ public interface BillRepository extends PagingAndSortingRepository<Bill, Long> {
                                    @Param("invitationStatus") InvitationStatusEnum invitationStatus,
                                    @Param("email") String email,
                                    Pageable pageable);
-}
 
+    /**
+     * Streams every bill of the account in creation order, for an export. The rows are fetched from the cursor
+     * {@value #EXPORT_FETCH_SIZE} at a time and the bills are loaded read-only, so that Hibernate keeps no snapshot of
+     * them for dirty checking.
+     */
+    @EntityGraph(Bill.SUMMARY_GRAPH)
+    @QueryHints({
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = org.hibernate.jpa.QueryHints.HINT_READONLY, value = "true")
+    })
+    @Query(value = "SELECT b " +
+            "FROM Bill as b, AccountBill as ba, Account as a " +
+            "where b.created >= :startDate " +
+            "and b.created < :endDate " +
+            "and (b.category = :category or :category is null) " +
+            "and b.status in (:statuses) " +
+            "and ba.account.id = a.id " +
+            "and ba.status = :invitationStatus " +
+            "and a.email = :email " +
+            "and b.id = ba.bill.id " +
+            "order by b.created, b.id")
+    Stream<Bill> streamBills(@Param("startDate") ZonedDateTime startDate,
+                             @Param("endDate") ZonedDateTime endDate,
+                             @Nullable @Param("category") String category,
+                             @Param("statuses") List<BillStatusEnum> statuses,
+                             @Param("invitationStatus") InvitationStatusEnum invitationStatus,
+                             @Param("email") String email);
+
+    @Query(value = SHORT_BILL_SELECT +
+            "where b.created >= :startDate " +
+            "and b.created < :endDate " +
+            "and (b.category = :category or :category is null) " +
+            "and b.status in (:statuses) " +
+            "and ba.account.id = a.id " +
+            "and ba.status = :invitationStatus " +
+            "and a.email = :email " +
+            "and b.id = ba.bill.id")
+    List<ShortBill> findShortBillsPageable(@Param("startDate") ZonedDateTime startDate,
+                                           @Param("endDate") ZonedDateTime endDate,
+                                           @Nullable @Param("category") String category,
+                                           @Param("statuses") List<BillStatusEnum> statuses,
+                                           @Param("invitationStatus") InvitationStatusEnum invitationStatus,
+                                           @Param("email") String email,
+                                           Pageable pageable);
+
+    @Query(value = SHORT_BILL_SELECT +
+            "where b.id in (:billIds) " +
+            "and ba.account.id = a.id " +
+            "and a.email = :email " +
+            "and b.id = ba.bill.id")
+    List<ShortBill> findShortBillsByIds(@Param("billIds") Collection<Long> billIds, @Param("email") String email);
+
+    /**
+     * Each percentage is divided by 100 at {@link CalculatePaymentService#PERCENT_SCALE}, as in
+     * {@link CalculatePaymentService#calculateAccountSubTotals}, so that both give the same sub totals.
+     */
+    @Query(value = "SELECT i.bill.id as billId, SUM(i.cost) as subTotal, " +
+            "SUM(ROUND(COALESCE(ai.percentage, 0) / 100, " + CalculatePaymentService.PERCENT_SCALE + ") * i.cost) as accountCost " +
+            "FROM Item as i LEFT JOIN i.accounts as ai ON ai.account.id = :accountId " +
+            "where i.bill.id in (:billIds) " +
+            "group by i.bill.id")
+    List<BillCost> findBillCosts(@Param("billIds") Collection<Long> billIds, @Param("accountId") Long accountId);
+
+    @Query(value = "SELECT t FROM Tax as t where t.bill.id in (:billIds)")
+    List<Tax> findTaxesByBillIds(@Param("billIds") Collection<Long> billIds);
+
+    @Query(value = "SELECT ba.bill.id as billId, a.id as accountId, b.responsible.id as responsibleId " +
+            "FROM AccountBill as ba, Account as a, Bill as b " +
+            "where ba.account.id = a.id " +
+            "and b.id = ba.bill.id " +
+            "and a.email = :email")
+    List<BillAuthority> findBillAuthoritiesByEmail(@Param("email") String email);
+
+    @Query(value = "SELECT a.email " +
+            "FROM AccountBill as ba, Account as a " +
+            "where ba.account.id = a.id " +
+            "and ba.bill.id = :billId")
+    List<String> findParticipantEmails(@Param("billId") Long billId);
+
+    @Query(value = "SELECT MAX(b.updated) as updated, COUNT(b.id) as accountBills, MAX(b.version) as version, SUM(ba.version) as accountsVersion " +
+            "FROM AccountBill as ba JOIN ba.bill as b " +
+            "where ba.bill.id = :billId")
+    BillVersion findBillVersion(@Param("billId") Long billId);
+
+    @Query(value = "SELECT MAX(b.updated) as updated, COUNT(b.id) as accountBills, SUM(b.version) as version, SUM(ba.version) as accountsVersion " +
+            "FROM AccountBill as ba JOIN ba.bill as b, Account as a " +
+            "where ba.account.id = a.id " +
+            "and a.email = :email")
+    BillVersion findBillsVersion(@Param("email") String email);
+
+    @Query(value = "SELECT MIN(b.id) as firstId, MAX(b.id) as lastId FROM Bill as b where b.nextOccurrence <= :now")
+    OccurrenceIdRange findDueOccurrenceIdRange(@Param("now") ZonedDateTime now);
+
+    /**
+     * Recurring bills of the id range due and not held by another scheduler node, locked with
+     * {@code FOR UPDATE SKIP LOCKED} like {@link OutboxRepository#findClaimable} so that concurrent claims get disjoint
+     * batches.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query(value = "SELECT b FROM Bill as b " +
+            "where b.nextOccurrence <= :now " +
+            "and (b.occurrenceLockedUntil is null or b.occurrenceLockedUntil < :now) " +
+            "and b.id between :fromId and :toId " +
+            "and b.occurrence > 0 " +
+            "and b.active = true " +
+            "order by b.id")
+    List<Bill> findClaimableOccurrences(@Param("now") ZonedDateTime now, @Param("fromId") Long fromId, @Param("toId") Long toId, Pageable pageable);
+
+    @Modifying
+    @Query(value = "UPDATE Bill as b SET b.occurrenceLockedUntil = :lockedUntil where b.id in (:ids)")
+    int lockOccurrences(@Param("ids") Collection<Long> ids, @Param("lockedUntil") ZonedDateTime lockedUntil);
+
+    /**
+     * Moves the bill to its next occurrence and releases it, only if it is still held under the given lease.
+     *
+     * @return 0 if the lease expired and the bill was claimed again in the meantime
+     */
+    @Modifying
+    @Query(value = "UPDATE Bill as b SET b.nextOccurrence = :nextOccurrence, b.occurrenceLockedUntil = null " +
+            "where b.id = :id and b.occurrenceLockedUntil = :lockedUntil")
+    int advanceOccurrence(@Param("id") Long id, @Param("nextOccurrence") ZonedDateTime nextOccurrence, @Param("lockedUntil") ZonedDateTime lockedUntil);
+}
@@ -0,0 +1,19 @@
+package proj.kedabra.billsnap.business.repository;
+
+import java.util.List;
+
+import proj.kedabra.billsnap.business.dto.GetBillPaginationDTO;
+
+public interface BillRepositoryCustom {
+
+    /**
+     * Seeks the ids of the next page of bills of an account, starting right after the cursor of the pagination.
+     * Unlike an offset, the cursor keeps pages stable when bills are added before it, and deep pages cost the same
+     * as the first one.
+     *
+     * @param billPaginationDTO the filters, the sort and the page size of the page, and the cursor to start after. A
+     *                          null cursor seeks the first page.
+     * @return the ids of the bills of the page, in order
+     */
+    List<Long> findBillIdsAfterCursor(GetBillPaginationDTO billPaginationDTO);
+}
@@ -0,0 +1,129 @@
+package proj.kedabra.billsnap.business.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+
+import org.springframework.data.domain.Sort;
+
+import proj.kedabra.billsnap.business.dto.BillCursorDTO;
+import proj.kedabra.billsnap.business.dto.GetBillPaginationDTO;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
+
+public class BillRepositoryCustomImpl implements BillRepositoryCustom {
+
+    /**
+     * Nullable columns are coalesced so that they can be compared in a row value. The id always comes last, to break
+     * ties between bills with the same sort keys.
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "created", "b.created",
+            "status", "b.status",
+            "category", "COALESCE(b.category, '')",
+            "name", "COALESCE(b.name, '')"
+    );
+
+    private static final Map<String, String> CURSOR_VALUES = Map.of(
+            "created", ":cursorCreated",
+            "status", "CAST(:cursorStatus AS bill_status)",
+            "category", ":cursorCategory",
+            "name", ":cursorName"
+    );
+
+    private final EntityManager entityManager;
+
+    public BillRepositoryCustomImpl(final EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Long> findBillIdsAfterCursor(final GetBillPaginationDTO billPaginationDTO) {
+        final Sort sort = billPaginationDTO.getPageable().getSort();
+        final List<String> properties = sort.stream().map(Sort.Order::getProperty).collect(Collectors.toList());
+        final List<Sort.Direction> directions = sort.stream().map(Sort.Order::getDirection).distinct().collect(Collectors.toList());
+        if (directions.size() > 1 || !SORT_COLUMNS.keySet().containsAll(properties)) {
+            throw new IllegalArgumentException(ErrorMessageEnum.INVALID_CURSOR_SORT.getMessage(sort.toString()));
+        }
+        final Sort.Direction direction = directions.stream().findFirst().orElse(Sort.Direction.DESC);
+
+        final var sql = new StringBuilder("SELECT b.id FROM bill b " +
+                "JOIN bills_vs_accounts ba ON ba.bill_id = b.id " +
+                "JOIN account a ON a.id = ba.account_id " +
+                "WHERE a.email = :email " +
+                "AND ba.status = CAST(:invitationStatus AS invitation_status) " +
+                "AND b.created >= :startDate " +
+                "AND b.created < :endDate ");
+
+        final int statuses = billPaginationDTO.getStatuses().size();
+        sql.append(IntStream.range(0, statuses)
+                .mapToObj(i -> "CAST(:status" + i + " AS bill_status)")
+                .collect(Collectors.joining(", ", "AND b.status IN (", ") ")));
+
+        if (billPaginationDTO.getCategory() != null) {
+            sql.append("AND b.category = :category ");
+        }
+
+        final List<String> columns = new ArrayList<>();
+        properties.stream().map(SORT_COLUMNS::get).forEach(columns::add);
+        columns.add("b.id");
+
+        final BillCursorDTO cursor = billPaginationDTO.getCursor();
+        if (cursor != null) {
+            final List<String> values = new ArrayList<>();
+            properties.stream().map(CURSOR_VALUES::get).forEach(values::add);
+            values.add(":cursorId");
+            sql.append("AND (").append(String.join(", ", columns)).append(") ")
+                    .append(direction.isAscending() ? ">" : "<")
+                    .append(" (").append(String.join(", ", values)).append(") ");
+        }
+
+        sql.append(columns.stream().map(column -> column + " " + direction.name()).collect(Collectors.joining(", ", "ORDER BY ", "")));
+
+        final Query query = entityManager.createNativeQuery(sql.toString())
+                .setParameter("email", billPaginationDTO.getEmail())
+                .setParameter("invitationStatus", billPaginationDTO.getInvitationStatus().name())
+                .setParameter("startDate", billPaginationDTO.getStartDate())
+                .setParameter("endDate", billPaginationDTO.getEndDate())
+                .setMaxResults(billPaginationDTO.getPageable().getPageSize());
+
+        IntStream.range(0, statuses).forEach(i -> query.setParameter("status" + i, billPaginationDTO.getStatuses().get(i).name()));
+
+        if (billPaginationDTO.getCategory() != null) {
+            query.setParameter("category", billPaginationDTO.getCategory());
+        }
+
+        if (cursor != null) {
+            setCursorParameters(query, properties, cursor);
+        }
+
+        @SuppressWarnings("unchecked") final List<Number> ids = query.getResultList();
+        return ids.stream().map(Number::longValue).collect(Collectors.toList());
+    }
+
+    private static void setCursorParameters(final Query query, final List<String> properties, final BillCursorDTO cursor) {
+        if (cursor.getId() == null || (properties.contains("created") && cursor.getCreated() == null)
+                || (properties.contains("status") && cursor.getStatus() == null)) {
+            throw new IllegalArgumentException(ErrorMessageEnum.INVALID_CURSOR.getMessage());
+        }
+
+        query.setParameter("cursorId", cursor.getId());
+        if (properties.contains("created")) {
+            query.setParameter("cursorCreated", cursor.getCreated());
+        }
+        if (properties.contains("status")) {
+            query.setParameter("cursorStatus", cursor.getStatus().name());
+        }
+        if (properties.contains("category")) {
+            query.setParameter("cursorCategory", Optional.ofNullable(cursor.getCategory()).orElse(""));
+        }
+        if (properties.contains("name")) {
+            query.setParameter("cursorName", Optional.ofNullable(cursor.getName()).orElse(""));
+        }
+    }
+}
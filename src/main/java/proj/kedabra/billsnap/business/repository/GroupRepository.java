@@ -0,0 +1,58 @@
+package proj.kedabra.billsnap.business.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.model.entities.Group;
+import proj.kedabra.billsnap.business.model.projections.GroupBalance;
+import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
+
+public interface GroupRepository extends CrudRepository<Group, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = {"accounts", "accounts.account"})
+    Optional<Group> findById(Long id);
+
+    @Query(value = "SELECT g FROM Group as g JOIN g.accounts as ag " +
+            "where ag.account.email = :email " +
+            "order by g.id")
+    List<Group> findGroupsByEmail(@Param("email") String email);
+
+    /**
+     * Members of the group not yet invited to the bill, in one query whatever the size of the group.
+     */
+    @Query(value = "SELECT a FROM AccountGroup as ag JOIN ag.account as a " +
+            "where ag.id.groupId = :groupId " +
+            "and not exists (SELECT ba.id.accountId FROM AccountBill as ba where ba.id.billId = :billId and ba.id.accountId = a.id)")
+    List<Account> findMembersNotInBill(@Param("groupId") Long groupId, @Param("billId") Long billId);
+
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into bills_vs_groups (group_id, bill_id) " +
+            "select g.id, :billId from \"group\" g " +
+            "where g.id = :groupId " +
+            "and not exists (select bg.bill_id from bills_vs_groups bg where bg.group_id = :groupId and bg.bill_id = :billId)")
+    int linkBill(@Param("groupId") Long groupId, @Param("billId") Long billId);
+
+    /**
+     * Sums, per member, the amounts owed and paid on the bills of the group. The amounts owed are those maintained on
+     * write by {@link proj.kedabra.billsnap.business.service.BillTotalsService}, so no bill is computed again.
+     */
+    @Query(value = "SELECT a.email as email, COUNT(ba.id.billId) as bills, " +
+            "SUM(COALESCE(ba.totalOwed, 0)) as totalOwed, SUM(COALESCE(ba.amountPaid, 0)) as amountPaid " +
+            "FROM Group as g JOIN g.bills as b, AccountBill as ba JOIN ba.account as a, AccountGroup as ag " +
+            "where g.id = :groupId " +
+            "and ba.id.billId = b.id " +
+            "and ba.status <> :declined " +
+            "and ag.id.groupId = g.id " +
+            "and ag.id.accountId = a.id " +
+            "group by a.email " +
+            "order by a.email")
+    List<GroupBalance> findGroupBalances(@Param("groupId") Long groupId, @Param("declined") InvitationStatusEnum declined);
+}
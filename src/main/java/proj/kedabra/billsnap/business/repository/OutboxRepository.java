@@ -0,0 +1,48 @@
+package proj.kedabra.billsnap.business.repository;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import proj.kedabra.billsnap.business.model.entities.OutboxMessage;
+import proj.kedabra.billsnap.business.utils.enums.OutboxStatusEnum;
+
+public interface OutboxRepository extends CrudRepository<OutboxMessage, Long> {
+
+    /**
+     * Pending messages due and not claimed by another dispatcher, oldest first. The rows are locked with
+     * {@code FOR UPDATE SKIP LOCKED} (a lock timeout of -2), so concurrent dispatchers claim disjoint batches instead of
+     * waiting on each other. Dialects without it, such as H2, fall back to a plain {@code FOR UPDATE}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxMessage o " +
+            "WHERE o.status = :status " +
+            "AND o.availableAt <= :now " +
+            "AND (o.lockedUntil IS NULL OR o.lockedUntil < :now) " +
+            "ORDER BY o.id")
+    List<OutboxMessage> findClaimable(@Param("status") OutboxStatusEnum status, @Param("now") ZonedDateTime now, Pageable pageable);
+
+    /**
+     * Only the messages still held under the given claim are marked, the others have been claimed again since.
+     */
+    @Modifying
+    @Query("UPDATE OutboxMessage o SET o.status = :status, o.sent = :sent, o.lockedUntil = NULL, o.lockedBy = NULL " +
+            "WHERE o.id IN :ids AND o.lockedBy = :lockedBy")
+    int markSent(@Param("ids") List<Long> ids, @Param("lockedBy") String lockedBy, @Param("status") OutboxStatusEnum status,
+                 @Param("sent") ZonedDateTime sent);
+
+    @Query("SELECT MIN(o.created) FROM OutboxMessage o WHERE o.status = :status")
+    ZonedDateTime findOldestCreated(@Param("status") OutboxStatusEnum status);
+
+}
@@ -1,6 +1,8 @@
 package proj.kedabra.billsnap.business.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import proj.kedabra.billsnap.business.dto.AccountDTO;
 import proj.kedabra.billsnap.business.dto.BaseAccountDTO;
@@ -15,4 +17,6 @@ public interface AccountService {
     Account edit(String email, BaseAccountDTO editInfo);
 
     List<Account> getAccounts(List<String> emails);
+
+    Map<String, Account> getAccountsByEmail(Collection<String> emails);
 }
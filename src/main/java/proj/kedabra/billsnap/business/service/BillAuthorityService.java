@@ -0,0 +1,40 @@
+package proj.kedabra.billsnap.business.service;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+
+public interface BillAuthorityService {
+
+    String RESPONSIBLE_PREFIX = "RESPONSIBLE_";
+
+    /**
+     * Resolve the bill authorities of an account: the id of every bill it is part of, and RESPONSIBLE_ followed by
+     * the id of every bill it is responsible for.
+     *
+     * @param email the email of the account
+     * @return the authorities, served from the cache when they were already resolved
+     * @throws org.springframework.security.core.userdetails.UsernameNotFoundException if no account has that email
+     */
+    Collection<GrantedAuthority> getAuthorities(String email);
+
+    /**
+     * Give an account access to a bill it was just added to, by evicting its cached authorities.
+     *
+     * @param account the account added to the bill
+     * @param bill    the persisted bill
+     */
+    void grantBillAccess(Account account, Bill bill);
+
+    /**
+     * Move the responsible authority of a bill from one account to another, by evicting their cached authorities.
+     *
+     * @param bill        the bill in question
+     * @param previous    the account that was responsible
+     * @param responsible the account that is now responsible
+     */
+    void transferResponsibility(Bill bill, Account previous, Account responsible);
+}
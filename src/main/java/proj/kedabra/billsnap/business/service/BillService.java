@@ -1,15 +1,22 @@
 package proj.kedabra.billsnap.business.service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import proj.kedabra.billsnap.business.dto.AssociateBillDTO;
+import proj.kedabra.billsnap.business.dto.BalanceSplitDTO;
 import proj.kedabra.billsnap.business.dto.BillDTO;
 import proj.kedabra.billsnap.business.dto.EditBillDTO;
 import proj.kedabra.billsnap.business.dto.GetBillPaginationDTO;
 import proj.kedabra.billsnap.business.model.entities.Account;
 import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.model.entities.Tax;
+import proj.kedabra.billsnap.business.model.projections.BillCost;
+import proj.kedabra.billsnap.business.model.projections.BillVersion;
 import proj.kedabra.billsnap.business.model.projections.PaymentOwed;
+import proj.kedabra.billsnap.business.model.projections.ShortBill;
 import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
 
 public interface BillService {
@@ -18,12 +25,35 @@ public interface BillService {
 
     Bill associateItemsToAccountBill(AssociateBillDTO associateBillDTO);
 
+    Bill setBalancePercentages(BalanceSplitDTO balanceSplitDTO);
+
     Stream<Bill> getAllBillsByAccountPageable(GetBillPaginationDTO billPaginationDTO);
 
+    /**
+     * Hands every bill of the account matching the filters of the pagination to the action, in creation order, without
+     * ever holding more than a bounded number of them in the persistence context. The bills are detached once the
+     * action returns, so it must read everything it needs from them right away.
+     */
+    void forEachBillByAccount(GetBillPaginationDTO billPaginationDTO, Consumer<Bill> action);
+
+    List<ShortBill> getShortBillsByAccountPageable(GetBillPaginationDTO billPaginationDTO);
+
+    List<ShortBill> getShortBillsByAccountAfterCursor(GetBillPaginationDTO billPaginationDTO);
+
+    List<BillCost> getBillCosts(Collection<Long> billIds, Long accountId);
+
+    List<Tax> getTaxes(Collection<Long> billIds);
+
     Stream<PaymentOwed> getAllAmountOwedByStatusAndAccount(BillStatusEnum status, Account account);
 
     Bill getBill(Long id);
 
+    List<String> getParticipantEmails(Long billId);
+
+    BillVersion getBillVersion(Long billId);
+
+    BillVersion getBillsVersion(String email);
+
     Bill inviteRegisteredToBill(Bill bill, List<Account> accounts);
 
     void verifyBillStatus(Bill bill, BillStatusEnum status);
@@ -0,0 +1,35 @@
+package proj.kedabra.billsnap.business.service;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+
+import proj.kedabra.billsnap.business.dto.BillTotalsMismatchDTO;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+
+public interface BillTotalsService {
+
+    /**
+     * Compute the sub total, tip and balance of a bill and the share of each participant from its items, taxes and
+     * tip, and store them on the bill. Every write changing any of those must call it before its transaction ends.
+     *
+     * @param bill the bill, with its items, taxes and participants
+     */
+    void refreshTotals(Bill bill);
+
+    /**
+     * Compare the stored totals of a page of bills with totals recomputed from their items.
+     *
+     * @param pageable the page of bills to check
+     * @return one entry per stored total that is missing or differs from the recomputed one
+     */
+    List<BillTotalsMismatchDTO> findMismatches(Pageable pageable);
+
+    /**
+     * Store the recomputed totals of a page of bills wherever they are missing or differ.
+     *
+     * @param pageable the page of bills to repair
+     * @return the totals that were repaired
+     */
+    List<BillTotalsMismatchDTO> repairMismatches(Pageable pageable);
+}
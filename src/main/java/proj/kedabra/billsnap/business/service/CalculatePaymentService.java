@@ -2,9 +2,11 @@ package proj.kedabra.billsnap.business.service;
 
 import java.math.BigDecimal;
 import java.util.Collection;
+import java.util.Map;
 
 import org.springframework.lang.Nullable;
 
+import proj.kedabra.billsnap.business.model.entities.Account;
 import proj.kedabra.billsnap.business.model.entities.Bill;
 import proj.kedabra.billsnap.business.model.entities.Tax;
 
@@ -24,6 +26,17 @@ public interface CalculatePaymentService {
      */
     BigDecimal calculateBalance(Bill bill);
 
+    /**
+     * Calculate the full balance of a bill from its sub total, without needing its items
+     *
+     * @param subTotal   the sub total of the bill
+     * @param taxes      the taxes of the bill
+     * @param tipAmount  A flat tip amount. Can be null.
+     * @param tipPercent A tip percentage. Can be null.
+     * @return the full balance set to 2 decimal places and rounded {@link java.math.RoundingMode#HALF_EVEN}, same as {@link #calculateBalance(Bill)}
+     */
+    BigDecimal calculateBalance(BigDecimal subTotal, Collection<Tax> taxes, @Nullable BigDecimal tipAmount, @Nullable BigDecimal tipPercent);
+
     /**
      * Calculate the sub total of a bill
      *
@@ -32,6 +45,24 @@ public interface CalculatePaymentService {
      */
     BigDecimal calculateSubTotal(Bill bill);
 
+    /**
+     * Calculate the sub total of every account of a bill from its share of each item
+     *
+     * @param bill the bill whose items are split
+     * @return the sub total per account set to 2 decimal places and rounded {@link java.math.RoundingMode#HALF_UP}. Accounts without any item are absent.
+     */
+    Map<Account, BigDecimal> calculateAccountSubTotals(Bill bill);
+
+    /**
+     * Split an amount between accounts by percentage, without looking at the items of the bill. Every share is rounded
+     * down to the cent, and the cents left over are handed out one at a time to the largest remainders, ties going to
+     * the lowest account id, so that the shares add up to the amount exactly when the percentages add up to 100
+     *
+     * @param amount      the amount to split, with 2 decimal places
+     * @param percentages the percentage of the amount owed by each account
+     * @return the share of every account set to 2 decimal places
+     */
+    Map<Account, BigDecimal> calculateBalanceShares(BigDecimal amount, Map<Account, BigDecimal> percentages);
 
     /**
      * Calculate the taxes for a subtotal. It will return a value at the end set to 2 decimal places and rounded {@link java.math.RoundingMode#HALF_UP}
@@ -54,6 +85,16 @@ public interface CalculatePaymentService {
      */
     BigDecimal calculateTip(@Nullable BigDecimal tipAmount, @Nullable BigDecimal tipPercent, BigDecimal total);
 
+    /**
+     * Calculate the share of the bill's tip owed by an account, in proportion of its part of the bill's sub total
+     *
+     * @param accountSubTotal the sub total of the account, with 2 decimal places
+     * @param billSubTotal    the sub total of the bill. Cannot be zero.
+     * @param totalTip        the tip of the whole bill
+     * @return a value with 2 decimal places rounded {@link java.math.RoundingMode#HALF_UP}
+     */
+    BigDecimal calculateAccountTip(BigDecimal accountSubTotal, BigDecimal billSubTotal, BigDecimal totalTip);
+
     /**
      * Calculate the remaining amount to pay in bill
      *
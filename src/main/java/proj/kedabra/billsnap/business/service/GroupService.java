@@ -0,0 +1,31 @@
+package proj.kedabra.billsnap.business.service;
+
+import java.util.List;
+
+import proj.kedabra.billsnap.business.dto.GroupDTO;
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.model.entities.Group;
+import proj.kedabra.billsnap.business.model.projections.GroupBalance;
+import proj.kedabra.billsnap.business.utils.enums.GroupRoleEnum;
+
+public interface GroupService {
+
+    Group createGroup(GroupDTO groupDTO, Account admin, List<Account> members);
+
+    Group getGroup(Long groupId);
+
+    List<Group> getGroupsByEmail(String email);
+
+    Group editGroup(Group group, GroupDTO groupDTO, List<Account> members);
+
+    void deleteGroup(Group group);
+
+    void verifyRole(Group group, String email, GroupRoleEnum role);
+
+    List<Account> getMembersNotInBill(Group group, Bill bill);
+
+    void linkBill(Group group, Bill bill);
+
+    List<GroupBalance> getGroupBalances(Group group);
+}
@@ -0,0 +1,12 @@
+package proj.kedabra.billsnap.business.service;
+
+import proj.kedabra.billsnap.business.model.entities.OutboxMessage;
+
+/**
+ * Delivers the messages claimed by the outbox dispatcher, chosen with {@code outbox.sender}. Any exception thrown is
+ * an attempt failed and retried.
+ */
+public interface OutboxSender {
+
+    void send(OutboxMessage message);
+}
@@ -0,0 +1,20 @@
+package proj.kedabra.billsnap.business.service;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import proj.kedabra.billsnap.business.model.entities.OutboxMessage;
+
+public interface OutboxService {
+
+    OutboxMessage enqueue(String recipient, String subject, String body);
+
+    List<OutboxMessage> claimBatch();
+
+    int markSent(List<OutboxMessage> messages);
+
+    void markFailed(OutboxMessage message, String error);
+
+    Optional<ZonedDateTime> getOldestPendingCreated();
+}
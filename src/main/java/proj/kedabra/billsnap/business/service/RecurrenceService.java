@@ -0,0 +1,16 @@
+package proj.kedabra.billsnap.business.service;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import proj.kedabra.billsnap.business.dto.RecurrenceCopyDTO;
+import proj.kedabra.billsnap.business.model.projections.OccurrenceIdRange;
+
+public interface RecurrenceService {
+
+    OccurrenceIdRange getDueIdRange(ZonedDateTime now);
+
+    List<Long> claimDue(long fromId, long toId, ZonedDateTime now, ZonedDateTime lockedUntil);
+
+    RecurrenceCopyDTO copyBills(List<Long> billIds, ZonedDateTime now, ZonedDateTime lockedUntil);
+}
@@ -1,9 +1,14 @@
 package proj.kedabra.billsnap.business.service.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -24,6 +29,9 @@ import proj.kedabra.billsnap.utils.annotations.ObfuscateArgs;
 @Service
 public class AccountServiceImpl implements AccountService {
 
+    //bound on the parameters of one IN list
+    private static final int EMAILS_PER_QUERY = 500;
+
     private final AccountRepository accountRepository;
 
     private final AccountMapper mapper;
@@ -82,4 +90,21 @@ public class AccountServiceImpl implements AccountService {
         return accountsList;
     }
 
+    /**
+     * Finds the accounts of the emails that exist, querying at most {@value #EMAILS_PER_QUERY} emails at a time.
+     */
+    @Override
+    public Map<String, Account> getAccountsByEmail(final Collection<String> emails) {
+        final List<String> distinctEmails = emails.stream().distinct().collect(Collectors.toList());
+        final Map<String, Account> accounts = new HashMap<>();
+        for (int from = 0; from < distinctEmails.size(); from += EMAILS_PER_QUERY) {
+            final List<String> chunk = distinctEmails.subList(from, Math.min(from + EMAILS_PER_QUERY, distinctEmails.size()));
+            try (Stream<Account> found = accountRepository.getAccountsByEmailIn(chunk)) {
+                accounts.putAll(found.collect(Collectors.toMap(Account::getEmail, Function.identity())));
+            }
+        }
+
+        return accounts;
+    }
+
 }
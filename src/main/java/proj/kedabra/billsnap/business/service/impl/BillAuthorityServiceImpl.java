@@ -0,0 +1,112 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.model.projections.BillAuthority;
+import proj.kedabra.billsnap.business.repository.AccountRepository;
+import proj.kedabra.billsnap.business.repository.BillRepository;
+import proj.kedabra.billsnap.business.service.BillAuthorityService;
+import proj.kedabra.billsnap.utils.CacheNames;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
+import proj.kedabra.billsnap.utils.annotations.ReadFromPrimary;
+
+/**
+ * Authorities are kept in the shared {@link CacheNames#AUTHORITIES} cache, so that every node sees a change as soon
+ * as the account's entry is evicted. The entry is evicted right away and again once the transaction commits, so that
+ * a request reading the account in between cannot cache the authorities from before the change.
+ */
+@Service
+public class BillAuthorityServiceImpl implements BillAuthorityService {
+
+    private final BillRepository billRepository;
+
+    private final AccountRepository accountRepository;
+
+    private final CacheManager cacheManager;
+
+    @Autowired
+    public BillAuthorityServiceImpl(final BillRepository billRepository, final AccountRepository accountRepository, final CacheManager cacheManager) {
+        this.billRepository = billRepository;
+        this.accountRepository = accountRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    @ReadFromPrimary
+    @SuppressWarnings("unchecked")
+    public Collection<GrantedAuthority> getAuthorities(final String email) {
+        final Cache cache = cacheManager.getCache(CacheNames.AUTHORITIES);
+        List<String> authorities = cache == null ? null : cache.get(email, List.class);
+        if (authorities == null) {
+            authorities = resolveAuthorities(email);
+            if (cache != null) {
+                cache.put(email, authorities);
+            }
+        }
+        return authorities.stream().map(SimpleGrantedAuthority::new).collect(Collectors.toUnmodifiableList());
+    }
+
+    @Override
+    public void grantBillAccess(final Account account, final Bill bill) {
+        evict(account.getEmail());
+    }
+
+    @Override
+    public void transferResponsibility(final Bill bill, final Account previous, final Account responsible) {
+        if (previous.getId() != null && previous.getId().equals(responsible.getId())) {
+            return;
+        }
+        evict(previous.getEmail());
+        evict(responsible.getEmail());
+    }
+
+    /**
+     * An account without any bill is looked up, so that the tokens of accounts that no longer exist are rejected.
+     */
+    private List<String> resolveAuthorities(final String email) {
+        final List<BillAuthority> billAuthorities = billRepository.findBillAuthoritiesByEmail(email);
+        if (billAuthorities.isEmpty() && !accountRepository.existsAccountByEmail(email)) {
+            throw new UsernameNotFoundException(ErrorMessageEnum.NO_USER_FOUND_WITH_EMAIL.getMessage(email));
+        }
+
+        final var authorities = new ArrayList<String>();
+        for (final BillAuthority billAuthority : billAuthorities) {
+            if (billAuthority.getAccountId().equals(billAuthority.getResponsibleId())) {
+                authorities.add(RESPONSIBLE_PREFIX + billAuthority.getBillId());
+            }
+            authorities.add(billAuthority.getBillId().toString());
+        }
+        return authorities;
+    }
+
+    private void evict(final String email) {
+        final Cache cache = cacheManager.getCache(CacheNames.AUTHORITIES);
+        if (cache == null) {
+            return;
+        }
+        cache.evict(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(email);
+                }
+            });
+        }
+    }
+}
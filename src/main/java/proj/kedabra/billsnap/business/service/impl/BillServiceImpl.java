@@ -1,23 +1,36 @@
 package proj.kedabra.billsnap.business.service.impl;
 
 import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import proj.kedabra.billsnap.business.dto.AccountPercentageDTO;
 import proj.kedabra.billsnap.business.dto.AssociateBillDTO;
+import proj.kedabra.billsnap.business.dto.BalanceSplitDTO;
 import proj.kedabra.billsnap.business.dto.BillDTO;
 import proj.kedabra.billsnap.business.dto.EditBillDTO;
 import proj.kedabra.billsnap.business.dto.GetBillPaginationDTO;
@@ -36,10 +49,15 @@ import proj.kedabra.billsnap.business.model.entities.AccountItem;
 import proj.kedabra.billsnap.business.model.entities.Bill;
 import proj.kedabra.billsnap.business.model.entities.Item;
 import proj.kedabra.billsnap.business.model.entities.Tax;
+import proj.kedabra.billsnap.business.model.projections.BillCost;
+import proj.kedabra.billsnap.business.model.projections.BillVersion;
 import proj.kedabra.billsnap.business.model.projections.PaymentOwed;
+import proj.kedabra.billsnap.business.model.projections.ShortBill;
 import proj.kedabra.billsnap.business.repository.BillRepository;
 import proj.kedabra.billsnap.business.repository.PaymentRepository;
+import proj.kedabra.billsnap.business.service.BillAuthorityService;
 import proj.kedabra.billsnap.business.service.BillService;
+import proj.kedabra.billsnap.business.service.BillTotalsService;
 import proj.kedabra.billsnap.business.service.ItemService;
 import proj.kedabra.billsnap.business.service.NotificationService;
 import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
@@ -52,6 +70,10 @@ import proj.kedabra.billsnap.utils.ErrorMessageEnum;
 @Service
 public class BillServiceImpl implements BillService {
 
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private static final int EXPORT_CLEAR_INTERVAL = Integer.parseInt(BillRepository.EXPORT_FETCH_SIZE);
+
     private final BillRepository billRepository;
 
     private final PaymentRepository paymentRepository;
@@ -66,6 +88,10 @@ public class BillServiceImpl implements BillService {
 
     private final ItemService itemService;
 
+    private final BillAuthorityService billAuthorityService;
+
+    private final BillTotalsService billTotalsService;
+
     @Autowired
     public BillServiceImpl(
             final BillRepository billRepository,
@@ -74,7 +100,9 @@ public class BillServiceImpl implements BillService {
             final PaymentRepository paymentRepository,
             final NotificationService notificationService,
             final ItemService itemService,
-            final EntityManager entityManager) {
+            final EntityManager entityManager,
+            final BillAuthorityService billAuthorityService,
+            final BillTotalsService billTotalsService) {
         this.billRepository = billRepository;
         this.billMapper = billMapper;
         this.paymentMapper = paymentMapper;
@@ -82,6 +110,8 @@ public class BillServiceImpl implements BillService {
         this.notificationService = notificationService;
         this.entityManager = entityManager;
         this.itemService = itemService;
+        this.billAuthorityService = billAuthorityService;
+        this.billTotalsService = billTotalsService;
     }
 
 
@@ -93,13 +123,21 @@ public class BillServiceImpl implements BillService {
         bill.setResponsible(account);
         bill.setCreator(account);
         bill.setActive(true);
-        bill.setSplitBy(SplitByEnum.ITEM);
+        bill.setSplitBy(Optional.ofNullable(billDTO.getSplitBy()).orElse(SplitByEnum.ITEM));
+        if (bill.getOccurrence() != null && bill.getOccurrence() > 0) {
+            bill.setNextOccurrence(ZonedDateTime.now(ZoneId.systemDefault()).plusDays(bill.getOccurrence()));
+        }
         bill.getItems().forEach(i -> mapItems(i, bill, account, 100));
-        inviteRegisteredToBill(bill, accountList);
+        addInvitations(bill, accountList);
         bill.getTaxes().forEach(t -> t.setBill(bill));
-        mapAccountBill(bill, account, null, InvitationStatusEnum.ACCEPTED);
+        //the creator owes the whole balance until it is split
+        mapAccountBill(bill, account, bill.getSplitBy() == SplitByEnum.BALANCE ? ONE_HUNDRED : null, InvitationStatusEnum.ACCEPTED);
+        billTotalsService.refreshTotals(bill);
 
-        return billRepository.save(bill);
+        final Bill savedBill = billRepository.save(bill);
+        savedBill.getAccounts().forEach(accountBill -> billAuthorityService.grantBillAccess(accountBill.getAccount(), savedBill));
+
+        return savedBill;
     }
 
     @Override
@@ -116,6 +154,74 @@ public class BillServiceImpl implements BillService {
         );
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachBillByAccount(final GetBillPaginationDTO billPaginationDTO, final Consumer<Bill> action) {
+        try (Stream<Bill> bills = billRepository.streamBills(
+                billPaginationDTO.getStartDate(),
+                billPaginationDTO.getEndDate(),
+                billPaginationDTO.getCategory(),
+                billPaginationDTO.getStatuses(),
+                billPaginationDTO.getInvitationStatus(),
+                billPaginationDTO.getEmail())) {
+            final Iterator<Bill> iterator = bills.iterator();
+            int visited = 0;
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                //each fetched batch of rows is let go of along with everything lazily loaded for it
+                if (++visited % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ShortBill> getShortBillsByAccountPageable(final GetBillPaginationDTO billPaginationDTO) {
+        return billRepository.findShortBillsPageable(
+                billPaginationDTO.getStartDate(),
+                billPaginationDTO.getEndDate(),
+                billPaginationDTO.getCategory(),
+                billPaginationDTO.getStatuses(),
+                billPaginationDTO.getInvitationStatus(),
+                billPaginationDTO.getEmail(),
+                billPaginationDTO.getPageable()
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ShortBill> getShortBillsByAccountAfterCursor(final GetBillPaginationDTO billPaginationDTO) {
+        final List<Long> billIds = billRepository.findBillIdsAfterCursor(billPaginationDTO);
+        if (billIds.isEmpty()) {
+            return List.of();
+        }
+
+        final Map<Long, ShortBill> shortBillsById = billRepository.findShortBillsByIds(billIds, billPaginationDTO.getEmail())
+                .stream()
+                .collect(Collectors.toMap(ShortBill::getId, Function.identity()));
+        return billIds.stream().map(shortBillsById::get).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BillCost> getBillCosts(final Collection<Long> billIds, final Long accountId) {
+        if (billIds.isEmpty()) {
+            return List.of();
+        }
+        return billRepository.findBillCosts(billIds, accountId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Tax> getTaxes(final Collection<Long> billIds) {
+        if (billIds.isEmpty()) {
+            return List.of();
+        }
+        return billRepository.findTaxesByBillIds(billIds);
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Stream<PaymentOwed> getAllAmountOwedByStatusAndAccount(BillStatusEnum status, Account account) {
@@ -128,6 +234,24 @@ public class BillServiceImpl implements BillService {
         return billRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException(ErrorMessageEnum.BILL_ID_DOES_NOT_EXIST.getMessage(id.toString())));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<String> getParticipantEmails(final Long billId) {
+        return billRepository.findParticipantEmails(billId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BillVersion getBillVersion(final Long billId) {
+        return billRepository.findBillVersion(billId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public BillVersion getBillsVersion(final String email) {
+        return billRepository.findBillsVersion(email);
+    }
+
     @Override
     public void verifyUserIsBillResponsible(Bill bill, String userEmail) {
         if (!bill.getResponsible().getEmail().equals(userEmail)) {
@@ -155,9 +279,13 @@ public class BillServiceImpl implements BillService {
         billMapper.updatebill(bill, editBill);
         bill.getTaxes().forEach(t -> t.setBill(bill));
         final var newResponsible = bill.getAccounts().stream().map(AccountBill::getAccount).filter(acc -> editBill.getResponsible().equals(acc.getEmail())).findFirst().orElseThrow();
+        billAuthorityService.transferResponsibility(bill, bill.getResponsible(), newResponsible);
         bill.setResponsible(newResponsible);
         setBillTip(bill, editBill);
         itemService.editNewItems(bill, account, editBill);
+        billTotalsService.refreshTotals(bill);
+        //item and split changes can leave the bill row alone, its version is forced up so that its ETag follows them
+        entityManager.lock(bill, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
 
         return billRepository.save(bill);
     }
@@ -166,10 +294,9 @@ public class BillServiceImpl implements BillService {
     @Override
     @Transactional(rollbackFor = Exception.class)
     public Bill inviteRegisteredToBill(final Bill bill, final List<Account> accounts) {
-        accounts.forEach(acc -> {
-            notificationService.createNotification(bill, acc);
-            mapAccountBill(bill, acc, null, InvitationStatusEnum.PENDING);
-        });
+        addInvitations(bill, accounts);
+        billTotalsService.refreshTotals(bill);
+        accounts.forEach(acc -> billAuthorityService.grantBillAccess(acc, bill));
 
         return bill;
     }
@@ -192,74 +319,121 @@ public class BillServiceImpl implements BillService {
         verifyPercentagesAreIntegerValued(associateBillDTO);
         verifyNoDuplicateEmails(associateBillDTO);
         final var bill = getBill(associateBillDTO.getId());
+        verifySplitType(bill, SplitByEnum.ITEM);
         final List<ItemAssociationDTO> items = associateBillDTO.getItems();
-        verifyExistenceOfAssociateItemInBill(bill, items);
-        verifyExistenceOfItemsInBill(bill, items);
-        verifyInvitationStatus(bill, items);
-        removeReferencedAccountItems(bill, items);
-        addNewAssociations(bill, items);
+        final Map<Item, Map<String, AccountItem>> associations = getItemAssociations(bill, items);
+        associations.forEach(this::replaceAssociations);
+        billTotalsService.refreshTotals(bill);
+        entityManager.lock(bill, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
         return bill;
     }
 
-    private void addNewAssociations(Bill bill, List<ItemAssociationDTO> items) {
-        final var itemMap = bill.getItems().stream().collect(Collectors.toMap(Item::getId, Function.identity()));
-        final var accountMap = bill.getAccounts().stream().map(AccountBill::getAccount).collect(Collectors.toMap(Account::getEmail, Function.identity()));
-
-        items.forEach(item -> {
-            final var account = accountMap.get(item.getEmail());
-            item.getItems().forEach(itemPercentageDTO -> {
-                final var itemEntity = itemMap.get(itemPercentageDTO.getItemId());
-                this.mapItems(itemEntity, bill, account, itemPercentageDTO.getPercentage().intValue());
-            });
-        });
-    }
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Bill setBalancePercentages(final BalanceSplitDTO balanceSplitDTO) {
+        final var bill = getBill(balanceSplitDTO.getId());
+        verifySplitType(bill, SplitByEnum.BALANCE);
+        final List<AccountPercentageDTO> accounts = balanceSplitDTO.getAccounts();
+        verifyNoDuplicateEmails(accounts.stream().map(AccountPercentageDTO::getEmail));
+
+        final Map<String, AccountBill> accountBillsByEmail = bill.getAccounts().stream().collect(Collectors.toMap(accountBill -> accountBill.getAccount().getEmail(), Function.identity()));
+        final String[] nonExistentAccounts = accounts.stream()
+                .map(AccountPercentageDTO::getEmail)
+                .filter(Predicate.not(accountBillsByEmail::containsKey))
+                .toArray(String[]::new);
+        if (nonExistentAccounts.length > 0) {
+            throw new IllegalArgumentException(ErrorMessageEnum.SOME_ACCOUNTS_NONEXISTENT_IN_BILL.getMessage(Arrays.toString(nonExistentAccounts)));
+        }
 
-    private void removeReferencedAccountItems(Bill bill, List<ItemAssociationDTO> items) {
-        final var list = items.stream()
-                .map(ItemAssociationDTO::getItems)
-                .flatMap(List::stream)
-                .map(ItemPercentageDTO::getItemId)
+        final List<String> declinedEmails = accounts.stream()
+                .filter(account -> BigDecimal.ZERO.compareTo(account.getPercentage()) < 0)
+                .map(AccountPercentageDTO::getEmail)
+                .filter(email -> InvitationStatusEnum.DECLINED == accountBillsByEmail.get(email).getStatus())
                 .collect(Collectors.toList());
+        if (!declinedEmails.isEmpty()) {
+            throw new IllegalArgumentException(ErrorMessageEnum.LIST_ACCOUNT_DECLINED.getMessage(declinedEmails.toString()));
+        }
 
-        bill.getItems().stream().filter(i -> list.contains(i.getId())).map(Item::getAccounts).forEach(Set::clear);
-        entityManager.flush();
-    }
+        final BigDecimal percentageSum = accounts.stream().map(AccountPercentageDTO::getPercentage).reduce(BigDecimal.ZERO, BigDecimal::add);
+        if (percentageSum.compareTo(ONE_HUNDRED) != 0) {
+            throw new IllegalArgumentException(ErrorMessageEnum.BALANCE_PERCENTAGES_MUST_ADD_TO_100.getMessage(percentageSum.toPlainString()));
+        }
 
-    private void verifyInvitationStatus(final Bill bill, final List<ItemAssociationDTO> items) {
-        final var declinedEmails = bill.getAccounts().stream().filter(accountBill -> InvitationStatusEnum.DECLINED.equals(accountBill.getStatus())).map(AccountBill::getAccount).map(Account::getEmail).collect(Collectors.toList());
-        final var associatedDeclinedEmails = items.stream().map(ItemAssociationDTO::getEmail).filter(declinedEmails::contains).collect(Collectors.toList());
+        bill.getAccounts().forEach(accountBill -> accountBill.setPercentage(BigDecimal.ZERO));
+        accounts.forEach(account -> accountBillsByEmail.get(account.getEmail()).setPercentage(account.getPercentage()));
+        billTotalsService.refreshTotals(bill);
 
-        if (!associatedDeclinedEmails.isEmpty()) {
-            throw new IllegalArgumentException(ErrorMessageEnum.LIST_ACCOUNT_DECLINED.getMessage(associatedDeclinedEmails.toString()));
-        }
+        return bill;
     }
 
-    private void verifyExistenceOfItemsInBill(Bill bill, List<ItemAssociationDTO> items) {
-        final Set<Item> billItems = bill.getItems();
-        final Set<Long> billItemsId = billItems.stream().map(Item::getId).collect(HashSet::new, HashSet::add, HashSet::addAll);
-
-        final Long[] nonExistentListIds = items.stream()
-                .map(ItemAssociationDTO::getItems)
-                .flatMap(List::stream)
-                .map(ItemPercentageDTO::getItemId)
-                .filter(Predicate.not(billItemsId::contains))
-                .toArray(Long[]::new);
+    /**
+     * Validates the associations in a single pass over hash indexes of the bill's accounts and items, and groups them
+     * by item. The accounts of each referenced item are replaced by the ones returned for it, keyed by email.
+     */
+    private Map<Item, Map<String, AccountItem>> getItemAssociations(final Bill bill, final List<ItemAssociationDTO> items) {
+        final Map<String, AccountBill> accountBillsByEmail = bill.getAccounts().stream().collect(Collectors.toMap(accountBill -> accountBill.getAccount().getEmail(), Function.identity()));
+        final Map<Long, Item> billItemsById = bill.getItems().stream().collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        final List<String> nonExistentAccounts = new ArrayList<>();
+        final List<Long> nonExistentItemIds = new ArrayList<>();
+        final List<String> declinedEmails = new ArrayList<>();
+        final Map<Item, Map<String, AccountItem>> associations = new IdentityHashMap<>();
+        items.forEach(association -> {
+            final AccountBill accountBill = accountBillsByEmail.get(association.getEmail());
+            if (accountBill == null) {
+                nonExistentAccounts.add(association.getEmail());
+            } else if (accountBill.getStatus() == InvitationStatusEnum.DECLINED) {
+                declinedEmails.add(association.getEmail());
+            }
+
+            association.getItems().forEach(itemPercentage -> {
+                final Item item = billItemsById.get(itemPercentage.getItemId());
+                if (item == null) {
+                    nonExistentItemIds.add(itemPercentage.getItemId());
+                } else if (accountBill != null) {
+                    final var accountItem = new AccountItem();
+                    accountItem.setAccount(accountBill.getAccount());
+                    accountItem.setItem(item);
+                    accountItem.setPercentage(new BigDecimal(itemPercentage.getPercentage().intValue()));
+                    associations.computeIfAbsent(item, i -> new HashMap<>()).put(association.getEmail(), accountItem);
+                }
+            });
+        });
 
-        if (nonExistentListIds.length > 0) {
-            throw new IllegalArgumentException(ErrorMessageEnum.SOME_ITEMS_NONEXISTENT_IN_BILL.getMessage(Arrays.toString(nonExistentListIds)));
+        if (!nonExistentAccounts.isEmpty()) {
+            throw new IllegalArgumentException(ErrorMessageEnum.SOME_ACCOUNTS_NONEXISTENT_IN_BILL.getMessage(nonExistentAccounts.toString()));
+        }
+        if (!nonExistentItemIds.isEmpty()) {
+            throw new IllegalArgumentException(ErrorMessageEnum.SOME_ITEMS_NONEXISTENT_IN_BILL.getMessage(nonExistentItemIds.toString()));
         }
+        if (!declinedEmails.isEmpty()) {
+            throw new IllegalArgumentException(ErrorMessageEnum.LIST_ACCOUNT_DECLINED.getMessage(declinedEmails.toString()));
+        }
+        return associations;
     }
 
-    private void verifyExistenceOfAssociateItemInBill(final Bill bill, final List<ItemAssociationDTO> items) {
-        final List<String> existingEmailsInList = bill.getAccounts().stream().map(AccountBill::getAccount).map(Account::getEmail).collect(Collectors.toList());
-        final String[] nonExistentAccounts = items.stream()
-                .map(ItemAssociationDTO::getEmail)
-                .filter(Predicate.not(existingEmailsInList::contains))
-                .toArray(String[]::new);
-
-        if (nonExistentAccounts.length > 0) {
-            throw new IllegalArgumentException(ErrorMessageEnum.SOME_ACCOUNTS_NONEXISTENT_IN_BILL.getMessage(Arrays.toString(nonExistentAccounts)));
+    /**
+     * Replaces the accounts of the item by diffing them with the new ones: the account items that are kept are
+     * updated in place instead of being deleted and inserted again, so no flush is needed in between.
+     */
+    private void replaceAssociations(final Item item, final Map<String, AccountItem> accountItems) {
+        final Set<AccountItem> itemAccounts = item.getAccounts();
+        itemAccounts.removeIf(accountItem -> !accountItems.containsKey(accountItem.getAccount().getEmail()));
+
+        final List<AccountItem> updated = new ArrayList<>();
+        final Iterator<AccountItem> iterator = itemAccounts.iterator();
+        while (iterator.hasNext()) {
+            final AccountItem accountItem = iterator.next();
+            final BigDecimal percentage = accountItems.remove(accountItem.getAccount().getEmail()).getPercentage();
+            if (percentage.compareTo(accountItem.getPercentage()) != 0) {
+                //the percentage is part of the hash code, so the account item is put back in the set once updated
+                iterator.remove();
+                accountItem.setPercentage(percentage);
+                updated.add(accountItem);
+            }
         }
+        itemAccounts.addAll(updated);
+        itemAccounts.addAll(accountItems.values());
     }
 
     private void verifyExistenceofTaxesInBill(EditBillDTO editBill, Bill bill) {
@@ -286,9 +460,12 @@ public class BillServiceImpl implements BillService {
     }
 
     private void verifyNoDuplicateEmails(final AssociateBillDTO associateBillDTO) {
+        verifyNoDuplicateEmails(associateBillDTO.getItems().stream().map(ItemAssociationDTO::getEmail));
+    }
+
+    private void verifyNoDuplicateEmails(final Stream<String> emails) {
         final HashSet<String> allEmails = new HashSet<>();
-        final Set<String> duplicateSet = associateBillDTO.getItems().stream()
-                .map(ItemAssociationDTO::getEmail)
+        final Set<String> duplicateSet = emails
                 .filter(email -> !allEmails.add(email)) //Set.add() returns false if the item was already in the set
                 .collect(Collectors.toSet());
 
@@ -297,6 +474,12 @@ public class BillServiceImpl implements BillService {
         }
     }
 
+    private void verifySplitType(final Bill bill, final SplitByEnum splitBy) {
+        if (bill.getSplitBy() != splitBy) {
+            throw new FunctionalWorkflowException(ErrorMessageEnum.WRONG_SPLIT_TYPE.getMessage(splitBy.toString()));
+        }
+    }
+
     private void setBillTip(final Bill bill, final EditBillDTO editBill) {
         if ((editBill.getTipAmount() == null) == (editBill.getTipPercent() == null)) {
             throw new IllegalArgumentException(ErrorMessageEnum.MULTIPLE_TIP_METHOD.getMessage());
@@ -306,6 +489,14 @@ public class BillServiceImpl implements BillService {
         bill.setTipAmount(editBill.getTipAmount());
     }
 
+    private void addInvitations(final Bill bill, final List<Account> accounts) {
+        final BigDecimal percentage = bill.getSplitBy() == SplitByEnum.BALANCE ? BigDecimal.ZERO : null;
+        accounts.forEach(acc -> {
+            notificationService.createNotification(bill, acc);
+            mapAccountBill(bill, acc, percentage, InvitationStatusEnum.PENDING);
+        });
+    }
+
     private void mapItems(final Item item, final Bill bill, final Account account, int percentage) {
         item.setBill(bill);
         var accountItem = new AccountItem();
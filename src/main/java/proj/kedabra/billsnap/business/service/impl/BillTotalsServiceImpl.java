@@ -0,0 +1,177 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import proj.kedabra.billsnap.business.dto.BillTotalsMismatchDTO;
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.repository.BillRepository;
+import proj.kedabra.billsnap.business.service.BillTotalsService;
+import proj.kedabra.billsnap.business.service.CalculatePaymentService;
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
+
+@Service
+public class BillTotalsServiceImpl implements BillTotalsService {
+
+    private static final BigDecimal ZERO = BigDecimal.ZERO.setScale(CalculatePaymentService.DOLLAR_SCALE);
+
+    private final BillRepository billRepository;
+
+    private final CalculatePaymentService calculatePaymentService;
+
+    @Autowired
+    public BillTotalsServiceImpl(final BillRepository billRepository, final CalculatePaymentService calculatePaymentService) {
+        this.billRepository = billRepository;
+        this.calculatePaymentService = calculatePaymentService;
+    }
+
+    @Override
+    public void refreshTotals(final Bill bill) {
+        reconcile(bill, true);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BillTotalsMismatchDTO> findMismatches(final Pageable pageable) {
+        final List<BillTotalsMismatchDTO> mismatches = new ArrayList<>();
+        billRepository.findAll(pageable).forEach(bill -> mismatches.addAll(reconcile(bill, false)));
+        return mismatches;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<BillTotalsMismatchDTO> repairMismatches(final Pageable pageable) {
+        final List<BillTotalsMismatchDTO> mismatches = new ArrayList<>();
+        billRepository.findAll(pageable).forEach(bill -> mismatches.addAll(reconcile(bill, true)));
+        return mismatches;
+    }
+
+    /**
+     * Computes every total the same way {@link proj.kedabra.billsnap.business.facade.BillFacade#getBillSplitDTO(Bill)}
+     * does, and compares it with the stored one, storing it when asked to.
+     */
+    private List<BillTotalsMismatchDTO> reconcile(final Bill bill, final boolean store) {
+        final var reconciliation = new Reconciliation(bill.getId(), store);
+
+        final BigDecimal subTotal = calculatePaymentService.calculateSubTotal(bill);
+        final BigDecimal totalTip = calculatePaymentService.calculateTip(bill.getTipAmount(), bill.getTipPercent(), subTotal);
+        reconciliation.compare(null, "subTotal", bill.getSubTotal(), subTotal, bill::setSubTotal);
+        reconciliation.compare(null, "totalTip", bill.getTotalTip(), totalTip, bill::setTotalTip);
+        final BigDecimal balance = calculatePaymentService.calculateBalance(bill);
+        reconciliation.compare(null, "balance", bill.getBalance(), balance, bill::setBalance);
+
+        final Map<Account, AccountTotals> accountTotals = bill.getSplitBy() == SplitByEnum.BALANCE
+                ? getBalanceSplitTotals(bill, subTotal, balance)
+                : getItemSplitTotals(bill, subTotal, totalTip);
+        bill.getAccounts().forEach(accountBill -> {
+            final Long accountId = accountBill.getAccount().getId();
+            final var totals = accountTotals.getOrDefault(accountBill.getAccount(), AccountTotals.NONE);
+
+            reconciliation.compare(accountId, "subTotal", accountBill.getSubTotal(), totals.subTotal, accountBill::setSubTotal);
+            reconciliation.compare(accountId, "tax", accountBill.getTax(), totals.tax, accountBill::setTax);
+            reconciliation.compare(accountId, "tip", accountBill.getTip(), totals.tip, accountBill::setTip);
+            reconciliation.compare(accountId, "totalOwed", accountBill.getTotalOwed(), totals.getTotalOwed(), accountBill::setTotalOwed);
+        });
+
+        return reconciliation.mismatches;
+    }
+
+    private Map<Account, AccountTotals> getItemSplitTotals(final Bill bill, final BigDecimal subTotal, final BigDecimal totalTip) {
+        final Map<Account, AccountTotals> accountTotals = new HashMap<>();
+        calculatePaymentService.calculateAccountSubTotals(bill).forEach((account, accountSubTotal) -> {
+            BigDecimal tax = ZERO;
+            BigDecimal tip = ZERO;
+            if (BigDecimal.ZERO.compareTo(accountSubTotal) < 0) {
+                tax = calculatePaymentService.calculateTaxes(accountSubTotal, bill.getTaxes());
+                tip = calculatePaymentService.calculateAccountTip(accountSubTotal, subTotal, totalTip);
+            }
+            accountTotals.put(account, new AccountTotals(accountSubTotal, tax, tip));
+        });
+        return accountTotals;
+    }
+
+    /**
+     * Each account owes its percentage of the sub total, the taxes and the tip, which is what is left of the balance.
+     * Each part is split to the cent on its own, so the parts of all the accounts add up to the balance, and an account
+     * never gets a tip on a bill without one.
+     */
+    private Map<Account, AccountTotals> getBalanceSplitTotals(final Bill bill, final BigDecimal subTotal, final BigDecimal balance) {
+        final Map<Account, BigDecimal> percentages = new HashMap<>();
+        bill.getAccounts().forEach(accountBill -> percentages.put(accountBill.getAccount(), Optional.ofNullable(accountBill.getPercentage()).orElse(BigDecimal.ZERO)));
+
+        final BigDecimal totalTax = calculatePaymentService.calculateTaxes(subTotal, bill.getTaxes());
+        final Map<Account, BigDecimal> subTotals = calculatePaymentService.calculateBalanceShares(subTotal, percentages);
+        final Map<Account, BigDecimal> taxes = calculatePaymentService.calculateBalanceShares(totalTax, percentages);
+        final Map<Account, BigDecimal> tips = calculatePaymentService.calculateBalanceShares(balance.subtract(subTotal).subtract(totalTax), percentages);
+
+        final Map<Account, AccountTotals> accountTotals = new HashMap<>();
+        subTotals.forEach((account, accountSubTotal) -> accountTotals.put(account, new AccountTotals(accountSubTotal, taxes.get(account), tips.get(account))));
+        return accountTotals;
+    }
+
+    private static final class AccountTotals {
+
+        private static final AccountTotals NONE = new AccountTotals(ZERO, ZERO, ZERO);
+
+        private final BigDecimal subTotal;
+
+        private final BigDecimal tax;
+
+        private final BigDecimal tip;
+
+        private AccountTotals(final BigDecimal subTotal, final BigDecimal tax, final BigDecimal tip) {
+            this.subTotal = subTotal;
+            this.tax = tax;
+            this.tip = tip;
+        }
+
+        private BigDecimal getTotalOwed() {
+            return subTotal.add(tax).add(tip);
+        }
+    }
+
+    private static final class Reconciliation {
+
+        private final Long billId;
+
+        private final boolean store;
+
+        private final List<BillTotalsMismatchDTO> mismatches = new ArrayList<>();
+
+        private Reconciliation(final Long billId, final boolean store) {
+            this.billId = billId;
+            this.store = store;
+        }
+
+        private void compare(@Nullable final Long accountId, final String total, @Nullable final BigDecimal stored, final BigDecimal computed, final Consumer<BigDecimal> setter) {
+            if (stored != null && stored.compareTo(computed) == 0) {
+                return;
+            }
+
+            final var mismatch = new BillTotalsMismatchDTO();
+            mismatch.setBillId(billId);
+            mismatch.setAccountId(accountId);
+            mismatch.setTotal(total);
+            mismatch.setStored(stored);
+            mismatch.setComputed(computed);
+            mismatches.add(mismatch);
+
+            if (store) {
+                setter.accept(computed.setScale(CalculatePaymentService.DOLLAR_SCALE, RoundingMode.HALF_UP));
+            }
+        }
+    }
+}
@@ -2,27 +2,40 @@ package proj.kedabra.billsnap.business.service.impl;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import proj.kedabra.billsnap.business.model.entities.Account;
 import proj.kedabra.billsnap.business.model.entities.Bill;
 import proj.kedabra.billsnap.business.model.entities.Item;
 import proj.kedabra.billsnap.business.model.entities.Tax;
 import proj.kedabra.billsnap.business.service.CalculatePaymentService;
 
 @Service
+@ConditionalOnProperty(name = "payment.engine", havingValue = "big-decimal", matchIfMissing = true)
 public class CalculatePaymentServiceImpl implements CalculatePaymentService {
 
     private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
 
+    private static final BigDecimal ONE_CENT = new BigDecimal("0.01");
+
     @Override
     public BigDecimal calculateBalance(final Bill bill) {
-        final BigDecimal subTotal = calculateSubTotal(bill);
-        final var taxes = calculateTaxes(subTotal, bill.getTaxes());
-        final var total = subTotal.add(taxes);
-        final BigDecimal tipTotal = calculateTip(bill.getTipAmount(), bill.getTipPercent(), total);
+        return calculateBalance(calculateSubTotal(bill), bill.getTaxes(), bill.getTipAmount(), bill.getTipPercent());
+    }
+
+    @Override
+    public BigDecimal calculateBalance(final BigDecimal subTotal, final Collection<Tax> taxes, final BigDecimal tipAmount, final BigDecimal tipPercent) {
+        final var total = subTotal.add(calculateTaxes(subTotal, taxes));
+        final BigDecimal tipTotal = calculateTip(tipAmount, tipPercent, total);
 
         return total.add(tipTotal).setScale(DOLLAR_SCALE, RoundingMode.HALF_EVEN);
     }
@@ -32,6 +45,39 @@ public class CalculatePaymentServiceImpl implements CalculatePaymentService {
         return bill.getItems().stream().map(Item::getCost).reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    @Override
+    public Map<Account, BigDecimal> calculateAccountSubTotals(final Bill bill) {
+        final Map<Account, BigDecimal> accountSubTotals = new HashMap<>();
+        bill.getItems().forEach(item -> item.getAccounts().forEach(accountItem -> {
+            final BigDecimal percentage = accountItem.getPercentage().setScale(PERCENT_SCALE, RoundingMode.HALF_UP).divide(ONE_HUNDRED, RoundingMode.HALF_UP);
+            accountSubTotals.merge(accountItem.getAccount(), item.getCost().multiply(percentage), BigDecimal::add);
+        }));
+        accountSubTotals.replaceAll((account, subTotal) -> subTotal.setScale(DOLLAR_SCALE, RoundingMode.HALF_UP));
+        return accountSubTotals;
+    }
+
+    @Override
+    public Map<Account, BigDecimal> calculateBalanceShares(final BigDecimal amount, final Map<Account, BigDecimal> percentages) {
+        final Map<Account, BigDecimal> shares = new HashMap<>(percentages.size() * 2);
+        final List<Map.Entry<Account, BigDecimal>> remainders = new ArrayList<>(percentages.size());
+        BigDecimal allocated = BigDecimal.ZERO;
+        for (final Map.Entry<Account, BigDecimal> percentage : percentages.entrySet()) {
+            //dividing by 100 is exact, only the rounding to the cent loses anything
+            final BigDecimal exactShare = amount.multiply(percentage.getValue()).movePointLeft(2);
+            final BigDecimal share = exactShare.setScale(DOLLAR_SCALE, RoundingMode.DOWN);
+            shares.put(percentage.getKey(), share);
+            remainders.add(Map.entry(percentage.getKey(), exactShare.subtract(share)));
+            allocated = allocated.add(share);
+        }
+
+        final long centsLeft = Math.min(amount.subtract(allocated).movePointRight(DOLLAR_SCALE).longValue(), remainders.size());
+        remainders.sort(Map.Entry.<Account, BigDecimal>comparingByValue().reversed()
+                .thenComparing(Map.Entry::getKey, Comparator.comparing(Account::getId, Comparator.nullsLast(Comparator.naturalOrder()))));
+        remainders.stream().limit(Math.max(centsLeft, 0)).forEach(remainder -> shares.merge(remainder.getKey(), ONE_CENT, BigDecimal::add));
+
+        return shares;
+    }
+
     @Override
     public BigDecimal calculateTaxes(final BigDecimal subTotal, final Collection<Tax> taxes) {
         final var total = taxes
@@ -59,6 +105,11 @@ public class CalculatePaymentServiceImpl implements CalculatePaymentService {
         return tipAmount.add(tipPercentAmount).setScale(DOLLAR_SCALE, RoundingMode.HALF_UP);
     }
 
+    @Override
+    public BigDecimal calculateAccountTip(final BigDecimal accountSubTotal, final BigDecimal billSubTotal, final BigDecimal totalTip) {
+        return accountSubTotal.divide(billSubTotal, RoundingMode.HALF_UP).multiply(totalTip).setScale(DOLLAR_SCALE, RoundingMode.HALF_UP);
+    }
+
     @Override
     public BigDecimal calculateAmountRemaining(final BigDecimal total, final BigDecimal amountPaid) {
         return total.subtract(amountPaid);
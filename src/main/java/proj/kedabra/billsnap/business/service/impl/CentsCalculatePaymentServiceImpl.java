@@ -0,0 +1,193 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.model.entities.Item;
+import proj.kedabra.billsnap.business.model.entities.Tax;
+
+/**
+ * Same results as {@link CalculatePaymentServiceImpl}, computed on amounts in cents and percentages in millionths held
+ * in longs. Every rounding of the BigDecimal engine happens once, at the end, so the exact intermediate values are
+ * kept as fractions and rounded with the same mode.
+ * <p>
+ * Amounts with more than 2 decimals, percentages with more than 4 and results that would overflow a long are left to
+ * the BigDecimal engine.
+ */
+@Service
+@ConditionalOnProperty(name = "payment.engine", havingValue = "cents")
+public class CentsCalculatePaymentServiceImpl extends CalculatePaymentServiceImpl {
+
+    private static final int PERCENT_UNIT_SCALE = 4;
+
+    //a percentage with 4 decimals divided by 100 is a whole number of millionths
+    private static final long PERCENT_UNIT = 1_000_000L;
+
+    private static final long CENTS_PER_HUNDREDTH = 100L;
+
+    @Override
+    public BigDecimal calculateBalance(final Bill bill) {
+        try {
+            return BigDecimal.valueOf(balanceCents(subTotalCents(bill), bill.getTaxes(), bill.getTipAmount(), bill.getTipPercent()), DOLLAR_SCALE);
+        } catch (ArithmeticException e) {
+            return super.calculateBalance(bill);
+        }
+    }
+
+    @Override
+    public BigDecimal calculateBalance(final BigDecimal subTotal, final Collection<Tax> taxes, final BigDecimal tipAmount, final BigDecimal tipPercent) {
+        try {
+            return BigDecimal.valueOf(balanceCents(toCents(subTotal), taxes, tipAmount, tipPercent), DOLLAR_SCALE);
+        } catch (ArithmeticException e) {
+            return super.calculateBalance(subTotal, taxes, tipAmount, tipPercent);
+        }
+    }
+
+    @Override
+    public BigDecimal calculateSubTotal(final Bill bill) {
+        if (bill.getItems().isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+        try {
+            //the sum of the BigDecimal engine keeps the largest scale of the costs
+            final int scale = bill.getItems().stream().map(Item::getCost).mapToInt(BigDecimal::scale).max().orElse(DOLLAR_SCALE);
+            final var subTotal = BigDecimal.valueOf(subTotalCents(bill), DOLLAR_SCALE);
+            return scale < DOLLAR_SCALE ? subTotal.setScale(Math.max(scale, 0)) : subTotal;
+        } catch (ArithmeticException e) {
+            return super.calculateSubTotal(bill);
+        }
+    }
+
+    @Override
+    public Map<Account, BigDecimal> calculateAccountSubTotals(final Bill bill) {
+        try {
+            final Map<Account, long[]> accountCosts = new HashMap<>();
+            for (final Item item : bill.getItems()) {
+                final long cost = toCents(item.getCost());
+                item.getAccounts().forEach(accountItem -> {
+                    final long[] accountCost = accountCosts.computeIfAbsent(accountItem.getAccount(), account -> new long[1]);
+                    accountCost[0] = Math.addExact(accountCost[0], Math.multiplyExact(cost, toUnits(accountItem.getPercentage(), PERCENT_UNIT_SCALE)));
+                });
+            }
+
+            final Map<Account, BigDecimal> accountSubTotals = new HashMap<>(accountCosts.size() * 2);
+            accountCosts.forEach((account, cost) -> accountSubTotals.put(account, BigDecimal.valueOf(divideHalfUp(cost[0], PERCENT_UNIT), DOLLAR_SCALE)));
+            return accountSubTotals;
+        } catch (ArithmeticException e) {
+            return super.calculateAccountSubTotals(bill);
+        }
+    }
+
+    @Override
+    public BigDecimal calculateTaxes(final BigDecimal subTotal, final Collection<Tax> taxes) {
+        try {
+            return BigDecimal.valueOf(taxesCents(toCents(subTotal), taxes), DOLLAR_SCALE);
+        } catch (ArithmeticException e) {
+            return super.calculateTaxes(subTotal, taxes);
+        }
+    }
+
+    @Override
+    public BigDecimal calculateTip(final BigDecimal tipAmount, final BigDecimal tipPercent, final BigDecimal total) {
+        try {
+            return BigDecimal.valueOf(tipCents(tipAmount, tipPercent, toCents(total)), DOLLAR_SCALE);
+        } catch (ArithmeticException e) {
+            return super.calculateTip(tipAmount, tipPercent, total);
+        }
+    }
+
+    @Override
+    public BigDecimal calculateAccountTip(final BigDecimal accountSubTotal, final BigDecimal billSubTotal, final BigDecimal totalTip) {
+        //the BigDecimal engine rounds the account's share of the bill to the scale of its sub total
+        if (accountSubTotal.scale() != DOLLAR_SCALE) {
+            return super.calculateAccountTip(accountSubTotal, billSubTotal, totalTip);
+        }
+        try {
+            final long shareInHundredths = divideHalfUp(Math.multiplyExact(toCents(accountSubTotal), CENTS_PER_HUNDREDTH), toCents(billSubTotal));
+            return BigDecimal.valueOf(divideHalfUp(Math.multiplyExact(shareInHundredths, toCents(totalTip)), CENTS_PER_HUNDREDTH), DOLLAR_SCALE);
+        } catch (ArithmeticException e) {
+            return super.calculateAccountTip(accountSubTotal, billSubTotal, totalTip);
+        }
+    }
+
+    private static long subTotalCents(final Bill bill) {
+        long subTotal = 0;
+        for (final Item item : bill.getItems()) {
+            subTotal = Math.addExact(subTotal, toCents(item.getCost()));
+        }
+        return subTotal;
+    }
+
+    private static long balanceCents(final long subTotal, final Collection<Tax> taxes, final BigDecimal tipAmount, final BigDecimal tipPercent) {
+        final long total = Math.addExact(subTotal, taxesCents(subTotal, taxes));
+        return Math.addExact(total, tipCents(tipAmount, tipPercent, total));
+    }
+
+    /**
+     * The taxes are compounded: the sub total is multiplied by the fraction {@code (1 + p1) * (1 + p2) * ...}, whose
+     * terms are reduced as they are accumulated to keep common bills with three or four taxes within a long.
+     */
+    private static long taxesCents(final long subTotal, final Collection<Tax> taxes) {
+        long numerator = 1;
+        long denominator = 1;
+        for (final Tax tax : taxes) {
+            final long taxNumerator = Math.addExact(PERCENT_UNIT, toUnits(tax.getPercentage(), PERCENT_UNIT_SCALE));
+            final long gcd = gcd(taxNumerator, PERCENT_UNIT);
+            numerator = Math.multiplyExact(numerator, taxNumerator / gcd);
+            denominator = Math.multiplyExact(denominator, PERCENT_UNIT / gcd);
+        }
+        return divideHalfUp(Math.multiplyExact(subTotal, Math.subtractExact(numerator, denominator)), denominator);
+    }
+
+    private static long tipCents(final BigDecimal tipAmount, final BigDecimal tipPercent, final long total) {
+        final long amount = Optional.ofNullable(tipAmount).map(CentsCalculatePaymentServiceImpl::toCents).orElse(0L);
+        final long percent = Optional.ofNullable(tipPercent).map(percentage -> toUnits(percentage, PERCENT_UNIT_SCALE)).orElse(0L);
+        return divideHalfUp(Math.addExact(Math.multiplyExact(amount, PERCENT_UNIT), Math.multiplyExact(total, percent)), PERCENT_UNIT);
+    }
+
+    private static long toCents(final BigDecimal amount) {
+        return toUnits(amount, DOLLAR_SCALE);
+    }
+
+    /**
+     * @throws ArithmeticException if the value has more decimals than the scale or does not fit in a long
+     */
+    private static long toUnits(final BigDecimal value, final int scale) {
+        if (value.scale() > scale) {
+            throw new ArithmeticException("More than " + scale + " decimals: " + value);
+        }
+        return value.movePointRight(scale).longValueExact();
+    }
+
+    /**
+     * Integer division rounded {@link java.math.RoundingMode#HALF_UP}, away from zero on ties.
+     */
+    private static long divideHalfUp(final long dividend, final long divisor) {
+        final long quotient = dividend / divisor;
+        final long remainder = Math.abs(dividend % divisor);
+        if (remainder >= Math.abs(divisor) - remainder) {
+            return quotient + Long.signum(dividend) * Long.signum(divisor);
+        }
+        return quotient;
+    }
+
+    private static long gcd(final long a, final long b) {
+        long x = Math.abs(a);
+        long y = Math.abs(b);
+        while (y != 0) {
+            final long t = x % y;
+            x = y;
+            y = t;
+        }
+        return x;
+    }
+
+}
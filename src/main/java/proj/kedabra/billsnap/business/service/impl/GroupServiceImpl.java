@@ -0,0 +1,125 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import proj.kedabra.billsnap.business.dto.GroupDTO;
+import proj.kedabra.billsnap.business.exception.AccessForbiddenException;
+import proj.kedabra.billsnap.business.exception.ResourceNotFoundException;
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.model.entities.AccountGroup;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.model.entities.Group;
+import proj.kedabra.billsnap.business.model.projections.GroupBalance;
+import proj.kedabra.billsnap.business.repository.GroupRepository;
+import proj.kedabra.billsnap.business.service.GroupService;
+import proj.kedabra.billsnap.business.utils.enums.GroupRoleEnum;
+import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
+
+@Service
+public class GroupServiceImpl implements GroupService {
+
+    private final GroupRepository groupRepository;
+
+    public GroupServiceImpl(final GroupRepository groupRepository) {
+        this.groupRepository = groupRepository;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Group createGroup(final GroupDTO groupDTO, final Account admin, final List<Account> members) {
+        final var group = new Group();
+        group.setName(groupDTO.getName());
+        group.setApprovalOption(Boolean.TRUE.equals(groupDTO.getApprovalOption()));
+        addMember(group, admin, GroupRoleEnum.ADMIN);
+        members.stream()
+                .filter(member -> !member.getId().equals(admin.getId()))
+                .forEach(member -> addMember(group, member, GroupRoleEnum.MEMBER));
+
+        return groupRepository.save(group);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Group getGroup(final Long groupId) {
+        return groupRepository.findById(groupId)
+                .orElseThrow(() -> new ResourceNotFoundException(ErrorMessageEnum.GROUP_ID_DOES_NOT_EXIST.getMessage(groupId.toString())));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Group> getGroupsByEmail(final String email) {
+        return groupRepository.findGroupsByEmail(email);
+    }
+
+    /**
+     * Replaces the members of the group with the given accounts. The admins stay whatever the list.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public Group editGroup(final Group group, final GroupDTO groupDTO, final List<Account> members) {
+        group.setName(groupDTO.getName());
+        group.setApprovalOption(Boolean.TRUE.equals(groupDTO.getApprovalOption()));
+
+        final Set<Long> memberIds = members.stream().map(Account::getId).collect(Collectors.toSet());
+        group.getAccounts().removeIf(accountGroup -> accountGroup.getGroupRole() == GroupRoleEnum.MEMBER
+                && !memberIds.contains(accountGroup.getAccount().getId()));
+        final Set<Long> remainingIds = group.getAccounts().stream().map(accountGroup -> accountGroup.getAccount().getId()).collect(Collectors.toSet());
+        members.stream()
+                .filter(member -> !remainingIds.contains(member.getId()))
+                .forEach(member -> addMember(group, member, GroupRoleEnum.MEMBER));
+
+        return group;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void deleteGroup(final Group group) {
+        groupRepository.delete(group);
+    }
+
+    /**
+     * @param role ADMIN to require an admin of the group, MEMBER for any of its members
+     */
+    @Override
+    public void verifyRole(final Group group, final String email, final GroupRoleEnum role) {
+        final AccountGroup accountGroup = group.getAccounts().stream()
+                .filter(member -> member.getAccount().getEmail().equals(email))
+                .findFirst()
+                .orElseThrow(() -> new AccessForbiddenException(ErrorMessageEnum.ACCOUNT_IS_NOT_IN_GROUP.getMessage()));
+        if (role == GroupRoleEnum.ADMIN && accountGroup.getGroupRole() != GroupRoleEnum.ADMIN) {
+            throw new AccessForbiddenException(ErrorMessageEnum.USER_IS_NOT_GROUP_ADMIN.getMessage());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Account> getMembersNotInBill(final Group group, final Bill bill) {
+        return groupRepository.findMembersNotInBill(group.getId(), bill.getId());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void linkBill(final Group group, final Bill bill) {
+        groupRepository.linkBill(group.getId(), bill.getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<GroupBalance> getGroupBalances(final Group group) {
+        return groupRepository.findGroupBalances(group.getId(), InvitationStatusEnum.DECLINED);
+    }
+
+    private static void addMember(final Group group, final Account account, final GroupRoleEnum role) {
+        final var accountGroup = new AccountGroup();
+        accountGroup.setAccount(account);
+        accountGroup.setGroup(group);
+        accountGroup.setGroupRole(role);
+        group.getAccounts().add(accountGroup);
+    }
+}
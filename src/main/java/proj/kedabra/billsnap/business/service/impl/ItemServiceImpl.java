@@ -1,14 +1,20 @@
 package proj.kedabra.billsnap.business.service.impl;
 
 import java.math.BigDecimal;
-import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import proj.kedabra.billsnap.business.dto.EditBillDTO;
+import proj.kedabra.billsnap.business.dto.ItemDTO;
 import proj.kedabra.billsnap.business.exception.ResourceNotFoundException;
 import proj.kedabra.billsnap.business.mapper.ItemMapper;
 import proj.kedabra.billsnap.business.model.entities.Account;
@@ -39,10 +45,21 @@ public class ItemServiceImpl implements ItemService {
     }
 
 
+    /**
+     * Applies the items of the edit to the bill as a diff against its items, which are loaded with it: new items are
+     * added, the ones whose name or cost changed are updated and the ones left out are removed, so that unchanged
+     * items issue no statement at all.
+     */
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void editNewItems(Bill bill, Account account, EditBillDTO editBill) {
-        final Set<Item> items = new HashSet<>();
+        final Map<Long, Item> billItems = bill.getItems().stream()
+                .filter(item -> item.getId() != null)
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        verifyItemsBelongToBill(editBill.getItems(), billItems.keySet());
+
+        final Set<Long> keptIds = editBill.getItems().stream().map(ItemDTO::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+        bill.getItems().removeIf(item -> !keptIds.contains(item.getId()));
 
         editBill.getItems().forEach(it -> {
             if (it.getId() == null) {
@@ -55,20 +72,42 @@ public class ItemServiceImpl implements ItemService {
                 accountItem.setItem(item);
 
                 item.getAccounts().add(accountItem);
-                items.add(item);
+                bill.getItems().add(item);
             } else {
-                final var existingItem = getItem(it.getId());
-
-                if (!existingItem.getBill().getId().equals(bill.getId())) {
-                    throw new IllegalArgumentException("Item does not belong to the bill");
+                final var existingItem = billItems.get(it.getId());
+                if (isChanged(it, existingItem)) {
+                    //the name and cost are part of the hash code, so the item is put back in the set once updated
+                    bill.getItems().remove(existingItem);
+                    itemMapper.updateItem(it, existingItem);
+                    bill.getItems().add(existingItem);
                 }
-
-                itemMapper.updateItem(it, existingItem);
-                items.add(existingItem);
             }
         });
+    }
+
+    /**
+     * Looks up the ids that are not items of the bill in a single query, to tell the ones of other bills from the
+     * ones that do not exist.
+     */
+    private void verifyItemsBelongToBill(final List<ItemDTO> items, final Set<Long> billItemIds) {
+        final List<Long> unknownIds = items.stream()
+                .map(ItemDTO::getId)
+                .filter(Objects::nonNull)
+                .filter(Predicate.not(billItemIds::contains))
+                .collect(Collectors.toList());
+        if (unknownIds.isEmpty()) {
+            return;
+        }
+
+        if (itemRepository.findAllById(unknownIds).iterator().hasNext()) {
+            throw new IllegalArgumentException("Item does not belong to the bill");
+        }
+        throw new ResourceNotFoundException(ErrorMessageEnum.ITEM_ID_DOES_NOT_EXIST.getMessage(unknownIds.get(0).toString()));
+    }
 
-        bill.getItems().clear();
-        bill.getItems().addAll(items);
+    private static boolean isChanged(final ItemDTO source, final Item target) {
+        return !Objects.equals(source.getName(), target.getName())
+                || source.getCost() == null || target.getCost() == null
+                || source.getCost().compareTo(target.getCost()) != 0;
     }
 }
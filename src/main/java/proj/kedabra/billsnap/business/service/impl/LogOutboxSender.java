@@ -0,0 +1,23 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import proj.kedabra.billsnap.business.model.entities.OutboxMessage;
+import proj.kedabra.billsnap.business.service.OutboxSender;
+
+/**
+ * Logs the messages instead of sending them, for environments without a mail server.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "outbox.sender", havingValue = "log", matchIfMissing = true)
+public class LogOutboxSender implements OutboxSender {
+
+    @Override
+    public void send(final OutboxMessage message) {
+        log.info("Mail to {}: {}", message.getRecipient(), message.getSubject());
+    }
+}
@@ -1,32 +1,61 @@
 package proj.kedabra.billsnap.business.service.impl;
 
+import java.math.BigDecimal;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import proj.kedabra.billsnap.business.event.BillEvent;
 import proj.kedabra.billsnap.business.exception.FunctionalWorkflowException;
 import proj.kedabra.billsnap.business.exception.ResourceNotFoundException;
 import proj.kedabra.billsnap.business.model.entities.Account;
 import proj.kedabra.billsnap.business.model.entities.AccountBill;
+import proj.kedabra.billsnap.business.model.entities.AccountBillId;
 import proj.kedabra.billsnap.business.model.entities.Bill;
 import proj.kedabra.billsnap.business.model.entities.Notifications;
+import proj.kedabra.billsnap.business.repository.AccountBillRepository;
 import proj.kedabra.billsnap.business.repository.NotificationsRepository;
+import proj.kedabra.billsnap.business.service.BillTotalsService;
 import proj.kedabra.billsnap.business.service.NotificationService;
+import proj.kedabra.billsnap.business.service.OutboxService;
+import proj.kedabra.billsnap.business.utils.enums.BillEventTypeEnum;
 import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
 import proj.kedabra.billsnap.utils.ErrorMessageEnum;
 
 @Service
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final String INVITATION_SUBJECT = "You have been invited to split %s";
+
+    private static final String INVITATION_BODY = "%s invited you to split %s on BillSnap. You can accept or decline the invitation from your notifications.";
+
     private final NotificationsRepository notificationsRepository;
 
+    private final AccountBillRepository accountBillRepository;
+
+    private final OutboxService outboxService;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final BillTotalsService billTotalsService;
+
     @Autowired
-    public NotificationServiceImpl(final NotificationsRepository notificationsRepository) {
+    public NotificationServiceImpl(final NotificationsRepository notificationsRepository, final AccountBillRepository accountBillRepository,
+                                   final OutboxService outboxService, final ApplicationEventPublisher eventPublisher,
+                                   final BillTotalsService billTotalsService) {
         this.notificationsRepository = notificationsRepository;
+        this.accountBillRepository = accountBillRepository;
+        this.outboxService = outboxService;
+        this.eventPublisher = eventPublisher;
+        this.billTotalsService = billTotalsService;
     }
 
     @Override
@@ -38,6 +67,14 @@ public class NotificationServiceImpl implements NotificationService {
         notification.setTimeSent(ZonedDateTime.now(ZoneId.systemDefault()));
         bill.getNotifications().add(notification);
         account.getNotifications().add(notification);
+        //mailed by the outbox dispatcher once the invitation commits
+        if (account.getEmail() != null) {
+            final String billName = Optional.ofNullable(bill.getName()).orElse("a bill");
+            final String inviter = bill.getResponsible() == null ? "Someone" : bill.getResponsible().getFirstName();
+            outboxService.enqueue(account.getEmail(), String.format(INVITATION_SUBJECT, billName), String.format(INVITATION_BODY, inviter, billName));
+            //and pushed to the invitee's open event streams
+            eventPublisher.publishEvent(new BillEvent(BillEventTypeEnum.INVITATION, bill, List.of(account.getEmail())));
+        }
         return notification;
     }
 
@@ -47,13 +84,16 @@ public class NotificationServiceImpl implements NotificationService {
         final Notifications notification = getNotification(invitationId);
         final Bill bill = notification.getBill();
 
-        final Optional<AccountBill> accountBill = bill.getAccountBill(notification.getAccount());
+        final Optional<AccountBill> accountBill = accountBillRepository.findById(AccountBillId.of(notification.getAccount(), bill));
         accountBill.ifPresent(accBill -> {
             verifyAccountBillInvitationStatus(accBill, InvitationStatusEnum.PENDING);
             if (answer) {
                 accBill.setStatus(InvitationStatusEnum.ACCEPTED);
             } else {
                 accBill.setStatus(InvitationStatusEnum.DECLINED);
+                if (bill.getSplitBy() == SplitByEnum.BALANCE) {
+                    releaseBalancePercentage(bill, accBill);
+                }
             }
         });
 
@@ -68,6 +108,22 @@ public class NotificationServiceImpl implements NotificationService {
 
     }
 
+    /**
+     * The percentage of the balance a declining invitee was given goes back to the responsible, so that the
+     * percentages still add up to 100, and the amounts owed are computed again.
+     */
+    private void releaseBalancePercentage(final Bill bill, final AccountBill declined) {
+        final BigDecimal percentage = Optional.ofNullable(declined.getPercentage()).orElse(BigDecimal.ZERO);
+        declined.setPercentage(BigDecimal.ZERO);
+        if (BigDecimal.ZERO.compareTo(percentage) < 0) {
+            bill.getAccounts().stream()
+                    .filter(accountBill -> Objects.equals(accountBill.getAccount().getId(), bill.getResponsible().getId()))
+                    .findFirst()
+                    .ifPresent(responsible -> responsible.setPercentage(Optional.ofNullable(responsible.getPercentage()).orElse(BigDecimal.ZERO).add(percentage)));
+        }
+        billTotalsService.refreshTotals(bill);
+    }
+
     private void verifyAccountBillInvitationStatus(final AccountBill accountBill, final InvitationStatusEnum invitationStatus) {
         if (accountBill.getStatus() != invitationStatus) {
             throw new FunctionalWorkflowException(ErrorMessageEnum.WRONG_INVITATION_STATUS.getMessage(invitationStatus.toString()));
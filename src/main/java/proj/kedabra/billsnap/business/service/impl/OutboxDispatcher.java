@@ -0,0 +1,113 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import proj.kedabra.billsnap.business.model.entities.OutboxMessage;
+import proj.kedabra.billsnap.business.service.OutboxSender;
+import proj.kedabra.billsnap.business.service.OutboxService;
+import proj.kedabra.billsnap.config.OutboxProperties;
+
+/**
+ * Drains the due outbox messages batch by batch: each batch is claimed in its own transaction, sent outside of any,
+ * then marked sent in one statement. Messages whose lease ran out before their turn are not sent, they are left to
+ * be claimed again. Polled by {@link proj.kedabra.billsnap.config.OutboxConfiguration}.
+ * <p>
+ * Meters: {@code outbox.messages} counts the attempts by result, {@code outbox.delivery.lag} times each message from
+ * its creation to its delivery and {@code outbox.pending.age} is the age in seconds of the oldest pending message, as
+ * of the last poll.
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxService outboxService;
+
+    private final OutboxSender outboxSender;
+
+    private final OutboxProperties outboxProperties;
+
+    private final Counter sentCounter;
+
+    private final Counter retriedCounter;
+
+    private final Counter failedCounter;
+
+    private final Timer deliveryLag;
+
+    private final AtomicLong oldestPendingAge;
+
+    public OutboxDispatcher(final OutboxService outboxService, final OutboxSender outboxSender, final OutboxProperties outboxProperties,
+                            final MeterRegistry meterRegistry) {
+        this.outboxService = outboxService;
+        this.outboxSender = outboxSender;
+        this.outboxProperties = outboxProperties;
+        this.sentCounter = meterRegistry.counter("outbox.messages", "result", "sent");
+        this.retriedCounter = meterRegistry.counter("outbox.messages", "result", "retried");
+        this.failedCounter = meterRegistry.counter("outbox.messages", "result", "failed");
+        this.deliveryLag = meterRegistry.timer("outbox.delivery.lag");
+        this.oldestPendingAge = meterRegistry.gauge("outbox.pending.age", new AtomicLong());
+    }
+
+    /**
+     * @return the number of messages sent
+     */
+    public int dispatch() {
+        int sent = 0;
+        List<OutboxMessage> batch;
+        do {
+            batch = outboxService.claimBatch();
+            sent += send(batch);
+        } while (batch.size() >= outboxProperties.getBatchSize());
+
+        final var now = ZonedDateTime.now(ZoneId.systemDefault());
+        oldestPendingAge.set(outboxService.getOldestPendingCreated().map(created -> Duration.between(created, now).getSeconds()).orElse(0L));
+        return sent;
+    }
+
+    private int send(final List<OutboxMessage> batch) {
+        final List<OutboxMessage> sent = new ArrayList<>(batch.size());
+        for (final OutboxMessage message : batch) {
+            if (isLeaseExpired(message)) {
+                log.warn("Lease of outbox message {} expired before it was sent, it is left to be claimed again", message.getId());
+                continue;
+            }
+            try {
+                outboxSender.send(message);
+                sent.add(message);
+            } catch (RuntimeException e) {
+                log.warn("Attempt {} to send outbox message {} failed", message.getAttempts(), message.getId(), e);
+                outboxService.markFailed(message, e.getMessage());
+                if (message.getAttempts() >= outboxProperties.getMaxAttempts()) {
+                    failedCounter.increment();
+                } else {
+                    retriedCounter.increment();
+                }
+            }
+        }
+
+        final int marked = outboxService.markSent(sent);
+        if (marked < sent.size()) {
+            log.warn("{} of {} sent outbox messages were claimed again before being marked sent", sent.size() - marked, sent.size());
+        }
+        final var now = ZonedDateTime.now(ZoneId.systemDefault());
+        sent.forEach(message -> deliveryLag.record(Duration.between(message.getCreated(), now)));
+        sentCounter.increment(sent.size());
+        return sent.size();
+    }
+
+    private static boolean isLeaseExpired(final OutboxMessage message) {
+        return message.getLockedUntil() != null && !message.getLockedUntil().isAfter(ZonedDateTime.now(ZoneId.systemDefault()));
+    }
+}
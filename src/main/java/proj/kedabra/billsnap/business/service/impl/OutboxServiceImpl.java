@@ -0,0 +1,122 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import proj.kedabra.billsnap.business.model.entities.OutboxMessage;
+import proj.kedabra.billsnap.business.repository.OutboxRepository;
+import proj.kedabra.billsnap.business.service.OutboxService;
+import proj.kedabra.billsnap.business.utils.enums.OutboxStatusEnum;
+import proj.kedabra.billsnap.config.OutboxProperties;
+
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final int LAST_ERROR_LENGTH = 255;
+
+    private final OutboxRepository outboxRepository;
+
+    private final OutboxProperties outboxProperties;
+
+    public OutboxServiceImpl(final OutboxRepository outboxRepository, final OutboxProperties outboxProperties) {
+        this.outboxRepository = outboxRepository;
+        this.outboxProperties = outboxProperties;
+    }
+
+    /**
+     * Writes the message in the caller's transaction, it is only sent if that transaction commits.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public OutboxMessage enqueue(final String recipient, final String subject, final String body) {
+        final var now = ZonedDateTime.now(ZoneId.systemDefault());
+        final var message = new OutboxMessage();
+        message.setRecipient(recipient);
+        message.setSubject(subject);
+        message.setBody(body);
+        message.setCreated(now);
+        message.setAvailableAt(now);
+        return outboxRepository.save(message);
+    }
+
+    /**
+     * Leases a batch of due messages to the caller and counts the attempt. The claim commits before anything is sent,
+     * so the rows are only locked for the duration of the claim. Each claim gets its own {@code lockedBy}, so a batch
+     * outliving its lease cannot mark the messages claimed again since, even by the same node.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<OutboxMessage> claimBatch() {
+        final var now = ZonedDateTime.now(ZoneId.systemDefault());
+        final List<OutboxMessage> messages = outboxRepository.findClaimable(OutboxStatusEnum.PENDING, now, PageRequest.of(0, outboxProperties.getBatchSize()));
+        final String lockedBy = UUID.randomUUID().toString();
+        messages.forEach(message -> {
+            message.setLockedUntil(now.plus(outboxProperties.getLease()));
+            message.setLockedBy(lockedBy);
+            message.setAttempts(message.getAttempts() + 1);
+        });
+        return messages;
+    }
+
+    /**
+     * @return the number of messages marked, those claimed again by another dispatcher since are left to it
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int markSent(final List<OutboxMessage> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        final var now = ZonedDateTime.now(ZoneId.systemDefault());
+        final Map<String, List<Long>> idsByClaim = messages.stream()
+                .collect(Collectors.groupingBy(OutboxMessage::getLockedBy, Collectors.mapping(OutboxMessage::getId, Collectors.toList())));
+        return idsByClaim.entrySet().stream()
+                .mapToInt(claim -> outboxRepository.markSent(claim.getValue(), claim.getKey(), OutboxStatusEnum.SENT, now))
+                .sum();
+    }
+
+    /**
+     * Releases the message to be attempted again after an exponential backoff, or leaves it FAILED once its attempts
+     * are exhausted. A message claimed again by another dispatcher since is left to it.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void markFailed(final OutboxMessage message, final String error) {
+        outboxRepository.findById(message.getId()).filter(stored -> Objects.equals(stored.getLockedBy(), message.getLockedBy())).ifPresent(stored -> {
+            stored.setLockedUntil(null);
+            stored.setLockedBy(null);
+            stored.setLastError(error == null || error.length() <= LAST_ERROR_LENGTH ? error : error.substring(0, LAST_ERROR_LENGTH));
+            if (stored.getAttempts() >= outboxProperties.getMaxAttempts()) {
+                stored.setStatus(OutboxStatusEnum.FAILED);
+            } else {
+                stored.setAvailableAt(ZonedDateTime.now(ZoneId.systemDefault()).plus(backoff(stored.getAttempts())));
+            }
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<ZonedDateTime> getOldestPendingCreated() {
+        return Optional.ofNullable(outboxRepository.findOldestCreated(OutboxStatusEnum.PENDING));
+    }
+
+    Duration backoff(final int attempts) {
+        final Duration maxBackoff = outboxProperties.getMaxBackoff();
+        Duration backoff = outboxProperties.getBackoff();
+        for (int attempt = 1; attempt < attempts && backoff.compareTo(maxBackoff) < 0; attempt++) {
+            backoff = backoff.multipliedBy(2);
+        }
+        return backoff.compareTo(maxBackoff) < 0 ? backoff : maxBackoff;
+    }
+}
@@ -3,16 +3,22 @@ package proj.kedabra.billsnap.business.service.impl;
 import java.math.BigDecimal;
 import java.util.Optional;
 
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import proj.kedabra.billsnap.business.model.entities.Account;
 import proj.kedabra.billsnap.business.model.entities.AccountBill;
+import proj.kedabra.billsnap.business.model.entities.AccountBillId;
 import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.repository.AccountBillRepository;
 import proj.kedabra.billsnap.business.repository.PaymentRepository;
 import proj.kedabra.billsnap.business.service.PaymentService;
 import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
 import proj.kedabra.billsnap.business.utils.enums.PaymentStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
 import proj.kedabra.billsnap.utils.ErrorMessageEnum;
 
 @Service
@@ -20,20 +26,56 @@ public class PaymentServiceImpl implements PaymentService {
 
     private final PaymentRepository paymentRepository;
 
-    public PaymentServiceImpl(final PaymentRepository paymentRepository) {
+    private final AccountBillRepository accountBillRepository;
+
+    private final EntityManager entityManager;
+
+    public PaymentServiceImpl(final PaymentRepository paymentRepository, final AccountBillRepository accountBillRepository, final EntityManager entityManager) {
         this.paymentRepository = paymentRepository;
+        this.accountBillRepository = accountBillRepository;
+        this.entityManager = entityManager;
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
     public BigDecimal payBill(final Account account, final Bill bill, final BigDecimal paymentAmount) {
 
-        final var accountBill = account.getAccountBill(bill)
+        //looked up by key, the account's other bills are never loaded
+        final var accountBill = accountBillRepository.findById(AccountBillId.of(account, bill))
                 .orElseThrow(() -> new IllegalArgumentException(ErrorMessageEnum.ACCOUNT_IS_NOT_ASSOCIATED_TO_BILL.getMessage()));
 
         verifyPaymentEligibility(bill, accountBill);
 
-        final var totalAmountOwedToBill = paymentRepository.getTotalAmountOwedToBill(account, bill);
+        //a share of the balance does not depend on the items, it is kept up to date on the account's bill
+        final var totalAmountOwedToBill = SplitByEnum.BALANCE == bill.getSplitBy()
+                ? Optional.ofNullable(accountBill.getTotalOwed()).orElse(BigDecimal.ZERO)
+                : paymentRepository.getTotalAmountOwedToBill(account, bill);
+
+        final BigDecimal remainingBalance;
+        //a payment leaving part of the amount owed is added in one statement, so concurrent payments never conflict
+        if (accountBillRepository.addPartialPayment(bill.getId(), account.getId(), paymentAmount, totalAmountOwedToBill) == 1) {
+            entityManager.refresh(accountBill);
+            remainingBalance = totalAmountOwedToBill.subtract(accountBill.getAmountPaid());
+        } else {
+            remainingBalance = settle(bill, accountBill, totalAmountOwedToBill, paymentAmount);
+        }
+
+        //if everything is paid for by everyone, but the responsible then resolve the bill. The participants are only
+        //loaded once the payer has nothing left to pay
+        final boolean payerDone = PaymentStatusEnum.PAID.equals(accountBill.getPaymentStatus()) || account.equals(bill.getResponsible());
+        if (payerDone && bill.getAccounts().stream().allMatch(ab -> PaymentStatusEnum.PAID.equals(ab.getPaymentStatus()) || ab.getAccount().equals(bill.getResponsible()))) {
+            bill.setStatus(BillStatusEnum.RESOLVED);
+        }
+
+        return remainingBalance;
+    }
+
+    /**
+     * Writes the payment settling the account back through its version, a concurrent payment of the same account fails
+     * the optimistic check on flush. The bill's version is forced up as well: two participants settling at once both
+     * read the other as unpaid, only one of them can commit its view of whether the bill is resolved.
+     */
+    private BigDecimal settle(final Bill bill, final AccountBill accountBill, final BigDecimal totalAmountOwedToBill, final BigDecimal paymentAmount) {
         final var amountPaid = Optional.ofNullable(accountBill.getAmountPaid()).orElse(BigDecimal.ZERO);
         final var newAmountPaid = amountPaid.add(paymentAmount);
         final var remainingBalance = totalAmountOwedToBill.subtract(newAmountPaid);
@@ -46,11 +88,7 @@ public class PaymentServiceImpl implements PaymentService {
 
         if (remainingBalance.compareTo(BigDecimal.ZERO) == 0) {
             accountBill.setPaymentStatus(PaymentStatusEnum.PAID);
-        }
-
-        //if everything is paid for by everyone, but the responsible then resolve the bill
-        if (bill.getAccounts().stream().allMatch(ab -> PaymentStatusEnum.PAID.equals(ab.getPaymentStatus()) || ab.getAccount().equals(bill.getResponsible()))) {
-            bill.setStatus(BillStatusEnum.RESOLVED);
+            entityManager.lock(bill, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
         }
 
         return remainingBalance;
@@ -0,0 +1,207 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.extern.slf4j.Slf4j;
+
+import proj.kedabra.billsnap.business.dto.BillDTO;
+import proj.kedabra.billsnap.business.dto.ItemDTO;
+import proj.kedabra.billsnap.business.dto.RecurrenceCopyDTO;
+import proj.kedabra.billsnap.business.dto.TaxDTO;
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.model.entities.AccountBill;
+import proj.kedabra.billsnap.business.model.entities.AccountItem;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.model.entities.Item;
+import proj.kedabra.billsnap.business.model.projections.OccurrenceIdRange;
+import proj.kedabra.billsnap.business.repository.BillRepository;
+import proj.kedabra.billsnap.business.service.BillService;
+import proj.kedabra.billsnap.business.service.BillTotalsService;
+import proj.kedabra.billsnap.business.service.RecurrenceService;
+import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
+import proj.kedabra.billsnap.config.RecurrenceProperties;
+
+@Slf4j
+@Service
+public class RecurrenceServiceImpl implements RecurrenceService {
+
+    private final BillRepository billRepository;
+
+    private final BillService billService;
+
+    private final BillTotalsService billTotalsService;
+
+    private final RecurrenceProperties recurrenceProperties;
+
+    public RecurrenceServiceImpl(final BillRepository billRepository, final BillService billService, final BillTotalsService billTotalsService,
+                                 final RecurrenceProperties recurrenceProperties) {
+        this.billRepository = billRepository;
+        this.billService = billService;
+        this.billTotalsService = billTotalsService;
+        this.recurrenceProperties = recurrenceProperties;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OccurrenceIdRange getDueIdRange(final ZonedDateTime now) {
+        return billRepository.findDueOccurrenceIdRange(now);
+    }
+
+    /**
+     * Leases a batch of the due recurring bills of the id range to the caller. The claim commits before anything is
+     * copied, so the rows are only locked for the duration of the claim.
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<Long> claimDue(final long fromId, final long toId, final ZonedDateTime now, final ZonedDateTime lockedUntil) {
+        final List<Long> billIds = billRepository.findClaimableOccurrences(now, fromId, toId, PageRequest.of(0, recurrenceProperties.getBatchSize()))
+                .stream()
+                .map(Bill::getId)
+                .collect(Collectors.toList());
+        if (!billIds.isEmpty()) {
+            billRepository.lockOccurrences(billIds, lockedUntil);
+        }
+        return billIds;
+    }
+
+    /**
+     * Copies the claimed bills with their items, taxes, invitations and split, and moves each one to its first occurrence
+     * after {@code now}. A bill whose lease expired and was claimed again by another node is left to that node, so
+     * that a bill is copied once per occurrence.
+     *
+     * @return how many bills were copied, with the emails of the participants of the copies
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public RecurrenceCopyDTO copyBills(final List<Long> billIds, final ZonedDateTime now, final ZonedDateTime lockedUntil) {
+        final var result = new RecurrenceCopyDTO();
+        for (final Long billId : billIds) {
+            final Optional<Bill> template = billRepository.findById(billId);
+            if (template.isEmpty() || billRepository.advanceOccurrence(billId, getNextOccurrence(template.get(), now), lockedUntil) == 0) {
+                log.warn("Recurring bill {} is no longer held by this node, it is not copied", billId);
+                continue;
+            }
+
+            final Bill bill = template.get();
+            final List<Account> invitees = bill.getAccounts().stream()
+                    .filter(accountBill -> accountBill.getStatus() != InvitationStatusEnum.DECLINED)
+                    .map(AccountBill::getAccount)
+                    .filter(account -> !account.getId().equals(bill.getCreator().getId()))
+                    .collect(Collectors.toList());
+            final Bill copy = billService.createBillToAccount(toBillDTO(bill, invitees), bill.getCreator(), invitees);
+            copySplit(bill, copy);
+            copy.getAccounts().forEach(accountBill -> result.getParticipantEmails().add(accountBill.getAccount().getEmail()));
+            result.setCopied(result.getCopied() + 1);
+        }
+        return result;
+    }
+
+    /**
+     * A node down for more than one period copies the bill once, then moves it past the missed occurrences.
+     */
+    private static ZonedDateTime getNextOccurrence(final Bill bill, final ZonedDateTime now) {
+        ZonedDateTime next = bill.getNextOccurrence();
+        do {
+            next = next.plusDays(bill.getOccurrence());
+        } while (!next.isAfter(now));
+        return next;
+    }
+
+    /**
+     * A new bill is split as a personal bill, the copy is given the percentages of the balance or the shares of the
+     * items of its template instead. Items are matched on their name and cost, identical items being interchangeable.
+     */
+    private void copySplit(final Bill template, final Bill copy) {
+        final Map<Long, AccountBill> copyAccountBills = copy.getAccounts().stream()
+                .collect(Collectors.toMap(accountBill -> accountBill.getAccount().getId(), Function.identity()));
+
+        if (template.getSplitBy() == SplitByEnum.BALANCE) {
+            template.getAccounts().forEach(accountBill -> Optional.ofNullable(copyAccountBills.get(accountBill.getAccount().getId()))
+                    .ifPresent(copyAccountBill -> copyAccountBill.setPercentage(accountBill.getPercentage())));
+        } else {
+            final Map<List<Object>, Deque<Item>> copyItems = new HashMap<>();
+            copy.getItems().forEach(item -> copyItems.computeIfAbsent(getItemKey(item), key -> new ArrayDeque<>()).add(item));
+            template.getItems().forEach(item -> {
+                final Map<Long, BigDecimal> percentages = item.getAccounts().stream()
+                        .filter(accountItem -> copyAccountBills.containsKey(accountItem.getAccount().getId()))
+                        .collect(Collectors.toMap(accountItem -> accountItem.getAccount().getId(), AccountItem::getPercentage));
+                Optional.ofNullable(copyItems.get(getItemKey(item))).map(Deque::poll).ifPresent(copyItem -> copyAssociations(copyItem, percentages, copyAccountBills));
+            });
+        }
+        billTotalsService.refreshTotals(copy);
+    }
+
+    /**
+     * The associations the copy was created with are updated in place rather than replaced, as an association deleted
+     * and inserted again in the same flush would be inserted first.
+     */
+    private static void copyAssociations(final Item copyItem, final Map<Long, BigDecimal> percentages, final Map<Long, AccountBill> copyAccountBills) {
+        final Map<Long, BigDecimal> remaining = new HashMap<>(percentages);
+        final List<AccountItem> updated = new ArrayList<>();
+        final Iterator<AccountItem> iterator = copyItem.getAccounts().iterator();
+        while (iterator.hasNext()) {
+            final AccountItem accountItem = iterator.next();
+            final BigDecimal percentage = remaining.remove(accountItem.getAccount().getId());
+            if (percentage == null) {
+                iterator.remove();
+            } else if (percentage.compareTo(accountItem.getPercentage()) != 0) {
+                //the percentage is part of the hash code, so the account item is put back in the set once updated
+                iterator.remove();
+                accountItem.setPercentage(percentage);
+                updated.add(accountItem);
+            }
+        }
+        remaining.forEach((accountId, percentage) -> {
+            final var accountItem = new AccountItem();
+            accountItem.setAccount(copyAccountBills.get(accountId).getAccount());
+            accountItem.setItem(copyItem);
+            accountItem.setPercentage(percentage);
+            updated.add(accountItem);
+        });
+        copyItem.getAccounts().addAll(updated);
+    }
+
+    private static List<Object> getItemKey(final Item item) {
+        return List.of(item.getName(), item.getCost().stripTrailingZeros());
+    }
+
+    private static BillDTO toBillDTO(final Bill bill, final List<Account> invitees) {
+        final var billDTO = new BillDTO();
+        billDTO.setName(bill.getName());
+        billDTO.setCategory(bill.getCategory());
+        billDTO.setCompany(bill.getCompany());
+        billDTO.setTipAmount(bill.getTipAmount());
+        billDTO.setTipPercent(bill.getTipPercent());
+        billDTO.setSplitBy(bill.getSplitBy());
+        billDTO.setAccountsList(invitees.stream().map(Account::getEmail).collect(Collectors.toList()));
+        bill.getItems().forEach(item -> {
+            final var itemDTO = new ItemDTO();
+            itemDTO.setName(item.getName());
+            itemDTO.setCost(item.getCost());
+            billDTO.getItems().add(itemDTO);
+        });
+        bill.getTaxes().forEach(tax -> {
+            final var taxDTO = new TaxDTO();
+            taxDTO.setName(tax.getName());
+            taxDTO.setPercentage(tax.getPercentage());
+            billDTO.getTaxes().add(taxDTO);
+        });
+        return billDTO;
+    }
+}
@@ -0,0 +1,146 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import proj.kedabra.billsnap.business.dto.RecurrenceCopyDTO;
+import proj.kedabra.billsnap.business.model.projections.OccurrenceIdRange;
+import proj.kedabra.billsnap.business.service.RecurrenceService;
+import proj.kedabra.billsnap.config.RecurrenceProperties;
+
+/**
+ * Copies the due recurring bills. The ids of the due bills are split in one contiguous range per worker, and each
+ * worker claims and copies its range batch by batch, every batch in its own transactions. Claims are leases, so nodes
+ * running at the same time share the bills instead of copying them twice. Scheduled by
+ * {@link proj.kedabra.billsnap.config.RecurrenceConfiguration}.
+ * <p>
+ * Meters: {@code recurrence.bills} counts the bills by result.
+ */
+@Slf4j
+@Component
+public class RecurringBillRunner {
+
+    private final RecurrenceService recurrenceService;
+
+    private final RecurrenceProperties recurrenceProperties;
+
+    private final ExecutorService executor;
+
+    private final Counter copiedCounter;
+
+    private final Counter failedCounter;
+
+    public RecurringBillRunner(final RecurrenceService recurrenceService, final RecurrenceProperties recurrenceProperties, final MeterRegistry meterRegistry) {
+        this.recurrenceService = recurrenceService;
+        this.recurrenceProperties = recurrenceProperties;
+        this.executor = Executors.newFixedThreadPool(recurrenceProperties.getWorkers(), daemonThreadFactory());
+        this.copiedCounter = meterRegistry.counter("recurrence.bills", "result", "copied");
+        this.failedCounter = meterRegistry.counter("recurrence.bills", "result", "failed");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return the emails of the participants of the copies
+     */
+    public Set<String> run() {
+        //the leases are compared for equality, so they are kept to a precision every database stores
+        final var now = ZonedDateTime.now(ZoneId.systemDefault()).truncatedTo(ChronoUnit.MILLIS);
+        final OccurrenceIdRange range = recurrenceService.getDueIdRange(now);
+        if (range == null || range.getFirstId() == null) {
+            return Set.of();
+        }
+
+        final List<Future<Set<String>>> workers = new ArrayList<>();
+        for (final long[] partition : partition(range.getFirstId(), range.getLastId(), recurrenceProperties.getWorkers())) {
+            workers.add(executor.submit(() -> runPartition(partition[0], partition[1], now)));
+        }
+
+        final Set<String> emails = new HashSet<>();
+        for (final Future<Set<String>> worker : workers) {
+            try {
+                emails.addAll(worker.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return emails;
+            } catch (ExecutionException e) {
+                log.error("A recurring bill worker stopped, its bills are claimed again once their lease expires", e.getCause());
+            }
+        }
+        return emails;
+    }
+
+    Set<String> runPartition(final long fromId, final long toId, final ZonedDateTime now) {
+        final Set<String> emails = new HashSet<>();
+        List<Long> batch;
+        do {
+            final var lockedUntil = ZonedDateTime.now(ZoneId.systemDefault()).plus(recurrenceProperties.getLease()).truncatedTo(ChronoUnit.MILLIS);
+            batch = recurrenceService.claimDue(fromId, toId, now, lockedUntil);
+            emails.addAll(copy(batch, now, lockedUntil));
+        } while (batch.size() >= recurrenceProperties.getBatchSize() && !Thread.currentThread().isInterrupted());
+        return emails;
+    }
+
+    /**
+     * Copies the batch in one transaction, or bill by bill if it fails so that one bill does not hold back the
+     * others. A bill that cannot be copied keeps its lease and is attempted again on a later run.
+     */
+    private Set<String> copy(final List<Long> batch, final ZonedDateTime now, final ZonedDateTime lockedUntil) {
+        if (batch.isEmpty()) {
+            return Set.of();
+        }
+        try {
+            final RecurrenceCopyDTO result = recurrenceService.copyBills(batch, now, lockedUntil);
+            copiedCounter.increment(result.getCopied());
+            return result.getParticipantEmails();
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                log.warn("Recurring bill {} could not be copied", batch.get(0), e);
+                failedCounter.increment();
+                return Set.of();
+            }
+            final Set<String> emails = new HashSet<>();
+            batch.forEach(billId -> emails.addAll(copy(List.of(billId), now, lockedUntil)));
+            return emails;
+        }
+    }
+
+    /**
+     * @return up to {@code parts} contiguous {@code [from, to]} ranges covering {@code [firstId, lastId]}
+     */
+    static List<long[]> partition(final long firstId, final long lastId, final int parts) {
+        final long size = Math.max(1, (lastId - firstId + parts) / parts);
+        final List<long[]> partitions = new ArrayList<>(parts);
+        for (long from = firstId; from <= lastId; from += size) {
+            partitions.add(new long[]{from, Math.min(lastId, from + size - 1)});
+        }
+        return partitions;
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory() {
+        final var threadFactory = new CustomizableThreadFactory("bill-recurrence-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
@@ -0,0 +1,37 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+
+import proj.kedabra.billsnap.business.model.entities.OutboxMessage;
+import proj.kedabra.billsnap.business.service.OutboxSender;
+import proj.kedabra.billsnap.config.OutboxProperties;
+
+/**
+ * Sends the messages through the SMTP server configured with {@code spring.mail.*}.
+ */
+@Service
+@ConditionalOnProperty(name = "outbox.sender", havingValue = "smtp")
+public class SmtpOutboxSender implements OutboxSender {
+
+    private final JavaMailSender mailSender;
+
+    private final OutboxProperties outboxProperties;
+
+    public SmtpOutboxSender(final JavaMailSender mailSender, final OutboxProperties outboxProperties) {
+        this.mailSender = mailSender;
+        this.outboxProperties = outboxProperties;
+    }
+
+    @Override
+    public void send(final OutboxMessage message) {
+        final var mail = new SimpleMailMessage();
+        mail.setFrom(outboxProperties.getFrom());
+        mail.setTo(message.getRecipient());
+        mail.setSubject(message.getSubject());
+        mail.setText(message.getBody());
+        mailSender.send(mail);
+    }
+}
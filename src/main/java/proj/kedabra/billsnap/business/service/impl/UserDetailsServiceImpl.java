@@ -17,6 +17,7 @@ import proj.kedabra.billsnap.business.model.entities.Account;
 import proj.kedabra.billsnap.business.model.entities.AccountBill;
 import proj.kedabra.billsnap.business.repository.AccountRepository;
 import proj.kedabra.billsnap.utils.ErrorMessageEnum;
+import proj.kedabra.billsnap.utils.annotations.ReadFromPrimary;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
@@ -29,6 +30,7 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     }
 
     @Override
+    @ReadFromPrimary
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) {
         final Optional<Account> optionalUser = Optional.ofNullable(accountRepository.getAccountByEmail(email));
@@ -0,0 +1,6 @@
+package proj.kedabra.billsnap.business.utils.enums;
+
+public enum BillEventTypeEnum {
+    INVITATION,
+    BILL_UPDATED
+}
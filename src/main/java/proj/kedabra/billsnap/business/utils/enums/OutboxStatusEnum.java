@@ -0,0 +1,7 @@
+package proj.kedabra.billsnap.business.utils.enums;
+
+public enum OutboxStatusEnum {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,78 @@
+package proj.kedabra.billsnap.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import proj.kedabra.billsnap.presentation.resources.AccountResource;
+import proj.kedabra.billsnap.presentation.resources.BillSplitResource;
+import proj.kedabra.billsnap.presentation.resources.PaymentOwedResource;
+import proj.kedabra.billsnap.presentation.resources.ShortBillResource;
+import proj.kedabra.billsnap.utils.CacheNames;
+
+/**
+ * Caching stays disabled unless {@code spring.cache.type} selects a provider. With Redis, each cache stores its
+ * resource type as plain JSON through the application's object mapper, instead of Java serialization with class
+ * metadata, and gets its own time to live.
+ * <p>
+ * Caching runs inside method security, so that a cached resource is only handed to callers allowed to read it.
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE)
+public class CacheConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
+    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer(
+            final ObjectMapper objectMapper,
+            @Value("${cache.ttl.bill:PT10M}") final Duration billTimeToLive,
+            @Value("${cache.ttl.bills:PT5M}") final Duration billsTimeToLive,
+            @Value("${cache.ttl.payments:PT5M}") final Duration paymentsTimeToLive,
+            @Value("${cache.ttl.profile:PT30M}") final Duration profileTimeToLive,
+            @Value("${cache.ttl.authorities:PT5M}") final Duration authoritiesTimeToLive) {
+        final ObjectMapper cacheMapper = objectMapper.copy().disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
+        final var types = cacheMapper.getTypeFactory();
+
+        return builder -> builder
+                .withCacheConfiguration(CacheNames.BILL,
+                        cacheConfiguration(jsonSerializer(cacheMapper, types.constructType(BillSplitResource.class)), billTimeToLive))
+                .withCacheConfiguration(CacheNames.BILLS,
+                        cacheConfiguration(jsonSerializer(cacheMapper, types.constructCollectionType(List.class, ShortBillResource.class)), billsTimeToLive))
+                .withCacheConfiguration(CacheNames.BILLS_GENERATION,
+                        cacheConfiguration(new StringRedisSerializer(), billsTimeToLive))
+                .withCacheConfiguration(CacheNames.PAYMENTS,
+                        cacheConfiguration(jsonSerializer(cacheMapper, types.constructCollectionType(List.class, PaymentOwedResource.class)), paymentsTimeToLive))
+                .withCacheConfiguration(CacheNames.PROFILE,
+                        cacheConfiguration(jsonSerializer(cacheMapper, types.constructType(AccountResource.class)), profileTimeToLive))
+                .withCacheConfiguration(CacheNames.AUTHORITIES,
+                        cacheConfiguration(jsonSerializer(cacheMapper, types.constructCollectionType(List.class, String.class)), authoritiesTimeToLive));
+    }
+
+    private static RedisCacheConfiguration cacheConfiguration(final RedisSerializer<?> valueSerializer, final Duration timeToLive) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(timeToLive)
+                .disableCachingNullValues()
+                .serializeValuesWith(SerializationPair.fromSerializer(valueSerializer));
+    }
+
+    private static Jackson2JsonRedisSerializer<Object> jsonSerializer(final ObjectMapper objectMapper, final JavaType type) {
+        final var serializer = new Jackson2JsonRedisSerializer<>(type);
+        serializer.setObjectMapper(objectMapper);
+        return serializer;
+    }
+}
@@ -0,0 +1,64 @@
+package proj.kedabra.billsnap.config;
+
+import java.time.Duration;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import lombok.Data;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "events")
+public class EventStreamProperties {
+
+    /**
+     * Latest events kept in memory, across all accounts, to replay to clients reconnecting with a Last-Event-ID.
+     */
+    @Min(1)
+    private int replaySize = 1000;
+
+    /**
+     * Events waiting to be written to one connection. A connection falling further behind is closed, and catches up
+     * from the replayed events when it reconnects.
+     */
+    @Min(1)
+    private int connectionQueueSize = 64;
+
+    /**
+     * Time between two comments sent to every connection to keep it open through proxies.
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /**
+     * Lifetime of a connection, after which the client reconnects.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Threads writing the events to the connections.
+     */
+    @Min(1)
+    private int deliveryThreads = 2;
+
+    /**
+     * Most delivery threads running at once, counting those started in place of the threads stuck in a write. Once
+     * reached, the threads stuck in a write are no longer replaced.
+     */
+    @Min(1)
+    private int maxDeliveryThreads = 8;
+
+    /**
+     * Connections one account may have open at once. Further connections are rejected until one of them closes.
+     */
+    @Min(1)
+    private int maxConnectionsPerAccount = 5;
+
+    /**
+     * Longest a write to one connection may take. A connection whose write takes longer is dropped, and its delivery
+     * thread is replaced until the write returns, within {@code max-delivery-threads}.
+     */
+    private Duration writeTimeout = Duration.ofSeconds(10);
+}
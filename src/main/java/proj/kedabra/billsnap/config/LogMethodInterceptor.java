@@ -0,0 +1,275 @@
+package proj.kedabra.billsnap.config;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import lombok.extern.slf4j.Slf4j;
+
+import proj.kedabra.billsnap.utils.annotations.ObfuscateArgs;
+
+/**
+ * Logs the entry and exit of the methods matched by the tracing pointcut. The messages are only built when the call is
+ * sampled and INFO is enabled for this class; errors are always logged, once, where they are first thrown.
+ */
+@Slf4j
+public class LogMethodInterceptor implements MethodInterceptor {
+
+    //simply to log errors only once when they occur at the root
+    private final ThreadLocal<Boolean> errorLoggedThread = new ThreadLocal<>();
+
+    //whether the outermost traced call of the thread was sampled, null when no traced call is in progress
+    private final ThreadLocal<Boolean> sampledThread = new ThreadLocal<>();
+
+    private static final String SEPARATOR = " | ";
+
+    private static final String ENTRY_CALL_SEPARATOR = ">>>>>>>>>>>>>";
+
+    private static final String EXIT_CALL_SEPARATOR = "<<<<<<<<<<<<<";
+
+    private static final String CONTROLLER = "CONTROLLER";
+
+    private static final String SERVICE = "SERVICE";
+
+    private static final String DTO = "DTO";
+
+    private static final String FACADE = "FACADE";
+
+    private static final String REPOSITORY = "REPOSITORY";
+
+    private static final String OTHER = "OTHER";
+
+    private static final String ADVICE = "ADVICE";
+
+    private static final String VOID = "VOID";
+
+    private static final String NO_ARGS = "NO ARGS";
+
+    private static final String NULL = "null";
+
+    private final TracingProperties tracingProperties;
+
+    private final boolean isDev;
+
+    public LogMethodInterceptor(final TracingProperties tracingProperties, final boolean isDev) {
+        this.tracingProperties = tracingProperties;
+        this.isDev = isDev;
+    }
+
+    @Override
+    public Object invoke(final MethodInvocation invocation) throws Throwable {
+        final boolean isOutermostCall = sampledThread.get() == null;
+        if (isOutermostCall) {
+            sampledThread.set(isSampled(invocation));
+        }
+
+        try {
+            return sampledThread.get() && log.isInfoEnabled() ? proceedAndLog(invocation) : proceedAndLogError(invocation);
+        } finally {
+            if (isOutermostCall) {
+                sampledThread.remove();
+            }
+        }
+    }
+
+    private Object proceedAndLogError(final MethodInvocation invocation) throws Throwable {
+        //reset the errorLoggedThread
+        errorLoggedThread.set(false);
+        try {
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            logErrorOnce(ex);
+            throw ex;
+        }
+    }
+
+    private Object proceedAndLog(final MethodInvocation invocation) throws Throwable {
+        final Class<?> targetClass = getTargetClass(invocation);
+        final Method method = AopUtils.getMostSpecificMethod(invocation.getMethod(), targetClass);
+        final var methodName = targetClass.getSimpleName() + "." + method.getName() + "(..)";
+        final String methodType = this.getMethodType(targetClass);
+        final Class<?> returnType = method.getReturnType();
+        final String formattedArgsMsg = getFormattedArgsMsg(invocation.getArguments(), method);
+        final String entryMessage = getEntryMessage(formattedArgsMsg, methodName, returnType, methodType);
+
+        log.info(entryMessage);
+
+        final long start = System.currentTimeMillis();
+
+        Object returnObject = null;
+        //reset the errorLoggedThread
+        errorLoggedThread.set(false);
+        try {
+            returnObject = invocation.proceed();
+            return returnObject;
+        } catch (Throwable ex) {
+            logErrorOnce(ex);
+            returnObject = ex.getClass().getSimpleName() + " : " + ex.getMessage();
+            throw ex;
+        } finally {
+            final long executionTime = System.currentTimeMillis() - start;
+            final String returnObjectMessage = getFormattedReturnObjectMessage(returnType, returnObject);
+            final String exitMessage = createExitMessage(methodName, returnObjectMessage, executionTime, methodType, returnType);
+            log.info(exitMessage);
+        }
+    }
+
+    private void logErrorOnce(final Throwable ex) {
+        if (!errorLoggedThread.get()) {
+            log.error("ERROR MESSAGE" + SEPARATOR + ex.getMessage(), ex);
+            //set the thread to true and move all the way to the top without logging
+            errorLoggedThread.set(true);
+        }
+    }
+
+    private boolean isSampled(final MethodInvocation invocation) {
+        final String sampleKey = getTargetClass(invocation).getSimpleName() + "." + invocation.getMethod().getName();
+        final double sampleRate = tracingProperties.getSampleRates().getOrDefault(sampleKey, tracingProperties.getSampleRate());
+        return sampleRate >= 1 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private static Class<?> getTargetClass(final MethodInvocation invocation) {
+        return Optional.ofNullable(invocation.getThis()).<Class<?>>map(AopUtils::getTargetClass).orElse(invocation.getMethod().getDeclaringClass());
+    }
+
+    private String getEntryMessage(final String formattedMsgArgs, final String methodName, final Class<?> returnType, final String methodType) {
+        return methodType +
+                SEPARATOR +
+                methodName +
+                SEPARATOR +
+                "RETURNS: " +
+                returnType.getSimpleName() +
+                SEPARATOR +
+                ENTRY_CALL_SEPARATOR +
+                SEPARATOR +
+                formattedMsgArgs;
+    }
+
+    private String createExitMessage(final String methodName, final String returnObjectMessage, final long executionTime, final String methodType, final Class<?> returnType) {
+        return methodType +
+                SEPARATOR +
+                methodName +
+                SEPARATOR +
+                "RETURNS: " +
+                returnType.getSimpleName() +
+                SEPARATOR +
+                EXIT_CALL_SEPARATOR +
+                SEPARATOR +
+                returnObjectMessage +
+                SEPARATOR +
+                "execution time: " +
+                executionTime
+                + " ms";
+    }
+
+    private String getMethodType(final Class<?> declaringClass) {
+        if (declaringClass.getAnnotation(Service.class) != null) {
+            return SERVICE;
+        }
+        if (declaringClass.getAnnotation(Repository.class) != null) {
+            return REPOSITORY;
+        }
+        if (declaringClass.getAnnotation(RestController.class) != null) {
+            return CONTROLLER;
+        }
+        if (declaringClass.getAnnotation(RestControllerAdvice.class) != null) {
+            return ADVICE;
+        }
+        final var className = declaringClass.getName().toUpperCase();
+        if (className.contains(DTO)) {
+            return DTO;
+        }
+        if (className.contains(FACADE)) {
+            return FACADE;
+        }
+        return OTHER;
+
+    }
+
+    private String getFormattedReturnObjectMessage(final Class<?> returnType, Object returnObject) {
+        String formattedReturnObjectMessage;
+
+        if (returnType.equals(Void.class) || returnType.equals(void.class)) {
+            return VOID;
+        } else {
+            final String formattedReturnObject = formatObject(returnObject);
+            formattedReturnObjectMessage = "RETURNED: " + formattedReturnObject;
+        }
+
+        return formattedReturnObjectMessage;
+
+    }
+
+    private boolean shouldObfuscateArgs(final Method method) {
+        if (!isDev) {
+            return Optional.ofNullable(method.getAnnotation(ObfuscateArgs.class)).isPresent();
+        }
+
+        return false;
+
+    }
+
+    private String getFormattedArgsMsg(final Object[] args, final Method method) {
+        if (args.length == 0) {
+            return NO_ARGS;
+        }
+
+        final boolean shouldObfuscateArgs = shouldObfuscateArgs(method);
+
+        if (shouldObfuscateArgs) {
+            return Arrays.stream(args)
+                    .filter(Objects::nonNull)
+                    .map(Object::getClass)
+                    //binding result specifically is a class that shouldn't be logged
+                    .filter(Predicate.not(BindingResult.class::isAssignableFrom))
+                    .map(Class::getSimpleName)
+                    .collect(Collectors.joining(","));
+        }
+        return Arrays.stream(args)
+                .map(argument -> (argument == null) ?
+                        Objects.toString(null) : argument)
+                .filter(Predicate.not(
+                        arg -> BindingResult.class.isAssignableFrom(arg.getClass())))
+                .map(this::formatObject)
+                .collect(Collectors.joining(","));
+
+    }
+
+    private String formatObject(final Object object) {
+
+        if (object == null) {
+            return NULL;
+        }
+
+        final var packageName = object.getClass().getPackageName();
+
+        //because of lazy loading, doing a object.toString() will force to get the entire row in the database, which is causes an exception. Either setting them to eager (which is slow for our purposes)
+        //or just not logging entities would be the solutions. Here, we opted to not log entities
+        if (packageName.contains("entities")) {
+            return object.getClass().getSimpleName();
+        }
+
+        String formattedString = object.toString();
+
+        if (formattedString.startsWith(packageName)) {
+            formattedString = object.getClass().getSimpleName();
+        }
+
+        return formattedString;
+
+    }
+
+}
@@ -0,0 +1,39 @@
+package proj.kedabra.billsnap.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import proj.kedabra.billsnap.business.service.impl.OutboxDispatcher;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfiguration {
+
+    /**
+     * Polls the outbox every {@code outbox.poll-interval} after the previous poll has drained it. Set
+     * {@code outbox.dispatcher-enabled=false} on instances that should only write messages.
+     */
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "outbox.dispatcher-enabled", havingValue = "true", matchIfMissing = true)
+    static class OutboxSchedulingConfiguration implements SchedulingConfigurer {
+
+        private final OutboxDispatcher outboxDispatcher;
+
+        private final OutboxProperties outboxProperties;
+
+        OutboxSchedulingConfiguration(final OutboxDispatcher outboxDispatcher, final OutboxProperties outboxProperties) {
+            this.outboxDispatcher = outboxDispatcher;
+            this.outboxProperties = outboxProperties;
+        }
+
+        @Override
+        public void configureTasks(final ScheduledTaskRegistrar taskRegistrar) {
+            taskRegistrar.addFixedDelayTask(outboxDispatcher::dispatch, outboxProperties.getPollInterval().toMillis());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package proj.kedabra.billsnap.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "outbox")
+public class OutboxProperties {
+
+    /**
+     * Whether this instance polls the outbox. Messages are written whatever the value.
+     */
+    private boolean dispatcherEnabled = true;
+
+    /**
+     * Time between two polls once the previous one has drained the due messages.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * Messages claimed per transaction.
+     */
+    private int batchSize = 50;
+
+    /**
+     * How long a claimed message is left to its dispatcher before another may claim it again.
+     */
+    private Duration lease = Duration.ofMinutes(1);
+
+    /**
+     * Attempts after which a message is left FAILED.
+     */
+    private int maxAttempts = 8;
+
+    /**
+     * Wait before the second attempt, doubled on every attempt after it up to the maximum backoff.
+     */
+    private Duration backoff = Duration.ofSeconds(10);
+
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    /**
+     * Sender address of the mails.
+     */
+    private String from = "noreply@billsnap.com";
+}
@@ -0,0 +1,44 @@
+package proj.kedabra.billsnap.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import proj.kedabra.billsnap.business.service.impl.RecurringBillRunner;
+import proj.kedabra.billsnap.presentation.cache.BillCacheEvictor;
+
+@Configuration
+@EnableConfigurationProperties(RecurrenceProperties.class)
+public class RecurrenceConfiguration {
+
+    /**
+     * Copies the due recurring bills on {@code recurrence.cron}, then evicts the cached bills of their participants.
+     * Set {@code recurrence.scheduler-enabled=false} on instances that should leave it to the others.
+     */
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "recurrence.scheduler-enabled", havingValue = "true", matchIfMissing = true)
+    static class RecurrenceSchedulingConfiguration implements SchedulingConfigurer {
+
+        private final RecurringBillRunner recurringBillRunner;
+
+        private final BillCacheEvictor billCacheEvictor;
+
+        private final RecurrenceProperties recurrenceProperties;
+
+        RecurrenceSchedulingConfiguration(final RecurringBillRunner recurringBillRunner, final BillCacheEvictor billCacheEvictor,
+                                          final RecurrenceProperties recurrenceProperties) {
+            this.recurringBillRunner = recurringBillRunner;
+            this.billCacheEvictor = billCacheEvictor;
+            this.recurrenceProperties = recurrenceProperties;
+        }
+
+        @Override
+        public void configureTasks(final ScheduledTaskRegistrar taskRegistrar) {
+            taskRegistrar.addCronTask(() -> billCacheEvictor.evictAccounts(recurringBillRunner.run()), recurrenceProperties.getCron());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package proj.kedabra.billsnap.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "recurrence")
+public class RecurrenceProperties {
+
+    /**
+     * Whether this instance copies the due recurring bills. Any number of instances may, they share the work.
+     */
+    private boolean schedulerEnabled = true;
+
+    /**
+     * When the due recurring bills are copied, nightly by default.
+     */
+    private String cron = "0 0 3 * * *";
+
+    /**
+     * Threads copying the bills, each one over its own range of ids.
+     */
+    private int workers = 4;
+
+    /**
+     * Bills claimed and copied per transaction.
+     */
+    private int batchSize = 100;
+
+    /**
+     * How long a claimed bill is left to its node before another may claim it again.
+     */
+    private Duration lease = Duration.ofMinutes(10);
+}
@@ -0,0 +1,106 @@
+package proj.kedabra.billsnap.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.jdbc.DataSourceHealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import proj.kedabra.billsnap.utils.annotations.ReadFromPrimary;
+
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicaConfiguration {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    /**
+     * Replaces the datasource of spring.datasource.* with one routing read-only transactions to
+     * {@code replicas.datasources}. Set {@code replicas.enabled=true} on instances that have replicas to read from.
+     * <p>
+     * The pools are not beans, so they are given spring.datasource.hikari.* and the meter registry here, as Spring Boot
+     * does for its own pool, and the replicas get a health indicator of their own. The methods annotated with
+     * {@link ReadFromPrimary} are advised to read from the primary.
+     */
+    @Configuration
+    @ConditionalOnProperty(name = "replicas.enabled", havingValue = "true")
+    static class ReplicaRoutingConfiguration {
+
+        @Bean
+        public ReplicaRoutingDataSource dataSource(final DataSourceProperties dataSourceProperties, final ReplicaProperties replicaProperties,
+                                                   final Environment environment, final ObjectProvider<MeterRegistry> meterRegistry) {
+            final Binder binder = Binder.get(environment);
+            final HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            primary.setPoolName("primary");
+            binder.bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+
+            final List<ReplicaProperties.Replica> replicas = replicaProperties.getDatasources();
+            final List<HikariDataSource> replicaDataSources = IntStream.range(0, replicas.size())
+                    .mapToObj(i -> createReplica(dataSourceProperties, binder, replicas.get(i), "replica-" + i))
+                    .collect(Collectors.toList());
+
+            meterRegistry.ifAvailable(registry -> {
+                primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+                replicaDataSources.forEach(replica -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            });
+            return new ReplicaRoutingDataSource(primary, replicaDataSources, replicaProperties);
+        }
+
+        @Bean
+        public HealthContributor replicasHealthContributor(final ReplicaRoutingDataSource dataSource) {
+            final Map<String, DataSourceHealthIndicator> indicators = new LinkedHashMap<>();
+            dataSource.getReplicas().forEach(replica -> indicators.put(replica.getPoolName(), new DataSourceHealthIndicator(replica)));
+            return CompositeHealthContributor.fromMap(indicators);
+        }
+
+        /**
+         * Advisors are created before the other beans, so the datasource is only looked up on the first invocation.
+         */
+        @Bean
+        public Advisor readFromPrimaryAdvisor(final ObjectProvider<ReplicaRoutingDataSource> dataSource) {
+            final MethodInterceptor interceptor = invocation -> dataSource.getObject().proceedOnPrimary(invocation);
+            return new DefaultPointcutAdvisor(AnnotationMatchingPointcut.forMethodAnnotation(ReadFromPrimary.class), interceptor);
+        }
+
+        /**
+         * Replicas share the pool settings of the primary, apart from their own connection and pool size.
+         */
+        private static HikariDataSource createReplica(final DataSourceProperties dataSourceProperties, final Binder binder,
+                                                      final ReplicaProperties.Replica replica, final String poolName) {
+            final HikariDataSource dataSource = DataSourceBuilder.create(dataSourceProperties.getClassLoader())
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .build();
+            binder.bind(HIKARI_PREFIX, Bindable.ofInstance(dataSource));
+            dataSource.setJdbcUrl(replica.getUrl());
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+            dataSource.setPoolName(poolName);
+            dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            return dataSource;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package proj.kedabra.billsnap.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "replicas")
+public class ReplicaProperties {
+
+    /**
+     * Whether read-only transactions are sent to the replicas. Everything goes to spring.datasource.* otherwise.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Read replicas of spring.datasource.*, reached with its driver.
+     */
+    private List<Replica> datasources = new ArrayList<>();
+
+    /**
+     * How a read-only transaction picks its replica.
+     */
+    private Balancing balancing = Balancing.ROUND_ROBIN;
+
+    /**
+     * How far behind the primary the replicas may be. The reads of a user stay on the primary for that long after
+     * each of their writes.
+     */
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    /**
+     * Users whose last write is remembered to pin their reads to the primary.
+     */
+    private int pinnedUsers = 10000;
+
+    @Data
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Connections kept by the pool of this replica.
+         */
+        private int maximumPoolSize = 10;
+    }
+
+    public enum Balancing {
+        ROUND_ROBIN,
+        LEAST_CONNECTIONS
+    }
+}
@@ -0,0 +1,249 @@
+package proj.kedabra.billsnap.config;
+
+import java.io.Closeable;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.lang.Nullable;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import proj.kedabra.billsnap.utils.ExpiringLruCache;
+
+/**
+ * Sends the connections of read-only transactions to one of the replicas, and everything else to the primary. The
+ * transaction manager takes its connection before marking the transaction read-only, so the actual connection is only
+ * picked on the first statement.
+ * <p>
+ * Once a user commits a write, their read-only transactions stay on the primary for {@code replicas.max-lag}, so they
+ * read their own writes whatever the replicas have caught up with. Only the transactions that ran an update or a batch
+ * on their connection count as writes, the ones that merely could have written do not pin anybody.
+ * <p>
+ * The methods annotated with {@link proj.kedabra.billsnap.utils.annotations.ReadFromPrimary} read from the primary as
+ * well, since what a lagging replica returns to them would be cached or trusted past the request.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    /**
+     * Statement methods that can change data. {@code execute} may run anything, so it is taken for a write as well.
+     */
+    private static final Set<String> WRITE_METHODS = Set.of("executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch", "execute");
+
+    private static final Set<String> STATEMENT_FACTORY_METHODS = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+    private final HikariDataSource primary;
+
+    private final List<HikariDataSource> replicas;
+
+    private final ReplicaProperties.Balancing balancing;
+
+    private final long maxLag;
+
+    private final ExpiringLruCache<String, Boolean> recentWriters;
+
+    private final Clock clock;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final ThreadLocal<Boolean> primaryReads = new ThreadLocal<>();
+
+    public ReplicaRoutingDataSource(final HikariDataSource primary, final List<HikariDataSource> replicas, final ReplicaProperties replicaProperties) {
+        this(primary, replicas, replicaProperties, Clock.systemUTC());
+    }
+
+    ReplicaRoutingDataSource(final HikariDataSource primary, final List<HikariDataSource> replicas, final ReplicaProperties replicaProperties,
+                             final Clock clock) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.balancing = replicaProperties.getBalancing();
+        this.maxLag = replicaProperties.getMaxLag().toMillis();
+        this.recentWriters = new ExpiringLruCache<>(replicaProperties.getPinnedUsers(), clock);
+        this.clock = clock;
+
+        final Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY, primary);
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targetDataSources.put(i, this.replicas.get(i));
+        }
+        final var router = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return ReplicaRoutingDataSource.this.determineCurrentLookupKey();
+            }
+
+            @Override
+            public Connection getConnection() throws SQLException {
+                return trackWrites(super.getConnection());
+            }
+
+            @Override
+            public Connection getConnection(final String username, final String password) throws SQLException {
+                return trackWrites(super.getConnection(username, password));
+            }
+        };
+        router.setTargetDataSources(targetDataSources);
+        router.setDefaultTargetDataSource(primary);
+        router.setLenientFallback(false);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+    }
+
+    Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+
+        final String user = getCurrentUser();
+        if (replicas.isEmpty() || primaryReads.get() != null || (user != null && recentWriters.get(user) != null)) {
+            return PRIMARY;
+        }
+        return balancing == ReplicaProperties.Balancing.LEAST_CONNECTIONS ? getLeastBusyReplica() : Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+    }
+
+    /**
+     * Proceeds with the invocation, sending the read-only transactions it starts to the primary.
+     */
+    Object proceedOnPrimary(final MethodInvocation invocation) throws Throwable {
+        if (primaryReads.get() != null) {
+            return invocation.proceed();
+        }
+        primaryReads.set(Boolean.TRUE);
+        try {
+            return invocation.proceed();
+        } finally {
+            primaryReads.remove();
+        }
+    }
+
+    /**
+     * The replica with the fewest connections in use. The scan starts from the next replica in turn, so ties are
+     * spread over all of them instead of all landing on the first one.
+     */
+    private int getLeastBusyReplica() {
+        final int start = nextReplica.getAndIncrement();
+        int leastBusy = Math.floorMod(start, replicas.size());
+        int leastActive = Integer.MAX_VALUE;
+        for (int i = 0; i < replicas.size(); i++) {
+            final int replica = Math.floorMod(start + i, replicas.size());
+            final HikariPoolMXBean pool = replicas.get(replica).getHikariPoolMXBean();
+            final int active = pool == null ? 0 : pool.getActiveConnections();
+            if (active < leastActive) {
+                leastBusy = replica;
+                leastActive = active;
+            }
+        }
+        return leastBusy;
+    }
+
+    /**
+     * Wraps the connections of the transactions that may write, so that their first update pins the reads of the
+     * current user once the transaction commits.
+     */
+    private Connection trackWrites(final Connection connection) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class}, new WriteTrackingHandler(connection));
+    }
+
+    private void pinCurrentUser() {
+        final String user = getCurrentUser();
+        if (user == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE, clock.millis() + maxLag);
+            }
+        });
+    }
+
+    @Nullable
+    private static String getCurrentUser() {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    List<HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+        primary.close();
+    }
+
+    /**
+     * Hands out statements that report their first write. A connection belongs to a single transaction, so the user
+     * is pinned at most once per transaction.
+     */
+    private class WriteTrackingHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        private boolean wrote;
+
+        WriteTrackingHandler(final Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            final Object result = invokeTarget(connection, method, args);
+            if (result instanceof Statement && STATEMENT_FACTORY_METHODS.contains(method.getName())) {
+                return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{method.getReturnType()},
+                        (statementProxy, statementMethod, statementArgs) -> {
+                            if (!wrote && WRITE_METHODS.contains(statementMethod.getName())) {
+                                wrote = true;
+                                pinCurrentUser();
+                            }
+                            return invokeTarget(result, statementMethod, statementArgs);
+                        });
+            }
+            return result;
+        }
+    }
+
+    private static Object invokeTarget(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
@@ -20,6 +21,7 @@ import org.springframework.validation.Validator;
 
 import proj.kedabra.billsnap.business.mapper.AccountMapper;
 import proj.kedabra.billsnap.business.service.AccountService;
+import proj.kedabra.billsnap.business.service.BillAuthorityService;
 import proj.kedabra.billsnap.business.service.impl.UserDetailsServiceImpl;
 import proj.kedabra.billsnap.security.JwtAuthenticationEntryPoint;
 import proj.kedabra.billsnap.security.JwtAuthenticationFailureHandler;
@@ -30,7 +32,7 @@ import proj.kedabra.billsnap.security.JwtService;
 
 @Configuration
 @EnableWebSecurity
-@EnableGlobalMethodSecurity(prePostEnabled = true)
+@EnableGlobalMethodSecurity(prePostEnabled = true, order = Ordered.HIGHEST_PRECEDENCE)
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     private final UserDetailsServiceImpl userDetailsServiceImpl;
@@ -45,6 +47,8 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     private final AccountMapper accountMapper;
 
+    private final BillAuthorityService billAuthorityService;
+
     @Autowired
     public SecurityConfig(
             final UserDetailsServiceImpl userDetailsServiceImpl,
@@ -52,13 +56,15 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
             final ObjectMapper mapper,
             @Qualifier("getValidator") final Validator validator,
             final AccountService accountService,
-            final AccountMapper accountMapper) {
+            final AccountMapper accountMapper,
+            final BillAuthorityService billAuthorityService) {
         this.userDetailsServiceImpl = userDetailsServiceImpl;
         this.jwtService = jwtService;
         this.mapper = mapper;
         this.validator = validator;
         this.accountService = accountService;
         this.accountMapper = accountMapper;
+        this.billAuthorityService = billAuthorityService;
     }
 
     @Override
@@ -119,7 +125,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     }
 
     private JwtAuthorizationFilter jwtAuthorizationFilter() throws Exception {
-        return new JwtAuthorizationFilter(authenticationManager(), jwtService, userDetailsServiceImpl);
+        return new JwtAuthorizationFilter(authenticationManager(), jwtService, billAuthorityService);
     }
 
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint() {
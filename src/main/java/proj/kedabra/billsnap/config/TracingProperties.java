@@ -0,0 +1,35 @@
+package proj.kedabra.billsnap.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "tracing")
+public class TracingProperties {
+
+    static final String DEFAULT_POINTCUT = "within(proj.kedabra.billsnap.presentation.controllers..*) || within(proj.kedabra.billsnap.business.facade..*)";
+
+    /**
+     * Whether the calls matched by the pointcut are logged at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * AspectJ expression of the methods whose calls are logged.
+     */
+    private String pointcut = DEFAULT_POINTCUT;
+
+    /**
+     * Share of the calls logged, between 0 and 1. Calls made while a logged call is in progress follow its decision.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Share of the calls logged per method, keyed by {@code SimpleClassName.methodName}, overriding the sample rate.
+     */
+    private Map<String, Double> sampleRates = new HashMap<>();
+}
@@ -1,17 +1,37 @@
 package proj.kedabra.billsnap.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import proj.kedabra.billsnap.presentation.cache.BillETagInterceptor;
+
 @Configuration
+@EnableConfigurationProperties(EventStreamProperties.class)
 public class WebConfiguration implements WebMvcConfigurer {
 
+    private final BillETagInterceptor billETagInterceptor;
+
+    public WebConfiguration(final BillETagInterceptor billETagInterceptor) {
+        this.billETagInterceptor = billETagInterceptor;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry
                 .addMapping("/**")
                 .allowedMethods("*")
-                .exposedHeaders("x-auth-token");
+                .exposedHeaders("x-auth-token", HttpHeaders.ETAG);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry
+                .addInterceptor(billETagInterceptor)
+                .addPathPatterns("/bills", "/bills/{billId}")
+                .excludePathPatterns("/bills/import", "/bills/export");
     }
 }
@@ -0,0 +1,47 @@
+package proj.kedabra.billsnap.presentation.actuator;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import proj.kedabra.billsnap.business.dto.BillTotalsMismatchDTO;
+import proj.kedabra.billsnap.business.service.BillTotalsService;
+
+/**
+ * Compares the stored totals of a page of bills with recomputed ones ({@code GET /actuator/billtotals?page=0&size=100}),
+ * and repairs them ({@code POST}). Exposed only when listed in {@code management.endpoints.web.exposure.include}.
+ */
+@Component
+@Endpoint(id = "billtotals")
+public class BillTotalsEndpoint {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final BillTotalsService billTotalsService;
+
+    public BillTotalsEndpoint(final BillTotalsService billTotalsService) {
+        this.billTotalsService = billTotalsService;
+    }
+
+    @ReadOperation
+    public List<BillTotalsMismatchDTO> mismatches(@Nullable final Integer page, @Nullable final Integer size) {
+        return billTotalsService.findMismatches(getPageable(page, size));
+    }
+
+    @WriteOperation
+    public List<BillTotalsMismatchDTO> repair(@Nullable final Integer page, @Nullable final Integer size) {
+        return billTotalsService.repairMismatches(getPageable(page, size));
+    }
+
+    private static Pageable getPageable(@Nullable final Integer page, @Nullable final Integer size) {
+        return PageRequest.of(Optional.ofNullable(page).orElse(0), Optional.ofNullable(size).orElse(DEFAULT_PAGE_SIZE), Sort.by("id"));
+    }
+}
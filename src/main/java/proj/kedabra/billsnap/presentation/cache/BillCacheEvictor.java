@@ -0,0 +1,79 @@
+package proj.kedabra.billsnap.presentation.cache;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import proj.kedabra.billsnap.business.facade.BillFacade;
+import proj.kedabra.billsnap.utils.CacheNames;
+
+/**
+ * Keeps the per-account caches in line with shared bills. A change to a bill affects what every participant owes
+ * and sees in their bill list, so those entries are cleared for all of them and not only for the caller.
+ * <p>
+ * Bill lists are cached per account and per filter combination, which cannot be evicted by key. Instead each account
+ * has a generation that is part of every {@link CacheNames#BILLS} key; dropping the generation orphans the old
+ * entries, which then expire on their own.
+ */
+@Component
+public class BillCacheEvictor {
+
+    private final CacheManager cacheManager;
+
+    private final BillFacade billFacade;
+
+    public BillCacheEvictor(final CacheManager cacheManager, final BillFacade billFacade) {
+        this.cacheManager = cacheManager;
+        this.billFacade = billFacade;
+    }
+
+    public void evictParticipants(final Long billId) {
+        evictAccounts(billFacade.getParticipantEmails(billId));
+    }
+
+    /**
+     * Runs the bill change and evicts everyone who took part in the bill before or after it, so that accounts
+     * removed by the change are cleared as well.
+     */
+    public <T> T evictParticipants(final Long billId, final Supplier<T> billChange) {
+        final var emails = new HashSet<>(billFacade.getParticipantEmails(billId));
+        final T result = billChange.get();
+        emails.addAll(billFacade.getParticipantEmails(billId));
+        evictAccounts(emails);
+        return result;
+    }
+
+    public void evictBill(final Long billId) {
+        evict(CacheNames.BILL, billId);
+    }
+
+    public String getBillsGeneration(final String email) {
+        final Cache generations = cacheManager.getCache(CacheNames.BILLS_GENERATION);
+        final String generation = UUID.randomUUID().toString();
+        if (generations == null) {
+            return generation;
+        }
+
+        final Cache.ValueWrapper existing = generations.putIfAbsent(email, generation);
+        return existing != null && existing.get() != null ? existing.get().toString() : generation;
+    }
+
+    public void evictAccounts(final Collection<String> emails) {
+        emails.forEach(email -> {
+            evict(CacheNames.PAYMENTS, email);
+            evict(CacheNames.BILLS_GENERATION, email);
+        });
+    }
+
+    private void evict(final String cacheName, final Object key) {
+        final Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package proj.kedabra.billsnap.presentation.cache;
+
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import proj.kedabra.billsnap.business.dto.BillVersionDTO;
+import proj.kedabra.billsnap.business.facade.BillFacade;
+
+/**
+ * Answers conditional GETs of a bill and of the caller's bill lists before their controllers build them. The ETag of a
+ * bill comes from its version and the versions of its participations, and the one of the lists from all the bills of
+ * the caller, each read with a single indexed query. A matching {@code If-None-Match} gets a 304 without a body.
+ * <p>
+ * The ETag of a bill is only given to its participants, everyone else goes through to the controller and its checks.
+ */
+@Component
+public class BillETagInterceptor implements HandlerInterceptor {
+
+    private static final String BILL_ID = "billId";
+
+    private final BillFacade billFacade;
+
+    public BillETagInterceptor(final BillFacade billFacade) {
+        this.billFacade = billFacade;
+    }
+
+    @Override
+    public boolean preHandle(final HttpServletRequest request, final HttpServletResponse response, final Object handler) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || !(request.getUserPrincipal() instanceof Authentication)) {
+            return true;
+        }
+
+        final String eTag = getETag(request, (Authentication) request.getUserPrincipal());
+        return eTag == null || !new ServletWebRequest(request, response).checkNotModified(eTag);
+    }
+
+    @Nullable
+    private String getETag(final HttpServletRequest request, final Authentication authentication) {
+        @SuppressWarnings("unchecked") final var pathVariables = (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        final String billId = pathVariables == null ? null : pathVariables.get(BILL_ID);
+        if (billId == null) {
+            return toETag(billFacade.getBillsVersion(authentication.getName()));
+        }
+
+        final boolean participant = authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).anyMatch(billId::equals);
+        if (!participant) {
+            return null;
+        }
+        final BillVersionDTO billVersion = billFacade.getBillVersion(Long.valueOf(billId));
+        return billVersion.getAccountBills() == 0 ? null : toETag(billVersion);
+    }
+
+    private static String toETag(final BillVersionDTO billVersion) {
+        final long updated = Optional.ofNullable(billVersion.getUpdated()).map(ZonedDateTime::toInstant).map(Instant::toEpochMilli).orElse(0L);
+        return String.format("\"%d-%d-%d-%d\"", updated, billVersion.getAccountBills(),
+                Optional.ofNullable(billVersion.getVersion()).orElse(0L), Optional.ofNullable(billVersion.getAccountsVersion()).orElse(0L));
+    }
+}
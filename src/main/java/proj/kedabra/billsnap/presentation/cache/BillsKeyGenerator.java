@@ -0,0 +1,39 @@
+package proj.kedabra.billsnap.presentation.cache;
+
+import java.lang.reflect.Method;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.StringJoiner;
+
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds {@link proj.kedabra.billsnap.utils.CacheNames#BILLS} keys as {@code email:generation:filters...} so that
+ * all cached bill lists of an account can be dropped at once through {@link BillCacheEvictor}.
+ */
+@Component(BillsKeyGenerator.NAME)
+public class BillsKeyGenerator implements KeyGenerator {
+
+    public static final String NAME = "billsKeyGenerator";
+
+    private final BillCacheEvictor billCacheEvictor;
+
+    public BillsKeyGenerator(final BillCacheEvictor billCacheEvictor) {
+        this.billCacheEvictor = billCacheEvictor;
+    }
+
+    @Override
+    public Object generate(final Object target, final Method method, final Object... params) {
+        final String email = Arrays.stream(params)
+                .filter(Principal.class::isInstance)
+                .map(param -> ((Principal) param).getName())
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Bill list cache keys require the caller's principal"));
+
+        final var key = new StringJoiner(":");
+        key.add(email).add(billCacheEvictor.getBillsGeneration(email));
+        Arrays.stream(params).filter(param -> !(param instanceof Principal)).map(String::valueOf).forEach(key::add);
+        return key.toString();
+    }
+}
@@ -35,6 +35,7 @@ import proj.kedabra.billsnap.presentation.resources.LoginResource;
 import proj.kedabra.billsnap.presentation.resources.LoginResponseResource;
 import proj.kedabra.billsnap.utils.CacheNames;
 import proj.kedabra.billsnap.utils.annotations.ObfuscateArgs;
+import proj.kedabra.billsnap.utils.annotations.ReadFromPrimary;
 
 
 @RestController
@@ -89,6 +90,7 @@ public class AccountController {
     }
 
     @Cacheable(value = CacheNames.PROFILE, key = "#principal.name")
+    @ReadFromPrimary
     @GetMapping(path = "/account")
     @Operation(summary = "Get account information", description = "Get account information")
     @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = AccountResource.class)), description = "Successfully get account information")
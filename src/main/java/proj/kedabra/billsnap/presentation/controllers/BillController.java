@@ -1,13 +1,19 @@
 package proj.kedabra.billsnap.presentation.controllers;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 import javax.validation.Valid;
 
-import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.BindingResult;
@@ -16,6 +22,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -28,19 +35,27 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import proj.kedabra.billsnap.business.dto.AssociateBillDTO;
 import proj.kedabra.billsnap.business.dto.BillCompleteDTO;
 import proj.kedabra.billsnap.business.dto.BillDTO;
+import proj.kedabra.billsnap.business.dto.BillImportErrorDTO;
+import proj.kedabra.billsnap.business.dto.BillImportReportDTO;
 import proj.kedabra.billsnap.business.dto.BillSplitDTO;
 import proj.kedabra.billsnap.business.exception.FieldValidationException;
 import proj.kedabra.billsnap.business.facade.BillFacade;
+import proj.kedabra.billsnap.business.facade.BillImportFacade;
 import proj.kedabra.billsnap.business.mapper.BillMapper;
 import proj.kedabra.billsnap.presentation.ApiError;
+import proj.kedabra.billsnap.presentation.cache.BillCacheEvictor;
+import proj.kedabra.billsnap.presentation.imports.BillImportReader;
 import proj.kedabra.billsnap.presentation.resources.AssociateBillResource;
+import proj.kedabra.billsnap.presentation.resources.BalanceSplitResource;
 import proj.kedabra.billsnap.presentation.resources.BillCreationResource;
+import proj.kedabra.billsnap.presentation.resources.BillImportReportResource;
 import proj.kedabra.billsnap.presentation.resources.BillResource;
 import proj.kedabra.billsnap.presentation.resources.BillSplitResource;
 import proj.kedabra.billsnap.presentation.resources.EditBillResource;
 import proj.kedabra.billsnap.presentation.resources.InviteRegisteredResource;
 import proj.kedabra.billsnap.presentation.resources.StartBillResource;
 import proj.kedabra.billsnap.utils.CacheNames;
+import proj.kedabra.billsnap.utils.annotations.ReadFromPrimary;
 
 @RestController
 public class BillController {
@@ -49,12 +64,21 @@ public class BillController {
 
     private final BillFacade billFacade;
 
-    public BillController(final BillMapper billMapper, final BillFacade billFacade) {
+    private final BillCacheEvictor billCacheEvictor;
+
+    private final BillImportFacade billImportFacade;
+
+    private final BillImportReader billImportReader;
+
+    public BillController(final BillMapper billMapper, final BillFacade billFacade, final BillCacheEvictor billCacheEvictor, final BillImportFacade billImportFacade,
+                          final BillImportReader billImportReader) {
         this.billMapper = billMapper;
         this.billFacade = billFacade;
+        this.billCacheEvictor = billCacheEvictor;
+        this.billImportFacade = billImportFacade;
+        this.billImportReader = billImportReader;
     }
 
-    @CacheEvict(value = {CacheNames.BILL, CacheNames.PAYMENTS}, key = "#principal.name")
     @PostMapping("/bills")
     @Operation(summary = "Add personal bill", description = "Add a personal bill to a user account.")
     @ApiResponse(responseCode = "201", content = @Content(schema = @Schema(implementation = BillResource.class)), description = "Successfully added a bill!")
@@ -73,13 +97,37 @@ public class BillController {
 
         final BillDTO billDTO = billMapper.toBillDTO(billCreationResource);
         final BillCompleteDTO createdBill = billFacade.addPersonalBill(principal.getName(), billDTO);
+        billCacheEvictor.evictParticipants(createdBill.getId());
         return billMapper.toResource(createdBill);
     }
 
+    @PostMapping(path = "/bills/import", consumes = {BillImportReader.NDJSON_VALUE, BillImportReader.CSV_VALUE})
+    @Operation(summary = "Import bills", description = "Add many personal bills to a user account, read as newline-delimited bill JSON objects or as CSV rows with the columns " +
+            "name, category, company, tipAmount, tipPercent, splitBy, accounts, items and taxes. The accounts, items and taxes of a row are separated by ';', and an item " +
+            "or a tax is written name=amount.")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = BillImportReportResource.class)), description = "Imported the valid bills, and reported the others by row.")
+    @ApiResponse(responseCode = "401", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are unauthorized to access this resource.")
+    @ApiResponse(responseCode = "403", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are forbidden to access this resource.")
+    @ApiResponse(responseCode = "415", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "The upload is neither NDJSON nor CSV.")
+    @ResponseStatus(HttpStatus.OK)
+    public BillImportReportResource importBills(@RequestHeader(HttpHeaders.CONTENT_TYPE) final MediaType contentType,
+                                                final InputStream body,
+                                                @AuthenticationPrincipal final Principal principal) throws IOException {
+        final List<BillImportErrorDTO> readErrors = new ArrayList<>();
+        final BillImportReportDTO report = billImportFacade.importBills(principal.getName(), billImportReader.read(body, contentType, readErrors));
+        billCacheEvictor.evictAccounts(report.getParticipantEmails());
+
+        report.getErrors().addAll(readErrors);
+        report.getErrors().sort(Comparator.comparingLong(BillImportErrorDTO::getRow));
+        return billMapper.toResource(report);
+    }
+
     @Cacheable(value = CacheNames.BILL, key = "#billId")
+    @ReadFromPrimary
     @GetMapping("/bills/{billId}")
     @Operation(summary = "Get detailed bill", description = "Get detailed bill associated to account")
     @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = BillSplitResource.class)), description = "Successfully retrieved detailed bill!")
+    @ApiResponse(responseCode = "304", description = "The bill did not change since the ETag sent in If-None-Match.")
     @ApiResponse(responseCode = "400", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "No bill with that id exists")
     @ApiResponse(responseCode = "401", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "Access is unauthorized!")
     @ApiResponse(responseCode = "403", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "Account does not have the bill specified.")
@@ -94,7 +142,6 @@ public class BillController {
     }
 
     @CachePut(value = CacheNames.BILL, key = "#associateBillResource.id")
-    @CacheEvict(value = CacheNames.PAYMENTS, key = "#principal.name")
     @PutMapping("/bills")
     @Operation(summary = "Associate users/modify bill", description = "Modify bill's users/items and user-item association")
     @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = BillSplitResource.class)), description = "Successfully modified bill!")
@@ -114,10 +161,35 @@ public class BillController {
         }
 
         final AssociateBillDTO associateBill = billMapper.toAssociateBillDTO(associateBillResource);
-        final BillSplitDTO billSplit = billFacade.associateAccountsToBill(associateBill);
+        final BillSplitDTO billSplit = billCacheEvictor.evictParticipants(associateBill.getId(), () -> billFacade.associateAccountsToBill(associateBill));
         return billMapper.toResource(billSplit);
     }
 
+    @CachePut(value = CacheNames.BILL, key = "#billId")
+    @PutMapping("bills/{billId}/percentages")
+    @Operation(summary = "Split the balance", description = "Set the percentage of the balance owed by each account of a bill split by balance")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = BillSplitResource.class)), description = "Successfully split the balance!")
+    @ApiResponse(responseCode = "400", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "Error splitting the balance.")
+    @ApiResponse(responseCode = "401", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are unauthorized to access this resource.")
+    @ApiResponse(responseCode = "403", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are forbidden to access this resource.")
+    @ApiResponse(responseCode = "405", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "The bill is not in Open status or is not split by balance.")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasAuthority('RESPONSIBLE_' + #billId)")
+    public BillSplitResource setBalancePercentages(@Parameter(required = true, name = "billId", description = "bill ID")
+                                                   @PathVariable("billId") final Long billId,
+                                                   @RequestBody @Valid final BalanceSplitResource balanceSplitResource,
+                                                   final BindingResult bindingResult,
+                                                   @AuthenticationPrincipal final Principal principal) {
+        if (bindingResult.hasErrors()) {
+            throw new FieldValidationException(bindingResult.getAllErrors());
+        }
+
+        final var balanceSplitDTO = billMapper.toDTO(balanceSplitResource);
+        balanceSplitDTO.setId(billId);
+        final var billSplitDTO = billCacheEvictor.evictParticipants(billId, () -> billFacade.setBalancePercentages(balanceSplitDTO));
+        return billMapper.toResource(billSplitDTO);
+    }
+
     @CachePut(value = CacheNames.BILL, key = "#billId")
     @PostMapping("bills/{billId}/accounts")
     @Operation(summary = "Invite registered users to bill", description = "Sends notification invite to all registered users in given list")
@@ -138,12 +210,31 @@ public class BillController {
             throw new FieldValidationException(bindingResult.getAllErrors());
         }
 
-        final var pendingRegisteredBillSplitDTO = billFacade.inviteRegisteredToBill(billId, inviteRegisteredResource.getAccounts());
+        final var pendingRegisteredBillSplitDTO = billCacheEvictor.evictParticipants(billId,
+                () -> billFacade.inviteRegisteredToBill(billId, inviteRegisteredResource.getAccounts()));
         return billMapper.toResource(pendingRegisteredBillSplitDTO);
     }
 
+    @CachePut(value = CacheNames.BILL, key = "#billId")
+    @PostMapping("bills/{billId}/groups/{groupId}")
+    @Operation(summary = "Invite a group to bill", description = "Sends notification invite to every member of the group not yet part of the bill")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = BillSplitResource.class)), description = "Successfully invited the group to bill!")
+    @ApiResponse(responseCode = "401", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are unauthorized to access this resource.")
+    @ApiResponse(responseCode = "403", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are forbidden to access this resource.")
+    @ApiResponse(responseCode = "404", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "The group does not exist.")
+    @ApiResponse(responseCode = "405", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "The bill is not in Open status.")
+    @ResponseStatus(HttpStatus.OK)
+    @PreAuthorize("hasAuthority('RESPONSIBLE_' + #billId)")
+    public BillSplitResource inviteGroupToBill(@Parameter(required = true, name = "billId", description = "bill ID")
+                                               @PathVariable("billId") final Long billId,
+                                               @Parameter(required = true, name = "groupId", description = "group ID")
+                                               @PathVariable("groupId") final Long groupId,
+                                               @AuthenticationPrincipal final Principal principal) {
+        final var billSplitDTO = billCacheEvictor.evictParticipants(billId, () -> billFacade.inviteGroupToBill(billId, groupId, principal.getName()));
+        return billMapper.toResource(billSplitDTO);
+    }
+
     @CachePut(value = CacheNames.BILL, key = "#startBillResource.id")
-    @CacheEvict(value = CacheNames.PAYMENTS, key = "#principal.name")
     @PostMapping("bills/start")
     @Operation(summary = "Start a bill", description = "Blocks all modifications on started bill")
     @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = BillSplitResource.class)), description = "Successfully started bill!")
@@ -161,12 +252,11 @@ public class BillController {
             throw new FieldValidationException(bindingResult.getAllErrors());
         }
 
-        final var billSplitDTO = billFacade.startBill(startBillResource.getId());
+        final var billSplitDTO = billCacheEvictor.evictParticipants(startBillResource.getId(), () -> billFacade.startBill(startBillResource.getId()));
         return billMapper.toResource(billSplitDTO);
     }
 
     @CachePut(value = CacheNames.BILL, key = "#billId")
-    @CacheEvict(value = CacheNames.PAYMENTS, key = "#principal.name")
     @PutMapping("bills/{billId}")
     @Operation(summary = "Edit bill", description = "Edit an unstarted bill")
     @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = BillSplitResource.class)), description = "Successfully edited bill!")
@@ -189,7 +279,7 @@ public class BillController {
         }
 
         final var editBillDTO = billMapper.toDTO(editBillResource);
-        final var billSplitDTO = billFacade.editBill(billId, principal.getName(), editBillDTO);
+        final var billSplitDTO = billCacheEvictor.evictParticipants(billId, () -> billFacade.editBill(billId, principal.getName(), editBillDTO));
 
         return billMapper.toResource(billSplitDTO);
     }
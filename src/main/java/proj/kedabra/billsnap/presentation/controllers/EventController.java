@@ -0,0 +1,42 @@
+package proj.kedabra.billsnap.presentation.controllers;
+
+import java.security.Principal;
+
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+import proj.kedabra.billsnap.presentation.ApiError;
+import proj.kedabra.billsnap.presentation.events.BillEventStream;
+import proj.kedabra.billsnap.presentation.resources.BillEventResource;
+
+@RestController
+public class EventController {
+
+    private final BillEventStream billEventStream;
+
+    public EventController(final BillEventStream billEventStream) {
+        this.billEventStream = billEventStream;
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream bill events", description = "Stream the invitations and the changes to the bills of the account as Server-Sent Events. " +
+            "The client should fetch the bill of an event again, and all of its bills on a resync event.")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE, schema = @Schema(implementation = BillEventResource.class)), description = "Successfully subscribed to the events.")
+    @ApiResponse(responseCode = "401", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are unauthorized to access this resource.")
+    @ApiResponse(responseCode = "429", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "The account already has as many event streams open as allowed.")
+    public SseEmitter streamEvents(@Parameter(name = "Last-Event-ID", description = "Id of the last event received, to resume from it")
+                                   @RequestHeader(name = "Last-Event-ID", required = false) final String lastEventId,
+                                   @AuthenticationPrincipal final Principal principal) {
+        return billEventStream.subscribe(principal.getName(), lastEventId);
+    }
+}
@@ -12,13 +12,17 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -26,17 +30,24 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
-import proj.kedabra.billsnap.business.dto.BillSplitDTO;
 import proj.kedabra.billsnap.business.dto.GetBillPaginationDTO;
+import proj.kedabra.billsnap.business.dto.ShortBillDTO;
+import proj.kedabra.billsnap.business.dto.ShortBillPageDTO;
 import proj.kedabra.billsnap.business.facade.BillFacade;
 import proj.kedabra.billsnap.business.mapper.BillMapper;
 import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
 import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
 import proj.kedabra.billsnap.presentation.ApiError;
+import proj.kedabra.billsnap.presentation.cache.BillsKeyGenerator;
+import proj.kedabra.billsnap.presentation.exports.BillExportWriter;
+import proj.kedabra.billsnap.presentation.pagination.BillCursorCodec;
+import proj.kedabra.billsnap.presentation.resources.ExportFormatEnum;
 import proj.kedabra.billsnap.presentation.resources.OrderByEnum;
+import proj.kedabra.billsnap.presentation.resources.ShortBillPageResource;
 import proj.kedabra.billsnap.presentation.resources.ShortBillResource;
 import proj.kedabra.billsnap.presentation.resources.SortByEnum;
 import proj.kedabra.billsnap.utils.CacheNames;
+import proj.kedabra.billsnap.utils.annotations.ReadFromPrimary;
 
 @RestController
 @Validated
@@ -46,15 +57,23 @@ public class GetBillController {
 
     private final BillFacade billFacade;
 
-    public GetBillController(final BillMapper billMapper, final BillFacade billFacade) {
+    private final BillCursorCodec billCursorCodec;
+
+    private final BillExportWriter billExportWriter;
+
+    public GetBillController(final BillMapper billMapper, final BillFacade billFacade, final BillCursorCodec billCursorCodec, final BillExportWriter billExportWriter) {
         this.billMapper = billMapper;
         this.billFacade = billFacade;
+        this.billCursorCodec = billCursorCodec;
+        this.billExportWriter = billExportWriter;
     }
 
-    @Cacheable(value = CacheNames.BILLS)
+    @Cacheable(value = CacheNames.BILLS, keyGenerator = BillsKeyGenerator.NAME)
+    @ReadFromPrimary
     @GetMapping("/bills")
     @Operation(summary = "Get all bills", description = "Get all bills associated to an account")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved all bills!")
+    @ApiResponse(responseCode = "304", description = "None of the bills changed since the ETag sent in If-None-Match.")
     @ApiResponse(responseCode = "401", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are unauthorized to access this resource.")
     @ApiResponse(responseCode = "403", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are forbidden to access this resource.")
     @ResponseStatus(HttpStatus.OK)
@@ -87,6 +106,100 @@ public class GetBillController {
             @RequestParam(value = "order_by", defaultValue = "DESC") final OrderByEnum orderBy,
             @AuthenticationPrincipal final Principal principal) {
 
+        final var billPaginationDTO = getBillPaginationDTO(principal, statuses, invitationStatus, startDate, endDate, category);
+        billPaginationDTO.setPageable(PageRequest.of(pageNumber, pageSize, getSort(sortBy, orderBy)));
+
+        final List<ShortBillDTO> billsFromEmail = billFacade.getShortBillsByEmailPageable(billPaginationDTO);
+        return billsFromEmail.stream().map(billMapper::toShortBillResource).collect(Collectors.toList());
+
+    }
+
+    @GetMapping(value = "/bills", params = "pagination=cursor")
+    @Operation(summary = "Get all bills by cursor", description = "Get a page of the bills associated to an account, starting after the cursor of the previous page")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of bills!")
+    @ApiResponse(responseCode = "304", description = "None of the bills changed since the ETag sent in If-None-Match.")
+    @ApiResponse(responseCode = "400", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "The cursor is not valid.")
+    @ApiResponse(responseCode = "401", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are unauthorized to access this resource.")
+    @ApiResponse(responseCode = "403", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are forbidden to access this resource.")
+    @ResponseStatus(HttpStatus.OK)
+    public ShortBillPageResource getAllBillsByCursor(
+            @Parameter(name = "statuses", description = "Bill status")
+            @RequestParam(value = "statuses", defaultValue = "OPEN, IN_PROGRESS, RESOLVED")
+            @NotEmpty(message = "Can not have empty list of statuses") final List<BillStatusEnum> statuses,
+            @Parameter(name = "invitation_status", description = "User's invitation status on the bill")
+            @RequestParam(value = "invitation_status", defaultValue = "ACCEPTED") final InvitationStatusEnum invitationStatus,
+            @Parameter(name = "start", description = "Start date, input value format should be yyyy-MM-dd")
+            @RequestParam(value = "start", defaultValue = "1970-01-01")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate startDate,
+            @Parameter(name = "end", description = "End date, input value format should be yyyy-MM-dd")
+            @RequestParam(value = "end", defaultValue = "9999-12-31")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate endDate,
+            @Parameter(name = "page_size", description = "Number of bills in a single request")
+            @RequestParam(value = "page_size", defaultValue = "100")
+            @Range(min = 1, message = "the number must be positive") final int pageSize,
+            @Parameter(name = "cursor", description = "The next cursor of the previous page. Absent for the first page")
+            @RequestParam(value = "cursor", required = false) final String cursor,
+            @Parameter(name = "category", description = "Category of bills")
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "sort_by", defaultValue = "CREATED, STATUS")
+            @Parameter(name = "sort_by", description = "Sort bills by created, status, category and name")
+            @NotEmpty(message = "Can not have empty list of sort by") final List<SortByEnum> sortBy,
+            @Parameter(name = "order_by", description = "Sort bills by ascending or descending")
+            @RequestParam(value = "order_by", defaultValue = "DESC") final OrderByEnum orderBy,
+            @AuthenticationPrincipal final Principal principal) {
+
+        final var billPaginationDTO = getBillPaginationDTO(principal, statuses, invitationStatus, startDate, endDate, category);
+        billPaginationDTO.setPageable(PageRequest.of(0, pageSize, getSort(sortBy, orderBy)));
+        billPaginationDTO.setCursor(billCursorCodec.decode(cursor));
+
+        final ShortBillPageDTO shortBillPage = billFacade.getShortBillsByEmailAfterCursor(billPaginationDTO);
+        final var shortBillPageResource = new ShortBillPageResource();
+        shortBillPageResource.setBills(shortBillPage.getShortBills().stream().map(billMapper::toShortBillResource).collect(Collectors.toList()));
+        shortBillPageResource.setNextCursor(billCursorCodec.encode(shortBillPage.getNextCursor()));
+        return shortBillPageResource;
+    }
+
+    @GetMapping("/bills/export")
+    @Operation(summary = "Export all bills", description = "Download the split of every bill associated to an account, oldest first, as newline-delimited bill JSON objects or " +
+            "as CSV rows summarizing each bill and the account's share of it. The bills are written as they are read, however many there are.")
+    @ApiResponse(responseCode = "200", description = "Streaming the bills!")
+    @ApiResponse(responseCode = "401", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are unauthorized to access this resource.")
+    @ApiResponse(responseCode = "403", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are forbidden to access this resource.")
+    public ResponseEntity<StreamingResponseBody> exportBills(
+            @Parameter(name = "statuses", description = "Bill status")
+            @RequestParam(value = "statuses", defaultValue = "OPEN, IN_PROGRESS, RESOLVED")
+            @NotEmpty(message = "Can not have empty list of statuses") final List<BillStatusEnum> statuses,
+            @Parameter(name = "invitation_status", description = "User's invitation status on the bill")
+            @RequestParam(value = "invitation_status", defaultValue = "ACCEPTED") final InvitationStatusEnum invitationStatus,
+            @Parameter(name = "start", description = "Start date, input value format should be yyyy-MM-dd")
+            @RequestParam(value = "start", defaultValue = "1970-01-01")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate startDate,
+            @Parameter(name = "end", description = "End date, input value format should be yyyy-MM-dd")
+            @RequestParam(value = "end", defaultValue = "9999-12-31")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                    LocalDate endDate,
+            @Parameter(name = "category", description = "Category of bills")
+            @RequestParam(value = "category", required = false) String category,
+            @Parameter(name = "format", description = "Format of the export")
+            @RequestParam(value = "format", defaultValue = "NDJSON") final ExportFormatEnum format,
+            @AuthenticationPrincipal final Principal principal) {
+
+        final var billPaginationDTO = getBillPaginationDTO(principal, statuses, invitationStatus, startDate, endDate, category);
+        final StreamingResponseBody body = output -> billExportWriter.write(output, format, principal.getName(),
+                writer -> billFacade.exportBillsByEmail(billPaginationDTO, writer));
+
+        final var contentDisposition = ContentDisposition.builder("attachment").filename("bills." + format.name().toLowerCase()).build();
+        return ResponseEntity.ok()
+                .contentType(BillExportWriter.getContentType(format))
+                .header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition.toString())
+                .body(body);
+    }
+
+    private static GetBillPaginationDTO getBillPaginationDTO(final Principal principal, final List<BillStatusEnum> statuses, final InvitationStatusEnum invitationStatus,
+                                                             final LocalDate startDate, final LocalDate endDate, final String category) {
         final var billPaginationDTO = new GetBillPaginationDTO();
         billPaginationDTO.setEmail(principal.getName());
         billPaginationDTO.setStatuses(statuses);
@@ -94,13 +207,11 @@ public class GetBillController {
         billPaginationDTO.setEndDate(endDate);
         billPaginationDTO.setCategory(category);
         billPaginationDTO.setInvitationStatus(invitationStatus);
-        final var sort = Sort.by(Sort.Direction.fromString(orderBy.name()), sortBy.stream().map(Enum::name).map(String::toLowerCase).toArray(String[]::new));
-        final var pageRequest = PageRequest.of(pageNumber, pageSize, sort);
-        billPaginationDTO.setPageable(pageRequest);
-
-        final List<BillSplitDTO> billsFromEmail = billFacade.getAllBillsByEmailPageable(billPaginationDTO);
-        return billsFromEmail.stream().map(bsdto -> billMapper.toShortBillResource(bsdto, principal.getName())).collect(Collectors.toList());
+        return billPaginationDTO;
+    }
 
+    private static Sort getSort(final List<SortByEnum> sortBy, final OrderByEnum orderBy) {
+        return Sort.by(Sort.Direction.fromString(orderBy.name()), sortBy.stream().map(Enum::name).map(String::toLowerCase).toArray(String[]::new));
     }
 
 }
@@ -0,0 +1,133 @@
+package proj.kedabra.billsnap.presentation.controllers;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.validation.Valid;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+
+import proj.kedabra.billsnap.business.exception.FieldValidationException;
+import proj.kedabra.billsnap.business.facade.GroupFacade;
+import proj.kedabra.billsnap.business.mapper.GroupMapper;
+import proj.kedabra.billsnap.presentation.ApiError;
+import proj.kedabra.billsnap.presentation.resources.GroupBalanceResource;
+import proj.kedabra.billsnap.presentation.resources.GroupCreationResource;
+import proj.kedabra.billsnap.presentation.resources.GroupResource;
+
+@RestController
+public class GroupController {
+
+    private final GroupFacade groupFacade;
+
+    private final GroupMapper groupMapper;
+
+    public GroupController(final GroupFacade groupFacade, final GroupMapper groupMapper) {
+        this.groupFacade = groupFacade;
+        this.groupMapper = groupMapper;
+    }
+
+    @PostMapping("/groups")
+    @Operation(summary = "Create a group", description = "Create a group of accounts that can be invited to bills at once. The creator is its admin.")
+    @ApiResponse(responseCode = "201", content = @Content(schema = @Schema(implementation = GroupResource.class)), description = "Successfully created the group!")
+    @ApiResponse(responseCode = "400", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "Cannot create group with wrong inputs.")
+    @ApiResponse(responseCode = "401", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are unauthorized to access this resource.")
+    @ApiResponse(responseCode = "404", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "One or more accounts do not exist.")
+    @ResponseStatus(HttpStatus.CREATED)
+    public GroupResource createGroup(@Parameter(required = true, name = "Group Details", description = "Name and members of the group")
+                                     @RequestBody @Valid final GroupCreationResource groupCreationResource,
+                                     final BindingResult bindingResult,
+                                     @AuthenticationPrincipal final Principal principal) {
+        verifyBindingResult(bindingResult);
+        return groupMapper.toResource(groupFacade.createGroup(principal.getName(), groupMapper.toDTO(groupCreationResource)));
+    }
+
+    @GetMapping("/groups")
+    @Operation(summary = "Get groups", description = "Get the groups of the user")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the groups!")
+    @ApiResponse(responseCode = "401", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are unauthorized to access this resource.")
+    @ResponseStatus(HttpStatus.OK)
+    public List<GroupResource> getGroups(@AuthenticationPrincipal final Principal principal) {
+        return groupFacade.getGroups(principal.getName()).stream().map(groupMapper::toResource).collect(Collectors.toList());
+    }
+
+    @GetMapping("/groups/{groupId}")
+    @Operation(summary = "Get a group", description = "Get a group of the user with its members")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = GroupResource.class)), description = "Successfully retrieved the group!")
+    @ApiResponse(responseCode = "401", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are unauthorized to access this resource.")
+    @ApiResponse(responseCode = "403", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are not a member of the group.")
+    @ApiResponse(responseCode = "404", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "The group does not exist.")
+    @ResponseStatus(HttpStatus.OK)
+    public GroupResource getGroup(@Parameter(required = true, name = "groupId", description = "group ID")
+                                  @PathVariable("groupId") final Long groupId,
+                                  @AuthenticationPrincipal final Principal principal) {
+        return groupMapper.toResource(groupFacade.getGroup(groupId, principal.getName()));
+    }
+
+    @PutMapping("/groups/{groupId}")
+    @Operation(summary = "Edit a group", description = "Rename a group and replace its members. Only its admins can, and they stay admins.")
+    @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = GroupResource.class)), description = "Successfully edited the group!")
+    @ApiResponse(responseCode = "400", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "Cannot edit group with wrong inputs.")
+    @ApiResponse(responseCode = "401", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are unauthorized to access this resource.")
+    @ApiResponse(responseCode = "403", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are not an admin of the group.")
+    @ApiResponse(responseCode = "404", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "The group or one or more accounts do not exist.")
+    @ResponseStatus(HttpStatus.OK)
+    public GroupResource editGroup(@Parameter(required = true, name = "groupId", description = "group ID")
+                                   @PathVariable("groupId") final Long groupId,
+                                   @Parameter(required = true, name = "Group Details", description = "Name and members of the group")
+                                   @RequestBody @Valid final GroupCreationResource groupCreationResource,
+                                   final BindingResult bindingResult,
+                                   @AuthenticationPrincipal final Principal principal) {
+        verifyBindingResult(bindingResult);
+        return groupMapper.toResource(groupFacade.editGroup(groupId, principal.getName(), groupMapper.toDTO(groupCreationResource)));
+    }
+
+    @DeleteMapping("/groups/{groupId}")
+    @Operation(summary = "Delete a group", description = "Delete a group. Its bills are kept.")
+    @ApiResponse(responseCode = "204", description = "Successfully deleted the group!")
+    @ApiResponse(responseCode = "401", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are unauthorized to access this resource.")
+    @ApiResponse(responseCode = "403", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are not an admin of the group.")
+    @ApiResponse(responseCode = "404", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "The group does not exist.")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteGroup(@Parameter(required = true, name = "groupId", description = "group ID")
+                            @PathVariable("groupId") final Long groupId,
+                            @AuthenticationPrincipal final Principal principal) {
+        groupFacade.deleteGroup(groupId, principal.getName());
+    }
+
+    @GetMapping("/groups/{groupId}/balances")
+    @Operation(summary = "Get the balances of a group", description = "Get, per member, the amounts owed and paid on the bills the group was invited to")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the balances!")
+    @ApiResponse(responseCode = "401", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are unauthorized to access this resource.")
+    @ApiResponse(responseCode = "403", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "You are not a member of the group.")
+    @ApiResponse(responseCode = "404", content = @Content(schema = @Schema(implementation = ApiError.class)), description = "The group does not exist.")
+    @ResponseStatus(HttpStatus.OK)
+    public List<GroupBalanceResource> getGroupBalances(@Parameter(required = true, name = "groupId", description = "group ID")
+                                                       @PathVariable("groupId") final Long groupId,
+                                                       @AuthenticationPrincipal final Principal principal) {
+        return groupFacade.getGroupBalances(groupId, principal.getName()).stream().map(groupMapper::toResource).collect(Collectors.toList());
+    }
+
+    private void verifyBindingResult(final BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            throw new FieldValidationException(bindingResult.getAllErrors());
+        }
+    }
+}
@@ -27,6 +27,7 @@ import proj.kedabra.billsnap.business.exception.FieldValidationException;
 import proj.kedabra.billsnap.business.facade.NotificationFacade;
 import proj.kedabra.billsnap.business.mapper.BillMapper;
 import proj.kedabra.billsnap.presentation.ApiError;
+import proj.kedabra.billsnap.presentation.cache.BillCacheEvictor;
 import proj.kedabra.billsnap.presentation.resources.AnswerNotificationResource;
 import proj.kedabra.billsnap.presentation.resources.BillSplitResource;
 import proj.kedabra.billsnap.utils.CacheNames;
@@ -38,13 +39,16 @@ public class NotificationController {
 
     private final BillMapper billMapper;
 
+    private final BillCacheEvictor billCacheEvictor;
+
     @Autowired
-    public NotificationController(final NotificationFacade notificationFacade, final BillMapper billMapper) {
+    public NotificationController(final NotificationFacade notificationFacade, final BillMapper billMapper, final BillCacheEvictor billCacheEvictor) {
         this.notificationFacade = notificationFacade;
         this.billMapper = billMapper;
+        this.billCacheEvictor = billCacheEvictor;
     }
 
-    @CachePut(value = CacheNames.BILLS, key = "#billId")
+    @CachePut(value = CacheNames.BILL, key = "#billId", unless = "#result == null")
     @PostMapping("/invitations/{billId}")
     @Operation(summary = "Answer bill invitation", description = "Answer an invitation to join a bill")
     @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = BillSplitResource.class)), description = "Successfully answered invitation.")
@@ -64,11 +68,13 @@ public class NotificationController {
         verifyBindingResult(bindingResult);
 
         final boolean answer = answerInvitationResource.getAnswer();
-        final var billSplitDTO = notificationFacade.answerInvitation(new AnswerNotificationDTO(billId, answer, principal.getName()));
+        final var billSplitDTO = billCacheEvictor.evictParticipants(billId,
+                () -> notificationFacade.answerInvitation(new AnswerNotificationDTO(billId, answer, principal.getName())));
 
         if (answer) {
             return billMapper.toResource(billSplitDTO);
         } else {
+            billCacheEvictor.evictBill(billId);
             return null;
         }
     }
@@ -22,6 +22,7 @@ import proj.kedabra.billsnap.business.mapper.PaymentMapper;
 import proj.kedabra.billsnap.presentation.ApiError;
 import proj.kedabra.billsnap.presentation.resources.PaymentOwedResource;
 import proj.kedabra.billsnap.utils.CacheNames;
+import proj.kedabra.billsnap.utils.annotations.ReadFromPrimary;
 
 @RestController
 public class PaymentController {
@@ -36,6 +37,7 @@ public class PaymentController {
     }
 
     @Cacheable(value = CacheNames.PAYMENTS, key = "#principal.name")
+    @ReadFromPrimary
     @GetMapping("/payments")
     @Operation(summary = "Get amounts", description = "Get all amounts owed by account")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved all amounts owed!")
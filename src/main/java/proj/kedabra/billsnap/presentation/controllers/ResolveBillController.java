@@ -4,7 +4,7 @@ import java.security.Principal;
 
 import javax.validation.Valid;
 
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -27,6 +27,7 @@ import proj.kedabra.billsnap.business.facade.BillFacade;
 import proj.kedabra.billsnap.business.facade.PaymentFacade;
 import proj.kedabra.billsnap.business.mapper.BillMapper;
 import proj.kedabra.billsnap.presentation.ApiError;
+import proj.kedabra.billsnap.presentation.cache.BillCacheEvictor;
 import proj.kedabra.billsnap.presentation.resources.BillSplitResource;
 import proj.kedabra.billsnap.presentation.resources.PaymentResource;
 import proj.kedabra.billsnap.utils.CacheNames;
@@ -41,13 +42,16 @@ public class ResolveBillController {
 
     private final BillMapper mapper;
 
-    public ResolveBillController(final PaymentFacade paymentFacade, final BillFacade billFacade, final BillMapper mapper) {
+    private final BillCacheEvictor billCacheEvictor;
+
+    public ResolveBillController(final PaymentFacade paymentFacade, final BillFacade billFacade, final BillMapper mapper, final BillCacheEvictor billCacheEvictor) {
         this.paymentFacade = paymentFacade;
         this.billFacade = billFacade;
         this.mapper = mapper;
+        this.billCacheEvictor = billCacheEvictor;
     }
 
-    @CacheEvict(value = CacheNames.PAYMENTS, key = "#principal.name")
+    @CachePut(value = CacheNames.BILL, key = "#payment.id")
     @PostMapping
     @Operation(summary = "Add a bill", description = "Pay a personal bill.")
     @ApiResponse(responseCode = "200", content = @Content(schema = @Schema(implementation = BillSplitResource.class)), description = "You've successfully paid a bill!")
@@ -70,6 +74,7 @@ public class ResolveBillController {
         paymentInformationDTO.setEmail(email);
 
         paymentFacade.payBill(paymentInformationDTO);
+        billCacheEvictor.evictParticipants(payment.getId());
 
         return mapper.toResource(billFacade.getDetailedBill(payment.getId()));
     }
@@ -0,0 +1,408 @@
+package proj.kedabra.billsnap.presentation.events;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import proj.kedabra.billsnap.business.event.BillEvent;
+import proj.kedabra.billsnap.business.exception.TooManyConnectionsException;
+import proj.kedabra.billsnap.config.EventStreamProperties;
+import proj.kedabra.billsnap.presentation.resources.BillEventResource;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
+
+/**
+ * Pushes bill events to the accounts they concern over Server-Sent Events, once the change behind them commits.
+ * <p>
+ * Every event gets an id, increasing for the lifetime of the instance, and the latest ones are kept in a ring buffer
+ * so that a client reconnecting with the id of the last event it saw is sent what it missed. When that id is no longer
+ * in the buffer, or was issued by another instance, a {@value #RESYNC} event tells the client to fetch its bills again.
+ * <p>
+ * Each connection has its own bounded queue drained by the delivery threads, so a slow client never holds up the
+ * transaction publishing the event. A client whose queue fills up is disconnected and catches up from the buffer.
+ * <p>
+ * Writes to a client block until it reads them. A write taking longer than {@code events.write-timeout} drops its
+ * connection and another delivery thread is started in place of the one stuck in it, until the write returns, so
+ * stalled clients do not hold up the others. No more than {@code events.max-delivery-threads} threads are started, and
+ * an account may only have {@code events.max-connections-per-account} connections, so that clients cannot make the
+ * instance start threads without bound. Heartbeats and that watchdog run on their own scheduler.
+ */
+@Component
+public class BillEventStream {
+
+    static final String RESYNC = "resync";
+
+    private static final String HEARTBEAT = "heartbeat";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BillEventStream.class);
+
+    private final EventStreamProperties properties;
+
+    private final ThreadPoolExecutor executor;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Map<String, Set<Connection>> connections = new ConcurrentHashMap<>();
+
+    //guarded by itself, as are firstId and nextId
+    private final BufferedEvent[] buffer;
+
+    //ids start from the clock so that those issued before a restart are older than any issued after it
+    private final long firstId = Instant.now().toEpochMilli() * 1000;
+
+    private long nextId = firstId;
+
+    @Autowired
+    public BillEventStream(final EventStreamProperties properties) {
+        this(properties, newDeliveryExecutor(properties.getDeliveryThreads()),
+                Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("bill-events-scheduler-")));
+    }
+
+    BillEventStream(final EventStreamProperties properties, final ThreadPoolExecutor executor, final ScheduledExecutorService scheduler) {
+        this.properties = properties;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.buffer = new BufferedEvent[properties.getReplaySize()];
+
+        final long heartbeat = properties.getHeartbeat().toMillis();
+        scheduler.scheduleWithFixedDelay(this::sendHeartbeats, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+        final long stallCheck = Math.max(1, properties.getWriteTimeout().toMillis() / 2);
+        scheduler.scheduleWithFixedDelay(this::dropStalledConnections, stallCheck, stallCheck, TimeUnit.MILLISECONDS);
+    }
+
+    static ThreadPoolExecutor newDeliveryExecutor(final int threads) {
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), daemonThreadFactory("bill-events-"));
+    }
+
+    public SseEmitter subscribe(final String email, @Nullable final String lastEventId) {
+        final var emitter = new SseEmitter(properties.getTimeout().toMillis());
+        register(email, emitter, lastEventId);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBillEvent(final BillEvent event) {
+        final var resource = new BillEventResource();
+        resource.setType(event.getType());
+        resource.setBillId(event.getBill().getId());
+        resource.setBillName(event.getBill().getName());
+        publish(event.getEmails(), resource);
+    }
+
+    /**
+     * @throws TooManyConnectionsException when the account already has {@code events.max-connections-per-account}
+     *                                     connections open
+     */
+    void register(final String email, final SseEmitter emitter, @Nullable final String lastEventId) {
+        final var connection = new Connection(email, emitter);
+        emitter.onCompletion(connection::close);
+        emitter.onTimeout(connection::close);
+        emitter.onError(error -> connection.close());
+
+        //no event may be published between the replay and the registration, or it would be missed
+        synchronized (buffer) {
+            //added within compute, so that a concurrent close cannot drop the set between its lookup and the add
+            connections.compute(email, (key, accountConnections) -> {
+                final int maxConnections = properties.getMaxConnectionsPerAccount();
+                if (accountConnections != null && accountConnections.size() >= maxConnections) {
+                    throw new TooManyConnectionsException(ErrorMessageEnum.TOO_MANY_EVENT_CONNECTIONS.getMessage(String.valueOf(maxConnections)));
+                }
+                final Set<Connection> updatedConnections = accountConnections == null ? ConcurrentHashMap.newKeySet() : accountConnections;
+                updatedConnections.add(connection);
+                return updatedConnections;
+            });
+            if (lastEventId != null) {
+                replay(connection, lastEventId);
+            }
+        }
+    }
+
+    void publish(final Collection<String> emails, final BillEventResource resource) {
+        synchronized (buffer) {
+            final long id = nextId++;
+            buffer[(int) (id % buffer.length)] = new BufferedEvent(id, Set.copyOf(emails), resource);
+            emails.forEach(email -> connections.getOrDefault(email, Set.of()).forEach(connection -> connection.offer(toSseEvent(id, resource))));
+        }
+    }
+
+    void sendHeartbeats() {
+        connections.values().forEach(accountConnections -> accountConnections.forEach(connection -> connection.offer(SseEmitter.event().comment(HEARTBEAT))));
+    }
+
+    /**
+     * Drops the connections with a write running for longer than {@code events.write-timeout}, and starts a delivery
+     * thread in place of each thread stuck in such a write, as long as {@code events.max-delivery-threads} allows.
+     */
+    void dropStalledConnections() {
+        final long startedBefore = System.nanoTime() - properties.getWriteTimeout().toNanos();
+        connections.values().forEach(accountConnections -> accountConnections.forEach(connection -> {
+            if (connection.stallIfWritingSince(startedBefore)) {
+                LOGGER.debug("Dropping a client of {} that did not take an event within {}", connection.email, properties.getWriteTimeout());
+            }
+        }));
+    }
+
+    int getConnectionCount(final String email) {
+        return connections.getOrDefault(email, Set.of()).size();
+    }
+
+    int getDeliveryThreads() {
+        return executor.getCorePoolSize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+        connections.values().forEach(accountConnections -> accountConnections.forEach(Connection::complete));
+    }
+
+    private void replay(final Connection connection, final String lastEventId) {
+        final long oldestId = Math.max(firstId, nextId - buffer.length);
+        final long lastId = parseId(lastEventId);
+        if (lastId < oldestId - 1 || lastId >= nextId) {
+            connection.offer(SseEmitter.event().id(String.valueOf(nextId - 1)).name(RESYNC).data(RESYNC));
+            return;
+        }
+
+        for (long id = lastId + 1; id < nextId; id++) {
+            final BufferedEvent event = buffer[(int) (id % buffer.length)];
+            if (event != null && event.id == id && event.emails.contains(connection.email)) {
+                connection.offer(toSseEvent(id, event.resource));
+            }
+        }
+    }
+
+    private static long parseId(final String lastEventId) {
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSseEvent(final long id, final BillEventResource resource) {
+        return SseEmitter.event()
+                .id(String.valueOf(id))
+                .name(resource.getType().name().toLowerCase().replace('_', '-'))
+                .data(resource, MediaType.APPLICATION_JSON);
+    }
+
+    /**
+     * @return whether a thread was added, which is then given back with {@link #shrinkExecutor()}
+     */
+    private boolean growExecutor() {
+        synchronized (executor) {
+            final int threads = executor.getCorePoolSize() + 1;
+            if (threads > properties.getMaxDeliveryThreads()) {
+                LOGGER.warn("Already {} delivery threads, the thread of a stalled client is not replaced", properties.getMaxDeliveryThreads());
+                return false;
+            }
+            //the core size may never exceed the maximum size
+            executor.setMaximumPoolSize(threads);
+            executor.setCorePoolSize(threads);
+            return true;
+        }
+    }
+
+    private void shrinkExecutor() {
+        synchronized (executor) {
+            final int threads = executor.getCorePoolSize() - 1;
+            executor.setCorePoolSize(threads);
+            executor.setMaximumPoolSize(threads);
+        }
+    }
+
+    private static CustomizableThreadFactory daemonThreadFactory(final String threadNamePrefix) {
+        final var threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    private static final class BufferedEvent {
+
+        private final long id;
+
+        private final Set<String> emails;
+
+        private final BillEventResource resource;
+
+        private BufferedEvent(final long id, final Set<String> emails, final BillEventResource resource) {
+            this.id = id;
+            this.emails = emails;
+            this.resource = resource;
+        }
+    }
+
+    private final class Connection {
+
+        private final String email;
+
+        private final SseEmitter emitter;
+
+        //guarded by this, as are the flags below
+        private final Queue<SseEmitter.SseEventBuilder> pending = new ArrayDeque<>();
+
+        private boolean draining;
+
+        private boolean closed;
+
+        //set when the connection is closed while draining, the emitter is then completed by the draining thread
+        private boolean completeOnDrain;
+
+        private boolean writing;
+
+        private long writingSince;
+
+        private boolean stalled;
+
+        //set when another delivery thread was started in place of the one stuck in the write
+        private boolean replaced;
+
+        private Connection(final String email, final SseEmitter emitter) {
+            this.email = email;
+            this.emitter = emitter;
+        }
+
+        private void offer(final SseEmitter.SseEventBuilder event) {
+            final boolean disconnect;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                disconnect = pending.size() >= properties.getConnectionQueueSize();
+                if (disconnect) {
+                    LOGGER.debug("Disconnecting a client of {} that is {} events behind", email, pending.size());
+                    closed = true;
+                    pending.clear();
+                    //completing the emitter waits for a write in progress, so it is left to the draining thread
+                    if (draining) {
+                        completeOnDrain = true;
+                    } else {
+                        executor.execute(emitter::complete);
+                    }
+                } else {
+                    pending.add(event);
+                    if (draining) {
+                        return;
+                    }
+                    draining = true;
+                }
+            }
+            if (disconnect) {
+                close();
+            } else {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                final SseEmitter.SseEventBuilder event;
+                final boolean complete;
+                synchronized (this) {
+                    event = closed ? null : pending.poll();
+                    complete = completeOnDrain;
+                    if (event == null) {
+                        draining = false;
+                    } else {
+                        writing = true;
+                        writingSince = System.nanoTime();
+                    }
+                }
+                if (event == null) {
+                    if (complete) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+
+                boolean sent = true;
+                try {
+                    emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    //the container completes the emitter of a connection that failed
+                    LOGGER.debug("Could not send an event to a client of {}: {}", email, e.getMessage());
+                    sent = false;
+                    close();
+                }
+
+                final boolean wasStalled;
+                final boolean wasReplaced;
+                synchronized (this) {
+                    writing = false;
+                    wasStalled = stalled;
+                    wasReplaced = replaced;
+                    if (wasStalled) {
+                        draining = false;
+                    }
+                }
+                if (wasStalled) {
+                    if (wasReplaced) {
+                        //this thread was replaced while stuck in the write, give it back
+                        shrinkExecutor();
+                    }
+                    if (sent) {
+                        emitter.complete();
+                    }
+                    return;
+                }
+            }
+        }
+
+        /**
+         * The thread stuck in the write is replaced within the same lock as the draining thread checks whether it
+         * was, so that it gives back exactly the threads started in its place.
+         *
+         * @return whether the connection was dropped, its write having started before the given {@link System#nanoTime()}
+         */
+        private boolean stallIfWritingSince(final long startedBefore) {
+            synchronized (this) {
+                if (!writing || stalled || writingSince - startedBefore > 0) {
+                    return false;
+                }
+                stalled = true;
+                replaced = growExecutor();
+            }
+            close();
+            return true;
+        }
+
+        private void complete() {
+            close();
+            emitter.complete();
+        }
+
+        private void close() {
+            synchronized (this) {
+                closed = true;
+                pending.clear();
+            }
+            connections.computeIfPresent(email, (key, accountConnections) -> {
+                accountConnections.remove(this);
+                return accountConnections.isEmpty() ? null : accountConnections;
+            });
+        }
+    }
+}
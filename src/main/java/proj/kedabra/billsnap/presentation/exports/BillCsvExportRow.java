@@ -0,0 +1,55 @@
+package proj.kedabra.billsnap.presentation.exports;
+
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Data;
+
+import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.PaymentStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
+
+/**
+ * The split summary of one bill of a CSV export, seen by the account exporting it: the totals of the bill, then the
+ * share of the account.
+ */
+@Data
+@JsonPropertyOrder({"id", "name", "status", "category", "company", "created", "responsible", "splitBy", "balance", "totalTip",
+        "invitationStatus", "paidStatus", "subTotal", "taxes", "tip", "amountPaid", "amountRemaining"})
+public class BillCsvExportRow {
+
+    private Long id;
+
+    private String name;
+
+    private BillStatusEnum status;
+
+    private String category;
+
+    private String company;
+
+    private String created;
+
+    private String responsible;
+
+    private SplitByEnum splitBy;
+
+    private BigDecimal balance;
+
+    private BigDecimal totalTip;
+
+    private InvitationStatusEnum invitationStatus;
+
+    private PaymentStatusEnum paidStatus;
+
+    private BigDecimal subTotal;
+
+    private BigDecimal taxes;
+
+    private BigDecimal tip;
+
+    private BigDecimal amountPaid;
+
+    private BigDecimal amountRemaining;
+}
@@ -0,0 +1,107 @@
+package proj.kedabra.billsnap.presentation.exports;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.format.DateTimeFormatter;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import proj.kedabra.billsnap.business.dto.AccountDTO;
+import proj.kedabra.billsnap.business.dto.BillSplitDTO;
+import proj.kedabra.billsnap.business.mapper.BillMapper;
+import proj.kedabra.billsnap.presentation.imports.BillImportReader;
+import proj.kedabra.billsnap.presentation.resources.BillSplitResource;
+import proj.kedabra.billsnap.presentation.resources.ExportFormatEnum;
+
+/**
+ * Writes the bills of an export to the response one at a time, as they are handed over. The rows are
+ * {@link BillSplitResource} JSON objects separated by newlines, or {@link BillCsvExportRow} CSV records under a header.
+ */
+@Component
+public class BillExportWriter {
+
+    private final ObjectWriter ndjsonWriter;
+
+    private final ObjectWriter csvWriter;
+
+    private final BillMapper billMapper;
+
+    public BillExportWriter(final ObjectMapper objectMapper, final BillMapper billMapper) {
+        //the servlet response buffers the rows, so they are not flushed one by one
+        this.ndjsonWriter = objectMapper.writerFor(BillSplitResource.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        final var csvMapper = new CsvMapper();
+        this.csvWriter = csvMapper.writerFor(BillCsvExportRow.class)
+                .with(csvMapper.schemaFor(BillCsvExportRow.class).withHeader())
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.billMapper = billMapper;
+    }
+
+    public static MediaType getContentType(final ExportFormatEnum format) {
+        return MediaType.parseMediaType(format == ExportFormatEnum.CSV ? BillImportReader.CSV_VALUE : BillImportReader.NDJSON_VALUE);
+    }
+
+    /**
+     * Runs the export, writing each bill it produces before the next one is read.
+     *
+     * @param output the body of the response
+     * @param format the format of the rows
+     * @param email  the account exporting its bills, whose share of each bill is written to the CSV rows
+     * @param export the export, handing every bill over to the consumer it is given
+     */
+    public void write(final OutputStream output, final ExportFormatEnum format, final String email, final Consumer<Consumer<BillSplitDTO>> export) throws IOException {
+        try (SequenceWriter writer = (format == ExportFormatEnum.CSV ? csvWriter : ndjsonWriter).writeValues(output)) {
+            export.accept(bill -> {
+                try {
+                    writer.write(format == ExportFormatEnum.CSV ? toCsvRow(bill, email) : billMapper.toResource(bill));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static BillCsvExportRow toCsvRow(final BillSplitDTO bill, final String email) {
+        final var row = new BillCsvExportRow();
+        row.setId(bill.getId());
+        row.setName(bill.getName());
+        row.setStatus(bill.getStatus());
+        row.setCategory(bill.getCategory());
+        row.setCompany(bill.getCompany());
+        row.setCreated(Optional.ofNullable(bill.getCreated()).map(DateTimeFormatter.ISO_OFFSET_DATE_TIME::format).orElse(null));
+        row.setResponsible(Optional.ofNullable(bill.getResponsible()).map(AccountDTO::getEmail).orElse(null));
+        row.setSplitBy(bill.getSplitBy());
+        row.setBalance(bill.getBalance());
+        row.setTotalTip(bill.getTotalTip());
+
+        bill.getInformationPerAccount().stream()
+                .filter(information -> email.equals(information.getAccount().getEmail()))
+                .findFirst()
+                .ifPresent(information -> {
+                    row.setInvitationStatus(information.getInvitationStatus());
+                    row.setPaidStatus(information.getPaidStatus());
+                    row.setSubTotal(information.getSubTotal());
+                    row.setTaxes(information.getTaxes());
+                    row.setTip(information.getTip());
+                    row.setAmountPaid(information.getAmountPaid());
+                    row.setAmountRemaining(information.getAmountRemaining());
+                });
+
+        return row;
+    }
+}
@@ -0,0 +1,31 @@
+package proj.kedabra.billsnap.presentation.imports;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+
+/**
+ * One bill of a CSV import. The invitees, items and taxes of the bill are each packed in a single column, their
+ * entries separated by {@code ;}, and an item or tax is written {@code name=amount}.
+ */
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class BillCsvRow {
+
+    private String name;
+
+    private String category;
+
+    private String company;
+
+    private String tipAmount;
+
+    private String tipPercent;
+
+    private String splitBy;
+
+    private String accounts;
+
+    private String items;
+
+    private String taxes;
+}
@@ -0,0 +1,208 @@
+package proj.kedabra.billsnap.presentation.imports;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.stream.Collectors;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import proj.kedabra.billsnap.business.dto.BillImportDTO;
+import proj.kedabra.billsnap.business.dto.BillImportErrorDTO;
+import proj.kedabra.billsnap.business.mapper.BillMapper;
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
+import proj.kedabra.billsnap.presentation.resources.BillCreationResource;
+import proj.kedabra.billsnap.presentation.resources.ItemCreationResource;
+import proj.kedabra.billsnap.presentation.resources.NewTaxResource;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
+
+/**
+ * Reads the bills of an import one at a time off the request body, so that the upload is never held in memory as a
+ * whole. The rows are newline-delimited {@link BillCreationResource} JSON objects, or {@link BillCsvRow} CSV records
+ * under a header.
+ */
+@Component
+public class BillImportReader {
+
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+
+    public static final String CSV_VALUE = "text/csv";
+
+    private static final String ENTRY_SEPARATOR = ";";
+
+    private static final String AMOUNT_SEPARATOR = "=";
+
+    private final ObjectMapper objectMapper;
+
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    private final Validator validator;
+
+    private final BillMapper billMapper;
+
+    public BillImportReader(final ObjectMapper objectMapper, @Qualifier("getValidator") final Validator validator, final BillMapper billMapper) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.billMapper = billMapper;
+    }
+
+    /**
+     * Returns the valid bills of the upload as they are read. A row that cannot be mapped or validated is added to the
+     * errors and skipped; a row that cannot be parsed ends the import, since the rows after it cannot be told apart.
+     */
+    public Iterator<BillImportDTO> read(final InputStream input, final MediaType contentType, final List<BillImportErrorDTO> errors) throws IOException {
+        if (contentType.isCompatibleWith(MediaType.parseMediaType(CSV_VALUE))) {
+            final MappingIterator<BillCsvRow> rows = csvMapper.readerFor(BillCsvRow.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(input);
+            return new ImportIterator<>(rows, BillImportReader::toResource, errors);
+        }
+
+        final MappingIterator<BillCreationResource> rows = objectMapper.readerFor(BillCreationResource.class).readValues(input);
+        return new ImportIterator<>(rows, Function.identity(), errors);
+    }
+
+    private static BillCreationResource toResource(final BillCsvRow row) {
+        final var resource = new BillCreationResource();
+        resource.setName(row.getName());
+        resource.setCategory(StringUtils.hasText(row.getCategory()) ? row.getCategory() : null);
+        resource.setCompany(StringUtils.hasText(row.getCompany()) ? row.getCompany() : null);
+        resource.setTipAmount(toAmount(row.getTipAmount()));
+        resource.setTipPercent(toAmount(row.getTipPercent()));
+        resource.setSplitBy(StringUtils.hasText(row.getSplitBy()) ? SplitByEnum.valueOf(row.getSplitBy().trim().toUpperCase(Locale.ROOT)) : null);
+        resource.setAccountsList(entries(row.getAccounts()));
+        resource.setItems(namedAmounts("items", row.getItems(), (name, cost) -> {
+            final var item = new ItemCreationResource();
+            item.setName(name);
+            item.setCost(cost);
+            return item;
+        }));
+        resource.setTaxes(namedAmounts("taxes", row.getTaxes(), (name, percentage) -> {
+            final var tax = new NewTaxResource();
+            tax.setName(name);
+            tax.setPercentage(percentage);
+            return tax;
+        }));
+        return resource;
+    }
+
+    private static BigDecimal toAmount(final String value) {
+        return StringUtils.hasText(value) ? new BigDecimal(value.trim()) : null;
+    }
+
+    private static List<String> entries(final String column) {
+        if (!StringUtils.hasText(column)) {
+            return List.of();
+        }
+        return Arrays.stream(column.split(ENTRY_SEPARATOR)).map(String::trim).filter(StringUtils::hasText).collect(Collectors.toList());
+    }
+
+    private static <T> List<T> namedAmounts(final String columnName, final String column, final BiFunction<String, BigDecimal, T> toEntry) {
+        return entries(column).stream().map(entry -> {
+            final int separator = entry.lastIndexOf(AMOUNT_SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException(ErrorMessageEnum.INVALID_IMPORT_COLUMN.getMessage(columnName, Matcher.quoteReplacement(entry)));
+            }
+            return toEntry.apply(entry.substring(0, separator).trim(), new BigDecimal(entry.substring(separator + 1).trim()));
+        }).collect(Collectors.toList());
+    }
+
+    private static String describe(final Set<ConstraintViolation<BillCreationResource>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String unreadable(final ErrorMessageEnum error, final Exception e) {
+        final String cause = e instanceof JsonProcessingException ? ((JsonProcessingException) e).getOriginalMessage() : e.getMessage();
+        return error.getMessage(Matcher.quoteReplacement(String.valueOf(cause)));
+    }
+
+    /**
+     * Looks one valid row ahead of the caller, reporting the rows skipped on the way.
+     */
+    private final class ImportIterator<T> implements Iterator<BillImportDTO> {
+
+        private final MappingIterator<T> rows;
+
+        private final Function<T, BillCreationResource> toResource;
+
+        private final List<BillImportErrorDTO> errors;
+
+        private long row;
+
+        private BillImportDTO next;
+
+        private boolean done;
+
+        private ImportIterator(final MappingIterator<T> rows, final Function<T, BillCreationResource> toResource, final List<BillImportErrorDTO> errors) {
+            this.rows = rows;
+            this.toResource = toResource;
+            this.errors = errors;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && !done) {
+                next = readNext();
+            }
+            return next != null;
+        }
+
+        @Override
+        public BillImportDTO next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final BillImportDTO bill = next;
+            next = null;
+            return bill;
+        }
+
+        private BillImportDTO readNext() {
+            row++;
+            try {
+                if (!rows.hasNextValue()) {
+                    done = true;
+                    return null;
+                }
+                final BillCreationResource resource = toResource.apply(rows.nextValue());
+                final Set<ConstraintViolation<BillCreationResource>> violations = validator.validate(resource);
+                if (!violations.isEmpty()) {
+                    errors.add(new BillImportErrorDTO(row, describe(violations)));
+                    return null;
+                }
+                return new BillImportDTO(row, billMapper.toBillDTO(resource));
+            } catch (JsonMappingException | IllegalArgumentException e) {
+                //the rest of the row is skipped on the next read
+                errors.add(new BillImportErrorDTO(row, unreadable(ErrorMessageEnum.UNREADABLE_IMPORT_ROW, e)));
+            } catch (IOException e) {
+                done = true;
+                errors.add(new BillImportErrorDTO(row, unreadable(ErrorMessageEnum.UNREADABLE_IMPORT, e)));
+            }
+            return null;
+        }
+    }
+}
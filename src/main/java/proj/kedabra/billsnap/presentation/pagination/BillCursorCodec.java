@@ -0,0 +1,51 @@
+package proj.kedabra.billsnap.presentation.pagination;
+
+import java.io.IOException;
+import java.util.Base64;
+
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import proj.kedabra.billsnap.business.dto.BillCursorDTO;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
+
+/**
+ * Turns the sort keys of the last bill of a page into the opaque cursor handed to clients, and back. Clients must not
+ * build cursors themselves, so the encoding can change as long as old cursors fail cleanly.
+ */
+@Component
+public class BillCursorCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public BillCursorCodec(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Nullable
+    public String encode(@Nullable final BillCursorDTO cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(objectMapper.writeValueAsBytes(cursor));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Nullable
+    public BillCursorDTO decode(@Nullable final String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(Base64.getUrlDecoder().decode(cursor), BillCursorDTO.class);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalArgumentException(ErrorMessageEnum.INVALID_CURSOR.getMessage(), e);
+        }
+    }
+}
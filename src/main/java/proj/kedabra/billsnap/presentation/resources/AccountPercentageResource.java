@@ -0,0 +1,31 @@
+package proj.kedabra.billsnap.presentation.resources;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import javax.validation.constraints.Digits;
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import org.hibernate.validator.constraints.Range;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+public class AccountPercentageResource implements Serializable {
+
+    @NotBlank
+    @Email(message = "{email.emailFormat}")
+    @Size(max = 50)
+    @Schema(description = "Account owing a part of the balance")
+    private String email;
+
+    @NotNull
+    @Digits(integer = 3, fraction = 4)
+    @Range(max = 100, message = "the number must be between 0 and 100")
+    @Schema(description = "Percentage of the balance owed by the account")
+    private BigDecimal percentage;
+}
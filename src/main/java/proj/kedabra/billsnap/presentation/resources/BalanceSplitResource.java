@@ -0,0 +1,18 @@
+package proj.kedabra.billsnap.presentation.resources;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+public class BalanceSplitResource implements Serializable {
+
+    @NotEmpty
+    @Schema(description = "Percentage of the balance owed by each account. Accounts left out owe nothing, and the percentages must add up to 100")
+    private List<@Valid AccountPercentageResource> accounts;
+}
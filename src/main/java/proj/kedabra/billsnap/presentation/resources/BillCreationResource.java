@@ -16,6 +16,8 @@ import org.hibernate.validator.constraints.Range;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.Data;
 
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
+
 @Data
 public class BillCreationResource implements Serializable {
 
@@ -56,4 +58,11 @@ public class BillCreationResource implements Serializable {
     @NotNull
     @Schema(description = "The taxes for the specific bill")
     private List<@Valid NewTaxResource> taxes;
+
+    @Schema(description = "How the bill is split: by item (default), or by percentage of the balance")
+    private SplitByEnum splitBy;
+
+    @Schema(description = "Copy the bill every x days where x = occurrence. Absent if the bill does not recur")
+    @Range(min = 1, max = 3650, message = "the number must be between 1 and 3650")
+    private Integer occurrence;
 }
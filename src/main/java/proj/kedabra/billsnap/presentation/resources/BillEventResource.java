@@ -0,0 +1,21 @@
+package proj.kedabra.billsnap.presentation.resources;
+
+import java.io.Serializable;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import proj.kedabra.billsnap.business.utils.enums.BillEventTypeEnum;
+
+@Data
+public class BillEventResource implements Serializable {
+
+    @Schema(description = "What happened to the bill")
+    private BillEventTypeEnum type;
+
+    @Schema(description = "Id of the bill to fetch again")
+    private Long billId;
+
+    @Schema(description = "Name of the bill")
+    private String billName;
+}
@@ -0,0 +1,16 @@
+package proj.kedabra.billsnap.presentation.resources;
+
+import java.io.Serializable;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+public class BillImportErrorResource implements Serializable {
+
+    @Schema(description = "Position of the bill in the upload, starting from 1 after the CSV header")
+    private long row;
+
+    @Schema(description = "Why the bill was not imported")
+    private String message;
+}
@@ -0,0 +1,17 @@
+package proj.kedabra.billsnap.presentation.resources;
+
+import java.io.Serializable;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+public class BillImportReportResource implements Serializable {
+
+    @Schema(description = "Number of bills created")
+    private int imported;
+
+    @Schema(description = "Bills that were not imported, by row")
+    private List<BillImportErrorResource> errors;
+}
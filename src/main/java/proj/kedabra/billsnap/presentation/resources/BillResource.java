@@ -56,4 +56,11 @@ public class BillResource implements Serializable {
     @JsonSerialize(using = MoneySerializer.class)
     private BigDecimal balance;
 
+    @Schema(description = "The bill is copied every x days where x = occurrence. Absent if the bill does not recur")
+    private Integer occurrence;
+
+    @Schema(description = "Time that the next copy of the bill is due")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss z")
+    private ZonedDateTime nextOccurrence;
+
 }
@@ -0,0 +1,6 @@
+package proj.kedabra.billsnap.presentation.resources;
+
+public enum ExportFormatEnum {
+    NDJSON,
+    CSV
+}
@@ -0,0 +1,33 @@
+package proj.kedabra.billsnap.presentation.resources;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import proj.kedabra.billsnap.presentation.deserializers.MoneySerializer;
+
+@Data
+public class GroupBalanceResource implements Serializable {
+
+    @Schema(description = "account email")
+    private String email;
+
+    @Schema(description = "number of bills of the group the account takes part in")
+    private Long bills;
+
+    @Schema(description = "amount owed on the bills of the group")
+    @JsonSerialize(using = MoneySerializer.class)
+    private BigDecimal totalOwed;
+
+    @Schema(description = "amount paid on the bills of the group")
+    @JsonSerialize(using = MoneySerializer.class)
+    private BigDecimal amountPaid;
+
+    @Schema(description = "amount left to pay on the bills of the group")
+    @JsonSerialize(using = MoneySerializer.class)
+    private BigDecimal amountRemaining;
+}
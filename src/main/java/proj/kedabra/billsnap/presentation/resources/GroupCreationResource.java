@@ -0,0 +1,32 @@
+package proj.kedabra.billsnap.presentation.resources;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+public class GroupCreationResource implements Serializable {
+
+    @NotBlank
+    @Schema(description = "Name of the group")
+    @Size(max = 30)
+    private String name;
+
+    @Schema(description = "Whether new members must be approved by an admin")
+    private boolean approvalOption;
+
+    @NotNull
+    @Schema(description = "Emails of the members of the group, besides its admins")
+    @Size(max = 500)
+    private List<
+            @NotBlank
+            @Email(message = "{email.emailFormat}")
+            @Size(max = 50) String> accounts;
+}
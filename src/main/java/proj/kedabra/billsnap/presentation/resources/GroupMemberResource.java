@@ -0,0 +1,24 @@
+package proj.kedabra.billsnap.presentation.resources;
+
+import java.io.Serializable;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import proj.kedabra.billsnap.business.utils.enums.GroupRoleEnum;
+
+@Data
+public class GroupMemberResource implements Serializable {
+
+    @Schema(description = "account email")
+    private String email;
+
+    @Schema(description = "account first name")
+    private String firstName;
+
+    @Schema(description = "account last name")
+    private String lastName;
+
+    @Schema(description = "role of the account in the group")
+    private GroupRoleEnum role;
+}
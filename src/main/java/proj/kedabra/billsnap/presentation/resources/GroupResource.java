@@ -0,0 +1,34 @@
+package proj.kedabra.billsnap.presentation.resources;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+public class GroupResource implements Serializable {
+
+    @Schema(description = "Id of the group")
+    private Long id;
+
+    @Schema(description = "Name of the group")
+    private String name;
+
+    @Schema(description = "Whether new members must be approved by an admin")
+    private Boolean approvalOption;
+
+    @Schema(description = "Time that the group is created")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss z")
+    private ZonedDateTime created;
+
+    @Schema(description = "Time that the group is updated")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "dd-MM-yyyy HH:mm:ss z")
+    private ZonedDateTime updated;
+
+    @Schema(description = "Members of the group, admins included")
+    private List<GroupMemberResource> members;
+}
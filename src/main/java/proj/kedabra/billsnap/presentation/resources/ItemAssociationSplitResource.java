@@ -22,6 +22,8 @@ public class ItemAssociationSplitResource implements Serializable {
 
     private List<ItemPercentageSplitResource> items;
 
+    private BigDecimal percentage;
+
     @JsonSerialize(using = MoneySerializer.class)
     private BigDecimal subTotal = BigDecimal.ZERO;
 
@@ -0,0 +1,17 @@
+package proj.kedabra.billsnap.presentation.resources;
+
+import java.io.Serializable;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+@Data
+public class ShortBillPageResource implements Serializable {
+
+    @Schema(description = "The bills of the page")
+    private List<ShortBillResource> bills;
+
+    @Schema(description = "Opaque cursor to pass back to get the next page. Absent on the last page.")
+    private String nextCursor;
+}
@@ -13,7 +13,7 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 import io.jsonwebtoken.ExpiredJwtException;
@@ -23,10 +23,12 @@ import io.jsonwebtoken.security.SignatureException;
 import io.micrometer.core.instrument.util.StringUtils;
 import lombok.extern.slf4j.Slf4j;
 
+import proj.kedabra.billsnap.business.service.BillAuthorityService;
+
 @Slf4j
 public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
 
-    private final UserDetailsService userDetailsService;
+    private final BillAuthorityService billAuthorityService;
 
     private JwtService jwtService;
 
@@ -44,12 +46,14 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
 
     private static final String INVALID_SIGNATURE_TOKEN_LOG = "Request to parse JWT with invalid signature: {} failed: {}";
 
+    private static final String UNKNOWN_ACCOUNT_TOKEN_LOG = "Request with JWT of an unknown account: {} failed: {}";
+
     private static final String INVALID_AUTHORIZATION_HEADER_LOG = "JWT is empty or does not start with 'Bearer ' in Authorization header";
 
-    public JwtAuthorizationFilter(AuthenticationManager authenticationManager, JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthorizationFilter(AuthenticationManager authenticationManager, JwtService jwtService, BillAuthorityService billAuthorityService) {
         super(authenticationManager);
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.billAuthorityService = billAuthorityService;
     }
 
     @Override
@@ -69,10 +73,9 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
         if (StringUtils.isNotEmpty(token) && token.startsWith(TOKEN_PREFIX)) {
             try {
                 String username = jwtService.getJwtUsername(token);
-                jwtService.getJwtAuthorities(token);
-                final Collection<? extends GrantedAuthority> authorities = userDetailsService.loadUserByUsername(username).getAuthorities();
 
                 if (StringUtils.isNotEmpty(username)) {
+                    final Collection<? extends GrantedAuthority> authorities = billAuthorityService.getAuthorities(username);
                     return Optional.of(new UsernamePasswordAuthenticationToken(username, null, authorities));
                 }
             } catch (ExpiredJwtException ex) {
@@ -85,6 +88,8 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
                 log.warn(EMPTY_TOKEN_LOG, token, ex.getMessage());
             } catch (SignatureException ex) {
                 log.warn(INVALID_SIGNATURE_TOKEN_LOG, token, ex.getMessage());
+            } catch (UsernameNotFoundException ex) {
+                log.warn(UNKNOWN_ACCOUNT_TOKEN_LOG, token, ex.getMessage());
             }
         }
         log.warn(INVALID_AUTHORIZATION_HEADER_LOG);
@@ -4,11 +4,16 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import javax.crypto.SecretKey;
+
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -26,29 +31,44 @@ import io.jsonwebtoken.security.Keys;
 
 import proj.kedabra.billsnap.presentation.resources.AccountResource;
 import proj.kedabra.billsnap.presentation.resources.LoginResponseResource;
+import proj.kedabra.billsnap.utils.ExpiringLruCache;
 
 @Service
 public class JwtService implements Serializable {
 
     private static final long serialVersionUID = 5249861017865007332L;
 
-    private final String jwtSecret;
+    private final transient SecretKey signingKey;
 
     private final Long jwtExpiration;
 
     private final ObjectMapper mapper;
 
+    private final transient ExpiringLruCache<String, Claims> verifiedClaims;
+
     private static final String LOGIN_SUCCESS_MESSAGE = "Successfully logged in";
 
     private static final String TOKEN_TYPE = "JWT";
 
     private static final String ROLES = "roles";
 
+    private static final String TOKEN_PREFIX = "Bearer ";
+
+    private static final String TOKEN_DIGEST_ALGORITHM = "SHA-256";
+
+    private static final int DEFAULT_CLAIMS_CACHE_SIZE = 10_000;
+
+    public JwtService(ObjectMapper mapper, String jwtSecret, Long jwtExpiration) {
+        this(mapper, jwtSecret, jwtExpiration, DEFAULT_CLAIMS_CACHE_SIZE);
+    }
+
     @Autowired
-    public JwtService(ObjectMapper mapper, @Value("${jwt.secret}") String jwtSecret, @Value("${jwt.expiration}") Long jwtExpiration) {
+    public JwtService(ObjectMapper mapper, @Value("${jwt.secret}") String jwtSecret, @Value("${jwt.expiration}") Long jwtExpiration,
+                      @Value("${jwt.claims-cache-size:10000}") int claimsCacheSize) {
         this.mapper = mapper;
-        this.jwtSecret = jwtSecret;
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(UTF_8));
         this.jwtExpiration = jwtExpiration;
+        this.verifiedClaims = new ExpiringLruCache<>(claimsCacheSize);
     }
 
     public String generateToken(final User user) {
@@ -57,10 +77,8 @@ public class JwtService implements Serializable {
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList());
 
-        byte[] signingKey = jwtSecret.getBytes(UTF_8);
-
         return Jwts.builder()
-                .signWith(Keys.hmacShaKeyFor(signingKey), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .setHeaderParam("alg", SignatureAlgorithm.HS512)
                 .setHeaderParam("typ", TOKEN_TYPE)
                 .setSubject(user.getUsername())
@@ -70,19 +88,18 @@ public class JwtService implements Serializable {
     }
 
     public JwsHeader getJwtHeaders(final String token) {
-        byte[] signingKey = jwtSecret.getBytes(UTF_8);
         return Jwts.parser()
                 .setSigningKey(signingKey)
-                .parseClaimsJws(token.replace("Bearer ", ""))
+                .parseClaimsJws(token.replace(TOKEN_PREFIX, ""))
                 .getHeader();
     }
 
     public String getJwtUsername(final String token) {
-        return getJwtBody(token).getSubject();
+        return getJwtClaims(token).getSubject();
     }
 
     public Collection<GrantedAuthority> getJwtAuthorities(String token) {
-        return ((List<?>) getJwtBody(token).get(ROLES))
+        return ((List<?>) getJwtClaims(token).get(ROLES))
                 .stream()
                 .map(String.class::cast)
                 .map(SimpleGrantedAuthority::new)
@@ -102,11 +119,34 @@ public class JwtService implements Serializable {
         }
     }
 
-    private Claims getJwtBody(final String token) {
-        byte[] signingKey = jwtSecret.getBytes(UTF_8);
-        return Jwts.parser()
+    /**
+     * Returns the claims of a token, verifying its signature only the first time the token is seen. Verified claims are
+     * kept until the token expires, after which the token is parsed again so expiry is reported as usual.
+     */
+    Claims getJwtClaims(final String token) {
+        final String jwt = token.replace(TOKEN_PREFIX, "");
+        final String digest = digest(jwt);
+        final Claims cachedClaims = verifiedClaims.get(digest);
+        if (cachedClaims != null) {
+            return cachedClaims;
+        }
+
+        final Claims claims = Jwts.parser()
                 .setSigningKey(signingKey)
-                .parseClaimsJws(token.replace("Bearer ", ""))
+                .parseClaimsJws(jwt)
                 .getBody();
+        if (claims.getExpiration() != null) {
+            verifiedClaims.put(digest, claims, claims.getExpiration().getTime());
+        }
+        return claims;
+    }
+
+    private static String digest(final String jwt) {
+        try {
+            final byte[] hash = MessageDigest.getInstance(TOKEN_DIGEST_ALGORITHM).digest(jwt.getBytes(UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -6,9 +6,13 @@ public final class CacheNames {
 
     public static final String BILLS = "bills";
 
+    public static final String BILLS_GENERATION = "bills-generation";
+
     public static final String BILL = "bill";
 
     public static final String PROFILE = "profile";
 
     public static final String PAYMENTS = "payments";
+
+    public static final String AUTHORITIES = "authorities";
 }
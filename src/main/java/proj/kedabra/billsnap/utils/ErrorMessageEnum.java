@@ -34,6 +34,18 @@ public enum ErrorMessageEnum {
     WRONG_BILL_STATUS("The bill is not in {} status."),
     WRONG_INVITATION_STATUS("The invitation is not in {} status."),
     TAX_ID_DOES_NOT_EXIST("No tax exists with that id: {}"),
+    INVALID_CURSOR("The cursor is not valid, start again from the first page."),
+    INVALID_CURSOR_SORT("Cursor pagination cannot sort by: {}"),
+    WRONG_SPLIT_TYPE("The bill is not split by {}."),
+    BALANCE_PERCENTAGES_MUST_ADD_TO_100("The balance percentages must add up to 100: {}"),
+    CONCURRENT_MODIFICATION("The bill was modified by another request, please try again."),
+    UNREADABLE_IMPORT_ROW("The bill could not be read: {}"),
+    UNREADABLE_IMPORT("The upload could not be read from this row on: {}"),
+    INVALID_IMPORT_COLUMN("Each entry of {} must be a name and an amount separated by '=': {}"),
+    GROUP_ID_DOES_NOT_EXIST("No group exists with id: {}"),
+    ACCOUNT_IS_NOT_IN_GROUP("The user making the request is not a member of the group"),
+    USER_IS_NOT_GROUP_ADMIN("The user making the request is not an admin of the group"),
+    TOO_MANY_EVENT_CONNECTIONS("The account already has {} event streams open, close one before opening another."),
 
     //=========================================TESTING ONLY===============================================
     TEST_DIFFERENT_POSITION_PARAMS("First Param: {} , Second Param: {} , Third Param: {}");
@@ -0,0 +1,89 @@
+package proj.kedabra.billsnap.utils;
+
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Small in-process cache bounded by entry count. The least recently used entry is dropped once the cache is full
+ * and each entry is discarded once its own expiry instant has passed.
+ */
+public class ExpiringLruCache<K, V> {
+
+    private final Map<K, Entry<V>> entries;
+
+    private final Clock clock;
+
+    public ExpiringLruCache(final int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    public ExpiringLruCache(final int maxSize, final Clock clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The cache size must be greater than 0");
+        }
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = -2915398271069440785L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the cached value, or null if it is absent or expired
+     */
+    public synchronized V get(final K key) {
+        final Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= clock.millis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(final K key, final V value, final long expiresAtMillis) {
+        if (expiresAtMillis <= clock.millis()) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    /**
+     * Replaces the value of a live entry, keeping its expiry. Absent or expired entries are left alone so they get
+     * reloaded from the source of truth on the next read.
+     */
+    public synchronized void computeIfPresent(final K key, final UnaryOperator<V> remapping) {
+        final V current = get(key);
+        if (current != null) {
+            entries.put(key, new Entry<>(remapping.apply(current), entries.get(key).expiresAt));
+        }
+    }
+
+    public synchronized void remove(final K key) {
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long expiresAt;
+
+        private Entry(final V value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package proj.kedabra.billsnap.utils.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Keeps the read-only transactions of the annotated method on the primary when replicas are enabled, for reads whose
+ * result outlives the request, such as cached resources, or that must see what was just committed.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ReadFromPrimary {
+}
@@ -100,11 +100,18 @@ create table if not exists bill
         constraint "BILLS_location_id_fkey"
             references location,
     active      boolean     not null,
+    sub_total   numeric(14, 2),
+    total_tip   numeric(14, 2),
+    balance     numeric(14, 2),
+    version     bigint      not null default 0,
+    next_occurrence         timestamptz,
+    occurrence_locked_until timestamptz,
     constraint only_one_tip_method
         check ((tip_percent IS NULL) <> (tip_amount IS NULL))
 );
 
 comment on column bill.occurrence is 'repeat every x days where x = occurrence';
+comment on column bill.next_occurrence is 'when the next copy of a recurring bill is due, null if the bill does not recur';
 
 create table if not exists tax
 (
@@ -194,7 +201,12 @@ create table if not exists bills_vs_accounts
                ((NOT is_split_by_balance(bill_id)) AND (percentage IS NULL))),
     status         invitation_status   not null,
     amount_paid    numeric(14, 2)      null,
-    payment_status payment_status_type null
+    payment_status payment_status_type null,
+    sub_total      numeric(14, 2),
+    tax            numeric(14, 2),
+    tip            numeric(14, 2),
+    total_owed     numeric(14, 2),
+    version        bigint              not null default 0
 );
 
 create table if not exists notifications
@@ -211,3 +223,54 @@ create table if not exists notifications
     time_sent  timestamp with time zone default clock_timestamp()
 );
 
+create table if not exists outbox
+(
+    id           bigserial     not null
+        constraint outbox_pkey
+            primary key,
+    recipient    varchar(50)   not null,
+    subject      varchar(100)  not null,
+    body         varchar(2000) not null,
+    status       varchar(15)   not null,
+    attempts     integer       not null default 0,
+    created      timestamptz   not null default clock_timestamp(),
+    available_at timestamptz   not null default clock_timestamp(),
+    locked_until timestamptz,
+    locked_by    varchar(36),
+    sent         timestamptz,
+    last_error   varchar(255)
+);
+
+
+-- hibernate allocates ids in blocks of 50 (pooled optimizer)
+alter sequence account_id_seq increment by 50;
+alter sequence bill_id_seq increment by 50;
+alter sequence item_id_seq increment by 50;
+alter sequence notifications_id_seq increment by 50;
+alter sequence tax_id_seq increment by 50;
+alter sequence outbox_id_seq increment by 50;
+
+-- secondary indexes for the bill listing and amounts owed queries
+create unique index if not exists account_email_uindex on account (email);
+
+create index if not exists bills_vs_accounts_account_id_status_index on bills_vs_accounts (account_id, status);
+
+create index if not exists bill_status_created_index on bill (status, created);
+
+create index if not exists bill_category_index on bill (category);
+
+create index if not exists bill_next_occurrence_index on bill (next_occurrence) where next_occurrence is not null;
+
+create index if not exists groups_vs_accounts_account_id_index on groups_vs_accounts (account_id);
+
+create index if not exists item_bill_id_index on item (bill_id);
+
+create index if not exists items_vs_accounts_account_id_index on items_vs_accounts (account_id);
+
+create index if not exists tax_bill_id_index on tax (bill_id);
+
+create index if not exists notifications_bill_id_index on notifications (bill_id);
+
+create index if not exists notifications_account_id_index on notifications (account_id);
+
+create index if not exists outbox_status_available_at_index on outbox (status, available_at);
@@ -28,4 +28,106 @@ alter table tax
 
 create sequence tax_id_seq start with 1 increment by 1;
 
+-- sprint 17
+-- ids are now allocated by hibernate in blocks of 50 (pooled optimizer), the sequences must step by the same amount
 
+alter sequence account_id_seq increment by 50;
+alter sequence bill_id_seq increment by 50;
+alter sequence item_id_seq increment by 50;
+alter sequence notifications_id_seq increment by 50;
+alter sequence tax_id_seq increment by 50;
+
+-- secondary indexes for the bill listing and amounts owed queries
+create unique index if not exists account_email_uindex on account (email);
+
+create index if not exists bills_vs_accounts_account_id_status_index on bills_vs_accounts (account_id, status);
+
+create index if not exists bill_status_created_index on bill (status, created);
+
+create index if not exists bill_category_index on bill (category);
+
+create index if not exists item_bill_id_index on item (bill_id);
+
+create index if not exists items_vs_accounts_account_id_index on items_vs_accounts (account_id);
+
+create index if not exists tax_bill_id_index on tax (bill_id);
+
+create index if not exists notifications_bill_id_index on notifications (bill_id);
+
+create index if not exists notifications_account_id_index on notifications (account_id);
+
+-- totals of the bills and of their participants, maintained on write. Rows left null are computed on read until
+-- POST /actuator/billtotals repairs them
+
+alter table bill
+    add sub_total numeric(14, 2);
+alter table bill
+    add total_tip numeric(14, 2);
+alter table bill
+    add balance numeric(14, 2);
+
+alter table bills_vs_accounts
+    add sub_total numeric(14, 2);
+alter table bills_vs_accounts
+    add tax numeric(14, 2);
+alter table bills_vs_accounts
+    add tip numeric(14, 2);
+alter table bills_vs_accounts
+    add total_owed numeric(14, 2);
+
+-- optimistic locking of the bills and of their participants' payments
+
+alter table bill
+    add version bigint not null default 0;
+
+alter table bills_vs_accounts
+    add version bigint not null default 0;
+
+-- mails written in the transaction that triggers them, sent afterwards by the outbox dispatcher
+
+create table if not exists outbox
+(
+    id           bigserial     not null
+        constraint outbox_pkey
+            primary key,
+    recipient    varchar(50)   not null,
+    subject      varchar(100)  not null,
+    body         varchar(2000) not null,
+    status       varchar(15)   not null,
+    attempts     integer       not null default 0,
+    created      timestamptz   not null default clock_timestamp(),
+    available_at timestamptz   not null default clock_timestamp(),
+    locked_until timestamptz,
+    sent         timestamptz,
+    last_error   varchar(255)
+);
+
+alter sequence outbox_id_seq increment by 50;
+
+create index if not exists outbox_status_available_at_index on outbox (status, available_at);
+
+-- recurring bills, copied by the recurrence scheduler every occurrence days
+
+alter table bill
+    add next_occurrence timestamptz;
+alter table bill
+    add occurrence_locked_until timestamptz;
+
+comment on column bill.next_occurrence is 'when the next copy of a recurring bill is due, null if the bill does not recur';
+
+-- existing recurring bills resume at their next period instead of all being copied on the first run
+update bill
+set next_occurrence = created + (floor(extract(epoch from (clock_timestamp() - created)) / 86400 / occurrence) + 1) * occurrence * interval '1 day'
+where occurrence > 0
+  and active;
+
+create index if not exists bill_next_occurrence_index on bill (next_occurrence) where next_occurrence is not null;
+
+-- groups of accounts invited to bills at once
+
+create index if not exists groups_vs_accounts_account_id_index on groups_vs_accounts (account_id);
+
+-- outbox messages are marked sent only by the claim that still holds them
+
+alter table outbox
+    add locked_by varchar(36);
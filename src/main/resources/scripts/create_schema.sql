@@ -15,11 +15,11 @@ create type if not exists invitation_status as enum('ACCEPTED', 'DECLINED', 'PEN
 
 create type if not exists payment_status_type as enum ('PAID', 'IN_PROGRESS');
 
-create sequence if not exists account_id_seq start with 1 increment by 1;
+create sequence if not exists account_id_seq start with 1 increment by 50;
 
-create sequence if not exists bill_id_seq start with 1 increment by 1;
+create sequence if not exists bill_id_seq start with 1 increment by 50;
 
-create sequence if not exists item_id_seq start with 1 increment by 1;
+create sequence if not exists item_id_seq start with 1 increment by 50;
 
 create sequence if not exists group_id_seq start with 1 increment by 1;
 
@@ -27,9 +27,11 @@ create sequence if not exists location_id_seq start with 1 increment by 1;
 
 create sequence if not exists location_id_seq start with 1 increment by 1;
 
-create sequence if not exists notifications_id_seq start with 1 increment by 1;
+create sequence if not exists notifications_id_seq start with 1 increment by 50;
 
-create sequence if not exists tax_id_seq start with 1 increment by 1;
+create sequence if not exists tax_id_seq start with 1 increment by 50;
+
+create sequence if not exists outbox_id_seq start with 1 increment by 50;
 
 
 create table if not exists location
@@ -89,11 +91,18 @@ create table if not exists bill
         constraint "BILLS_location_id_fkey"
             references location,
     active      boolean        not null,
+    sub_total   numeric(14, 2) null,
+    total_tip   numeric(14, 2) null,
+    balance     numeric(14, 2) null,
+    version     bigint         not null default 0,
+    next_occurrence         timestamp with time zone null,
+    occurrence_locked_until timestamp with time zone null,
     constraint only_one_tip_method
         check ((tip_percent IS NULL) <> (tip_amount IS NULL))
 );
 
 comment on column bill.occurrence is 'repeat every x days where x = occurrence';
+comment on column bill.next_occurrence is 'when the next copy of a recurring bill is due, null if the bill does not recur';
 
 create table if not exists tax
 (
@@ -175,7 +184,12 @@ create table if not exists bills_vs_accounts
         primary key (bill_id, account_id),
     status         invitation_status   not null,
     amount_paid    numeric(14, 2)      null,
-    payment_status payment_status_type null
+    payment_status payment_status_type null,
+    sub_total      numeric(14, 2)      null,
+    tax            numeric(14, 2)      null,
+    tip            numeric(14, 2)      null,
+    total_owed     numeric(14, 2)      null,
+    version        bigint              not null default 0
 );
 
 create table if not exists notifications
@@ -190,4 +204,44 @@ create table if not exists notifications
         constraint "NOTIFICATION_user_id_fkey"
             references account,
     time_sent  timestamp with time zone default current_timestamp
-);
\ No newline at end of file
+);
+
+create table if not exists outbox
+(
+    id           bigint primary key,
+    recipient    varchar(50)              not null,
+    subject      varchar(100)             not null,
+    body         varchar(2000)            not null,
+    status       varchar(15)              not null,
+    attempts     integer                  not null default 0,
+    created      timestamp with time zone not null default current_timestamp,
+    available_at timestamp with time zone not null default current_timestamp,
+    locked_until timestamp with time zone null,
+    locked_by    varchar(36)              null,
+    sent         timestamp with time zone null,
+    last_error   varchar(255)             null
+);
+
+create index if not exists outbox_status_available_at_index on outbox (status, available_at);
+
+create unique index if not exists account_email_uindex on account (email);
+
+create index if not exists bills_vs_accounts_account_id_status_index on bills_vs_accounts (account_id, status);
+
+create index if not exists bill_status_created_index on bill (status, created);
+
+create index if not exists bill_category_index on bill (category);
+
+create index if not exists bill_next_occurrence_index on bill (next_occurrence);
+
+create index if not exists groups_vs_accounts_account_id_index on groups_vs_accounts (account_id);
+
+create index if not exists item_bill_id_index on item (bill_id);
+
+create index if not exists items_vs_accounts_account_id_index on items_vs_accounts (account_id);
+
+create index if not exists tax_bill_id_index on tax (bill_id);
+
+create index if not exists notifications_bill_id_index on notifications (bill_id);
+
+create index if not exists notifications_account_id_index on notifications (account_id);
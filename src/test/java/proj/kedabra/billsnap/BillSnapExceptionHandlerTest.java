@@ -6,6 +6,7 @@ import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 
 import proj.kedabra.billsnap.business.exception.AccessForbiddenException;
@@ -15,6 +16,7 @@ import proj.kedabra.billsnap.business.exception.ResourceNotFoundException;
 import proj.kedabra.billsnap.fixtures.FieldErrorFixture;
 import proj.kedabra.billsnap.presentation.ApiError;
 import proj.kedabra.billsnap.presentation.ApiSubError;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
 
 class BillSnapExceptionHandlerTest {
 
@@ -125,5 +127,18 @@ class BillSnapExceptionHandlerTest {
         assertEquals(NOT_THIS_ERROR_MESSAGE, response.getMessage());
     }
 
+    @Test
+    @DisplayName("Should return ResponseEntity with error 409 and concurrent modification message")
+    void shouldReturn409ForConcurrencyFailureException() {
+        //Given
+        final var ex = new ConcurrencyFailureException(NOT_THIS_ERROR_MESSAGE);
+
+        //When
+        final ApiError response = billSnapExceptionHandler.handleConcurrencyFailure(ex);
+
+        //Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatus());
+        assertEquals(ErrorMessageEnum.CONCURRENT_MODIFICATION.getMessage(), response.getMessage());
+    }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,151 @@
+package proj.kedabra.billsnap.business.facade.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import proj.kedabra.billsnap.business.facade.PaymentFacade;
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.model.entities.AccountBill;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.service.NotificationService;
+import proj.kedabra.billsnap.fixtures.PaymentInformationDTOFixture;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+/**
+ * Pins the participant rows loaded by payments and invitation answers. The payer has been in many bills, none of which
+ * may be loaded to find the one being paid.
+ */
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@Transactional
+class AccountBillLookupIT {
+
+    private static final long FIRST_ID = 900_000L;
+
+    private static final long PAYER_ID = FIRST_ID;
+
+    private static final long RESPONSIBLE_ID = FIRST_ID + 1;
+
+    private static final long INVITEE_ID = FIRST_ID + 2;
+
+    private static final int PAST_BILLS = 30;
+
+    private static final long BILL_ID = FIRST_ID + PAST_BILLS;
+
+    private static final long INVITATION_ID = FIRST_ID;
+
+    private static final String PAYER_EMAIL = "history@payer.com";
+
+    @Autowired
+    private PaymentFacade paymentFacade;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        final List<Object[]> bills = new ArrayList<>();
+        final List<Object[]> accountBills = new ArrayList<>();
+        for (long billId = FIRST_ID; billId <= BILL_ID; billId++) {
+            bills.add(new Object[]{billId});
+            accountBills.add(new Object[]{billId, PAYER_ID, "ACCEPTED"});
+            accountBills.add(new Object[]{billId, RESPONSIBLE_ID, "ACCEPTED"});
+        }
+        accountBills.add(new Object[]{BILL_ID, INVITEE_ID, "PENDING"});
+
+        jdbcTemplate.batchUpdate("INSERT INTO account (id, email, password, first_name, last_name, status) VALUES (?, ?, 'notEncrypted', 'first', 'last', 'REGISTERED')",
+                List.of(new Object[]{PAYER_ID, PAYER_EMAIL}, new Object[]{RESPONSIBLE_ID, "responsible@payer.com"}, new Object[]{INVITEE_ID, "invitee@payer.com"}));
+        jdbcTemplate.batchUpdate("INSERT INTO bill (id, name, responsible, creator, status, tip_amount, split_by, active) VALUES (?, 'history', " + RESPONSIBLE_ID + ", " + RESPONSIBLE_ID + ", 'OPEN', 0, 'ITEM', true)", bills);
+        jdbcTemplate.batchUpdate("INSERT INTO bills_vs_accounts (bill_id, account_id, status) VALUES (?, ?, ?)", accountBills);
+        jdbcTemplate.update("INSERT INTO item (id, bill_id, name, cost) VALUES (?, ?, 'item', 100)", FIRST_ID, BILL_ID);
+        jdbcTemplate.update("INSERT INTO items_vs_accounts (item_id, account_id, percentage) VALUES (?, ?, 100)", FIRST_ID, PAYER_ID);
+        jdbcTemplate.update("INSERT INTO notifications (id, bill_id, account_id) VALUES (?, ?, ?)", INVITATION_ID, BILL_ID, INVITEE_ID);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load only the payer's row of the bill for a partial payment")
+    void shouldLoadOnlyPayerRowForPartialPayment() {
+        // When
+        final var remainingBalance = paymentFacade.payBill(PaymentInformationDTOFixture.getDefaultWithBillAndEmail(BILL_ID, PAYER_EMAIL));
+
+        // Then
+        assertThat(remainingBalance).isEqualByComparingTo(new BigDecimal("90"));
+        // the payer's row, read again after the amount paid is incremented in the database
+        assertThat(accountBillLoads()).isLessThanOrEqualTo(2);
+        assertThat(collectionFetches(Account.class, "bills")).isZero();
+        assertThat(collectionFetches(Bill.class, "accounts")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load only the bill's participants for the payment settling the payer")
+    void shouldLoadOnlyBillParticipantsForSettlingPayment() {
+        // Given
+        final var paymentInfo = PaymentInformationDTOFixture.getDefaultWithBillAndEmail(BILL_ID, PAYER_EMAIL);
+        paymentInfo.setAmount(new BigDecimal("100"));
+
+        // When
+        final var remainingBalance = paymentFacade.payBill(paymentInfo);
+
+        // Then
+        assertThat(remainingBalance).isEqualByComparingTo(BigDecimal.ZERO);
+        // the payer, the responsible and the invitee, checked before resolving the bill
+        assertThat(accountBillLoads()).isEqualTo(3);
+        assertThat(collectionFetches(Account.class, "bills")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should load only the invitee's row of the bill to answer an invitation")
+    void shouldLoadOnlyInviteeRowToAnswerInvitation() {
+        // When
+        notificationService.answerInvitation(INVITATION_ID, true);
+
+        // Then
+        assertThat(accountBillLoads()).isEqualTo(1);
+        assertThat(collectionFetches(Account.class, "bills")).isZero();
+        assertThat(collectionFetches(Bill.class, "accounts")).isZero();
+    }
+
+    private long accountBillLoads() {
+        return statistics.getEntityStatistics(AccountBill.class.getName()).getLoadCount();
+    }
+
+    private long collectionFetches(final Class<?> owner, final String collection) {
+        return statistics.getCollectionStatistics(owner.getName() + "." + collection).getFetchCount();
+    }
+}
@@ -0,0 +1,113 @@
+package proj.kedabra.billsnap.business.facade.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.extern.slf4j.Slf4j;
+
+import proj.kedabra.billsnap.business.dto.BillDTO;
+import proj.kedabra.billsnap.business.dto.ItemDTO;
+import proj.kedabra.billsnap.business.facade.BillFacade;
+import proj.kedabra.billsnap.business.repository.AccountRepository;
+import proj.kedabra.billsnap.fixtures.AccountEntityFixture;
+import proj.kedabra.billsnap.fixtures.BillDTOFixture;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+/**
+ * Measures the statements sent to the database when creating a large shared bill. Without batching and pooled ids,
+ * creating a 100 item bill with 20 invitees issues one sequence call and one insert per row, over 350 statements.
+ */
+@Slf4j
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@Transactional
+class BillCreationStatementsIT {
+
+    private static final String CREATOR_EMAIL = "test@email.com";
+
+    private static final int ITEMS = 100;
+
+    private static final int INVITEES = 20;
+
+    @Autowired
+    private BillFacade billFacade;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private BillDTO billDTO;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        billDTO = BillDTOFixture.getDefault();
+        billDTO.getItems().clear();
+        IntStream.range(0, ITEMS).forEach(i -> {
+            final var item = new ItemDTO();
+            item.setName("item " + i);
+            item.setCost(BigDecimal.valueOf(i + 1L));
+            billDTO.getItems().add(item);
+        });
+        IntStream.range(0, INVITEES).forEach(i -> {
+            final var invitee = AccountEntityFixture.getDefaultAccount();
+            invitee.setId(null);
+            invitee.setEmail("batchinvitee" + i + "@test.com");
+            accountRepository.save(invitee);
+            billDTO.getAccountsList().add(invitee.getEmail());
+        });
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should batch the inserts of a 100 item bill with 20 invitees")
+    void shouldBatchInsertsOfLargeBill() {
+        // Given
+        statistics.clear();
+        final long start = System.nanoTime();
+
+        // When
+        billFacade.addPersonalBill(CREATOR_EMAIL, billDTO);
+        entityManager.flush();
+
+        // Then
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        final long rowsInserted = statistics.getEntityInsertCount();
+        final long statements = statistics.getPrepareStatementCount();
+        log.info("Created a bill with {} items and {} invitees: {} rows inserted with {} statements in {} ms",
+                ITEMS, INVITEES, rowsInserted, statements, elapsedMillis);
+
+        // bill + items + account items + taxes + account bills (creator and invitees) + notifications + outbox mails
+        assertThat(rowsInserted).isEqualTo(1 + ITEMS + ITEMS + 1 + (INVITEES + 1) + INVITEES + INVITEES);
+        assertThat(statements).isLessThan(60);
+    }
+}
@@ -0,0 +1,191 @@
+package proj.kedabra.billsnap.business.facade.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import proj.kedabra.billsnap.business.dto.BillCursorDTO;
+import proj.kedabra.billsnap.business.dto.GetBillPaginationDTO;
+import proj.kedabra.billsnap.business.dto.ShortBillDTO;
+import proj.kedabra.billsnap.business.facade.BillFacade;
+import proj.kedabra.billsnap.business.model.projections.ShortBill;
+import proj.kedabra.billsnap.business.repository.BillRepository;
+import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Transactional
+class BillCursorPaginationIT {
+
+    private static final long ACCOUNT_ID = 700_000L;
+
+    private static final String EMAIL = "cursor@pagination.com";
+
+    private static final int BILLS = 25;
+
+    private static final int PAGE_SIZE = 4;
+
+    private static final String[] STATUSES = {"OPEN", "RESOLVED", "IN_PROGRESS"};
+
+    private static final String[] CATEGORIES = {"restaurant", "bus", null, "groceries"};
+
+    @Autowired
+    private BillFacade billFacade;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("INSERT INTO account (id, email, password, first_name, last_name, status) VALUES (?, ?, 'notEncrypted', 'first', 'last', 'REGISTERED')",
+                ACCOUNT_ID, EMAIL);
+        // bills are created in groups of three at the same time, so that the id has to break the ties
+        for (int i = 0; i < BILLS; i++) {
+            insertBill(ACCOUNT_ID + i, "bill " + (char) ('a' + (i * 7) % BILLS), LocalDateTime.of(2020, 5, 1, 12, 0).plusHours(i / 3),
+                    STATUSES[i % STATUSES.length], CATEGORIES[i % CATEGORIES.length]);
+        }
+    }
+
+    static Stream<Arguments> sorts() {
+        return Stream.of(
+                Arguments.of(Sort.by(Sort.Direction.DESC, "created")),
+                Arguments.of(Sort.by(Sort.Direction.ASC, "created")),
+                Arguments.of(Sort.by(Sort.Direction.DESC, "created", "status")),
+                Arguments.of(Sort.by(Sort.Direction.ASC, "status", "created")),
+                Arguments.of(Sort.by(Sort.Direction.DESC, "name")),
+                Arguments.of(Sort.by(Sort.Direction.ASC, "category", "created"))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("sorts")
+    @DisplayName("Should walk through every bill once, in the order of an offset page sorted the same way")
+    void shouldWalkThroughEveryBillInOrder(final Sort sort) {
+        // Given
+        final var dto = paginationOf(sort);
+        final Sort.Direction direction = sort.iterator().next().getDirection();
+        final List<Long> expectedIds = billRepository.findShortBillsPageable(dto.getStartDate(), dto.getEndDate(), null, dto.getStatuses(),
+                dto.getInvitationStatus(), EMAIL, PageRequest.of(0, BILLS * 2, sort.and(Sort.by(direction, "id"))))
+                .stream().map(ShortBill::getId).collect(Collectors.toList());
+
+        // When
+        final List<Long> ids = walkThroughPages(sort);
+
+        // Then
+        assertThat(ids).hasSize(BILLS).doesNotHaveDuplicates();
+        if (sort.getOrderFor("category") == null) {
+            assertThat(ids).containsExactlyElementsOf(expectedIds);
+        } else {
+            // null categories are ordered as empty ones by the cursor, which databases do not all agree with
+            assertThat(ids).containsExactlyInAnyOrderElementsOf(expectedIds);
+        }
+    }
+
+    @Test
+    @DisplayName("Should not repeat or skip bills when a newer bill is added between two pages")
+    void shouldKeepPagesStableWhenBillIsAdded() {
+        // Given
+        final var dto = paginationOf(Sort.by(Sort.Direction.DESC, "created"));
+        final var firstPage = billFacade.getShortBillsByEmailAfterCursor(dto);
+        insertBill(ACCOUNT_ID + BILLS, "newest", LocalDateTime.of(2021, 1, 1, 0, 0), "OPEN", "restaurant");
+        dto.setCursor(firstPage.getNextCursor());
+
+        // When
+        final var secondPage = billFacade.getShortBillsByEmailAfterCursor(dto);
+
+        // Then
+        final List<Long> firstIds = firstPage.getShortBills().stream().map(ShortBillDTO::getId).collect(Collectors.toList());
+        final List<Long> secondIds = secondPage.getShortBills().stream().map(ShortBillDTO::getId).collect(Collectors.toList());
+        assertThat(firstIds).containsExactly(ACCOUNT_ID + 24, ACCOUNT_ID + 23, ACCOUNT_ID + 22, ACCOUNT_ID + 21);
+        assertThat(secondIds).containsExactly(ACCOUNT_ID + 20, ACCOUNT_ID + 19, ACCOUNT_ID + 18, ACCOUNT_ID + 17);
+    }
+
+    @Test
+    @DisplayName("Should not return a next cursor on the last page")
+    void shouldNotReturnNextCursorOnLastPage() {
+        // Given
+        final var dto = paginationOf(Sort.by(Sort.Direction.DESC, "created"));
+        dto.setPageable(PageRequest.of(0, BILLS + 1, dto.getPageable().getSort()));
+
+        // When
+        final var page = billFacade.getShortBillsByEmailAfterCursor(dto);
+
+        // Then
+        assertThat(page.getShortBills()).hasSize(BILLS);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse a cursor missing the keys of the sort")
+    void shouldRefuseIncompleteCursor() {
+        // Given
+        final var dto = paginationOf(Sort.by(Sort.Direction.DESC, "created"));
+        final var cursor = new BillCursorDTO();
+        cursor.setId(ACCOUNT_ID);
+        dto.setCursor(cursor);
+
+        // When/Then
+        assertThatIllegalArgumentException().isThrownBy(() -> billFacade.getShortBillsByEmailAfterCursor(dto));
+    }
+
+    private List<Long> walkThroughPages(final Sort sort) {
+        final var dto = paginationOf(sort);
+        final List<Long> ids = new ArrayList<>();
+        BillCursorDTO cursor;
+        do {
+            final var page = billFacade.getShortBillsByEmailAfterCursor(dto);
+            assertThat(page.getShortBills()).hasSizeLessThanOrEqualTo(PAGE_SIZE);
+            page.getShortBills().stream().map(ShortBillDTO::getId).forEach(ids::add);
+            cursor = page.getNextCursor();
+            dto.setCursor(cursor);
+        } while (cursor != null && ids.size() <= BILLS);
+        return ids;
+    }
+
+    private void insertBill(final long id, final String name, final LocalDateTime created, final String status, final String category) {
+        jdbcTemplate.update("INSERT INTO bill (id, name, responsible, creator, status, created, category, tip_amount, split_by, active) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, 0, 'ITEM', true)", id, name, ACCOUNT_ID, ACCOUNT_ID, status, Timestamp.valueOf(created), category);
+        jdbcTemplate.update("INSERT INTO bills_vs_accounts (bill_id, account_id, status) VALUES (?, ?, 'ACCEPTED')", id, ACCOUNT_ID);
+    }
+
+    private static GetBillPaginationDTO paginationOf(final Sort sort) {
+        final var dto = new GetBillPaginationDTO();
+        dto.setEmail(EMAIL);
+        dto.setStartDate(LocalDate.of(1970, 1, 1));
+        dto.setEndDate(LocalDate.of(9999, 12, 31));
+        dto.setStatuses(List.of(BillStatusEnum.values()));
+        dto.setInvitationStatus(InvitationStatusEnum.ACCEPTED);
+        dto.setPageable(PageRequest.of(0, PAGE_SIZE, sort));
+        return dto;
+    }
+}
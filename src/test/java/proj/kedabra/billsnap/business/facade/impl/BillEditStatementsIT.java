@@ -0,0 +1,155 @@
+package proj.kedabra.billsnap.business.facade.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.extern.slf4j.Slf4j;
+
+import proj.kedabra.billsnap.business.dto.BillSplitDTO;
+import proj.kedabra.billsnap.business.dto.EditBillDTO;
+import proj.kedabra.billsnap.business.dto.ItemDTO;
+import proj.kedabra.billsnap.business.dto.TaxDTO;
+import proj.kedabra.billsnap.business.facade.BillFacade;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.model.entities.Item;
+import proj.kedabra.billsnap.business.repository.BillRepository;
+import proj.kedabra.billsnap.fixtures.BillDTOFixture;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+/**
+ * Measures the statements sent to the database when editing one item of a large bill. Every other item is left as it
+ * is, so none of them should be looked up, updated or deleted and inserted again.
+ */
+@Slf4j
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@Transactional
+class BillEditStatementsIT {
+
+    private static final String CREATOR_EMAIL = "test@email.com";
+
+    private static final int ITEMS = 300;
+
+    @Autowired
+    private BillFacade billFacade;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Long billId;
+
+    private EditBillDTO editBill;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        final var billDTO = BillDTOFixture.getDefault();
+        billDTO.getItems().clear();
+        IntStream.range(0, ITEMS).forEach(i -> {
+            final var item = new ItemDTO();
+            item.setName("item " + i);
+            item.setCost(BigDecimal.valueOf(i + 1L));
+            billDTO.getItems().add(item);
+        });
+        billId = billFacade.addPersonalBill(CREATOR_EMAIL, billDTO).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        final Bill bill = billRepository.findById(billId).orElseThrow();
+        editBill = new EditBillDTO();
+        editBill.setName(bill.getName());
+        editBill.setResponsible(CREATOR_EMAIL);
+        editBill.setCompany(bill.getCompany());
+        editBill.setCategory(bill.getCategory());
+        editBill.setTipAmount(bill.getTipAmount());
+        editBill.setItems(bill.getItems().stream().sorted(Comparator.comparing(Item::getId)).map(item -> {
+            final var itemDTO = new ItemDTO();
+            itemDTO.setId(item.getId());
+            itemDTO.setName(item.getName());
+            itemDTO.setCost(item.getCost());
+            return itemDTO;
+        }).collect(Collectors.toList()));
+        editBill.setTaxes(bill.getTaxes().stream().map(tax -> {
+            final var taxDTO = new TaxDTO();
+            taxDTO.setId(tax.getId());
+            taxDTO.setName(tax.getName());
+            taxDTO.setPercentage(tax.getPercentage());
+            return taxDTO;
+        }).collect(Collectors.toList()));
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Should only update the edited item of a 300 item bill")
+    void shouldOnlyUpdateEditedItem() {
+        // Given
+        final ItemDTO editedItem = editBill.getItems().get(0);
+        editedItem.setName("renamed item");
+        statistics.clear();
+
+        // When
+        final BillSplitDTO bill = billFacade.editBill(billId, CREATOR_EMAIL, editBill);
+        entityManager.flush();
+
+        // Then
+        final EntityStatistics itemStatistics = statistics.getEntityStatistics(Item.class.getName());
+        final long statements = statistics.getPrepareStatementCount();
+        log.info("Edited 1 item of a bill with {} items: {} item updates with {} statements", ITEMS, itemStatistics.getUpdateCount(), statements);
+
+        assertThat(itemStatistics.getUpdateCount()).isEqualTo(1);
+        assertThat(itemStatistics.getInsertCount()).isZero();
+        assertThat(itemStatistics.getDeleteCount()).isZero();
+        assertThat(statements).isLessThan(20);
+        assertThat(bill.getItems()).hasSize(ITEMS).extracting(ItemDTO::getName).contains("renamed item");
+    }
+
+    @Test
+    @DisplayName("Should only delete the items left out of the edit")
+    void shouldOnlyDeleteRemovedItem() {
+        // Given
+        editBill.getItems().remove(0);
+        statistics.clear();
+
+        // When
+        final BillSplitDTO bill = billFacade.editBill(billId, CREATOR_EMAIL, editBill);
+        entityManager.flush();
+
+        // Then
+        final EntityStatistics itemStatistics = statistics.getEntityStatistics(Item.class.getName());
+        assertThat(itemStatistics.getDeleteCount()).isEqualTo(1);
+        assertThat(itemStatistics.getUpdateCount()).isZero();
+        assertThat(itemStatistics.getInsertCount()).isZero();
+        assertThat(bill.getItems()).hasSize(ITEMS - 1);
+    }
+}
@@ -6,8 +6,13 @@ import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
@@ -17,21 +22,27 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import proj.kedabra.billsnap.business.dto.AccountDTO;
 import proj.kedabra.billsnap.business.dto.BillCompleteDTO;
 import proj.kedabra.billsnap.business.dto.BillDTO;
 import proj.kedabra.billsnap.business.dto.BillSplitDTO;
+import proj.kedabra.billsnap.business.dto.GetBillPaginationDTO;
 import proj.kedabra.billsnap.business.dto.ItemAssociationSplitDTO;
 import proj.kedabra.billsnap.business.dto.ItemPercentageSplitDTO;
+import proj.kedabra.billsnap.business.event.BillEvent;
 import proj.kedabra.billsnap.business.exception.AccessForbiddenException;
 import proj.kedabra.billsnap.business.exception.ResourceNotFoundException;
 import proj.kedabra.billsnap.business.mapper.AccountMapper;
@@ -40,12 +51,19 @@ import proj.kedabra.billsnap.business.mapper.ItemMapper;
 import proj.kedabra.billsnap.business.model.entities.Account;
 import proj.kedabra.billsnap.business.model.entities.AccountBill;
 import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.model.entities.Group;
 import proj.kedabra.billsnap.business.model.entities.Item;
+import proj.kedabra.billsnap.business.model.projections.BillCost;
+import proj.kedabra.billsnap.business.model.projections.ShortBill;
 import proj.kedabra.billsnap.business.repository.AccountRepository;
 import proj.kedabra.billsnap.business.service.AccountService;
 import proj.kedabra.billsnap.business.service.BillService;
 import proj.kedabra.billsnap.business.service.CalculatePaymentService;
+import proj.kedabra.billsnap.business.service.GroupService;
+import proj.kedabra.billsnap.business.service.impl.CalculatePaymentServiceImpl;
+import proj.kedabra.billsnap.business.utils.enums.BillEventTypeEnum;
 import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.GroupRoleEnum;
 import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
 import proj.kedabra.billsnap.fixtures.AccountBillEntityFixture;
 import proj.kedabra.billsnap.fixtures.AccountDTOFixture;
@@ -55,6 +73,7 @@ import proj.kedabra.billsnap.fixtures.BillCompleteDTOFixture;
 import proj.kedabra.billsnap.fixtures.BillDTOFixture;
 import proj.kedabra.billsnap.fixtures.BillEntityFixture;
 import proj.kedabra.billsnap.fixtures.BillSplitDTOFixture;
+import proj.kedabra.billsnap.fixtures.GetBillPaginationDTOFixture;
 import proj.kedabra.billsnap.fixtures.InviteRegisteredResourceFixture;
 import proj.kedabra.billsnap.utils.ErrorMessageEnum;
 
@@ -85,8 +104,18 @@ class BillFacadeImplTest {
     @Mock
     private CalculatePaymentService calculatePaymentService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private GroupService groupService;
+
     private static final BigDecimal PERCENTAGE_DIVISOR = BigDecimal.valueOf(100);
 
+    private static final Long SHORT_BILL_ID = 1000L;
+
+    private static final Long SHORT_BILL_ACCOUNT_ID = 2000L;
+
     private static final String ITEM_PERCENTAGES_MUST_ADD_TO_100 = "The percentage split for this item must add up to 100: {%s, Percentage: %s}";
 
     @BeforeEach
@@ -98,6 +127,87 @@ class BillFacadeImplTest {
         lenient().when(calculatePaymentService.calculateTaxes(any(), any())).thenReturn(BigDecimal.ONE);
         lenient().when(calculatePaymentService.calculateTip(any(), any(), any())).thenReturn(BigDecimal.ONE);
         lenient().when(calculatePaymentService.calculateSubTotal(any())).thenReturn(BigDecimal.ONE);
+        lenient().when(calculatePaymentService.calculateBalance(any(), any(), any(), any())).thenReturn(BigDecimal.ONE);
+        lenient().when(calculatePaymentService.calculateAccountTip(any(), any(), any())).thenReturn(BigDecimal.ONE);
+        //the sub totals per account are asserted on, so they are computed for real
+        lenient().when(calculatePaymentService.calculateAccountSubTotals(any())).thenAnswer(i -> new CalculatePaymentServiceImpl().calculateAccountSubTotals(i.getArgument(0)));
+    }
+
+    @Test
+    @DisplayName("Should compute the amount owed of a short bill from the account's share of the bill")
+    void shouldComputeAmountOwedOfShortBill() {
+        // Given
+        final var dto = GetBillPaginationDTOFixture.getDefault();
+        final ShortBill shortBill = mockShortBill(InvitationStatusEnum.ACCEPTED);
+        when(shortBill.getAmountPaid()).thenReturn(new BigDecimal("2.00"));
+        when(calculatePaymentService.calculateAmountRemaining(new BigDecimal("7.00"), new BigDecimal("2.00"))).thenReturn(new BigDecimal("5.00"));
+        mockBillCosts(dto, shortBill);
+
+        // When
+        final var shortBills = billFacade.getShortBillsByEmailPageable(dto);
+
+        // Then
+        assertThat(shortBills).hasSize(1);
+        assertThat(shortBills.get(0).getId()).isEqualTo(SHORT_BILL_ID);
+        assertThat(shortBills.get(0).getBalance()).isEqualByComparingTo(BigDecimal.ONE);
+        assertThat(shortBills.get(0).getAmountOwed()).isEqualByComparingTo(new BigDecimal("5.00"));
+    }
+
+    @Test
+    @DisplayName("Should not owe anything on a short bill the account has not accepted")
+    void shouldNotOweAnythingOnPendingShortBill() {
+        // Given
+        final var dto = GetBillPaginationDTOFixture.getDefault();
+        final ShortBill shortBill = mockShortBill(InvitationStatusEnum.PENDING);
+        mockBillCosts(dto, shortBill);
+
+        // When
+        final var shortBills = billFacade.getShortBillsByEmailPageable(dto);
+
+        // Then
+        assertThat(shortBills).hasSize(1);
+        assertThat(shortBills.get(0).getAmountOwed()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should read the balance and amount owed of a short bill from its stored totals")
+    void shouldReadStoredTotalsOfShortBill() {
+        // Given
+        final var dto = GetBillPaginationDTOFixture.getDefault();
+        final ShortBill shortBill = mockShortBill(InvitationStatusEnum.ACCEPTED);
+        when(shortBill.getBalance()).thenReturn(new BigDecimal("12.34"));
+        when(shortBill.getAccountSubTotal()).thenReturn(new BigDecimal("5.00"));
+        when(shortBill.getTotalOwed()).thenReturn(new BigDecimal("6.00"));
+        when(shortBill.getAmountPaid()).thenReturn(new BigDecimal("1.00"));
+        when(calculatePaymentService.calculateAmountRemaining(new BigDecimal("6.00"), new BigDecimal("1.00"))).thenReturn(new BigDecimal("5.00"));
+        when(billService.getShortBillsByAccountPageable(dto)).thenReturn(List.of(shortBill));
+
+        // When
+        final var shortBills = billFacade.getShortBillsByEmailPageable(dto);
+
+        // Then
+        assertThat(shortBills).hasSize(1);
+        assertThat(shortBills.get(0).getBalance()).isEqualByComparingTo(new BigDecimal("12.34"));
+        assertThat(shortBills.get(0).getAmountOwed()).isEqualByComparingTo(new BigDecimal("5.00"));
+        verify(billService).getBillCosts(List.of(), SHORT_BILL_ACCOUNT_ID);
+    }
+
+    private ShortBill mockShortBill(final InvitationStatusEnum invitationStatus) {
+        final ShortBill shortBill = mock(ShortBill.class);
+        when(shortBill.getId()).thenReturn(SHORT_BILL_ID);
+        when(shortBill.getAccountId()).thenReturn(SHORT_BILL_ACCOUNT_ID);
+        when(shortBill.getInvitationStatus()).thenReturn(invitationStatus);
+        return shortBill;
+    }
+
+    private void mockBillCosts(final GetBillPaginationDTO dto, final ShortBill shortBill) {
+        final BillCost billCost = mock(BillCost.class);
+        when(billCost.getBillId()).thenReturn(SHORT_BILL_ID);
+        when(billCost.getSubTotal()).thenReturn(BigDecimal.TEN);
+        when(billCost.getAccountCost()).thenReturn(new BigDecimal("5.0000000"));
+        when(billService.getShortBillsByAccountPageable(dto)).thenReturn(List.of(shortBill));
+        when(billService.getBillCosts(List.of(SHORT_BILL_ID), SHORT_BILL_ACCOUNT_ID)).thenReturn(List.of(billCost));
+        when(billService.getTaxes(List.of(SHORT_BILL_ID))).thenReturn(List.of());
     }
 
     @Test
@@ -290,6 +400,12 @@ class BillFacadeImplTest {
 
         assertThat(returnBillSplitDTO.getInformationPerAccount().get(0).getSubTotal())
                 .isEqualTo(item.getCost().multiply(accountPercentageSplit.divide(PERCENTAGE_DIVISOR).setScale(CalculatePaymentService.DOLLAR_SCALE, RoundingMode.HALF_UP)));
+        final var eventCaptor = ArgumentCaptor.forClass(BillEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertThat(eventCaptor.getValue().getType()).isEqualTo(BillEventTypeEnum.BILL_UPDATED);
+        assertThat(eventCaptor.getValue().getBill()).isSameAs(bill);
+        assertThat(eventCaptor.getValue().getEmails()).containsExactlyInAnyOrderElementsOf(
+                bill.getAccounts().stream().map(accountBill -> accountBill.getAccount().getEmail()).collect(Collectors.toList()));
     }
 
     @Test
@@ -520,6 +636,43 @@ class BillFacadeImplTest {
         verifyBillSplitDTOToBill(billSplitDTO, bill);
     }
 
+    @Test
+    @DisplayName("Should write the BillSplitDTO of every exported bill as it is streamed")
+    void shouldWriteBillSplitDTOOfEveryExportedBill() {
+        //Given
+        final var paginationDTO = GetBillPaginationDTOFixture.getDefault();
+        final var bill = BillEntityFixture.getMappedBillSplitDTOFixture();
+        bill.getTaxes().clear();
+        final var accountPercentageSplit = BigDecimal.valueOf(50);
+        doAnswer(i -> {
+            final Consumer<Bill> action = i.getArgument(1);
+            action.accept(bill);
+            action.accept(bill);
+            return null;
+        }).when(billService).forEachBillByAccount(any(), any());
+        when(billMapper.toBillSplitDTO(any())).thenAnswer(i -> BillSplitDTOFixture.getDefault());
+        when(itemMapper.toItemPercentageSplitDTO(any(Item.class))).thenAnswer(
+                i -> {
+                    final Item itemInput = (Item) i.getArguments()[0];
+                    final ItemPercentageSplitDTO itemDTO = new ItemPercentageSplitDTO();
+                    itemDTO.setItemId(itemInput.getId());
+                    itemDTO.setName(itemInput.getName());
+                    itemDTO.setCost(itemInput.getCost());
+                    itemDTO.setPercentage(accountPercentageSplit);
+                    return itemDTO;
+                }
+        );
+        final List<BillSplitDTO> written = new ArrayList<>();
+
+        //When
+        billFacade.exportBillsByEmail(paginationDTO, written::add);
+
+        //Then
+        verify(billService).forEachBillByAccount(eq(paginationDTO), any());
+        assertThat(written).hasSize(2);
+        written.forEach(billSplitDTO -> verifyBillSplitDTOToBill(billSplitDTO, bill));
+    }
+
     private void verifyBillSplitDTOToBill(BillSplitDTO billSplitDTO, Bill bill) {
         final Account billCreatorAccount = bill.getAccounts().stream().map(AccountBill::getAccount)
                 .filter(acc -> acc.equals(bill.getCreator()))
@@ -540,4 +693,23 @@ class BillFacadeImplTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Should not invite a group the user is not a member of")
+    void shouldNotInviteGroupOfOtherUsers() {
+        //Given
+        final var bill = BillEntityFixture.getDefault();
+        final var group = new Group();
+        when(billService.getBill(any())).thenReturn(bill);
+        when(groupService.getGroup(any())).thenReturn(group);
+        doThrow(new AccessForbiddenException(ErrorMessageEnum.ACCOUNT_IS_NOT_IN_GROUP.getMessage()))
+                .when(groupService).verifyRole(group, "test@email.com", GroupRoleEnum.MEMBER);
+
+        //When/Then
+        assertThatExceptionOfType(AccessForbiddenException.class)
+                .isThrownBy(() -> billFacade.inviteGroupToBill(1000L, 1L, "test@email.com"))
+                .withMessage(ErrorMessageEnum.ACCOUNT_IS_NOT_IN_GROUP.getMessage());
+        verify(billService, never()).inviteRegisteredToBill(any(), any());
+        verify(groupService, never()).linkBill(any(), any());
+    }
+
+}
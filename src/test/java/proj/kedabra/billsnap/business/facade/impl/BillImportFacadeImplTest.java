@@ -0,0 +1,150 @@
+package proj.kedabra.billsnap.business.facade.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import proj.kedabra.billsnap.business.dto.BillDTO;
+import proj.kedabra.billsnap.business.dto.BillImportDTO;
+import proj.kedabra.billsnap.business.dto.BillImportErrorDTO;
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.service.AccountService;
+import proj.kedabra.billsnap.business.service.BillService;
+import proj.kedabra.billsnap.fixtures.AccountEntityFixture;
+import proj.kedabra.billsnap.fixtures.BillEntityFixture;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
+
+@ExtendWith(MockitoExtension.class)
+class BillImportFacadeImplTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    private static final String CREATOR_EMAIL = "creator@email.com";
+
+    private static final String INVITEE_EMAIL = "invitee@email.com";
+
+    private BillImportFacadeImpl billImportFacade;
+
+    @Mock
+    private AccountService accountService;
+
+    @Mock
+    private BillService billService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private Account invitee;
+
+    @BeforeEach
+    void setup() {
+        billImportFacade = new BillImportFacadeImpl(accountService, billService, transactionManager, BATCH_SIZE);
+        invitee = AccountEntityFixture.getDefaultAccount();
+        invitee.setEmail(INVITEE_EMAIL);
+        when(accountService.getAccount(CREATOR_EMAIL)).thenReturn(AccountEntityFixture.getDefaultAccount());
+        when(accountService.getAccountsByEmail(any())).thenAnswer(invocation -> invocation.<Collection<String>>getArgument(0).contains(INVITEE_EMAIL)
+                ? Map.of(INVITEE_EMAIL, invitee) : Map.of());
+        when(billService.createBillToAccount(any(), any(), anyList())).thenReturn(BillEntityFixture.getDefault());
+    }
+
+    @Test
+    @DisplayName("Should create the bills in batches with one account lookup per batch")
+    void shouldCreateBillsInBatches() {
+        //Given
+        final List<BillImportDTO> bills = LongStream.rangeClosed(1, 5).mapToObj(row -> billImport(row, INVITEE_EMAIL)).collect(Collectors.toList());
+
+        //When
+        final var report = billImportFacade.importBills(CREATOR_EMAIL, bills.iterator());
+
+        //Then
+        assertThat(report.getImported()).isEqualTo(5);
+        assertThat(report.getErrors()).isEmpty();
+        assertThat(report.getParticipantEmails()).containsExactlyInAnyOrder(CREATOR_EMAIL, INVITEE_EMAIL);
+        verify(accountService, times(3)).getAccountsByEmail(any());
+        verify(transactionManager, times(3)).commit(any());
+        verify(billService, times(5)).createBillToAccount(any(), any(), argThat(accounts -> accounts.equals(List.of(invitee))));
+    }
+
+    @Test
+    @DisplayName("Should report the bills that cannot be created and import the others")
+    void shouldReportInvalidBills() {
+        //Given
+        final var unknownInvitee = billImport(1, "unknown@email.com");
+        final var creatorInvited = billImport(2, CREATOR_EMAIL);
+        final var twoTips = billImport(3);
+        twoTips.getBill().setTipPercent(BigDecimal.TEN);
+        final var valid = billImport(4);
+
+        //When
+        final var report = billImportFacade.importBills(CREATOR_EMAIL, List.of(unknownInvitee, creatorInvited, twoTips, valid).iterator());
+
+        //Then
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).containsExactly(
+                new BillImportErrorDTO(1, ErrorMessageEnum.LIST_ACCOUNT_DOES_NOT_EXIST.getMessage(List.of("unknown@email.com").toString())),
+                new BillImportErrorDTO(2, ErrorMessageEnum.LIST_CANNOT_CONTAIN_BILL_CREATOR.getMessage()),
+                new BillImportErrorDTO(3, ErrorMessageEnum.MULTIPLE_TIP_METHOD.getMessage()));
+        verify(billService, times(1)).createBillToAccount(any(), any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should not look up an email again once it is known not to exist")
+    void shouldCacheUnknownEmails() {
+        //Given
+        final var bills = List.of(billImport(1, "unknown@email.com"), billImport(2), billImport(3, "unknown@email.com"));
+
+        //When
+        final var report = billImportFacade.importBills(CREATOR_EMAIL, bills.iterator());
+
+        //Then
+        assertThat(report.getErrors()).extracting(BillImportErrorDTO::getRow).containsExactly(1L, 3L);
+        verify(accountService, times(1)).getAccountsByEmail(argThat(emails -> emails.contains("unknown@email.com")));
+    }
+
+    @Test
+    @DisplayName("Should create the bills of a failed batch one by one to report the one at fault")
+    void shouldIsolateBillFailingItsBatch() {
+        //Given
+        final var failing = billImport(1);
+        failing.getBill().setName("failing");
+        final var valid = billImport(2);
+        when(billService.createBillToAccount(argThat(bill -> bill != null && "failing".equals(bill.getName())), any(), anyList()))
+                .thenThrow(new DataIntegrityViolationException("batch failed", new IllegalStateException("name too long")));
+
+        //When
+        final var report = billImportFacade.importBills(CREATOR_EMAIL, List.of(failing, valid).iterator());
+
+        //Then
+        assertThat(report.getImported()).isEqualTo(1);
+        assertThat(report.getErrors()).containsExactly(new BillImportErrorDTO(1, "name too long"));
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    private static BillImportDTO billImport(final long row, final String... invitees) {
+        final var bill = new BillDTO();
+        bill.setName("imported" + row);
+        bill.setTipAmount(BigDecimal.ONE);
+        bill.setAccountsList(List.of(invitees));
+        return new BillImportDTO(row, bill);
+    }
+}
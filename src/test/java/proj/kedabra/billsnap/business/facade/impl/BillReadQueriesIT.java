@@ -0,0 +1,100 @@
+package proj.kedabra.billsnap.business.facade.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import proj.kedabra.billsnap.business.facade.BillFacade;
+import proj.kedabra.billsnap.fixtures.GetBillPaginationDTOFixture;
+import proj.kedabra.billsnap.presentation.resources.OrderByEnum;
+import proj.kedabra.billsnap.presentation.resources.SortByEnum;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+/**
+ * Pins the number of statements each bill read issues, so that a new eager association or a missing batch shows up
+ * as a failure instead of as an N+1 in production.
+ */
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@Transactional
+class BillReadQueriesIT {
+
+    @Autowired
+    private BillFacade billFacade;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Should load a detailed bill with its items and splits in one query, then taxes and participants")
+    void shouldBoundQueriesOfDetailedBill() {
+        // When
+        final var billSplit = billFacade.getDetailedBill(1102L);
+
+        // Then
+        assertThat(billSplit.getItems()).isNotEmpty();
+        // bill with items and splits, then taxes, participants and one or two batches of accounts
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("Should load a page of bills in the same number of queries whatever the page size")
+    void shouldBoundQueriesOfBillPage() {
+        // Given
+        final var dto = GetBillPaginationDTOFixture.getCustom(null, OrderByEnum.DESC, List.of(SortByEnum.CREATED), 0, 10);
+
+        // When
+        final var bills = billFacade.getAllBillsByEmailPageable(dto);
+
+        // Then
+        assertThat(bills).hasSizeGreaterThan(1);
+        // page with responsibles, then one batch each for items, item splits, taxes, participants and their accounts
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Should load a page of short bills from sums without loading items, splits or participants")
+    void shouldBoundQueriesOfShortBillPage() {
+        // Given
+        final var dto = GetBillPaginationDTOFixture.getCustom(null, OrderByEnum.DESC, List.of(SortByEnum.CREATED), 0, 10);
+
+        // When
+        final var shortBills = billFacade.getShortBillsByEmailPageable(dto);
+
+        // Then
+        assertThat(shortBills).hasSizeGreaterThan(1);
+        // page with responsibles, sums of costs and taxes, then locations of the responsibles
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(3);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+}
@@ -0,0 +1,200 @@
+package proj.kedabra.billsnap.business.facade.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import proj.kedabra.billsnap.business.dto.BillSplitDTO;
+import proj.kedabra.billsnap.business.dto.GroupBalanceDTO;
+import proj.kedabra.billsnap.business.dto.GroupCompleteDTO;
+import proj.kedabra.billsnap.business.dto.GroupDTO;
+import proj.kedabra.billsnap.business.dto.GroupMemberDTO;
+import proj.kedabra.billsnap.business.exception.AccessForbiddenException;
+import proj.kedabra.billsnap.business.exception.ResourceNotFoundException;
+import proj.kedabra.billsnap.business.facade.BillFacade;
+import proj.kedabra.billsnap.business.facade.GroupFacade;
+import proj.kedabra.billsnap.business.repository.AccountRepository;
+import proj.kedabra.billsnap.business.repository.BillRepository;
+import proj.kedabra.billsnap.business.utils.enums.GroupRoleEnum;
+import proj.kedabra.billsnap.fixtures.AccountEntityFixture;
+import proj.kedabra.billsnap.fixtures.BillDTOFixture;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+@Transactional
+class GroupFacadeImplIT {
+
+    private static final String ADMIN_EMAIL = "test@email.com";
+
+    private static final String MEMBER_EMAIL = "nobills@inthisemail.com";
+
+    private static final int LARGE_GROUP = 50;
+
+    //well below the members invited, so that a statement per member fails the test
+    private static final long MAX_INVITE_STATEMENTS = 30;
+
+    @Autowired
+    private GroupFacade groupFacade;
+
+    @Autowired
+    private BillFacade billFacade;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("Should create a group with its creator as admin")
+    void shouldCreateGroup() {
+        //When
+        final GroupCompleteDTO group = groupFacade.createGroup(ADMIN_EMAIL, groupDTO("roommates", List.of(MEMBER_EMAIL, ADMIN_EMAIL)));
+        entityManager.flush();
+        entityManager.clear();
+
+        //Then
+        final GroupCompleteDTO found = groupFacade.getGroup(group.getId(), MEMBER_EMAIL);
+        assertThat(found.getName()).isEqualTo("roommates");
+        assertThat(found.getMembers()).extracting(GroupMemberDTO::getEmail, GroupMemberDTO::getRole)
+                .containsExactlyInAnyOrder(tuple(ADMIN_EMAIL, GroupRoleEnum.ADMIN),
+                        tuple(MEMBER_EMAIL, GroupRoleEnum.MEMBER));
+        assertThat(groupFacade.getGroups(MEMBER_EMAIL)).extracting(GroupCompleteDTO::getId).containsExactly(group.getId());
+    }
+
+    @Test
+    @DisplayName("Should only let the admins edit a group, and keep them whatever the members")
+    void shouldEditGroupAsAdmin() {
+        //Given
+        final Long groupId = groupFacade.createGroup(ADMIN_EMAIL, groupDTO("roommates", List.of(MEMBER_EMAIL))).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        //When/Then
+        assertThatThrownBy(() -> groupFacade.editGroup(groupId, MEMBER_EMAIL, groupDTO("mine", List.of())))
+                .isInstanceOf(AccessForbiddenException.class)
+                .hasMessage(ErrorMessageEnum.USER_IS_NOT_GROUP_ADMIN.getMessage());
+
+        final GroupCompleteDTO edited = groupFacade.editGroup(groupId, ADMIN_EMAIL, groupDTO("flatmates", List.of("user@user.com")));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(edited.getName()).isEqualTo("flatmates");
+        assertThat(groupFacade.getGroup(groupId, ADMIN_EMAIL).getMembers()).extracting(GroupMemberDTO::getEmail)
+                .containsExactlyInAnyOrder(ADMIN_EMAIL, "user@user.com");
+        assertThatThrownBy(() -> groupFacade.getGroup(groupId, MEMBER_EMAIL))
+                .isInstanceOf(AccessForbiddenException.class)
+                .hasMessage(ErrorMessageEnum.ACCOUNT_IS_NOT_IN_GROUP.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should invite every member of a large group not in the bill with batched inserts")
+    void shouldInviteLargeGroupInBatches() {
+        //Given
+        final List<String> memberEmails = IntStream.range(0, LARGE_GROUP).mapToObj(i -> {
+            final var member = AccountEntityFixture.getDefaultAccount();
+            member.setId(null);
+            member.setEmail("groupmember" + i + "@test.com");
+            return accountRepository.save(member).getEmail();
+        }).collect(Collectors.toList());
+        final Long groupId = groupFacade.createGroup(ADMIN_EMAIL, groupDTO("team", memberEmails)).getId();
+        final var billDTO = BillDTOFixture.getDefault();
+        billDTO.getAccountsList().add(memberEmails.get(0));
+        final Long billId = billFacade.addPersonalBill(ADMIN_EMAIL, billDTO).getId();
+        entityManager.flush();
+        entityManager.clear();
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        //When
+        final BillSplitDTO bill = billFacade.inviteGroupToBill(billId, groupId, ADMIN_EMAIL);
+        entityManager.flush();
+
+        //Then
+        // account bills + notifications + outbox mails of the members not already invited
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(3L * (LARGE_GROUP - 1));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_INVITE_STATEMENTS);
+        assertThat(bill.getInformationPerAccount()).hasSize(LARGE_GROUP + 1);
+        entityManager.clear();
+        assertThat(billFacade.inviteGroupToBill(billId, groupId, ADMIN_EMAIL).getInformationPerAccount()).hasSize(LARGE_GROUP + 1);
+    }
+
+    @Test
+    @DisplayName("Should sum the amounts owed by each member on the bills of the group")
+    void shouldGetGroupBalances() {
+        //Given
+        final Long groupId = groupFacade.createGroup(ADMIN_EMAIL, groupDTO("roommates", List.of(MEMBER_EMAIL))).getId();
+        final Long billId = billFacade.addPersonalBill(ADMIN_EMAIL, BillDTOFixture.getDefault()).getId();
+        billFacade.inviteGroupToBill(billId, groupId, ADMIN_EMAIL);
+        entityManager.flush();
+        entityManager.clear();
+
+        //When
+        final List<GroupBalanceDTO> balances = groupFacade.getGroupBalances(groupId, MEMBER_EMAIL);
+
+        //Then
+        assertThat(balances).extracting(GroupBalanceDTO::getEmail).containsExactly(MEMBER_EMAIL, ADMIN_EMAIL);
+        assertThat(balances).extracting(GroupBalanceDTO::getBills).containsExactly(1L, 1L);
+        assertThat(balances.get(0).getTotalOwed()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(balances.get(1).getTotalOwed()).isEqualByComparingTo("330");
+        assertThat(balances.get(1).getAmountRemaining()).isEqualByComparingTo("330");
+    }
+
+    @Test
+    @DisplayName("Should delete a group and keep its bills")
+    void shouldDeleteGroupAndKeepBills() {
+        //Given
+        final Long groupId = groupFacade.createGroup(ADMIN_EMAIL, groupDTO("roommates", List.of(MEMBER_EMAIL))).getId();
+        final Long billId = billFacade.addPersonalBill(ADMIN_EMAIL, BillDTOFixture.getDefault()).getId();
+        billFacade.inviteGroupToBill(billId, groupId, ADMIN_EMAIL);
+        entityManager.flush();
+        entityManager.clear();
+
+        //When
+        groupFacade.deleteGroup(groupId, ADMIN_EMAIL);
+        entityManager.flush();
+        entityManager.clear();
+
+        //Then
+        assertThatThrownBy(() -> groupFacade.getGroup(groupId, ADMIN_EMAIL))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage(ErrorMessageEnum.GROUP_ID_DOES_NOT_EXIST.getMessage(groupId.toString()));
+        assertThat(billRepository.findById(billId)).isPresent();
+    }
+
+    private static GroupDTO groupDTO(final String name, final List<String> accounts) {
+        final var groupDTO = new GroupDTO();
+        groupDTO.setName(name);
+        groupDTO.setAccounts(accounts);
+        return groupDTO;
+    }
+}
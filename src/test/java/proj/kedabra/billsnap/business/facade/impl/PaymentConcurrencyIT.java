@@ -0,0 +1,139 @@
+package proj.kedabra.billsnap.business.facade.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import proj.kedabra.billsnap.business.facade.PaymentFacade;
+import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.PaymentStatusEnum;
+import proj.kedabra.billsnap.fixtures.PaymentInformationDTOFixture;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+/**
+ * Hammers one bill with payments from several threads, each payment in its own transaction. Every participant's
+ * payments must all be counted and the bill resolved exactly when the last of them settles. Not transactional: the
+ * seeded rows are committed so that the threads see them, and deleted afterwards.
+ */
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest
+@AutoConfigureTestDatabase
+class PaymentConcurrencyIT {
+
+    private static final long BILL_ID = 800_000L;
+
+    private static final long RESPONSIBLE_ID = 800_000L;
+
+    private static final int PAYERS = 4;
+
+    private static final int PAYMENTS_PER_PAYER = 10;
+
+    private static final BigDecimal ITEM_COST = new BigDecimal("100.00");
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private PaymentFacade paymentFacade;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        final List<Object[]> accounts = new ArrayList<>();
+        final List<Object[]> accountBills = new ArrayList<>();
+        final List<Object[]> items = new ArrayList<>();
+        final List<Object[]> accountItems = new ArrayList<>();
+        for (int i = 0; i <= PAYERS; i++) {
+            final long accountId = RESPONSIBLE_ID + i;
+            accounts.add(new Object[]{accountId, email(i)});
+            accountBills.add(new Object[]{BILL_ID, accountId});
+            if (i > 0) {
+                items.add(new Object[]{accountId, BILL_ID, ITEM_COST});
+                accountItems.add(new Object[]{accountId, accountId});
+            }
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO account (id, email, password, first_name, last_name, status) VALUES (?, ?, 'notEncrypted', 'first', 'last', 'REGISTERED')", accounts);
+        jdbcTemplate.update("INSERT INTO bill (id, name, responsible, creator, status, tip_amount, split_by, active) VALUES (?, 'contended', ?, ?, 'OPEN', 0, 'ITEM', true)",
+                BILL_ID, RESPONSIBLE_ID, RESPONSIBLE_ID);
+        jdbcTemplate.batchUpdate("INSERT INTO bills_vs_accounts (bill_id, account_id, status) VALUES (?, ?, 'ACCEPTED')", accountBills);
+        jdbcTemplate.batchUpdate("INSERT INTO item (id, bill_id, name, cost) VALUES (?, ?, 'item', ?)", items);
+        jdbcTemplate.batchUpdate("INSERT INTO items_vs_accounts (item_id, account_id, percentage) VALUES (?, ?, 100)", accountItems);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM items_vs_accounts WHERE account_id BETWEEN ? AND ?", RESPONSIBLE_ID, RESPONSIBLE_ID + PAYERS);
+        jdbcTemplate.update("DELETE FROM item WHERE bill_id = ?", BILL_ID);
+        jdbcTemplate.update("DELETE FROM bills_vs_accounts WHERE bill_id = ?", BILL_ID);
+        jdbcTemplate.update("DELETE FROM bill WHERE id = ?", BILL_ID);
+        jdbcTemplate.update("DELETE FROM account WHERE id BETWEEN ? AND ?", RESPONSIBLE_ID, RESPONSIBLE_ID + PAYERS);
+    }
+
+    @Test
+    @DisplayName("Should count every concurrent payment and resolve the bill once all participants have paid")
+    void shouldCountEveryConcurrentPayment() throws Exception {
+        // Given
+        final var executor = Executors.newFixedThreadPool(THREADS);
+        final var start = new CountDownLatch(1);
+        final List<Future<BigDecimal>> payments = new ArrayList<>();
+
+        // When
+        try {
+            for (int p = 0; p < PAYMENTS_PER_PAYER; p++) {
+                for (int i = 1; i <= PAYERS; i++) {
+                    final var paymentInfo = PaymentInformationDTOFixture.getDefaultWithBillAndEmail(BILL_ID, email(i));
+                    payments.add(executor.submit(() -> {
+                        start.await();
+                        return paymentFacade.payBill(paymentInfo);
+                    }));
+                }
+            }
+            start.countDown();
+            for (final Future<BigDecimal> payment : payments) {
+                assertThat(payment.get(1, TimeUnit.MINUTES)).isNotNegative();
+            }
+        } finally {
+            shutdown(executor);
+        }
+
+        // Then
+        for (int i = 1; i <= PAYERS; i++) {
+            final var accountBill = jdbcTemplate.queryForMap("SELECT amount_paid, payment_status FROM bills_vs_accounts WHERE bill_id = ? AND account_id = ?",
+                    BILL_ID, RESPONSIBLE_ID + i);
+            assertThat((BigDecimal) accountBill.get("amount_paid")).isEqualByComparingTo(ITEM_COST);
+            assertThat(String.valueOf(accountBill.get("payment_status"))).isEqualTo(PaymentStatusEnum.PAID.name());
+        }
+        final String billStatus = jdbcTemplate.queryForObject("SELECT status FROM bill WHERE id = ?", String.class, BILL_ID);
+        assertThat(billStatus).isEqualTo(BillStatusEnum.RESOLVED.name());
+    }
+
+    private static void shutdown(final ExecutorService executor) throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+    }
+
+    private static String email(final int i) {
+        return "concurrent" + i + "@payment.com";
+    }
+}
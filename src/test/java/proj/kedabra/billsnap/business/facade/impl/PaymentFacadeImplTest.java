@@ -1,6 +1,10 @@
 package proj.kedabra.billsnap.business.facade.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
@@ -12,15 +16,22 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import proj.kedabra.billsnap.business.dto.PaymentOwedDTO;
+import proj.kedabra.billsnap.business.model.entities.AccountBill;
 import proj.kedabra.billsnap.business.service.AccountService;
 import proj.kedabra.billsnap.business.service.PaymentService;
 import proj.kedabra.billsnap.business.service.impl.BillServiceImpl;
 import proj.kedabra.billsnap.fixtures.AccountEntityFixture;
+import proj.kedabra.billsnap.fixtures.BillEntityFixture;
+import proj.kedabra.billsnap.fixtures.PaymentInformationDTOFixture;
 
 public class PaymentFacadeImplTest {
 
+    private static final int MAX_ATTEMPTS = 3;
+
     private PaymentFacadeImpl paymentFacadeImpl;
 
     @Mock
@@ -32,10 +43,13 @@ public class PaymentFacadeImplTest {
     @Mock
     private PaymentService paymentService;
 
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @BeforeEach
     void setup() {
         MockitoAnnotations.initMocks(this);
-        paymentFacadeImpl = new PaymentFacadeImpl(accountService, billService, paymentService);
+        paymentFacadeImpl = new PaymentFacadeImpl(accountService, billService, paymentService, transactionManager, MAX_ATTEMPTS, 0);
     }
 
     @Test
@@ -78,4 +92,43 @@ public class PaymentFacadeImplTest {
         assertThat(listPaymentOwed.get(0).getAmount()).isEqualTo(BigDecimal.valueOf(69));
     }
 
+    @Test
+    @DisplayName("Should retry a payment that lost an optimistic lock to a concurrent one")
+    void shouldRetryPaymentOnOptimisticLockingFailure() {
+        //Given
+        final var account = AccountEntityFixture.getDefaultAccount();
+        final var bill = BillEntityFixture.getDefault();
+        final var paymentInfo = PaymentInformationDTOFixture.getDefaultWithBillAndEmail(bill.getId(), account.getEmail());
+        when(accountService.getAccount(account.getEmail())).thenReturn(account);
+        when(billService.getBill(bill.getId())).thenReturn(bill);
+        when(paymentService.payBill(account, bill, paymentInfo.getAmount()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(AccountBill.class, bill.getId()))
+                .thenReturn(BigDecimal.ONE);
+
+        //When
+        final var remainingBalance = paymentFacadeImpl.payBill(paymentInfo);
+
+        //Then
+        assertThat(remainingBalance).isEqualTo(BigDecimal.ONE);
+        verify(paymentService, times(2)).payBill(account, bill, paymentInfo.getAmount());
+        verify(transactionManager, times(2)).getTransaction(any());
+    }
+
+    @Test
+    @DisplayName("Should give up on a payment losing every attempt to concurrent ones")
+    void shouldThrowAfterMaxAttemptsOfOptimisticLockingFailures() {
+        //Given
+        final var account = AccountEntityFixture.getDefaultAccount();
+        final var bill = BillEntityFixture.getDefault();
+        final var paymentInfo = PaymentInformationDTOFixture.getDefaultWithBillAndEmail(bill.getId(), account.getEmail());
+        when(accountService.getAccount(account.getEmail())).thenReturn(account);
+        when(billService.getBill(bill.getId())).thenReturn(bill);
+        when(paymentService.payBill(account, bill, paymentInfo.getAmount()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(AccountBill.class, bill.getId()));
+
+        //When/Then
+        assertThatExceptionOfType(ObjectOptimisticLockingFailureException.class).isThrownBy(() -> paymentFacadeImpl.payBill(paymentInfo));
+        verify(paymentService, times(MAX_ATTEMPTS)).payBill(account, bill, paymentInfo.getAmount());
+    }
+
 }
@@ -0,0 +1,157 @@
+package proj.kedabra.billsnap.business.facade.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import proj.kedabra.billsnap.business.dto.BillSplitDTO;
+import proj.kedabra.billsnap.business.dto.GetBillPaginationDTO;
+import proj.kedabra.billsnap.business.dto.ShortBillDTO;
+import proj.kedabra.billsnap.business.facade.BillFacade;
+import proj.kedabra.billsnap.business.mapper.BillMapper;
+import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+/**
+ * Seeds bills with uneven splits, compounded taxes, both kinds of tip and partial payments, then checks that the short
+ * bills computed from database sums match what the full bill split computes for every participant.
+ */
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Transactional
+class ShortBillParityIT {
+
+    private static final long FIRST_ID = 600_000L;
+
+    private static final int ACCOUNTS = 3;
+
+    private static final int BILLS = 6;
+
+    private static final String[] ITEM_COSTS = {"19.99", "7.33", "123.47"};
+
+    @Autowired
+    private BillFacade billFacade;
+
+    @Autowired
+    private BillMapper billMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        final List<Object[]> accounts = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            accounts.add(new Object[]{FIRST_ID + i, email(i)});
+        }
+
+        final List<Object[]> bills = new ArrayList<>();
+        final List<Object[]> taxes = new ArrayList<>();
+        final List<Object[]> accountBills = new ArrayList<>();
+        final List<Object[]> items = new ArrayList<>();
+        final List<Object[]> accountItems = new ArrayList<>();
+        for (int b = 0; b < BILLS; b++) {
+            final long billId = FIRST_ID + b;
+            final boolean tipByPercent = b % 2 == 0;
+            bills.add(new Object[]{billId, "parity " + b, FIRST_ID, FIRST_ID, Timestamp.valueOf(LocalDateTime.of(2020, 1, 1, 12, 0).plusDays(b)),
+                    tipByPercent ? new BigDecimal("15.5") : null, tipByPercent ? null : new BigDecimal("7.35")});
+
+            for (int t = 0; t < b % 3; t++) {
+                taxes.add(new Object[]{billId * 10 + t, billId, t == 0 ? new BigDecimal("14.975") : new BigDecimal("5")});
+            }
+
+            accountBills.add(new Object[]{billId, FIRST_ID, "ACCEPTED", new BigDecimal(b)});
+            accountBills.add(new Object[]{billId, FIRST_ID + 1, b % 2 == 0 ? "ACCEPTED" : "PENDING", null});
+            accountBills.add(new Object[]{billId, FIRST_ID + 2, b % 3 == 0 ? "DECLINED" : "ACCEPTED", new BigDecimal("1.50")});
+
+            // the last bill has no items at all
+            if (b == BILLS - 1) {
+                continue;
+            }
+            final long firstItemId = billId * 10;
+            for (int i = 0; i < ITEM_COSTS.length; i++) {
+                items.add(new Object[]{firstItemId + i, billId, new BigDecimal(ITEM_COSTS[i]).add(new BigDecimal(b))});
+            }
+            accountItems.add(new Object[]{firstItemId, FIRST_ID, new BigDecimal("33.3333")});
+            accountItems.add(new Object[]{firstItemId, FIRST_ID + 1, new BigDecimal("33.3333")});
+            accountItems.add(new Object[]{firstItemId, FIRST_ID + 2, new BigDecimal("33.3334")});
+            accountItems.add(new Object[]{firstItemId + 1, FIRST_ID, new BigDecimal("100")});
+            accountItems.add(new Object[]{firstItemId + 2, FIRST_ID + 1, new BigDecimal("50")});
+            accountItems.add(new Object[]{firstItemId + 2, FIRST_ID + 2, new BigDecimal("50")});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO account (id, email, password, first_name, last_name, status) VALUES (?, ?, 'notEncrypted', 'first', 'last', 'REGISTERED')", accounts);
+        jdbcTemplate.batchUpdate("INSERT INTO bill (id, name, responsible, creator, status, created, tip_percent, tip_amount, split_by, active) " +
+                "VALUES (?, ?, ?, ?, 'OPEN', ?, ?, ?, 'ITEM', true)", bills);
+        jdbcTemplate.batchUpdate("INSERT INTO tax (id, bill_id, name, percentage) VALUES (?, ?, 'tax', ?)", taxes);
+        jdbcTemplate.batchUpdate("INSERT INTO bills_vs_accounts (bill_id, account_id, status, amount_paid) VALUES (?, ?, ?, ?)", accountBills);
+        jdbcTemplate.batchUpdate("INSERT INTO item (id, bill_id, name, cost) VALUES (?, ?, 'item', ?)", items);
+        jdbcTemplate.batchUpdate("INSERT INTO items_vs_accounts (item_id, account_id, percentage) VALUES (?, ?, ?)", accountItems);
+    }
+
+    @ParameterizedTest
+    @EnumSource(InvitationStatusEnum.class)
+    @DisplayName("Should compute the same balance and amount owed for short bills as for full bill splits")
+    void shouldComputeShortBillsLikeBillSplits(final InvitationStatusEnum invitationStatus) {
+        for (int i = 0; i < ACCOUNTS; i++) {
+            // Given
+            final var dto = paginationOf(email(i), invitationStatus);
+
+            // When
+            final Map<Long, ShortBillDTO> shortBills = billFacade.getShortBillsByEmailPageable(dto).stream()
+                    .collect(Collectors.toMap(ShortBillDTO::getId, Function.identity()));
+            final List<BillSplitDTO> billSplits = billFacade.getAllBillsByEmailPageable(dto);
+
+            // Then
+            assertThat(shortBills).hasSameSizeAs(billSplits);
+            for (final BillSplitDTO billSplit : billSplits) {
+                final ShortBillDTO shortBill = shortBills.get(billSplit.getId());
+                assertThat(shortBill).isNotNull();
+                assertThat(shortBill.getName()).isEqualTo(billSplit.getName());
+                assertThat(shortBill.getResponsible().getEmail()).isEqualTo(billSplit.getResponsible().getEmail());
+                assertThat(shortBill.getBalance()).isEqualByComparingTo(billSplit.getBalance());
+                assertThat(shortBill.getAmountOwed()).isEqualByComparingTo(billMapper.getAmountOwedByEmail(billSplit, email(i)));
+            }
+        }
+    }
+
+    private static GetBillPaginationDTO paginationOf(final String email, final InvitationStatusEnum invitationStatus) {
+        final var dto = new GetBillPaginationDTO();
+        dto.setEmail(email);
+        dto.setStartDate(LocalDate.of(1970, 1, 1));
+        dto.setEndDate(LocalDate.of(9999, 12, 31));
+        dto.setStatuses(List.of(BillStatusEnum.values()));
+        dto.setInvitationStatus(invitationStatus);
+        dto.setPageable(PageRequest.of(0, 100, Sort.by(Sort.Direction.DESC, "created")));
+        return dto;
+    }
+
+    private static String email(final int index) {
+        return "parity" + index + "@shortbill.com";
+    }
+}
@@ -0,0 +1,151 @@
+package proj.kedabra.billsnap.business.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+/**
+ * Seeds enough rows for H2 to prefer indexes over scans, then asks H2 for the plan of the SQL Hibernate generated.
+ * A {@code tableScan} in the plan means a filter or join column of the query lost its index.
+ */
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=proj.kedabra.billsnap.business.repository.CapturingStatementInspector")
+@AutoConfigureTestDatabase
+@Transactional
+class QueryPlanIT {
+
+    private static final int SEEDED_ACCOUNTS = 2000;
+
+    private static final long FIRST_ID = 500_000L;
+
+    private static final String TABLE_SCAN = "tableScan";
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        final List<Object[]> accounts = new ArrayList<>();
+        final List<Object[]> bills = new ArrayList<>();
+        final List<Object[]> accountBills = new ArrayList<>();
+        final List<Object[]> items = new ArrayList<>();
+        final List<Object[]> accountItems = new ArrayList<>();
+        for (long i = 0; i < SEEDED_ACCOUNTS; i++) {
+            final long id = FIRST_ID + i;
+            final long nextAccountId = FIRST_ID + (i + 1) % SEEDED_ACCOUNTS;
+            accounts.add(new Object[]{id, email(i), "notEncrypted", "first", "last"});
+            bills.add(new Object[]{id, "bill " + i, id, id, i % 2 == 0 ? "OPEN" : "RESOLVED", "category" + i % 10});
+            accountBills.add(new Object[]{id, id, "ACCEPTED"});
+            accountBills.add(new Object[]{id, nextAccountId, i % 3 == 0 ? "PENDING" : "ACCEPTED"});
+            items.add(new Object[]{id * 2, id, BigDecimal.TEN});
+            items.add(new Object[]{id * 2 + 1, id, BigDecimal.ONE});
+            accountItems.add(new Object[]{id * 2, id});
+            accountItems.add(new Object[]{id * 2 + 1, nextAccountId});
+        }
+
+        jdbcTemplate.batchUpdate("INSERT INTO account (id, email, password, first_name, last_name, status) VALUES (?, ?, ?, ?, ?, 'REGISTERED')", accounts);
+        jdbcTemplate.batchUpdate("INSERT INTO bill (id, name, responsible, creator, status, category, tip_amount, split_by, active) " +
+                "VALUES (?, ?, ?, ?, ?, ?, 0, 'ITEM', true)", bills);
+        jdbcTemplate.batchUpdate("INSERT INTO bills_vs_accounts (bill_id, account_id, status) VALUES (?, ?, ?)", accountBills);
+        jdbcTemplate.batchUpdate("INSERT INTO item (id, bill_id, name, cost) VALUES (?, ?, 'item', ?)", items);
+        jdbcTemplate.batchUpdate("INSERT INTO items_vs_accounts (item_id, account_id, percentage) VALUES (?, ?, 100)", accountItems);
+
+        CapturingStatementInspector.clear();
+    }
+
+    @Test
+    @DisplayName("Should look up the paginated bills of an account through indexes only")
+    void shouldNotScanTablesForPaginatedBills() {
+        // Given
+        final var start = ZonedDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneId.systemDefault());
+        final var end = ZonedDateTime.now(ZoneId.systemDefault()).plusDays(1);
+        final var pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "created", "status"));
+
+        // When
+        try (final var bills = billRepository.findBillsPageable(start, end, "category2", List.of(BillStatusEnum.OPEN),
+                InvitationStatusEnum.ACCEPTED, email(2), pageable)) {
+            assertThat(bills.count()).isEqualTo(1);
+        }
+
+        // Then
+        assertThat(explain(lastStatementOn("bills_vs_accounts"))).doesNotContain(TABLE_SCAN);
+    }
+
+    @Test
+    @DisplayName("Should compute the amounts owed to an account through indexes only")
+    void shouldNotScanTablesForAmountsOwed() {
+        // Given
+        final var account = new Account();
+        account.setId(FIRST_ID + 2);
+
+        // When
+        try (final var amountsOwed = paymentRepository.getAllAmountOwedByStatusAndAccount(BillStatusEnum.OPEN, account)) {
+            assertThat(amountsOwed.count()).isEqualTo(1);
+        }
+
+        // Then
+        assertThat(explain(lastStatementOn("items_vs_accounts"))).doesNotContain(TABLE_SCAN);
+    }
+
+    private String lastStatementOn(final String table) {
+        final List<String> statements = CapturingStatementInspector.getStatements().stream()
+                .filter(sql -> sql.contains(table))
+                .collect(Collectors.toList());
+        assertThat(statements).isNotEmpty();
+        return statements.get(statements.size() - 1);
+    }
+
+    /**
+     * H2 builds the plan when the statement is prepared, so the parameters only need to be set, not meaningful.
+     */
+    private String explain(final String sql) {
+        final String plan = jdbcTemplate.execute("EXPLAIN " + sql, (final PreparedStatement statement) -> {
+            final int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+            try (final var resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+        assertThat(plan).isNotBlank();
+        return plan;
+    }
+
+    private static String email(final long index) {
+        return "seeded" + index + "@queryplan.com";
+    }
+}
@@ -0,0 +1,62 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import proj.kedabra.billsnap.business.service.BillAuthorityService;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Transactional
+class BillAuthorityServiceImplIT {
+
+    @Autowired
+    private BillAuthorityService billAuthorityService;
+
+    @Test
+    @DisplayName("Should resolve the same authorities as the account's bills")
+    void shouldResolveAuthoritiesOfAccountBills() {
+        //Given
+        final var email = "userdetails@service.com";
+
+        //When
+        final var authorities = billAuthorityService.getAuthorities(email);
+
+        //Then
+        assertThat(authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList()))
+                .containsExactlyInAnyOrder("1002", "1100", "1400", "RESPONSIBLE_1400");
+    }
+
+    @Test
+    @DisplayName("Should resolve no authorities for an account without bills")
+    void shouldResolveNoAuthoritiesForAccountWithoutBills() {
+        //When
+        final var authorities = billAuthorityService.getAuthorities("nobills@inthisemail.com");
+
+        //Then
+        assertThat(authorities).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should reject an account that does not exist")
+    void shouldRejectNonexistentAccount() {
+        //When/Then
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() -> billAuthorityService.getAuthorities("nonexistent@email.com"));
+    }
+}
@@ -0,0 +1,168 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.model.projections.BillAuthority;
+import proj.kedabra.billsnap.business.repository.AccountRepository;
+import proj.kedabra.billsnap.business.repository.BillRepository;
+import proj.kedabra.billsnap.fixtures.AccountEntityFixture;
+import proj.kedabra.billsnap.fixtures.BillEntityFixture;
+
+class BillAuthorityServiceImplTest {
+
+    private static final long ACCOUNT_ID = 1234L;
+
+    private BillAuthorityServiceImpl billAuthorityService;
+
+    @Mock
+    private BillRepository billRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    private Account account;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.initMocks(this);
+        billAuthorityService = new BillAuthorityServiceImpl(billRepository, accountRepository, new ConcurrentMapCacheManager());
+        account = AccountEntityFixture.getDefaultAccount();
+        when(billRepository.findBillAuthoritiesByEmail(account.getEmail()))
+                .thenReturn(List.of(billAuthority(10L, ACCOUNT_ID, ACCOUNT_ID), billAuthority(11L, ACCOUNT_ID, 999L)));
+    }
+
+    @Test
+    @DisplayName("Should resolve bill and responsible authorities from the projection")
+    void shouldResolveAuthoritiesFromProjection() {
+        // When
+        final Collection<GrantedAuthority> authorities = billAuthorityService.getAuthorities(account.getEmail());
+
+        // Then
+        assertThat(names(authorities)).containsExactlyInAnyOrder("RESPONSIBLE_10", "10", "11");
+    }
+
+    @Test
+    @DisplayName("Should only query the database once per account")
+    void shouldQueryOncePerAccount() {
+        // When
+        billAuthorityService.getAuthorities(account.getEmail());
+        billAuthorityService.getAuthorities(account.getEmail());
+
+        // Then
+        verify(billRepository, times(1)).findBillAuthoritiesByEmail(account.getEmail());
+    }
+
+    @Test
+    @DisplayName("Should resolve the authorities again once the account joined a bill")
+    void shouldGrantBillAccess() {
+        // Given
+        billAuthorityService.getAuthorities(account.getEmail());
+        final var bill = BillEntityFixture.getDefault();
+        bill.setResponsible(account);
+        when(billRepository.findBillAuthoritiesByEmail(account.getEmail()))
+                .thenReturn(List.of(billAuthority(10L, ACCOUNT_ID, ACCOUNT_ID), billAuthority(11L, ACCOUNT_ID, 999L), billAuthority(5000L, ACCOUNT_ID, ACCOUNT_ID)));
+
+        // When
+        billAuthorityService.grantBillAccess(account, bill);
+
+        // Then
+        assertThat(names(billAuthorityService.getAuthorities(account.getEmail())))
+                .containsExactlyInAnyOrder("RESPONSIBLE_10", "10", "11", "RESPONSIBLE_5000", "5000");
+        verify(billRepository, times(2)).findBillAuthoritiesByEmail(account.getEmail());
+    }
+
+    @Test
+    @DisplayName("Should move the responsible authority from the previous to the new responsible")
+    void shouldTransferResponsibility() {
+        // Given
+        final var newResponsible = AccountEntityFixture.getDefaultAccount();
+        newResponsible.setId(999L);
+        newResponsible.setEmail("newresponsible@test.com");
+        when(billRepository.findBillAuthoritiesByEmail(newResponsible.getEmail()))
+                .thenReturn(List.of(billAuthority(10L, 999L, ACCOUNT_ID), billAuthority(11L, 999L, 999L)));
+        billAuthorityService.getAuthorities(account.getEmail());
+        billAuthorityService.getAuthorities(newResponsible.getEmail());
+        final var bill = BillEntityFixture.getDefault();
+        bill.setId(10L);
+        when(billRepository.findBillAuthoritiesByEmail(account.getEmail()))
+                .thenReturn(List.of(billAuthority(10L, ACCOUNT_ID, 999L), billAuthority(11L, ACCOUNT_ID, 999L)));
+        when(billRepository.findBillAuthoritiesByEmail(newResponsible.getEmail()))
+                .thenReturn(List.of(billAuthority(10L, 999L, 999L), billAuthority(11L, 999L, 999L)));
+
+        // When
+        billAuthorityService.transferResponsibility(bill, account, newResponsible);
+
+        // Then
+        assertThat(names(billAuthorityService.getAuthorities(account.getEmail()))).containsExactlyInAnyOrder("10", "11");
+        assertThat(names(billAuthorityService.getAuthorities(newResponsible.getEmail())))
+                .containsExactlyInAnyOrder("RESPONSIBLE_10", "10", "RESPONSIBLE_11", "11");
+    }
+
+    @Test
+    @DisplayName("Should resolve no authorities for an existing account without bills")
+    void shouldResolveNoAuthoritiesForAccountWithoutBills() {
+        // Given
+        final var email = "nobills@test.com";
+        when(billRepository.findBillAuthoritiesByEmail(email)).thenReturn(List.of());
+        when(accountRepository.existsAccountByEmail(email)).thenReturn(true);
+
+        // When
+        final Collection<GrantedAuthority> authorities = billAuthorityService.getAuthorities(email);
+
+        // Then
+        assertThat(authorities).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should throw for an account that does not exist")
+    void shouldThrowForNonexistentAccount() {
+        // Given
+        final var email = "nonexistent@test.com";
+        when(billRepository.findBillAuthoritiesByEmail(email)).thenReturn(List.of());
+        when(accountRepository.existsAccountByEmail(email)).thenReturn(false);
+
+        // When/Then
+        assertThatExceptionOfType(UsernameNotFoundException.class).isThrownBy(() -> billAuthorityService.getAuthorities(email));
+    }
+
+    private static List<String> names(final Collection<GrantedAuthority> authorities) {
+        return authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.toList());
+    }
+
+    private static BillAuthority billAuthority(final Long billId, final Long accountId, final Long responsibleId) {
+        return new BillAuthority() {
+            @Override
+            public Long getBillId() {
+                return billId;
+            }
+
+            @Override
+            public Long getAccountId() {
+                return accountId;
+            }
+
+            @Override
+            public Long getResponsibleId() {
+                return responsibleId;
+            }
+        };
+    }
+}
@@ -9,6 +9,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Month;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
@@ -16,8 +19,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
+import javax.persistence.EntityManager;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
@@ -41,9 +47,11 @@ import proj.kedabra.billsnap.business.model.entities.AccountItem;
 import proj.kedabra.billsnap.business.model.entities.Bill;
 import proj.kedabra.billsnap.business.model.entities.Item;
 import proj.kedabra.billsnap.business.model.entities.Tax;
+import proj.kedabra.billsnap.business.model.projections.BillCost;
 import proj.kedabra.billsnap.business.model.projections.PaymentOwed;
 import proj.kedabra.billsnap.business.repository.AccountRepository;
 import proj.kedabra.billsnap.business.repository.BillRepository;
+import proj.kedabra.billsnap.business.service.CalculatePaymentService;
 import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
 import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
 import proj.kedabra.billsnap.fixtures.AccountEntityFixture;
@@ -75,6 +83,9 @@ class BillServiceImplIT {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     @DisplayName("Should return a default bill")
     void shouldReturnDefaultBill() {
@@ -212,6 +223,42 @@ class BillServiceImplIT {
         assertThat(result.get(0).getName()).isEqualTo("bill pagination 5");
     }
 
+    @Test
+    @DisplayName("Should visit every bill matching the filters in creation order")
+    void shouldVisitEveryBillInCreationOrder() {
+        //Given
+        final var billPagination = GetBillPaginationDTOFixture.getDefault();
+        final List<String> visited = new ArrayList<>();
+
+        //When
+        billService.forEachBillByAccount(billPagination, bill -> visited.add(bill.getName()));
+
+        //Then
+        assertThat(visited).containsExactly("bill pagination 2", "bill pagination 3", "bill pagination 4");
+    }
+
+    @Test
+    @DisplayName("Should detach the visited bills from the persistence context as it goes")
+    void shouldDetachVisitedBills() {
+        //Given
+        final Account account = accountRepository.getAccountByEmail("billPagination@email.com");
+        final List<Long> createdIds = IntStream.range(0, 101)
+                .mapToObj(i -> billService.createBillToAccount(BillDTOFixture.getDefault(), account, new ArrayList<>()).getId())
+                .collect(Collectors.toList());
+        entityManager.flush();
+        final var billPagination = GetBillPaginationDTOFixture.getDefault();
+        billPagination.setCategory(null);
+        billPagination.setEndDate(LocalDate.of(9999, Month.DECEMBER, 31));
+        final List<Bill> visited = new ArrayList<>();
+
+        //When
+        billService.forEachBillByAccount(billPagination, visited::add);
+
+        //Then
+        assertThat(visited.stream().map(Bill::getId)).containsSubsequence(createdIds);
+        assertThat(entityManager.contains(visited.get(0))).isFalse();
+    }
+
     @Test
     @DisplayName("Should return pending bills")
     void shouldReturnBillPendingInvitationStatus() {
@@ -849,4 +896,58 @@ class BillServiceImplIT {
                 .isThrownBy(() -> billService.editBill(existentBillId, account, editBill))
                 .withMessage(ErrorMessageEnum.ITEM_ID_DOES_NOT_EXIST.getMessage("1"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return the email of every account on the bill, whatever their invitation status")
+    void shouldReturnParticipantEmails() {
+        //Given
+        final var billId = 2000L;
+
+        //When
+        final List<String> emails = billService.getParticipantEmails(billId);
+
+        //Then
+        assertThat(emails).containsExactlyInAnyOrder("user@hasbills.com", "user@withADeclinedBill.com");
+    }
+
+    @Test
+    @DisplayName("Should sum the cost of an account the same way as the sub totals calculated from the bill")
+    void shouldSumBillCostsAsAccountSubTotals() {
+        //Given
+        final var billId = 1005L;
+        final Bill bill = billRepository.getBillById(billId);
+        bill.getItems().forEach(item -> item.setCost(item.getId() == 1006L ? new BigDecimal("10.01") : new BigDecimal("7.77")));
+        final var associateBillDTO = new AssociateBillDTO();
+        associateBillDTO.setId(billId);
+        associateBillDTO.setItems(List.of(
+                itemAssociation("user@hasbills.com", new BigDecimal("33.3333"), new BigDecimal("66.6667")),
+                itemAssociation("user@withABill.com", new BigDecimal("66.6667"), new BigDecimal("33.3333"))));
+        billService.associateItemsToAccountBill(associateBillDTO);
+        entityManager.flush();
+        entityManager.clear();
+
+        //When
+        final var accountSubTotals = new CalculatePaymentServiceImpl().calculateAccountSubTotals(billRepository.getBillById(billId));
+
+        //Then
+        assertThat(accountSubTotals).hasSize(2);
+        accountSubTotals.forEach((account, accountSubTotal) -> {
+            final List<BillCost> billCosts = billService.getBillCosts(List.of(billId), account.getId());
+            assertThat(billCosts).hasSize(1);
+            assertThat(billCosts.get(0).getAccountCost().setScale(CalculatePaymentService.DOLLAR_SCALE, RoundingMode.HALF_UP)).isEqualTo(accountSubTotal);
+        });
+    }
+
+    private static ItemAssociationDTO itemAssociation(final String email, final BigDecimal firstItemPercentage, final BigDecimal secondItemPercentage) {
+        final var firstItem = new ItemPercentageDTO();
+        firstItem.setItemId(1006L);
+        firstItem.setPercentage(firstItemPercentage);
+        final var secondItem = new ItemPercentageDTO();
+        secondItem.setItemId(1007L);
+        secondItem.setPercentage(secondItemPercentage);
+        final var itemAssociationDTO = new ItemAssociationDTO();
+        itemAssociationDTO.setEmail(email);
+        itemAssociationDTO.setItems(List.of(firstItem, secondItem));
+        return itemAssociationDTO;
+    }
+}
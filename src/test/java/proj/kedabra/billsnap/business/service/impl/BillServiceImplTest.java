@@ -5,7 +5,7 @@ import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
@@ -27,6 +27,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import proj.kedabra.billsnap.business.dto.AccountPercentageDTO;
+import proj.kedabra.billsnap.business.dto.BalanceSplitDTO;
 import proj.kedabra.billsnap.business.dto.EditBillDTO;
 import proj.kedabra.billsnap.business.dto.ItemDTO;
 import proj.kedabra.billsnap.business.dto.PaymentOwedDTO;
@@ -45,13 +47,17 @@ import proj.kedabra.billsnap.business.model.projections.PaymentOwed;
 import proj.kedabra.billsnap.business.repository.AccountRepository;
 import proj.kedabra.billsnap.business.repository.BillRepository;
 import proj.kedabra.billsnap.business.repository.PaymentRepository;
+import proj.kedabra.billsnap.business.service.BillAuthorityService;
+import proj.kedabra.billsnap.business.service.BillTotalsService;
 import proj.kedabra.billsnap.business.service.ItemService;
 import proj.kedabra.billsnap.business.service.NotificationService;
 import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
 import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
 import proj.kedabra.billsnap.business.utils.enums.PaymentStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
 import proj.kedabra.billsnap.fixtures.AccountBillEntityFixture;
 import proj.kedabra.billsnap.fixtures.AccountEntityFixture;
+import proj.kedabra.billsnap.fixtures.AccountItemEntityFixture;
 import proj.kedabra.billsnap.fixtures.AssociateBillDTOFixture;
 import proj.kedabra.billsnap.fixtures.BillDTOFixture;
 import proj.kedabra.billsnap.fixtures.BillEntityFixture;
@@ -89,6 +95,12 @@ class BillServiceImplTest {
     @Mock
     private ItemService itemService;
 
+    @Mock
+    private BillAuthorityService billAuthorityService;
+
+    @Mock
+    private BillTotalsService billTotalsService;
+
     @InjectMocks
     private BillServiceImpl billService;
 
@@ -516,7 +528,6 @@ class BillServiceImplTest {
         associateBillDTO.setItems(List.of(itemAssociationDTO1, itemAssociationDTO2));
 
         when(billRepository.findById(any())).thenReturn(Optional.of(bill));
-        doNothing().when(entityManager).flush();
 
         //When
         final Bill returnedBill = billService.associateItemsToAccountBill(associateBillDTO);
@@ -528,6 +539,60 @@ class BillServiceImplTest {
         assertThat(listAccountItems.size()).isEqualTo(2);
     }
 
+    @Test
+    @DisplayName("Should update kept associations in place and remove the ones left out in /PATCH bills")
+    void shouldUpdateKeptAssociationsInPlaceOnPATCHAssociateBill() {
+        //Given bill with 2 users sharing an item
+        final String billResponsible = "user@withABill.com";
+        final String billUser = "user@hasbills.com";
+        final long existentItemId = 1004L;
+        final BigDecimal fifty = BigDecimal.valueOf(50);
+
+        final var account1 = AccountEntityFixture.getDefaultAccount();
+        account1.setEmail(billResponsible);
+        final var account2 = AccountEntityFixture.getDefaultAccount();
+        account2.setEmail(billUser);
+
+        final var accountBill1 = AccountBillEntityFixture.getDefault();
+        accountBill1.setAccount(account1);
+        final var accountBill2 = AccountBillEntityFixture.getDefault();
+        accountBill2.setAccount(account2);
+
+        final var bill = BillEntityFixture.getDefault();
+        bill.setAccounts(Set.of(accountBill1, accountBill2));
+
+        final var item = ItemEntityFixture.getDefault();
+        item.setBill(bill);
+        item.setId(existentItemId);
+        final var keptAccountItem = AccountItemEntityFixture.getDefault();
+        keptAccountItem.setAccount(account1);
+        keptAccountItem.setItem(item);
+        final var removedAccountItem = AccountItemEntityFixture.getDefault();
+        removedAccountItem.setAccount(account2);
+        removedAccountItem.setItem(item);
+        item.getAccounts().add(keptAccountItem);
+        item.getAccounts().add(removedAccountItem);
+        bill.setItems(Set.of(item));
+
+        final var itemAssociationDTO = ItemAssociationDTOFixture.getDefault();
+        itemAssociationDTO.setEmail(billResponsible);
+        itemAssociationDTO.setItems(List.of(ItemPercentageDTOFixture.getDefaultWithId(existentItemId)));
+        itemAssociationDTO.getItems().get(0).setPercentage(fifty);
+
+        final var associateBillDTO = AssociateBillDTOFixture.getDefault();
+        associateBillDTO.setItems(List.of(itemAssociationDTO));
+
+        when(billRepository.findById(any())).thenReturn(Optional.of(bill));
+
+        //When
+        final Bill returnedBill = billService.associateItemsToAccountBill(associateBillDTO);
+
+        //Then
+        final Set<AccountItem> accountItems = returnedBill.getItems().iterator().next().getAccounts();
+        assertThat(accountItems).containsExactly(keptAccountItem);
+        assertThat(keptAccountItem.getPercentage()).isEqualByComparingTo(fifty);
+    }
+
     @ParameterizedTest
     @EnumSource(value = BillStatusEnum.class, names = {"IN_PROGRESS", "RESOLVED"})
     @DisplayName("Should throw exception if Bill is not Open in Start Bill")
@@ -764,4 +829,116 @@ class BillServiceImplTest {
                 .withMessage(ErrorMessageEnum.TAX_ID_DOES_NOT_EXIST.getMessage(editBill.getTaxes().stream().map(TaxDTO::getId).collect(Collectors.toList()).toString()));
     }
 
+    @Test
+    @DisplayName("Should give the whole balance to the creator of a bill split by balance")
+    void shouldGiveWholeBalanceToCreatorOfBalanceSplitBill() {
+        //Given
+        final var billDTO = BillDTOFixture.getDefault();
+        billDTO.setSplitBy(SplitByEnum.BALANCE);
+        final var account = AccountEntityFixture.getDefaultAccount();
+        final var invitedAccount = AccountEntityFixture.getDefaultAccount();
+        invitedAccount.setEmail("invited@email.com");
+
+        when(billMapper.toEntity(any())).thenReturn(BillEntityFixture.getMappedBillDTOFixture());
+        when(billRepository.save(any(Bill.class))).thenAnswer(a -> a.getArguments()[0]);
+
+        //When
+        final Bill bill = billService.createBillToAccount(billDTO, account, List.of(invitedAccount));
+
+        //Then
+        assertThat(bill.getSplitBy()).isEqualTo(SplitByEnum.BALANCE);
+        final AccountBill creatorAccountBill = bill.getAccounts().stream().filter(a -> a.getAccount().equals(account)).findFirst().orElseThrow();
+        final AccountBill invitedAccountBill = bill.getAccounts().stream().filter(a -> a.getAccount().equals(invitedAccount)).findFirst().orElseThrow();
+        assertThat(creatorAccountBill.getPercentage()).isEqualByComparingTo(BigDecimal.valueOf(100));
+        assertThat(invitedAccountBill.getPercentage()).isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should throw exception if setting balance percentages on a bill split by item")
+    void shouldThrowExceptionIfSettingBalancePercentagesOnItemSplitBill() {
+        //Given
+        final var bill = BillEntityFixture.getDefault();
+        final var balanceSplitDTO = getBalanceSplitDTO(bill.getId(), "accountentity@test.com", BigDecimal.valueOf(100));
+
+        when(billRepository.findById(any())).thenReturn(Optional.of(bill));
+
+        //When/Then
+        assertThatExceptionOfType(FunctionalWorkflowException.class)
+                .isThrownBy(() -> billService.setBalancePercentages(balanceSplitDTO))
+                .withMessage(ErrorMessageEnum.WRONG_SPLIT_TYPE.getMessage(SplitByEnum.BALANCE.toString()));
+    }
+
+    @Test
+    @DisplayName("Should throw exception if the balance percentages do not add up to 100")
+    void shouldThrowExceptionIfBalancePercentagesDoNotAddUpTo100() {
+        //Given
+        final var bill = getBalanceSplitBill();
+        final var email = bill.getAccounts().iterator().next().getAccount().getEmail();
+        final var balanceSplitDTO = getBalanceSplitDTO(bill.getId(), email, new BigDecimal("99.9999"));
+
+        when(billRepository.findById(any())).thenReturn(Optional.of(bill));
+
+        //When/Then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> billService.setBalancePercentages(balanceSplitDTO))
+                .withMessage(ErrorMessageEnum.BALANCE_PERCENTAGES_MUST_ADD_TO_100.getMessage("99.9999"));
+    }
+
+    @Test
+    @DisplayName("Should throw exception if a declined account is given a part of the balance")
+    void shouldThrowExceptionIfDeclinedAccountIsGivenBalancePercentage() {
+        //Given
+        final var bill = getBalanceSplitBill();
+        final var declinedAccountBill = bill.getAccounts().iterator().next();
+        declinedAccountBill.setStatus(InvitationStatusEnum.DECLINED);
+        final var email = declinedAccountBill.getAccount().getEmail();
+        final var balanceSplitDTO = getBalanceSplitDTO(bill.getId(), email, BigDecimal.valueOf(100));
+
+        when(billRepository.findById(any())).thenReturn(Optional.of(bill));
+
+        //When/Then
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> billService.setBalancePercentages(balanceSplitDTO))
+                .withMessage(ErrorMessageEnum.LIST_ACCOUNT_DECLINED.getMessage(List.of(email).toString()));
+    }
+
+    @Test
+    @DisplayName("Should set the balance percentages, leaving nothing to the accounts not given")
+    void shouldSetBalancePercentages() {
+        //Given
+        final var bill = getBalanceSplitBill();
+        final var accountBills = new ArrayList<>(bill.getAccounts());
+        accountBills.forEach(accountBill -> accountBill.setPercentage(BigDecimal.valueOf(50)));
+        final var chosenAccountBill = accountBills.get(0);
+        final var balanceSplitDTO = getBalanceSplitDTO(bill.getId(), chosenAccountBill.getAccount().getEmail(), BigDecimal.valueOf(100));
+
+        when(billRepository.findById(any())).thenReturn(Optional.of(bill));
+
+        //When
+        final Bill returnedBill = billService.setBalancePercentages(balanceSplitDTO);
+
+        //Then
+        assertThat(chosenAccountBill.getPercentage()).isEqualByComparingTo(BigDecimal.valueOf(100));
+        assertThat(accountBills.get(1).getPercentage()).isEqualByComparingTo(BigDecimal.ZERO);
+        verify(billTotalsService).refreshTotals(returnedBill);
+    }
+
+    private static Bill getBalanceSplitBill() {
+        final var bill = BillEntityFixture.getMappedBillSplitDTOFixture();
+        bill.setSplitBy(SplitByEnum.BALANCE);
+        bill.getAccounts().forEach(accountBill -> accountBill.setStatus(InvitationStatusEnum.ACCEPTED));
+        return bill;
+    }
+
+    private static BalanceSplitDTO getBalanceSplitDTO(final Long billId, final String email, final BigDecimal percentage) {
+        final var accountPercentageDTO = new AccountPercentageDTO();
+        accountPercentageDTO.setEmail(email);
+        accountPercentageDTO.setPercentage(percentage);
+
+        final var balanceSplitDTO = new BalanceSplitDTO();
+        balanceSplitDTO.setId(billId);
+        balanceSplitDTO.setAccounts(List.of(accountPercentageDTO));
+        return balanceSplitDTO;
+    }
+
 }
@@ -0,0 +1,129 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import proj.kedabra.billsnap.business.dto.BillTotalsMismatchDTO;
+import proj.kedabra.billsnap.business.facade.BillFacade;
+import proj.kedabra.billsnap.business.model.entities.AccountBill;
+import proj.kedabra.billsnap.business.repository.BillRepository;
+import proj.kedabra.billsnap.business.service.BillTotalsService;
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
+import proj.kedabra.billsnap.fixtures.BillDTOFixture;
+import proj.kedabra.billsnap.fixtures.BillEntityFixture;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest
+@Transactional
+@AutoConfigureTestDatabase
+class BillTotalsServiceImplIT {
+
+    private static final String CREATOR_EMAIL = "test@email.com";
+
+    @Autowired
+    private BillTotalsService billTotalsService;
+
+    @Autowired
+    private BillFacade billFacade;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should store the totals of a new bill and its creator")
+    void shouldStoreTotalsOnCreation() {
+        // Given
+        final var billDTO = BillDTOFixture.getDefault();
+
+        // When
+        final Long billId = billFacade.addPersonalBill(CREATOR_EMAIL, billDTO).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        final var bill = billRepository.findById(billId).orElseThrow();
+        assertThat(bill.getSubTotal()).isEqualByComparingTo(new BigDecimal("300"));
+        assertThat(bill.getBalance()).isEqualByComparingTo(new BigDecimal("330"));
+        final var creatorAccountBill = bill.getAccounts().iterator().next();
+        assertThat(creatorAccountBill.getTotalOwed()).isEqualByComparingTo(bill.getBalance());
+        assertThat(mismatchesOf(billId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should find and repair a participant total that drifted from its items")
+    void shouldFindAndRepairDriftedTotal() {
+        // Given
+        final Long billId = billFacade.addPersonalBill(CREATOR_EMAIL, BillDTOFixture.getDefault()).getId();
+        entityManager.flush();
+        jdbcTemplate.update("update bills_vs_accounts set total_owed = 1 where bill_id = ?", billId);
+        entityManager.clear();
+
+        // When
+        final List<BillTotalsMismatchDTO> mismatches = mismatchesOf(billId);
+
+        // Then
+        assertThat(mismatches).hasSize(1);
+        final var mismatch = mismatches.get(0);
+        assertThat(mismatch.getTotal()).isEqualTo("totalOwed");
+        assertThat(mismatch.getStored()).isEqualByComparingTo(BigDecimal.ONE);
+        assertThat(mismatch.getComputed()).isEqualByComparingTo(new BigDecimal("330"));
+
+        // When
+        billTotalsService.repairMismatches(Pageable.unpaged());
+        entityManager.flush();
+        entityManager.clear();
+
+        // Then
+        assertThat(mismatchesOf(billId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should split a BALANCE bill without tip without giving any participant a tip")
+    void shouldNotGiveTipOnBalanceBillWithoutTip() {
+        // Given
+        final var bill = BillEntityFixture.getMappedBillSplitDTOFixture();
+        bill.setSplitBy(SplitByEnum.BALANCE);
+        bill.setTipAmount(null);
+        bill.getItems().iterator().next().setCost(new BigDecimal("0.11"));
+        bill.getAccounts().forEach(accountBill -> accountBill.setPercentage(BigDecimal.valueOf(50)));
+
+        // When
+        billTotalsService.refreshTotals(bill);
+
+        // Then
+        assertThat(bill.getBalance()).isEqualByComparingTo(new BigDecimal("0.12"));
+        assertThat(bill.getAccounts()).extracting(AccountBill::getTip).allSatisfy(tip -> assertThat(tip).isEqualByComparingTo(BigDecimal.ZERO));
+        assertThat(bill.getAccounts().stream().map(AccountBill::getTotalOwed).reduce(BigDecimal.ZERO, BigDecimal::add)).isEqualByComparingTo(bill.getBalance());
+    }
+
+    private List<BillTotalsMismatchDTO> mismatchesOf(final Long billId) {
+        return billTotalsService.findMismatches(Pageable.unpaged()).stream()
+                .filter(mismatch -> billId.equals(mismatch.getBillId()))
+                .collect(Collectors.toList());
+    }
+
+}
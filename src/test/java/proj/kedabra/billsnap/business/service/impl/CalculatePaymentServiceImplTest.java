@@ -4,12 +4,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import proj.kedabra.billsnap.business.model.entities.Account;
 import proj.kedabra.billsnap.business.model.entities.Tax;
 import proj.kedabra.billsnap.business.service.CalculatePaymentService;
+import proj.kedabra.billsnap.fixtures.AccountEntityFixture;
 import proj.kedabra.billsnap.fixtures.BillEntityFixture;
 import proj.kedabra.billsnap.fixtures.ItemEntityFixture;
 
@@ -96,6 +99,32 @@ class CalculatePaymentServiceImplTest {
         assertThat(balance).isEqualByComparingTo(new BigDecimal("4.84"));
     }
 
+    @Test
+    @DisplayName("Must calculate the same balance from the sub total as from the bill")
+    void shouldCalculateBalanceFromSubTotal() {
+        // Given
+        final var bill = BillEntityFixture.getDefault();
+        bill.setTipAmount(null);
+        bill.setTipPercent(BigDecimal.TEN);
+        final var subTotal = calculatePaymentService.calculateSubTotal(bill);
+
+        // When
+        final var balance = calculatePaymentService.calculateBalance(subTotal, bill.getTaxes(), bill.getTipAmount(), bill.getTipPercent());
+
+        //Then
+        assertThat(balance).isEqualByComparingTo(calculatePaymentService.calculateBalance(bill));
+    }
+
+    @Test
+    @DisplayName("Must calculate the tip of an account in proportion of its sub total")
+    void shouldCalculateAccountTip() {
+        // When
+        final var accountTip = calculatePaymentService.calculateAccountTip(new BigDecimal("3.33"), new BigDecimal("10.00"), new BigDecimal("3.00"));
+
+        //Then
+        assertThat(accountTip).isEqualByComparingTo(new BigDecimal("0.99"));
+    }
+
     @Test
     @DisplayName("Must calculate the amount remaining")
     void shouldCalculateAmountRemaining() {
@@ -109,4 +138,54 @@ class CalculatePaymentServiceImplTest {
         //Then
         assertThat(balance).isEqualByComparingTo(new BigDecimal("8.00"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Must give the cents lost to rounding to the largest remainders")
+    void shouldAllocateBalanceSharesByLargestRemainder() {
+        // Given
+        final var first = getAccount(1L);
+        final var second = getAccount(2L);
+        final var third = getAccount(3L);
+        final Map<Account, BigDecimal> percentages = Map.of(
+                first, new BigDecimal("33.3333"),
+                second, new BigDecimal("33.3333"),
+                third, new BigDecimal("33.3334"));
+
+        // When
+        final Map<Account, BigDecimal> shares = calculatePaymentService.calculateBalanceShares(new BigDecimal("100.00"), percentages);
+
+        //Then
+        assertThat(shares.get(first)).isEqualTo(new BigDecimal("33.33"));
+        assertThat(shares.get(second)).isEqualTo(new BigDecimal("33.33"));
+        assertThat(shares.get(third)).isEqualTo(new BigDecimal("33.34"));
+    }
+
+    @Test
+    @DisplayName("Must give the cents left on equal remainders to the lowest account ids")
+    void shouldAllocateBalanceSharesTiesToLowestAccountId() {
+        // Given
+        final var first = getAccount(1L);
+        final var second = getAccount(2L);
+        final var third = getAccount(3L);
+        final Map<Account, BigDecimal> percentages = Map.of(
+                third, new BigDecimal("33.3333"),
+                second, new BigDecimal("33.3333"),
+                first, new BigDecimal("33.3334"));
+
+        // When
+        final Map<Account, BigDecimal> shares = calculatePaymentService.calculateBalanceShares(new BigDecimal("0.05"), percentages);
+
+        //Then
+        assertThat(shares.get(first)).isEqualTo(new BigDecimal("0.02"));
+        assertThat(shares.get(second)).isEqualTo(new BigDecimal("0.02"));
+        assertThat(shares.get(third)).isEqualTo(new BigDecimal("0.01"));
+        assertThat(shares.values().stream().reduce(BigDecimal.ZERO, BigDecimal::add)).isEqualTo(new BigDecimal("0.05"));
+    }
+
+    private static Account getAccount(final Long id) {
+        final var account = AccountEntityFixture.getDefaultAccount();
+        account.setId(id);
+        account.setEmail("share" + id + "@email.com");
+        return account;
+    }
+}
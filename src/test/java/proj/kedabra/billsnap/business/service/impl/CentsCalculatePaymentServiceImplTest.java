@@ -0,0 +1,157 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import proj.kedabra.billsnap.business.model.entities.Account;
+import proj.kedabra.billsnap.business.model.entities.AccountItem;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.model.entities.Item;
+import proj.kedabra.billsnap.business.model.entities.Tax;
+import proj.kedabra.billsnap.business.service.CalculatePaymentService;
+
+/**
+ * Checks that the cents engine returns exactly what the BigDecimal engine returns, scale included, over randomized
+ * bills. Each seed builds one bill; a failing seed can be replayed alone.
+ */
+class CentsCalculatePaymentServiceImplTest {
+
+    private static final int SEEDS = 500;
+
+    private final CalculatePaymentService bigDecimalEngine = new CalculatePaymentServiceImpl();
+
+    private final CalculatePaymentService centsEngine = new CentsCalculatePaymentServiceImpl();
+
+    static LongStream seeds() {
+        return LongStream.range(0, SEEDS);
+    }
+
+    @ParameterizedTest
+    @MethodSource("seeds")
+    @DisplayName("Should compute the same sub totals, taxes, tips and balance as the BigDecimal engine")
+    void shouldMatchBigDecimalEngine(final long seed) {
+        // Given
+        final var random = new Random(seed);
+        final Bill bill = randomBill(random);
+
+        // When
+        final BigDecimal subTotal = centsEngine.calculateSubTotal(bill);
+        final BigDecimal totalTip = centsEngine.calculateTip(bill.getTipAmount(), bill.getTipPercent(), subTotal);
+        final Map<Account, BigDecimal> accountSubTotals = centsEngine.calculateAccountSubTotals(bill);
+
+        // Then
+        assertThat(subTotal).isEqualTo(bigDecimalEngine.calculateSubTotal(bill));
+        assertThat(totalTip).isEqualTo(bigDecimalEngine.calculateTip(bill.getTipAmount(), bill.getTipPercent(), subTotal));
+        assertThat(centsEngine.calculateTaxes(subTotal, bill.getTaxes())).isEqualTo(bigDecimalEngine.calculateTaxes(subTotal, bill.getTaxes()));
+        assertThat(centsEngine.calculateBalance(bill)).isEqualTo(bigDecimalEngine.calculateBalance(bill));
+        assertThat(centsEngine.calculateBalance(subTotal, bill.getTaxes(), bill.getTipAmount(), bill.getTipPercent()))
+                .isEqualTo(bigDecimalEngine.calculateBalance(subTotal, bill.getTaxes(), bill.getTipAmount(), bill.getTipPercent()));
+        assertThat(accountSubTotals).isEqualTo(bigDecimalEngine.calculateAccountSubTotals(bill));
+
+        if (subTotal.signum() != 0) {
+            accountSubTotals.values().forEach(accountSubTotal -> {
+                assertThat(centsEngine.calculateTaxes(accountSubTotal, bill.getTaxes())).isEqualTo(bigDecimalEngine.calculateTaxes(accountSubTotal, bill.getTaxes()));
+                assertThat(centsEngine.calculateAccountTip(accountSubTotal, subTotal, totalTip)).isEqualTo(bigDecimalEngine.calculateAccountTip(accountSubTotal, subTotal, totalTip));
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("Should fall back to BigDecimal for amounts that overflow a long")
+    void shouldFallBackOnOverflow() {
+        // Given
+        final var huge = new BigDecimal("92233720368547758.07");
+        final var tax = new Tax();
+        tax.setPercentage(new BigDecimal("14.975"));
+
+        // When
+        final var taxes = centsEngine.calculateTaxes(huge, List.of(tax));
+
+        // Then
+        assertThat(taxes).isEqualTo(bigDecimalEngine.calculateTaxes(huge, List.of(tax)));
+    }
+
+    @Test
+    @DisplayName("Should round ties away from zero like the BigDecimal engine")
+    void shouldRoundTiesHalfUp() {
+        // Given
+        final var tax = new Tax();
+        tax.setPercentage(new BigDecimal("12.5"));
+
+        // When
+        final var taxes = centsEngine.calculateTaxes(new BigDecimal("0.20"), List.of(tax));
+
+        // Then
+        assertThat(taxes).isEqualTo(new BigDecimal("0.03"));
+    }
+
+    private static Bill randomBill(final Random random) {
+        final List<Account> accounts = new ArrayList<>();
+        final int accountCount = 1 + random.nextInt(6);
+        for (int i = 0; i < accountCount; i++) {
+            final var account = new Account();
+            account.setId((long) i);
+            account.setEmail("engine" + i + "@cents.com");
+            accounts.add(account);
+        }
+
+        final var bill = new Bill();
+        if (random.nextBoolean()) {
+            bill.setTipPercent(randomDecimal(random, 3000, random.nextInt(5)));
+        } else {
+            bill.setTipAmount(randomDecimal(random, 5000, random.nextInt(3)));
+        }
+
+        final int itemCount = random.nextInt(30);
+        for (int i = 0; i < itemCount; i++) {
+            final var item = new Item();
+            item.setId((long) i);
+            item.setName("item" + i);
+            // a few items are expensive enough to overflow the long products
+            item.setCost(random.nextInt(50) == 0 ? new BigDecimal("9999999999.99") : randomDecimal(random, 100_000, random.nextInt(3)));
+            item.setBill(bill);
+
+            final int shares = 1 + random.nextInt(accountCount);
+            BigDecimal remaining = BigDecimal.valueOf(100);
+            for (int s = 0; s < shares; s++) {
+                final BigDecimal percentage = s == shares - 1 ? remaining : randomDecimal(random, remaining.intValue() + 1, 4).min(remaining);
+                remaining = remaining.subtract(percentage);
+                final var accountItem = new AccountItem();
+                accountItem.setItem(item);
+                accountItem.setAccount(accounts.get((i + s) % accountCount));
+                accountItem.setPercentage(percentage);
+                item.getAccounts().add(accountItem);
+            }
+            bill.getItems().add(item);
+        }
+
+        final int taxCount = random.nextInt(5);
+        for (int i = 0; i < taxCount; i++) {
+            final var tax = new Tax();
+            tax.setId((long) i);
+            tax.setName("tax" + i);
+            // percentages with more than 4 decimals are not stored, but must still be handled
+            tax.setPercentage(randomDecimal(random, 30, random.nextInt(20) == 0 ? 6 : random.nextInt(5)));
+            tax.setBill(bill);
+            bill.getTaxes().add(tax);
+        }
+
+        return bill;
+    }
+
+    private static BigDecimal randomDecimal(final Random random, final int bound, final int scale) {
+        final long unscaled = (long) (random.nextDouble() * bound * Math.pow(10, scale));
+        return BigDecimal.valueOf(unscaled, scale);
+    }
+}
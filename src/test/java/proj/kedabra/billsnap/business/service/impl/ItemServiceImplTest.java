@@ -6,10 +6,14 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.DisplayName;
@@ -84,8 +88,10 @@ class ItemServiceImplTest {
         repoItem.setCost(BigDecimal.valueOf(69));
         repoItem.setName("Repo Item");
 
+        repoItem.setBill(bill);
+        bill.getItems().add(repoItem);
+
         when(itemMapper.toEntity(any())).thenReturn(newItem);
-        when(itemRepository.findById(any())).thenReturn(Optional.of(repoItem));
         doAnswer((invocation) -> {
             final var source = invocation.getArgument(0, ItemDTO.class);
             final var target = invocation.getArgument(1, Item.class);
@@ -130,10 +136,55 @@ class ItemServiceImplTest {
         repoItem.setCost(BigDecimal.valueOf(69));
         repoItem.setName("Repo Item");
 
-        when(itemRepository.findById(any())).thenReturn(Optional.of(repoItem));
+        when(itemRepository.findAllById(List.of(1000L))).thenReturn(List.of(repoItem));
 
         // When / Then
         assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> itemService.editNewItems(bill, account, editBill));
 
     }
+
+    @Test
+    @DisplayName("Should throw exception if Item does not exist")
+    void shouldThrowExceptionIfItemIdDoesNotExist() {
+        // Given
+        final var bill = BillEntityFixture.getDefault();
+        final var account = AccountEntityFixture.getDefaultAccount();
+        final var editBill = EditBillDTOFixture.getDefault();
+
+        when(itemRepository.findAllById(List.of(1000L))).thenReturn(List.of());
+
+        // When / Then
+        assertThatExceptionOfType(ResourceNotFoundException.class)
+                .isThrownBy(() -> itemService.editNewItems(bill, account, editBill))
+                .withMessage(ErrorMessageEnum.ITEM_ID_DOES_NOT_EXIST.getMessage("1000"));
+    }
+
+    @Test
+    @DisplayName("Should only update changed items and remove the ones left out of the edit")
+    void shouldOnlyUpdateChangedItemsAndRemoveMissingOnes() {
+        // Given
+        final var bill = BillEntityFixture.getDefault();
+        final var account = AccountEntityFixture.getDefaultAccount();
+        final var editBill = EditBillDTOFixture.getDefault();
+        editBill.getItems().removeIf(item -> item.getId() == null);
+        final var unchangedItem = ItemEntityFixture.getDefault();
+        unchangedItem.setId(1000L);
+        unchangedItem.setName("Edit Item");
+        unchangedItem.setCost(new BigDecimal("10.00"));
+        unchangedItem.setBill(bill);
+        final var removedItem = ItemEntityFixture.getDefault();
+        removedItem.setId(2000L);
+        removedItem.setBill(bill);
+        bill.getItems().clear();
+        bill.getItems().add(unchangedItem);
+        bill.getItems().add(removedItem);
+
+        // When
+        itemService.editNewItems(bill, account, editBill);
+
+        // Then
+        assertThat(bill.getItems()).containsExactly(unchangedItem);
+        verify(itemMapper, never()).updateItem(any(), any());
+        verifyNoInteractions(itemRepository);
+    }
 }
@@ -3,9 +3,16 @@ package proj.kedabra.billsnap.business.service.impl;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
 
+import java.math.BigDecimal;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
@@ -19,14 +26,21 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import proj.kedabra.billsnap.business.event.BillEvent;
 import proj.kedabra.billsnap.business.exception.FunctionalWorkflowException;
 import proj.kedabra.billsnap.business.exception.ResourceNotFoundException;
 import proj.kedabra.billsnap.business.model.entities.AccountBill;
 import proj.kedabra.billsnap.business.model.entities.Notifications;
+import proj.kedabra.billsnap.business.repository.AccountBillRepository;
 import proj.kedabra.billsnap.business.repository.NotificationsRepository;
 import proj.kedabra.billsnap.business.service.BillService;
+import proj.kedabra.billsnap.business.service.BillTotalsService;
+import proj.kedabra.billsnap.business.service.OutboxService;
+import proj.kedabra.billsnap.business.utils.enums.BillEventTypeEnum;
 import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
 import proj.kedabra.billsnap.fixtures.AccountEntityFixture;
 import proj.kedabra.billsnap.fixtures.BillEntityFixture;
 import proj.kedabra.billsnap.fixtures.NotificationsFixture;
@@ -45,6 +59,18 @@ class NotificationServiceImplTest {
     @Mock
     BillService billService;
 
+    @Mock
+    AccountBillRepository accountBillRepository;
+
+    @Mock
+    OutboxService outboxService;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    BillTotalsService billTotalsService;
+
     @Test
     @DisplayName("Should return notification")
     void shouldReturnNotification() {
@@ -63,6 +89,9 @@ class NotificationServiceImplTest {
         assertThat(notification.getAccount()).isEqualTo(account);
         assertThat(notification.getBill()).isEqualTo(bill);
         assertThat(notification.getTimeSent()).isCloseTo(ZonedDateTime.now(ZoneId.systemDefault()), within(200, ChronoUnit.MILLIS));
+        then(outboxService).should().enqueue(eq(account.getEmail()), contains(bill.getName()), anyString());
+        then(eventPublisher).should().publishEvent(argThat((BillEvent event) ->
+                event.getType() == BillEventTypeEnum.INVITATION && event.getBill() == bill && event.getEmails().contains(account.getEmail())));
 
     }
 
@@ -77,6 +106,7 @@ class NotificationServiceImplTest {
         accountBill.setStatus(InvitationStatusEnum.PENDING);
 
         given(notificationsRepository.findById(anyLong())).willReturn(Optional.of(notification));
+        given(accountBillRepository.findById(any())).willReturn(Optional.of(accountBill));
 
         //When
         notificationService.answerInvitation(invitationId, answer);
@@ -97,6 +127,7 @@ class NotificationServiceImplTest {
         accountBill.setStatus(InvitationStatusEnum.PENDING);
 
         given(notificationsRepository.findById(anyLong())).willReturn(Optional.of(notification));
+        given(accountBillRepository.findById(any())).willReturn(Optional.of(accountBill));
 
         //When
         notificationService.answerInvitation(invitationId, answer);
@@ -106,6 +137,35 @@ class NotificationServiceImplTest {
 
     }
 
+    @Test
+    @DisplayName("Should give the percentage of a declined BALANCE bill back to the responsible and refresh its totals")
+    void shouldGivePercentageBackToResponsibleIfBalanceBillDeclined() {
+        //Given
+        final long invitationId = 1234L;
+        final Notifications notification = NotificationsFixture.getDefault();
+        final var bill = notification.getBill();
+        bill.setSplitBy(SplitByEnum.BALANCE);
+        final AccountBill responsibleAccountBill = bill.getAccountBill(bill.getResponsible()).get();
+        responsibleAccountBill.setPercentage(BigDecimal.valueOf(60));
+        final AccountBill accountBill = bill.getAccounts().stream().filter(ab -> ab != responsibleAccountBill).findFirst().get();
+        accountBill.setPercentage(BigDecimal.valueOf(40));
+        accountBill.setStatus(InvitationStatusEnum.PENDING);
+        notification.setAccount(accountBill.getAccount());
+
+        given(notificationsRepository.findById(anyLong())).willReturn(Optional.of(notification));
+        given(accountBillRepository.findById(any())).willReturn(Optional.of(accountBill));
+
+        //When
+        notificationService.answerInvitation(invitationId, false);
+
+        //Then
+        assertThat(accountBill.getStatus()).isEqualTo(InvitationStatusEnum.DECLINED);
+        assertThat(accountBill.getPercentage()).isEqualByComparingTo(BigDecimal.ZERO);
+        assertThat(responsibleAccountBill.getPercentage()).isEqualByComparingTo(BigDecimal.valueOf(100));
+        then(billTotalsService).should().refreshTotals(bill);
+
+    }
+
     @Test
     @DisplayName("Should throw exception if invitation id is not valid")
     void shouldThrowExceptionIfInvitationIdDoesNotExist() {
@@ -133,6 +193,7 @@ class NotificationServiceImplTest {
         accountBill.setStatus(invitationStatus);
 
         given(notificationsRepository.findById(anyLong())).willReturn(Optional.of(notification));
+        given(accountBillRepository.findById(any())).willReturn(Optional.of(accountBill));
 
         //When/Then
         assertThatExceptionOfType(FunctionalWorkflowException.class)
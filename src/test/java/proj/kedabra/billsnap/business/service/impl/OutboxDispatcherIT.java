@@ -0,0 +1,153 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.mail.Message;
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import proj.kedabra.billsnap.business.facade.BillFacade;
+import proj.kedabra.billsnap.business.model.entities.OutboxMessage;
+import proj.kedabra.billsnap.business.service.OutboxService;
+import proj.kedabra.billsnap.business.utils.enums.OutboxStatusEnum;
+import proj.kedabra.billsnap.fixtures.BillDTOFixture;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+/**
+ * Invites accounts to a new bill and dispatches the outbox to an in-process SMTP server.
+ */
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest(properties = {"outbox.sender=smtp", "spring.mail.host=localhost", "spring.mail.port=3025"})
+@AutoConfigureTestDatabase
+@Transactional
+class OutboxDispatcherIT {
+
+    private static final String CREATOR_EMAIL = "test@email.com";
+
+    private static final long FIRST_INVITEE_ID = 950_000L;
+
+    private static final int INVITEES = 3;
+
+    private static GreenMail greenMail;
+
+    @Autowired
+    private BillFacade billFacade;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeAll
+    static void startSmtp() {
+        greenMail = new GreenMail(ServerSetupTest.SMTP);
+        greenMail.start();
+    }
+
+    @AfterAll
+    static void stopSmtp() {
+        greenMail.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        IntStream.range(0, INVITEES).forEach(i -> jdbcTemplate.update(
+                "INSERT INTO account (id, email, password, first_name, last_name, status) VALUES (?, ?, 'notEncrypted', 'first', 'last', 'REGISTERED')",
+                FIRST_INVITEE_ID + i, email(i)));
+    }
+
+    @Test
+    @DisplayName("Should write one outbox message per invitee with the bill and mail them on dispatch")
+    void shouldMailInvitationsOnDispatch() throws Exception {
+        // Given
+        final var billDTO = BillDTOFixture.getDefault();
+        IntStream.range(0, INVITEES).mapToObj(OutboxDispatcherIT::email).forEach(billDTO.getAccountsList()::add);
+        billFacade.addPersonalBill(CREATOR_EMAIL, billDTO);
+        entityManager.flush();
+        assertThat(outboxCount(OutboxStatusEnum.PENDING)).isEqualTo(INVITEES);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+
+        // When
+        final int sent = outboxDispatcher.dispatch();
+        entityManager.clear();
+
+        // Then
+        assertThat(sent).isEqualTo(INVITEES);
+        assertThat(greenMail.waitForIncomingEmail(5000, INVITEES)).isTrue();
+        final List<String> recipients = Arrays.stream(greenMail.getReceivedMessages())
+                .map(OutboxDispatcherIT::recipient)
+                .collect(Collectors.toList());
+        assertThat(recipients).containsExactlyInAnyOrder(email(0), email(1), email(2));
+        assertThat(greenMail.getReceivedMessages()[0].getSubject()).contains(billDTO.getName());
+        assertThat(outboxCount(OutboxStatusEnum.PENDING)).isZero();
+        assertThat(outboxCount(OutboxStatusEnum.SENT)).isEqualTo(INVITEES);
+    }
+
+    @Test
+    @DisplayName("Should not mark sent the messages claimed again by another dispatcher")
+    void shouldNotMarkSentMessagesClaimedAgain() {
+        // Given
+        final var billDTO = BillDTOFixture.getDefault();
+        IntStream.range(0, INVITEES).mapToObj(OutboxDispatcherIT::email).forEach(billDTO.getAccountsList()::add);
+        billFacade.addPersonalBill(CREATOR_EMAIL, billDTO);
+        entityManager.flush();
+        final List<OutboxMessage> claimed = outboxService.claimBatch();
+        entityManager.flush();
+        entityManager.clear();
+        jdbcTemplate.update("UPDATE outbox SET locked_by = 'another claim'");
+
+        // When
+        final int marked = outboxService.markSent(claimed);
+
+        // Then
+        assertThat(claimed).hasSize(INVITEES);
+        assertThat(marked).isZero();
+        assertThat(outboxCount(OutboxStatusEnum.PENDING)).isEqualTo(INVITEES);
+    }
+
+    private Integer outboxCount(final OutboxStatusEnum status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox WHERE status = ?", Integer.class, status.name());
+    }
+
+    private static String recipient(final MimeMessage message) {
+        try {
+            return message.getRecipients(Message.RecipientType.TO)[0].toString();
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String email(final int i) {
+        return "outbox" + i + "@invitee.com";
+    }
+}
@@ -0,0 +1,121 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.MailSendException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import proj.kedabra.billsnap.business.model.entities.OutboxMessage;
+import proj.kedabra.billsnap.business.service.OutboxSender;
+import proj.kedabra.billsnap.business.service.OutboxService;
+import proj.kedabra.billsnap.config.OutboxProperties;
+
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxService outboxService;
+
+    @Mock
+    private OutboxSender outboxSender;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private OutboxDispatcher outboxDispatcher;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.initMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        final var outboxProperties = new OutboxProperties();
+        outboxProperties.setBatchSize(2);
+        outboxDispatcher = new OutboxDispatcher(outboxService, outboxSender, outboxProperties, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should drain full batches, mark sent messages in one call and retry the failed one")
+    void shouldDrainBatchesAndRetryFailures() {
+        //Given
+        final var first = message(1L);
+        final var second = message(2L);
+        final var third = message(3L);
+        when(outboxService.claimBatch()).thenReturn(List.of(first, second), List.of(third));
+        when(outboxService.getOldestPendingCreated()).thenReturn(Optional.of(third.getCreated()));
+        doThrow(new MailSendException("Connection refused")).when(outboxSender).send(second);
+
+        //When
+        final int sent = outboxDispatcher.dispatch();
+
+        //Then
+        assertThat(sent).isEqualTo(2);
+        verify(outboxService).markSent(List.of(first));
+        verify(outboxService).markSent(List.of(third));
+        verify(outboxService).markFailed(second, "Connection refused");
+        assertThat(meterRegistry.get("outbox.messages").tag("result", "sent").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("outbox.messages").tag("result", "retried").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.delivery.lag").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("outbox.pending.age").gauge().value()).isGreaterThanOrEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("Should not send a message whose lease expired before its turn")
+    void shouldNotSendMessageWithExpiredLease() {
+        //Given
+        final var expired = message(1L);
+        expired.setLockedUntil(ZonedDateTime.now(ZoneId.systemDefault()).minusSeconds(1));
+        final var held = message(2L);
+        held.setLockedUntil(ZonedDateTime.now(ZoneId.systemDefault()).plusMinutes(1));
+        when(outboxService.claimBatch()).thenReturn(List.of(expired, held), Collections.emptyList());
+        when(outboxService.markSent(List.of(held))).thenReturn(1);
+        when(outboxService.getOldestPendingCreated()).thenReturn(Optional.empty());
+
+        //When
+        final int sent = outboxDispatcher.dispatch();
+
+        //Then
+        assertThat(sent).isEqualTo(1);
+        verify(outboxSender, never()).send(expired);
+        verify(outboxSender).send(held);
+    }
+
+    @Test
+    @DisplayName("Should stop polling on an empty batch")
+    void shouldStopOnEmptyBatch() {
+        //Given
+        when(outboxService.claimBatch()).thenReturn(Collections.emptyList());
+        when(outboxService.getOldestPendingCreated()).thenReturn(Optional.empty());
+
+        //When
+        final int sent = outboxDispatcher.dispatch();
+
+        //Then
+        assertThat(sent).isZero();
+        verify(outboxSender, never()).send(any());
+        assertThat(meterRegistry.get("outbox.pending.age").gauge().value()).isZero();
+    }
+
+    private static OutboxMessage message(final Long id) {
+        final var message = new OutboxMessage();
+        message.setId(id);
+        message.setAttempts(1);
+        message.setRecipient("invitee" + id + "@outbox.com");
+        message.setCreated(ZonedDateTime.now(ZoneId.systemDefault()).minusMinutes(id));
+        return message;
+    }
+}
@@ -0,0 +1,149 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import proj.kedabra.billsnap.business.model.entities.OutboxMessage;
+import proj.kedabra.billsnap.business.repository.OutboxRepository;
+import proj.kedabra.billsnap.business.utils.enums.OutboxStatusEnum;
+import proj.kedabra.billsnap.config.OutboxProperties;
+
+class OutboxServiceImplTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    private OutboxProperties outboxProperties;
+
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.initMocks(this);
+        outboxProperties = new OutboxProperties();
+        outboxProperties.setMaxAttempts(3);
+        outboxProperties.setBackoff(Duration.ofSeconds(10));
+        outboxProperties.setMaxBackoff(Duration.ofSeconds(30));
+        outboxService = new OutboxServiceImpl(outboxRepository, outboxProperties);
+    }
+
+    @Test
+    @DisplayName("Should lease the claimed messages and count the attempt")
+    void shouldLeaseClaimedMessages() {
+        //Given
+        final var message = new OutboxMessage();
+        when(outboxRepository.findClaimable(eq(OutboxStatusEnum.PENDING), any(), any())).thenReturn(List.of(message));
+        final var before = ZonedDateTime.now(ZoneId.systemDefault());
+
+        //When
+        final List<OutboxMessage> claimed = outboxService.claimBatch();
+
+        //Then
+        assertThat(claimed).containsExactly(message);
+        assertThat(message.getAttempts()).isEqualTo(1);
+        assertThat(message.getLockedUntil()).isAfterOrEqualTo(before.plus(outboxProperties.getLease()));
+        assertThat(message.getLockedBy()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Should only mark sent the messages still held by their claim")
+    void shouldMarkSentUnderClaim() {
+        //Given
+        final var first = claimedMessage(1L, "claim");
+        final var second = claimedMessage(2L, "claim");
+        when(outboxRepository.markSent(eq(List.of(1L, 2L)), eq("claim"), eq(OutboxStatusEnum.SENT), any())).thenReturn(1);
+
+        //When
+        final int marked = outboxService.markSent(List.of(first, second));
+
+        //Then
+        assertThat(marked).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should double the backoff on every attempt up to the maximum")
+    void shouldDoubleBackoffUpToMaximum() {
+        assertThat(outboxService.backoff(1)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(outboxService.backoff(2)).isEqualTo(Duration.ofSeconds(20));
+        assertThat(outboxService.backoff(3)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(outboxService.backoff(50)).isEqualTo(Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("Should release a failed message to be attempted again after the backoff")
+    void shouldRescheduleFailedMessage() {
+        //Given
+        final var message = claimedMessage(2);
+        final var before = ZonedDateTime.now(ZoneId.systemDefault());
+
+        //When
+        outboxService.markFailed(message, "Connection refused");
+
+        //Then
+        assertThat(message.getStatus()).isEqualTo(OutboxStatusEnum.PENDING);
+        assertThat(message.getLockedUntil()).isNull();
+        assertThat(message.getLastError()).isEqualTo("Connection refused");
+        assertThat(message.getAvailableAt()).isAfterOrEqualTo(before.plusSeconds(20));
+    }
+
+    @Test
+    @DisplayName("Should leave a message FAILED once its attempts are exhausted")
+    void shouldFailMessageAfterMaxAttempts() {
+        //Given
+        final var message = claimedMessage(3);
+
+        //When
+        outboxService.markFailed(message, "x".repeat(300));
+
+        //Then
+        assertThat(message.getStatus()).isEqualTo(OutboxStatusEnum.FAILED);
+        assertThat(message.getLastError()).hasSize(255);
+    }
+
+    @Test
+    @DisplayName("Should leave a failed message claimed again by another dispatcher to it")
+    void shouldNotReleaseMessageClaimedAgain() {
+        //Given
+        final var message = claimedMessage(2);
+        final var sentCopy = claimedMessage(1L, "expired claim");
+        sentCopy.setAttempts(2);
+        final var lockedUntil = message.getLockedUntil();
+
+        //When
+        outboxService.markFailed(sentCopy, "Connection refused");
+
+        //Then
+        assertThat(message.getLockedUntil()).isEqualTo(lockedUntil);
+        assertThat(message.getLockedBy()).isEqualTo("claim");
+        assertThat(message.getLastError()).isNull();
+    }
+
+    private OutboxMessage claimedMessage(final int attempts) {
+        final var message = claimedMessage(1L, "claim");
+        message.setAttempts(attempts);
+        when(outboxRepository.findById(1L)).thenReturn(Optional.of(message));
+        return message;
+    }
+
+    private static OutboxMessage claimedMessage(final Long id, final String lockedBy) {
+        final var message = new OutboxMessage();
+        message.setId(id);
+        message.setLockedUntil(ZonedDateTime.now(ZoneId.systemDefault()).plusMinutes(1));
+        message.setLockedBy(lockedBy);
+        return message;
+    }
+}
@@ -4,17 +4,28 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.math.BigDecimal;
+import java.util.Optional;
 import java.util.Set;
 
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import proj.kedabra.billsnap.business.model.entities.AccountBill;
+import proj.kedabra.billsnap.business.model.entities.AccountBillId;
+import proj.kedabra.billsnap.business.repository.AccountBillRepository;
 import proj.kedabra.billsnap.business.repository.PaymentRepository;
 import proj.kedabra.billsnap.business.service.PaymentService;
 import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
@@ -28,12 +39,18 @@ class PaymentServiceImplTest {
     @Mock
     private PaymentRepository repository;
 
+    @Mock
+    private AccountBillRepository accountBillRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
     private PaymentService paymentService;
 
     @BeforeEach
     void setup() {
         MockitoAnnotations.initMocks(this);
-        paymentService = new PaymentServiceImpl(repository);
+        paymentService = new PaymentServiceImpl(repository, accountBillRepository, entityManager);
     }
 
     @Test
@@ -48,7 +65,7 @@ class PaymentServiceImplTest {
         final var bill = accountBill.getBill();
         accountBill.setAmountPaid(new BigDecimal("5"));
         accountBill.setBill(bill);
-        account.setBills(Set.of(accountBill));
+        when(accountBillRepository.findById(AccountBillId.of(account, bill))).thenReturn(Optional.of(accountBill));
 
         //when/then
         assertThatIllegalArgumentException().isThrownBy(() -> paymentService.payBill(account, bill, paymentAmount)).withMessage(ErrorMessageEnum.CANNOT_PAY_MORE_THAN_OWED.getMessage());
@@ -74,7 +91,7 @@ class PaymentServiceImplTest {
 
         final var unpaidAccountBill = AccountBillFixture.getDefault();
 
-        account.setBills(Set.of(accountBill));
+        when(accountBillRepository.findById(AccountBillId.of(account, bill))).thenReturn(Optional.of(accountBill));
         unpaidAccountBill.setPaymentStatus(PaymentStatusEnum.IN_PROGRESS);
         bill.setAccounts(Set.of(accountBill, unpaidAccountBill, responsibleAccountBill));
 
@@ -101,7 +118,7 @@ class PaymentServiceImplTest {
         final var responsible = AccountEntityFixture.getDefaultAccount();
         bill.setResponsible(responsible);
         accountBill.setAmountPaid(null);
-        account.setBills(Set.of(accountBill));
+        when(accountBillRepository.findById(AccountBillId.of(account, bill))).thenReturn(Optional.of(accountBill));
 
         //when
         final var remainingBalance = paymentService.payBill(account, bill, paymentAmount);
@@ -125,7 +142,7 @@ class PaymentServiceImplTest {
         final var bill = accountBill.getBill();
         bill.setStatus(BillStatusEnum.RESOLVED);
         accountBill.setAmountPaid(null);
-        account.setBills(Set.of(accountBill));
+        when(accountBillRepository.findById(AccountBillId.of(account, bill))).thenReturn(Optional.of(accountBill));
 
         //when/then
         assertThatIllegalStateException().isThrownBy(() -> paymentService.payBill(account, bill, paymentAmount)).withMessage(ErrorMessageEnum.BILL_ALREADY_RESOLVED.getMessage());
@@ -143,12 +160,76 @@ class PaymentServiceImplTest {
         final var bill = accountBill.getBill();
         accountBill.setAmountPaid(null);
         accountBill.setPaymentStatus(PaymentStatusEnum.PAID);
-        account.setBills(Set.of(accountBill));
+        when(accountBillRepository.findById(AccountBillId.of(account, bill))).thenReturn(Optional.of(accountBill));
 
         //when/then
         assertThatIllegalStateException().isThrownBy(() -> paymentService.payBill(account, bill, paymentAmount)).withMessage(ErrorMessageEnum.BILL_ALREADY_PAID_FOR.getMessage());
 
     }
 
+    @Test
+    @DisplayName("Should add a partial payment in one statement and return the remaining balance read back")
+    void shouldAddPartialPaymentAtomically() {
+        //Given
+        when(repository.getTotalAmountOwedToBill(any(), any())).thenReturn(BigDecimal.TEN);
+        final var account = AccountEntityFixture.getDefaultAccount();
+        final var paymentAmount = new BigDecimal("4");
+
+        final var accountBill = AccountBillFixture.getDefault();
+        final var bill = accountBill.getBill();
+        final var responsible = AccountEntityFixture.getDefaultAccount();
+        responsible.setId(12345L);
+        bill.setResponsible(responsible);
+        when(accountBillRepository.findById(AccountBillId.of(account, bill))).thenReturn(Optional.of(accountBill));
+        bill.setAccounts(Set.of(accountBill));
+        when(accountBillRepository.addPartialPayment(bill.getId(), account.getId(), paymentAmount, BigDecimal.TEN)).thenReturn(1);
+        //a concurrent payment of 3 committed in between
+        doAnswer(invocation -> {
+            ((AccountBill) invocation.getArgument(0)).setAmountPaid(new BigDecimal("7.00"));
+            return null;
+        }).when(entityManager).refresh(accountBill);
+
+        //when
+        final var remainingBalance = paymentService.payBill(account, bill, paymentAmount);
+
+        //then
+        assertThat(remainingBalance).isEqualByComparingTo(new BigDecimal("3"));
+        assertThat(accountBill.getPaymentStatus()).isEqualTo(PaymentStatusEnum.IN_PROGRESS);
+        assertThat(bill.getStatus()).isEqualTo(BillStatusEnum.OPEN);
+        verify(entityManager, never()).lock(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should force the bill's version up when settling the account")
+    void shouldForceBillVersionIncrementOnSettlingPayment() {
+        //Given
+        when(repository.getTotalAmountOwedToBill(any(), any())).thenReturn(BigDecimal.TEN);
+        final var account = AccountEntityFixture.getDefaultAccount();
+        final var paymentAmount = BigDecimal.TEN;
+
+        final var accountBill = AccountBillFixture.getDefault();
+        final var bill = accountBill.getBill();
+        bill.setResponsible(account);
+        when(accountBillRepository.findById(AccountBillId.of(account, bill))).thenReturn(Optional.of(accountBill));
+
+        //when
+        paymentService.payBill(account, bill, paymentAmount);
+
+        //then
+        verify(entityManager).lock(eq(bill), eq(LockModeType.OPTIMISTIC_FORCE_INCREMENT));
+        verify(entityManager, never()).refresh(any());
+    }
+
+    @Test
+    @DisplayName("Should throw exception if the account is not in the bill")
+    void shouldThrowExceptionIfAccountIsNotInBill() {
+        //Given
+        final var account = AccountEntityFixture.getDefaultAccount();
+        final var bill = AccountBillFixture.getDefault().getBill();
+        when(accountBillRepository.findById(AccountBillId.of(account, bill))).thenReturn(Optional.empty());
+
+        //when/then
+        assertThatIllegalArgumentException().isThrownBy(() -> paymentService.payBill(account, bill, BigDecimal.TEN)).withMessage(ErrorMessageEnum.ACCOUNT_IS_NOT_ASSOCIATED_TO_BILL.getMessage());
+    }
 
-}
\ No newline at end of file
+}
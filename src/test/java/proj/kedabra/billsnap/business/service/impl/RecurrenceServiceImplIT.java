@@ -0,0 +1,291 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import javax.persistence.EntityManager;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import proj.kedabra.billsnap.business.dto.AccountPercentageDTO;
+import proj.kedabra.billsnap.business.dto.AssociateBillDTO;
+import proj.kedabra.billsnap.business.dto.BalanceSplitDTO;
+import proj.kedabra.billsnap.business.dto.BillCompleteDTO;
+import proj.kedabra.billsnap.business.dto.ItemAssociationDTO;
+import proj.kedabra.billsnap.business.dto.ItemPercentageDTO;
+import proj.kedabra.billsnap.business.dto.RecurrenceCopyDTO;
+import proj.kedabra.billsnap.business.facade.BillFacade;
+import proj.kedabra.billsnap.business.model.entities.AccountBill;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.model.entities.Item;
+import proj.kedabra.billsnap.business.model.entities.Tax;
+import proj.kedabra.billsnap.business.repository.BillRepository;
+import proj.kedabra.billsnap.business.service.BillService;
+import proj.kedabra.billsnap.business.service.RecurrenceService;
+import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
+import proj.kedabra.billsnap.fixtures.BillDTOFixture;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Transactional
+class RecurrenceServiceImplIT {
+
+    private static final String CREATOR_EMAIL = "test@email.com";
+
+    private static final String INVITEE_EMAIL = "nobills@inthisemail.com";
+
+    private static final int OCCURRENCE = 7;
+
+    @Autowired
+    private RecurrenceService recurrenceService;
+
+    @Autowired
+    private BillFacade billFacade;
+
+    @Autowired
+    private BillService billService;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    @DisplayName("Should schedule the first occurrence of a recurring bill on creation")
+    void shouldScheduleFirstOccurrence() {
+        //Given
+        final var billDTO = BillDTOFixture.getDefault();
+        billDTO.setOccurrence(OCCURRENCE);
+
+        //When
+        final BillCompleteDTO bill = billFacade.addPersonalBill(CREATOR_EMAIL, billDTO);
+
+        //Then
+        assertThat(bill.getNextOccurrence()).isAfter(ZonedDateTime.now(ZoneId.systemDefault()).plusDays(OCCURRENCE - 1));
+    }
+
+    @Test
+    @DisplayName("Should copy a due recurring bill with its items, taxes and invitations, once")
+    void shouldCopyDueBillOnce() {
+        //Given
+        final Long billId = createDueBill();
+        final var now = now();
+        final var lockedUntil = now.plusMinutes(10);
+
+        //When
+        final List<Long> claimed = recurrenceService.claimDue(billId, billId, now, lockedUntil);
+        final List<Long> claimedAgain = recurrenceService.claimDue(billId, billId, now, lockedUntil);
+        final RecurrenceCopyDTO result = recurrenceService.copyBills(claimed, now, lockedUntil);
+        final RecurrenceCopyDTO resultAgain = recurrenceService.copyBills(claimed, now, lockedUntil);
+        entityManager.flush();
+        entityManager.clear();
+
+        //Then
+        assertThat(claimed).containsExactly(billId);
+        assertThat(claimedAgain).isEmpty();
+        assertThat(result.getCopied()).isEqualTo(1);
+        assertThat(result.getParticipantEmails()).containsExactlyInAnyOrder(CREATOR_EMAIL, INVITEE_EMAIL);
+        assertThat(resultAgain.getCopied()).isZero();
+        assertThat(resultAgain.getParticipantEmails()).isEmpty();
+
+        final Bill template = billRepository.findById(billId).orElseThrow();
+        assertThat(template.getNextOccurrence()).isAfter(now);
+        assertThat(template.getOccurrenceLockedUntil()).isNull();
+
+        final List<Bill> copies = findCopies(billId);
+        assertThat(copies).hasSize(1);
+        final Bill copy = copies.get(0);
+        assertThat(copy.getOccurrence()).isNull();
+        assertThat(copy.getNextOccurrence()).isNull();
+        assertThat(copy.getCreator().getEmail()).isEqualTo(CREATOR_EMAIL);
+        assertThat(copy.getItems()).extracting(Item::getName).containsExactly("Rent");
+        assertThat(copy.getItems()).extracting(Item::getCost).usingElementComparator(BigDecimal::compareTo).containsExactly(BigDecimal.valueOf(300));
+        assertThat(copy.getTaxes()).extracting(Tax::getName).containsExactly("Tax 1");
+        assertThat(copy.getAccounts()).filteredOn(accountBill -> accountBill.getStatus() == InvitationStatusEnum.PENDING)
+                .extracting(accountBill -> accountBill.getAccount().getEmail())
+                .containsExactly(INVITEE_EMAIL);
+        assertThat(recurrenceService.getDueIdRange(now).getFirstId()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should copy the share of each item of every participant of a recurring bill")
+    void shouldCopyItemSplit() {
+        //Given
+        final Long billId = createDueBill(SplitByEnum.ITEM);
+        final Long itemId = billRepository.findById(billId).orElseThrow().getItems().iterator().next().getId();
+        final var associateBillDTO = new AssociateBillDTO();
+        associateBillDTO.setId(billId);
+        associateBillDTO.setItems(List.of(itemAssociation(CREATOR_EMAIL, itemId, 60), itemAssociation(INVITEE_EMAIL, itemId, 40)));
+        billService.associateItemsToAccountBill(associateBillDTO);
+        entityManager.flush();
+        entityManager.clear();
+
+        //When
+        final Bill copy = copyDueBill(billId);
+
+        //Then
+        final Bill template = billRepository.findById(billId).orElseThrow();
+        assertThat(getItemPercentages(copy)).isEqualTo(getItemPercentages(template)).containsOnlyKeys(CREATOR_EMAIL, INVITEE_EMAIL);
+        assertThat(getTotalsOwed(copy)).isEqualTo(getTotalsOwed(template));
+    }
+
+    @Test
+    @DisplayName("Should copy the percentages of the balance of every participant of a recurring bill")
+    void shouldCopyBalanceSplit() {
+        //Given
+        final Long billId = createDueBill(SplitByEnum.BALANCE);
+        final var balanceSplitDTO = new BalanceSplitDTO();
+        balanceSplitDTO.setId(billId);
+        balanceSplitDTO.getAccounts().add(accountPercentage(CREATOR_EMAIL, 70));
+        balanceSplitDTO.getAccounts().add(accountPercentage(INVITEE_EMAIL, 30));
+        billService.setBalancePercentages(balanceSplitDTO);
+        entityManager.flush();
+        entityManager.clear();
+
+        //When
+        final Bill copy = copyDueBill(billId);
+
+        //Then
+        final Bill template = billRepository.findById(billId).orElseThrow();
+        assertThat(copy.getSplitBy()).isEqualTo(SplitByEnum.BALANCE);
+        assertThat(getBalancePercentages(copy)).isEqualTo(getBalancePercentages(template)).containsOnlyKeys(CREATOR_EMAIL, INVITEE_EMAIL);
+        assertThat(getTotalsOwed(copy)).isEqualTo(getTotalsOwed(template));
+    }
+
+    @Test
+    @DisplayName("Should keep the next occurrence of a bill edited after the scheduler moved it")
+    void shouldNotOverwriteAdvancedOccurrence() {
+        //Given
+        final Long billId = createDueBill();
+        final var now = now();
+        final var lockedUntil = now.plusMinutes(10);
+        final Bill loaded = billRepository.findById(billId).orElseThrow();
+        final ZonedDateTime dueOccurrence = loaded.getNextOccurrence();
+        recurrenceService.claimDue(billId, billId, now, lockedUntil);
+        final var advancedOccurrence = now.plusDays(OCCURRENCE);
+        assertThat(billRepository.advanceOccurrence(billId, advancedOccurrence, lockedUntil)).isEqualTo(1);
+
+        //When
+        loaded.setName("Edited Rent");
+        entityManager.flush();
+        entityManager.clear();
+
+        //Then
+        final Bill bill = billRepository.findById(billId).orElseThrow();
+        assertThat(bill.getName()).isEqualTo("Edited Rent");
+        assertThat(bill.getNextOccurrence()).isAfter(dueOccurrence);
+        assertThat(bill.getNextOccurrence().toInstant()).isEqualTo(advancedOccurrence.toInstant());
+        assertThat(bill.getOccurrenceLockedUntil()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should not claim a recurring bill that is not due yet")
+    void shouldNotClaimBillNotDue() {
+        //Given
+        final var billDTO = BillDTOFixture.getDefault();
+        billDTO.setOccurrence(OCCURRENCE);
+        final Long billId = billFacade.addPersonalBill(CREATOR_EMAIL, billDTO).getId();
+        entityManager.flush();
+        final var now = now();
+
+        //When
+        final List<Long> claimed = recurrenceService.claimDue(billId, billId, now, now.plusMinutes(10));
+
+        //Then
+        assertThat(claimed).isEmpty();
+    }
+
+    private Long createDueBill() {
+        return createDueBill(SplitByEnum.ITEM);
+    }
+
+    private Long createDueBill(final SplitByEnum splitBy) {
+        final var billDTO = BillDTOFixture.getDefault();
+        billDTO.setOccurrence(OCCURRENCE);
+        billDTO.setSplitBy(splitBy);
+        billDTO.getAccountsList().add(INVITEE_EMAIL);
+        final Long billId = billFacade.addPersonalBill(CREATOR_EMAIL, billDTO).getId();
+        entityManager.flush();
+        entityManager.createQuery("UPDATE Bill as b SET b.nextOccurrence = :nextOccurrence where b.id = :id")
+                .setParameter("nextOccurrence", now().minusDays(1))
+                .setParameter("id", billId)
+                .executeUpdate();
+        entityManager.clear();
+        return billId;
+    }
+
+    private Bill copyDueBill(final Long billId) {
+        final var now = now();
+        final var lockedUntil = now.plusMinutes(10);
+        recurrenceService.copyBills(recurrenceService.claimDue(billId, billId, now, lockedUntil), now, lockedUntil);
+        entityManager.flush();
+        entityManager.clear();
+
+        final List<Bill> copies = findCopies(billId);
+        assertThat(copies).hasSize(1);
+        return copies.get(0);
+    }
+
+    private static ItemAssociationDTO itemAssociation(final String email, final Long itemId, final int percentage) {
+        final var itemPercentageDTO = new ItemPercentageDTO();
+        itemPercentageDTO.setItemId(itemId);
+        itemPercentageDTO.setPercentage(BigDecimal.valueOf(percentage));
+        final var itemAssociationDTO = new ItemAssociationDTO();
+        itemAssociationDTO.setEmail(email);
+        itemAssociationDTO.setItems(List.of(itemPercentageDTO));
+        return itemAssociationDTO;
+    }
+
+    private static AccountPercentageDTO accountPercentage(final String email, final int percentage) {
+        final var accountPercentageDTO = new AccountPercentageDTO();
+        accountPercentageDTO.setEmail(email);
+        accountPercentageDTO.setPercentage(BigDecimal.valueOf(percentage));
+        return accountPercentageDTO;
+    }
+
+    private static Map<String, BigDecimal> getItemPercentages(final Bill bill) {
+        return bill.getItems().iterator().next().getAccounts().stream()
+                .collect(Collectors.toMap(accountItem -> accountItem.getAccount().getEmail(), accountItem -> accountItem.getPercentage().stripTrailingZeros()));
+    }
+
+    private static Map<String, BigDecimal> getBalancePercentages(final Bill bill) {
+        return bill.getAccounts().stream()
+                .collect(Collectors.toMap(accountBill -> accountBill.getAccount().getEmail(), accountBill -> accountBill.getPercentage().stripTrailingZeros()));
+    }
+
+    private static Map<String, BigDecimal> getTotalsOwed(final Bill bill) {
+        return bill.getAccounts().stream()
+                .collect(Collectors.toMap(accountBill -> accountBill.getAccount().getEmail(), accountBill -> accountBill.getTotalOwed().stripTrailingZeros()));
+    }
+
+    private List<Bill> findCopies(final Long billId) {
+        return StreamSupport.stream(billRepository.findAll().spliterator(), false)
+                .filter(bill -> !bill.getId().equals(billId) && "Monthly Rent".equals(bill.getName()))
+                .filter(bill -> bill.getAccounts().stream().map(AccountBill::getAccount).anyMatch(account -> INVITEE_EMAIL.equals(account.getEmail())))
+                .collect(Collectors.toList());
+    }
+
+    private static ZonedDateTime now() {
+        return ZonedDateTime.now(ZoneId.systemDefault()).truncatedTo(ChronoUnit.MILLIS);
+    }
+}
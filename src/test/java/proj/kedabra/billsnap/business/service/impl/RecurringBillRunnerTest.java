@@ -0,0 +1,124 @@
+package proj.kedabra.billsnap.business.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import proj.kedabra.billsnap.business.dto.RecurrenceCopyDTO;
+import proj.kedabra.billsnap.business.model.projections.OccurrenceIdRange;
+import proj.kedabra.billsnap.business.service.RecurrenceService;
+import proj.kedabra.billsnap.config.RecurrenceProperties;
+
+class RecurringBillRunnerTest {
+
+    @Mock
+    private RecurrenceService recurrenceService;
+
+    @Mock
+    private OccurrenceIdRange range;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private RecurringBillRunner recurringBillRunner;
+
+    @BeforeEach
+    void setup() {
+        MockitoAnnotations.initMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        final var recurrenceProperties = new RecurrenceProperties();
+        recurrenceProperties.setBatchSize(2);
+        recurrenceProperties.setWorkers(1);
+        recurringBillRunner = new RecurringBillRunner(recurrenceService, recurrenceProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recurringBillRunner.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should split the due ids in one contiguous range per worker")
+    void shouldPartitionIds() {
+        assertThat(RecurringBillRunner.partition(1, 10, 4)).containsExactly(new long[]{1, 3}, new long[]{4, 6}, new long[]{7, 9}, new long[]{10, 10});
+        assertThat(RecurringBillRunner.partition(5, 6, 4)).containsExactly(new long[]{5, 5}, new long[]{6, 6});
+        assertThat(RecurringBillRunner.partition(5, 5, 4)).containsExactly(new long[]{5, 5});
+    }
+
+    @Test
+    @DisplayName("Should drain full batches and copy a failed batch bill by bill")
+    void shouldDrainBatchesAndIsolateFailures() {
+        //Given
+        when(range.getFirstId()).thenReturn(1L);
+        when(range.getLastId()).thenReturn(3L);
+        when(recurrenceService.getDueIdRange(any())).thenReturn(range);
+        when(recurrenceService.claimDue(eq(1L), eq(3L), any(), any())).thenReturn(List.of(1L, 2L), List.of(3L));
+        when(recurrenceService.copyBills(eq(List.of(1L, 2L)), any(), any())).thenThrow(new IllegalStateException("broken"));
+        when(recurrenceService.copyBills(eq(List.of(1L)), any(), any())).thenReturn(copied(1, "a@email.com"));
+        when(recurrenceService.copyBills(eq(List.of(2L)), any(), any())).thenThrow(new IllegalStateException("broken"));
+        when(recurrenceService.copyBills(eq(List.of(3L)), any(), any())).thenReturn(copied(1, "b@email.com"));
+
+        //When
+        final Set<String> emails = recurringBillRunner.run();
+
+        //Then
+        assertThat(emails).containsExactlyInAnyOrder("a@email.com", "b@email.com");
+        assertThat(meterRegistry.get("recurrence.bills").tag("result", "copied").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("recurrence.bills").tag("result", "failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not count the bills claimed again by another node as copied")
+    void shouldOnlyCountCopiedBills() {
+        //Given
+        when(range.getFirstId()).thenReturn(1L);
+        when(range.getLastId()).thenReturn(2L);
+        when(recurrenceService.getDueIdRange(any())).thenReturn(range);
+        when(recurrenceService.claimDue(eq(1L), eq(2L), any(), any())).thenReturn(List.of(1L));
+        when(recurrenceService.copyBills(eq(List.of(1L)), any(), any())).thenReturn(copied(0));
+
+        //When
+        final Set<String> emails = recurringBillRunner.run();
+
+        //Then
+        assertThat(emails).isEmpty();
+        assertThat(meterRegistry.get("recurrence.bills").tag("result", "copied").counter().count()).isZero();
+        assertThat(meterRegistry.get("recurrence.bills").tag("result", "failed").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not claim anything when no recurring bill is due")
+    void shouldNotClaimWhenNothingDue() {
+        //Given
+        when(recurrenceService.getDueIdRange(any())).thenReturn(range);
+
+        //When
+        final Set<String> emails = recurringBillRunner.run();
+
+        //Then
+        assertThat(emails).isEmpty();
+        verify(recurrenceService, never()).claimDue(anyLong(), anyLong(), any(), any());
+    }
+
+    private static RecurrenceCopyDTO copied(final int copied, final String... emails) {
+        final var result = new RecurrenceCopyDTO();
+        result.setCopied(copied);
+        result.getParticipantEmails().addAll(Set.of(emails));
+        return result;
+    }
+}
@@ -0,0 +1,144 @@
+package proj.kedabra.billsnap.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.framework.ProxyFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+class LogMethodInterceptorTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LogMethodInterceptor.class);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private final TracingProperties tracingProperties = new TracingProperties();
+
+    private final CountingArgument argument = new CountingArgument();
+
+    private Level previousLevel;
+
+    @BeforeEach
+    void setUp() {
+        previousLevel = logger.getLevel();
+        logger.setLevel(Level.INFO);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+        logger.setLevel(previousLevel);
+    }
+
+    @Test
+    @DisplayName("Should log the entry and exit of a sampled call")
+    void shouldLogEntryAndExitOfSampledCall() {
+        // Given
+        final Traced traced = proxyOf(new TracedImpl());
+
+        // When
+        traced.echo(argument);
+
+        // Then
+        assertThat(appender.list).hasSize(2);
+        assertThat(appender.list.get(0).getFormattedMessage()).startsWith("OTHER | TracedImpl.echo(..)").contains(">>>>>>>>>>>>>", "argument");
+        assertThat(appender.list.get(1).getFormattedMessage()).startsWith("OTHER | TracedImpl.echo(..)").contains("<<<<<<<<<<<<<", "RETURNED: argument");
+    }
+
+    @Test
+    @DisplayName("Should not format the arguments of an unsampled call")
+    void shouldNotFormatUnsampledCall() {
+        // Given
+        tracingProperties.setSampleRates(Map.of("TracedImpl.echo", 0.0));
+        final Traced traced = proxyOf(new TracedImpl());
+
+        // When
+        traced.echo(argument);
+
+        // Then
+        assertThat(appender.list).isEmpty();
+        assertThat(argument.formatted).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should not format the arguments when INFO is disabled")
+    void shouldNotFormatWhenLevelIsDisabled() {
+        // Given
+        logger.setLevel(Level.WARN);
+        final Traced traced = proxyOf(new TracedImpl());
+
+        // When
+        traced.echo(argument);
+
+        // Then
+        assertThat(appender.list).isEmpty();
+        assertThat(argument.formatted).hasValue(0);
+    }
+
+    @Test
+    @DisplayName("Should log the error of an unsampled call once")
+    void shouldLogErrorOfUnsampledCall() {
+        // Given
+        tracingProperties.setSampleRate(0);
+        final Traced traced = proxyOf(new TracedImpl());
+
+        // When/Then
+        assertThatIllegalStateException().isThrownBy(() -> traced.fail(argument));
+        assertThat(appender.list).hasSize(1);
+        assertThat(appender.list.get(0).getLevel()).isEqualTo(Level.ERROR);
+        assertThat(appender.list.get(0).getFormattedMessage()).isEqualTo("ERROR MESSAGE | failed");
+        assertThat(argument.formatted).hasValue(0);
+    }
+
+    private Traced proxyOf(final Traced target) {
+        final var proxyFactory = new ProxyFactory(target);
+        proxyFactory.addInterface(Traced.class);
+        proxyFactory.addAdvice(new LogMethodInterceptor(tracingProperties, false));
+        return (Traced) proxyFactory.getProxy();
+    }
+
+    interface Traced {
+
+        Object echo(Object argument);
+
+        void fail(Object argument);
+    }
+
+    static class TracedImpl implements Traced {
+
+        @Override
+        public Object echo(final Object argument) {
+            return argument;
+        }
+
+        @Override
+        public void fail(final Object argument) {
+            throw new IllegalStateException("failed");
+        }
+    }
+
+    static class CountingArgument {
+
+        private final AtomicInteger formatted = new AtomicInteger();
+
+        @Override
+        public String toString() {
+            formatted.incrementAndGet();
+            return "argument";
+        }
+    }
+}
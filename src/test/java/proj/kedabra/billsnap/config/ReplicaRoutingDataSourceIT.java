@@ -0,0 +1,273 @@
+package proj.kedabra.billsnap.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+import proj.kedabra.billsnap.business.facade.BillFacade;
+import proj.kedabra.billsnap.business.service.BillAuthorityService;
+import proj.kedabra.billsnap.fixtures.BillDTOFixture;
+import proj.kedabra.billsnap.fixtures.UserFixture;
+import proj.kedabra.billsnap.presentation.resources.BillSplitResource;
+import proj.kedabra.billsnap.presentation.resources.ShortBillResource;
+import proj.kedabra.billsnap.security.JwtService;
+import proj.kedabra.billsnap.utils.CacheNames;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+/**
+ * Runs against two in-memory H2 databases: the primary of the test profile, and a copy of it standing in for its
+ * replica, where one bill was renamed. The name read for that bill tells which of the two a transaction was sent to.
+ */
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest(properties = {
+        "replicas.enabled=true",
+        "replicas.datasources[0].url=" + ReplicaRoutingDataSourceIT.REPLICA_URL,
+        "replicas.datasources[0].username=test",
+        "replicas.datasources[0].password=users",
+        "replicas.max-lag=PT1M",
+        "spring.datasource.hikari.maximum-pool-size=7",
+        "spring.cache.type=simple"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingDataSourceIT {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replicadb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    private static final Long BILL_ID = 1000L;
+
+    private static final String PRIMARY_BILL_NAME = "test";
+
+    private static final String REPLICA_BILL_NAME = "replica";
+
+    private static final String BILL_NAME = "SELECT name FROM bill WHERE id = " + BILL_ID;
+
+    private static final String CREATOR_EMAIL = "test@email.com";
+
+    private static final String REGISTERED_EMAIL = "registered@primary.com";
+
+    private static final String JWT_HEADER = "Authorization";
+
+    private static final String JWT_PREFIX = "Bearer ";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BillFacade billFacade;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private BillAuthorityService billAuthorityService;
+
+    @Autowired
+    @Qualifier("replicasHealthContributor")
+    private HealthContributor replicasHealthContributor;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private TransactionTemplate transaction;
+
+    private Long createdBillId;
+
+    @BeforeEach
+    void setUp() {
+        final var replica = new DriverManagerDataSource(REPLICA_URL, "test", "users");
+        final var replicaJdbcTemplate = new JdbcTemplate(replica);
+        new ResourceDatabasePopulator(new ClassPathResource("scripts/create_schema.sql")).execute(replica);
+        final Long bills = replicaJdbcTemplate.queryForObject("SELECT COUNT(*) FROM bill", Long.class);
+        if (bills == null || bills == 0) {
+            new ResourceDatabasePopulator(new ClassPathResource("scripts/insert_data.sql")).execute(replica);
+        }
+        replicaJdbcTemplate.update("UPDATE bill SET name = ? WHERE id = ?", REPLICA_BILL_NAME, BILL_ID);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+        if (createdBillId != null) {
+            jdbcTemplate.update("DELETE FROM items_vs_accounts WHERE item_id IN (SELECT id FROM item WHERE bill_id = ?)", createdBillId);
+            jdbcTemplate.update("DELETE FROM item WHERE bill_id = ?", createdBillId);
+            jdbcTemplate.update("DELETE FROM tax WHERE bill_id = ?", createdBillId);
+            jdbcTemplate.update("DELETE FROM bills_vs_accounts WHERE bill_id = ?", createdBillId);
+            jdbcTemplate.update("DELETE FROM bill WHERE id = ?", createdBillId);
+        }
+        jdbcTemplate.update("DELETE FROM account WHERE email = ?", REGISTERED_EMAIL);
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and the others to the primary")
+    void shouldRouteReadOnlyTransactionsToReplica() {
+        //When/Then
+        assertThat(isServedByPrimary(transaction)).isTrue();
+        assertThat(isServedByPrimary(readOnlyTransaction)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should keep the reads of a user on the primary after they committed a write")
+    void shouldPinReadsToPrimaryAfterWrite() {
+        //Given
+        authenticate("writer@email.com");
+        assertThat(isServedByPrimary(readOnlyTransaction)).isFalse();
+
+        //When
+        transaction.execute(status -> jdbcTemplate.update("UPDATE bill SET name = name WHERE id = ?", BILL_ID));
+
+        //Then
+        assertThat(isServedByPrimary(readOnlyTransaction)).isTrue();
+        authenticate("other@email.com");
+        assertThat(isServedByPrimary(readOnlyTransaction)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should not pin the reads of a user whose transaction could have written but only read")
+    void shouldNotPinReadsAfterReadingInWriteTransaction() {
+        //Given
+        authenticate("reader@email.com");
+
+        //When
+        assertThat(isServedByPrimary(transaction)).isTrue();
+
+        //Then
+        assertThat(isServedByPrimary(readOnlyTransaction)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should read bills through the facade from the replica until the user creates one")
+    void shouldReadBillsFromReplicaUntilUserWrites() {
+        //Given
+        final var email = "nobills@inthisemail.com";
+        authenticate(email);
+        assertThat(billFacade.getDetailedBill(BILL_ID).getName()).isEqualTo(REPLICA_BILL_NAME);
+
+        //When
+        createdBillId = billFacade.addPersonalBill(email, BillDTOFixture.getDefault()).getId();
+
+        //Then
+        assertThat(billFacade.getDetailedBill(BILL_ID).getName()).isEqualTo(PRIMARY_BILL_NAME);
+    }
+
+    @Test
+    @DisplayName("Should load users and their authorities from the primary, before the replica has their writes")
+    void shouldLoadUsersAndAuthoritiesFromPrimary() {
+        //Given
+        jdbcTemplate.update("INSERT INTO account (id, email, password, first_name, last_name, status, created, updated) "
+                + "VALUES (77777, ?, 'notEncrypted', 'first', 'last', 'REGISTERED', current_timestamp, current_timestamp)", REGISTERED_EMAIL);
+        createdBillId = billFacade.addPersonalBill(REGISTERED_EMAIL, BillDTOFixture.getDefault()).getId();
+        assertThat(isServedByPrimary(readOnlyTransaction)).isFalse();
+
+        //When
+        final var userDetails = userDetailsService.loadUserByUsername(REGISTERED_EMAIL);
+        final var authorities = billAuthorityService.getAuthorities(REGISTERED_EMAIL);
+
+        //Then
+        assertThat(userDetails.getUsername()).isEqualTo(REGISTERED_EMAIL);
+        assertThat(authorities).extracting(GrantedAuthority::getAuthority).contains(createdBillId.toString());
+    }
+
+    @Test
+    @DisplayName("Should fill the bill caches from the primary, whatever the replica still holds")
+    void shouldCacheBillsReadFromPrimary() throws Exception {
+        //Given
+        final String bearer = JWT_PREFIX + jwtService.generateToken(UserFixture.getDefaultWithEmailAndPassword(CREATOR_EMAIL, "notEncrypted"));
+        assertThat(isServedByPrimary(readOnlyTransaction)).isFalse();
+
+        //When
+        mockMvc.perform(get("/bills/" + BILL_ID).header(JWT_HEADER, bearer)).andExpect(status().isOk());
+        mockMvc.perform(get("/bills").header(JWT_HEADER, bearer)).andExpect(status().isOk());
+
+        //Then
+        final var cachedBill = Objects.requireNonNull(cacheManager.getCache(CacheNames.BILL)).get(BILL_ID, BillSplitResource.class);
+        assertThat(cachedBill).isNotNull();
+        assertThat(cachedBill.getName()).isEqualTo(PRIMARY_BILL_NAME);
+
+        final var cachedBills = (Map<?, ?>) Objects.requireNonNull(cacheManager.getCache(CacheNames.BILLS)).getNativeCache();
+        assertThat(cachedBills).hasSize(1);
+        @SuppressWarnings("unchecked") final var bills = (List<ShortBillResource>) cachedBills.values().iterator().next();
+        assertThat(bills).filteredOn(bill -> BILL_ID.equals(bill.getId())).extracting(ShortBillResource::getName).containsExactly(PRIMARY_BILL_NAME);
+    }
+
+    @Test
+    @DisplayName("Should configure the pools from spring.datasource.hikari and report their metrics and health")
+    void shouldConfigureAndMonitorPools() {
+        //Given
+        assertThat(isServedByPrimary(transaction)).isTrue();
+        assertThat(isServedByPrimary(readOnlyTransaction)).isFalse();
+
+        //When
+        final var replicaHealth = ((CompositeHealthContributor) replicasHealthContributor).getContributor("replica-0");
+
+        //Then
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "primary").gauge().value()).isEqualTo(7);
+        assertThat(meterRegistry.get("hikaricp.connections.max").tag("pool", "replica-0").gauge().value()).isEqualTo(10);
+        assertThat(((HealthIndicator) replicaHealth).health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    private boolean isServedByPrimary(final TransactionTemplate transactionTemplate) {
+        return PRIMARY_BILL_NAME.equals(transactionTemplate.execute(status -> jdbcTemplate.queryForObject(BILL_NAME, String.class)));
+    }
+
+    private static void authenticate(final String email) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(email, null, "ROLE_USER"));
+    }
+}
@@ -0,0 +1,186 @@
+package proj.kedabra.billsnap.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    private static final long NOW = 1_000_000L;
+
+    private static final String WRITER_EMAIL = "test@email.com";
+
+    private static final String UPDATE = "UPDATE bill SET name = ? WHERE id = ?";
+
+    private static final String SELECT = "SELECT name FROM bill WHERE id = ?";
+
+    @Mock
+    private HikariDataSource primary;
+
+    @Mock
+    private HikariDataSource firstReplica;
+
+    @Mock
+    private HikariDataSource secondReplica;
+
+    @Mock
+    private HikariPoolMXBean firstPool;
+
+    @Mock
+    private HikariPoolMXBean secondPool;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private Clock clock;
+
+    private ReplicaProperties replicaProperties;
+
+    @BeforeEach
+    void setUp() {
+        replicaProperties = new ReplicaProperties();
+        replicaProperties.setMaxLag(Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should send writes to the primary and read-only transactions to each replica in turn")
+    void shouldRouteReadOnlyTransactionsRoundRobin() {
+        //Given
+        final var routingDataSource = routingDataSource();
+
+        //When/Then
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(0);
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(1);
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica with the fewest active connections")
+    void shouldRouteReadOnlyTransactionsToLeastBusyReplica() {
+        //Given
+        replicaProperties.setBalancing(ReplicaProperties.Balancing.LEAST_CONNECTIONS);
+        final var routingDataSource = routingDataSource();
+        when(firstReplica.getHikariPoolMXBean()).thenReturn(firstPool);
+        when(secondReplica.getHikariPoolMXBean()).thenReturn(secondPool);
+        when(firstPool.getActiveConnections()).thenReturn(3);
+        when(secondPool.getActiveConnections()).thenReturn(1);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        //When/Then
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(1);
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the reads of a user on the primary for the max lag after their write is committed")
+    void shouldPinReadsToPrimaryAfterWrite() throws Exception {
+        //Given
+        final var routingDataSource = routingDataSource();
+        when(clock.millis()).thenReturn(NOW);
+        when(primary.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(UPDATE)).thenReturn(statement);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(WRITER_EMAIL, null, "ROLE_USER"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        //When
+        try (Connection writeConnection = routingDataSource.getTargetDataSource().getConnection()) {
+            writeConnection.prepareStatement(UPDATE).executeUpdate();
+        }
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        //Then
+        verify(statement).executeUpdate();
+        when(clock.millis()).thenReturn(NOW + 4999);
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.PRIMARY);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user@user.com", null, "ROLE_USER"));
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(0);
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(WRITER_EMAIL, null, "ROLE_USER"));
+        when(clock.millis()).thenReturn(NOW + 5000);
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should not pin the reads of a user whose write transaction only read")
+    void shouldNotPinReadsAfterReadOnlyWork() throws Exception {
+        //Given
+        final var routingDataSource = routingDataSource();
+        when(primary.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(SELECT)).thenReturn(statement);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(WRITER_EMAIL, null, "ROLE_USER"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        //When
+        try (Connection writeConnection = routingDataSource.getTargetDataSource().getConnection()) {
+            writeConnection.prepareStatement(SELECT).executeQuery();
+        }
+
+        //Then
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not pin the reads of a user whose write is rolled back")
+    void shouldNotPinReadsAfterRollback() throws Exception {
+        //Given
+        final var routingDataSource = routingDataSource();
+        when(primary.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(UPDATE)).thenReturn(statement);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(WRITER_EMAIL, null, "ROLE_USER"));
+        TransactionSynchronizationManager.initSynchronization();
+
+        //When
+        try (Connection writeConnection = routingDataSource.getTargetDataSource().getConnection()) {
+            writeConnection.prepareStatement(UPDATE).executeUpdate();
+        }
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        //Then
+        assertThat(routingDataSource.determineCurrentLookupKey()).isEqualTo(0);
+    }
+
+    private ReplicaRoutingDataSource routingDataSource() {
+        return new ReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica), replicaProperties, clock);
+    }
+}
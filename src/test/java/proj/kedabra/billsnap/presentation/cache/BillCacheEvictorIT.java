@@ -0,0 +1,222 @@
+package proj.kedabra.billsnap.presentation.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import redis.embedded.RedisServer;
+
+import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
+import proj.kedabra.billsnap.fixtures.AccountResourceFixture;
+import proj.kedabra.billsnap.fixtures.UserFixture;
+import proj.kedabra.billsnap.presentation.resources.AccountResource;
+import proj.kedabra.billsnap.presentation.resources.BillSplitResource;
+import proj.kedabra.billsnap.presentation.resources.PaymentOwedResource;
+import proj.kedabra.billsnap.security.JwtService;
+import proj.kedabra.billsnap.utils.CacheNames;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest(properties = {
+        "spring.cache.type=redis",
+        "spring.autoconfigure.exclude=",
+        "spring.redis.host=localhost",
+        "spring.redis.port=" + BillCacheEvictorIT.REDIS_PORT
+})
+@AutoConfigureTestDatabase
+@AutoConfigureMockMvc
+class BillCacheEvictorIT {
+
+    static final int REDIS_PORT = 16379;
+
+    private static final Long SHARED_BILL_ID = 2000L;
+
+    private static final String PARTICIPANT = "user@hasbills.com";
+
+    private static final String DECLINED_PARTICIPANT = "user@withADeclinedBill.com";
+
+    private static final String OUTSIDER = "test@email.com";
+
+    private static final String JWT_HEADER = "Authorization";
+
+    private static final String JWT_PREFIX = "Bearer ";
+
+    private static RedisServer redisServer;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private BillCacheEvictor billCacheEvictor;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @BeforeAll
+    static void startRedis() {
+        redisServer = new RedisServer(REDIS_PORT);
+        redisServer.start();
+    }
+
+    @AfterAll
+    static void stopRedis() {
+        redisServer.stop();
+    }
+
+    @AfterEach
+    void flushRedis() {
+        redisConnectionFactory.getConnection().flushAll();
+    }
+
+    @Test
+    @DisplayName("Should store a bill as typed JSON with the bill time to live")
+    void shouldStoreBillAsTypedJson() {
+        // Given
+        final var bill = new BillSplitResource();
+        bill.setId(SHARED_BILL_ID);
+        bill.setName("dinner");
+        bill.setStatus(BillStatusEnum.OPEN);
+        bill.setCreated(ZonedDateTime.of(2020, 3, 14, 19, 30, 0, 0, ZoneOffset.UTC));
+        bill.setBalance(new BigDecimal("42.50"));
+        bill.setResponsible(AccountResourceFixture.getDefault());
+        final Cache billCache = cacheManager.getCache(CacheNames.BILL);
+
+        // When
+        billCache.put(SHARED_BILL_ID, bill);
+
+        // Then
+        assertThat(cacheManager).isInstanceOf(RedisCacheManager.class);
+        assertThat(billCache.get(SHARED_BILL_ID, BillSplitResource.class)).isEqualTo(bill);
+        assertThat(redisTemplate.opsForValue().get("bill::" + SHARED_BILL_ID)).startsWith("{").contains("\"name\":\"dinner\"");
+        assertThat(redisTemplate.getExpire("bill::" + SHARED_BILL_ID)).isBetween(1L, 600L);
+    }
+
+    @Test
+    @DisplayName("Should store a profile as typed JSON")
+    void shouldStoreProfileAsTypedJson() {
+        // Given
+        final AccountResource account = AccountResourceFixture.getDefault();
+        final Cache profileCache = cacheManager.getCache(CacheNames.PROFILE);
+
+        // When
+        profileCache.put(account.getEmail(), account);
+
+        // Then
+        assertThat(profileCache.get(account.getEmail(), AccountResource.class)).isEqualTo(account);
+    }
+
+    @Test
+    @DisplayName("Should evict payments and bill lists of every participant of the bill only")
+    void shouldEvictEveryParticipant() {
+        // Given
+        final Cache paymentsCache = cacheManager.getCache(CacheNames.PAYMENTS);
+        List.of(PARTICIPANT, DECLINED_PARTICIPANT, OUTSIDER).forEach(email -> paymentsCache.put(email, List.of(paymentOwed(email))));
+        final String participantGeneration = billCacheEvictor.getBillsGeneration(PARTICIPANT);
+        final String outsiderGeneration = billCacheEvictor.getBillsGeneration(OUTSIDER);
+
+        // When
+        billCacheEvictor.evictParticipants(SHARED_BILL_ID);
+
+        // Then
+        assertThat(paymentsCache.get(PARTICIPANT)).isNull();
+        assertThat(paymentsCache.get(DECLINED_PARTICIPANT)).isNull();
+        assertThat(paymentsCache.get(OUTSIDER)).isNotNull();
+        assertThat(billCacheEvictor.getBillsGeneration(PARTICIPANT)).isNotEqualTo(participantGeneration);
+        assertThat(billCacheEvictor.getBillsGeneration(OUTSIDER)).isEqualTo(outsiderGeneration);
+    }
+
+    @Test
+    @DisplayName("Should keep the same bill list generation until the account is evicted")
+    void shouldKeepBillsGenerationUntilEvicted() {
+        // Given
+        final String generation = billCacheEvictor.getBillsGeneration(PARTICIPANT);
+
+        // When
+        final String sameGeneration = billCacheEvictor.getBillsGeneration(PARTICIPANT);
+
+        // Then
+        assertThat(sameGeneration).isEqualTo(generation);
+    }
+
+    @Test
+    @DisplayName("Should evict participants from before and after the bill change")
+    void shouldEvictParticipantsAroundBillChange() {
+        // Given
+        final Cache paymentsCache = cacheManager.getCache(CacheNames.PAYMENTS);
+        paymentsCache.put(PARTICIPANT, List.of(paymentOwed(PARTICIPANT)));
+
+        // When
+        final String result = billCacheEvictor.evictParticipants(SHARED_BILL_ID, () -> "changed");
+
+        // Then
+        assertThat(result).isEqualTo("changed");
+        assertThat(paymentsCache.get(PARTICIPANT)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should check the authority of the caller before serving a cached bill")
+    void shouldCheckAuthorityBeforeServingCachedBill() throws Exception {
+        // Given
+        final var bill = new BillSplitResource();
+        bill.setId(SHARED_BILL_ID);
+        bill.setName("cached dinner");
+        bill.setStatus(BillStatusEnum.OPEN);
+        cacheManager.getCache(CacheNames.BILL).put(SHARED_BILL_ID, bill);
+        final var path = "/bills/" + SHARED_BILL_ID;
+
+        // When
+        final var participantResult = mockMvc.perform(get(path).header(JWT_HEADER, bearer(PARTICIPANT))).andExpect(status().isOk()).andReturn();
+        mockMvc.perform(get(path).header(JWT_HEADER, bearer(OUTSIDER))).andExpect(status().isForbidden());
+
+        // Then
+        assertThat(mapper.readValue(participantResult.getResponse().getContentAsString(), BillSplitResource.class).getName()).isEqualTo("cached dinner");
+    }
+
+    private String bearer(final String email) {
+        return JWT_PREFIX + jwtService.generateToken(UserFixture.getDefaultWithEmailAndPassword(email, "notEncrypted"));
+    }
+
+    private static PaymentOwedResource paymentOwed(final String email) {
+        final var paymentOwed = new PaymentOwedResource();
+        paymentOwed.setEmail(email);
+        paymentOwed.setAmount(new BigDecimal("10.00"));
+        return paymentOwed;
+    }
+}
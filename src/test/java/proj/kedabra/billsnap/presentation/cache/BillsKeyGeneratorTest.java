@@ -0,0 +1,50 @@
+package proj.kedabra.billsnap.presentation.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.mockito.Mockito.when;
+
+import java.security.Principal;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
+
+@ExtendWith(MockitoExtension.class)
+class BillsKeyGeneratorTest {
+
+    private static final String EMAIL = "test@email.com";
+
+    @Mock
+    private BillCacheEvictor billCacheEvictor;
+
+    @InjectMocks
+    private BillsKeyGenerator billsKeyGenerator;
+
+    @Test
+    @DisplayName("Should key bill lists by email, generation and filters")
+    void shouldKeyByEmailGenerationAndFilters() {
+        // Given
+        final Principal principal = () -> EMAIL;
+        when(billCacheEvictor.getBillsGeneration(EMAIL)).thenReturn("generation");
+
+        // When
+        final Object key = billsKeyGenerator.generate(new Object(), null, List.of(BillStatusEnum.OPEN), 100, null, principal);
+
+        // Then
+        assertThat(key).isEqualTo("test@email.com:generation:[OPEN]:100:null");
+    }
+
+    @Test
+    @DisplayName("Should not generate a key without the caller's principal")
+    void shouldRequirePrincipal() {
+        // When/Then
+        assertThatIllegalStateException().isThrownBy(() -> billsKeyGenerator.generate(new Object(), null, List.of(BillStatusEnum.OPEN)));
+    }
+}
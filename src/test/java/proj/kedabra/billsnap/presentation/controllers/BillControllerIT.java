@@ -29,6 +29,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -42,6 +43,7 @@ import proj.kedabra.billsnap.business.repository.BillRepository;
 import proj.kedabra.billsnap.business.service.CalculatePaymentService;
 import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
 import proj.kedabra.billsnap.business.utils.enums.InvitationStatusEnum;
+import proj.kedabra.billsnap.business.utils.enums.SplitByEnum;
 import proj.kedabra.billsnap.fixtures.AssociateBillFixture;
 import proj.kedabra.billsnap.fixtures.BillCreationResourceFixture;
 import proj.kedabra.billsnap.fixtures.EditBillResourceFixture;
@@ -51,8 +53,10 @@ import proj.kedabra.billsnap.fixtures.StartBillResourceFixture;
 import proj.kedabra.billsnap.fixtures.UserFixture;
 import proj.kedabra.billsnap.presentation.ApiError;
 import proj.kedabra.billsnap.presentation.ApiSubError;
+import proj.kedabra.billsnap.presentation.resources.AccountPercentageResource;
 import proj.kedabra.billsnap.presentation.resources.AccountResource;
 import proj.kedabra.billsnap.presentation.resources.AccountStatusResource;
+import proj.kedabra.billsnap.presentation.resources.BalanceSplitResource;
 import proj.kedabra.billsnap.presentation.resources.BillCreationResource;
 import proj.kedabra.billsnap.presentation.resources.BillResource;
 import proj.kedabra.billsnap.presentation.resources.BillSplitResource;
@@ -92,6 +96,8 @@ class BillControllerIT {
 
     private static final String BILL_START_ENDPOINT = "/bills/start";
 
+    private static final String BILL_PERCENTAGES_ENDPOINT = "/bills/%d/percentages";
+
     private static final String BILL_EDIT_ENDPOINT = "/bills/%d";
 
     private static final String JWT_HEADER = "Authorization";
@@ -1047,6 +1053,54 @@ class BillControllerIT {
         verifyBillSplitResources(createdBill, billSplitResource);
     }
 
+    @Test
+    @DisplayName("Should return 304 without body when the bill did not change since its ETag")
+    void shouldReturn304WhenBillDidNotChangeSinceETag() throws Exception {
+        // Given
+        final var email = "user@hasbills.com";
+        final var existentBillId = 2000L;
+        final var path = String.format(BILL_BILLID_ENDPOINT, existentBillId);
+        final var authorities = new ArrayList<GrantedAuthority>();
+        authorities.add(new SimpleGrantedAuthority(String.valueOf(existentBillId)));
+        final String eTag = performMvcGetRequestWithoutBearer(path, 200, email, authorities).getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        final var mvcResult = mockMvc.perform(get(path).with(user(email).authorities(authorities)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified()).andReturn();
+
+        // Then
+        assertThat(eTag).isNotBlank();
+        assertThat(mvcResult.getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+        assertThat(mvcResult.getResponse().getContentAsString()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return the bill with a new ETag once it changed")
+    void shouldReturnBillWithNewETagOnceChanged() throws Exception {
+        // Given
+        final var user = UserFixture.getDefault();
+        final var bearerToken = JWT_PREFIX + jwtService.generateToken(user);
+        final var createdBill = mapper.readValue(performMvcPostRequest(bearerToken, BILL_ENDPOINT, BillCreationResourceFixture.getDefault(), 201)
+                .getResponse().getContentAsString(), BillResource.class);
+        final var path = String.format(BILL_BILLID_ENDPOINT, createdBill.getId());
+        final var authorities = new ArrayList<GrantedAuthority>();
+        authorities.add(new SimpleGrantedAuthority(createdBill.getId().toString()));
+        authorities.add(new SimpleGrantedAuthority("RESPONSIBLE_" + createdBill.getId()));
+        final String eTag = performMvcGetRequestWithoutBearer(path, 200, user.getUsername(), authorities).getResponse().getHeader(HttpHeaders.ETAG);
+
+        final var inviteRegisteredResource = InviteRegisteredResourceFixture.getDefault();
+        inviteRegisteredResource.setAccounts(List.of("nobills@inthisemail.com"));
+        performMvcPostRequestWithoutBearer(String.format(BILL_BILLID_ACCOUNTS_ENDPOINT, createdBill.getId()), inviteRegisteredResource, 200, user.getUsername(), authorities);
+
+        // When
+        final var mvcResult = mockMvc.perform(get(path).with(user(user.getUsername()).authorities(authorities)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk()).andReturn();
+
+        // Then
+        assertThat(mvcResult.getResponse().getHeader(HttpHeaders.ETAG)).isNotBlank().isNotEqualTo(eTag);
+        assertThat(mapper.readValue(mvcResult.getResponse().getContentAsString(), BillSplitResource.class).getInformationPerAccount()).hasSize(2);
+    }
+
     @Test
     @DisplayName("Should return 404 when bill is not found with billId")
     void shouldReturn404WhenBillIsNotFoundWithBillId() throws Exception {
@@ -1597,6 +1651,71 @@ class BillControllerIT {
         assertNotNull(response.getId());
     }
 
+    @Test
+    @DisplayName("Should split the balance to the cent by percentage for a bill split by balance")
+    void shouldSplitBalanceByPercentage() throws Exception {
+        //Given bill of 25.00 with 10% tax and 5.00 tip, so a balance of 32.50
+        final var billCreationResource = BillCreationResourceFixture.getDefault();
+        billCreationResource.setSplitBy(SplitByEnum.BALANCE);
+        billCreationResource.setAccountsList(List.of("test@email.com"));
+        final var user = UserFixture.getDefault();
+        final var bearerToken = JWT_PREFIX + jwtService.generateToken(user);
+        final MvcResult creationResult = performMvcPostRequest(bearerToken, BILL_ENDPOINT, billCreationResource, 201);
+        final Long billId = mapper.readValue(creationResult.getResponse().getContentAsString(), BillResource.class).getId();
+
+        final var balanceSplitResource = new BalanceSplitResource();
+        balanceSplitResource.setAccounts(List.of(
+                getAccountPercentageResource(user.getUsername(), new BigDecimal("66.6667")),
+                getAccountPercentageResource("test@email.com", new BigDecimal("33.3333"))));
+        final var authorities = new ArrayList<GrantedAuthority>();
+        authorities.add(new SimpleGrantedAuthority("RESPONSIBLE_" + billId));
+
+        //When
+        final MvcResult result = performMvcPutRequestWithoutBearer(String.format(BILL_PERCENTAGES_ENDPOINT, billId), balanceSplitResource, 200, user.getUsername(), authorities);
+        final BillSplitResource billSplit = mapper.readValue(result.getResponse().getContentAsString(), BillSplitResource.class);
+
+        //Then
+        assertThat(billSplit.getSplitBy()).isEqualTo(SplitByEnum.BALANCE);
+        assertThat(billSplit.getBalance()).isEqualByComparingTo("32.50");
+        final var creatorInformation = billSplit.getInformationPerAccount().stream()
+                .filter(information -> information.getAccount().getEmail().equals(user.getUsername()))
+                .findFirst().orElseThrow();
+        assertThat(creatorInformation.getPercentage()).isEqualByComparingTo("66.6667");
+        assertThat(creatorInformation.getSubTotal()).isEqualByComparingTo("16.67");
+        assertThat(creatorInformation.getTaxes()).isEqualByComparingTo("1.67");
+        assertThat(creatorInformation.getTip()).isEqualByComparingTo("3.33");
+        assertThat(creatorInformation.getAmountRemaining()).isEqualByComparingTo("21.67");
+
+        final var invitee = billRepository.getBillById(billId).getAccounts().stream()
+                .filter(accountBill -> accountBill.getAccount().getEmail().equals("test@email.com"))
+                .findFirst().orElseThrow();
+        assertThat(invitee.getTotalOwed()).isEqualByComparingTo("10.83");
+    }
+
+    @Test
+    @DisplayName("Should return exception if setting balance percentages on a bill split by item")
+    void shouldReturnExceptionIfSettingBalancePercentagesOnItemSplitBill() throws Exception {
+        //Given
+        final var billId = AssociateBillFixture.getDefault().getId();
+        final var balanceSplitResource = new BalanceSplitResource();
+        balanceSplitResource.setAccounts(List.of(getAccountPercentageResource("test@email.com", BigDecimal.valueOf(100))));
+        final var authorities = new ArrayList<GrantedAuthority>();
+        authorities.add(new SimpleGrantedAuthority("RESPONSIBLE_" + billId));
+
+        //When/Then
+        final MvcResult result = performMvcPutRequestWithoutBearer(String.format(BILL_PERCENTAGES_ENDPOINT, billId), balanceSplitResource, 405, "test@email.com", authorities);
+        final ApiError apiError = mapper.readValue(result.getResponse().getContentAsString(), ApiError.class);
+
+        assertThat(apiError.getMessage()).isEqualTo(ErrorMessageEnum.WRONG_SPLIT_TYPE.getMessage(SplitByEnum.BALANCE.toString()));
+    }
+
+    private static AccountPercentageResource getAccountPercentageResource(final String email, final BigDecimal percentage) {
+        final var accountPercentageResource = new AccountPercentageResource();
+        accountPercentageResource.setEmail(email);
+        accountPercentageResource.setPercentage(percentage);
+        return accountPercentageResource;
+    }
+
     private MvcResult performMvcGetRequest(String bearerToken, String path, int resultCode) throws Exception {
         return mockMvc.perform(get(path).header(JWT_HEADER, bearerToken))
                 .andExpect(status().is(resultCode)).andReturn();
@@ -0,0 +1,200 @@
+package proj.kedabra.billsnap.presentation.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import proj.kedabra.billsnap.fixtures.BillCreationResourceFixture;
+import proj.kedabra.billsnap.fixtures.TaxResourceFixture;
+import proj.kedabra.billsnap.fixtures.UserFixture;
+import proj.kedabra.billsnap.presentation.resources.AssociateBillResource;
+import proj.kedabra.billsnap.presentation.resources.BillResource;
+import proj.kedabra.billsnap.presentation.resources.EditBillResource;
+import proj.kedabra.billsnap.presentation.resources.ItemAssociationResource;
+import proj.kedabra.billsnap.presentation.resources.ItemPercentageResource;
+import proj.kedabra.billsnap.presentation.resources.ItemResource;
+import proj.kedabra.billsnap.security.JwtService;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+/**
+ * Not transactional: item and association changes only move the version of their bill when the transaction commits,
+ * so the ETags are read after each request committed. The bills created here are deleted after each test.
+ */
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class BillETagIT {
+
+    private static final String BILL_ENDPOINT = "/bills";
+
+    private static final String BILL_BILLID_ENDPOINT = "/bills/%d";
+
+    private static final String JWT_HEADER = "Authorization";
+
+    private static final String JWT_PREFIX = "Bearer ";
+
+    private static final String BILL_NAME = "etag bill";
+
+    private static final String CREATOR_EMAIL = "test@email.com";
+
+    private static final String NO_BILLS_EMAIL = "nobills@inthisemail.com";
+
+    private static final String CREATED_BILL_IDS = "SELECT id FROM bill WHERE name = '" + BILL_NAME + "'";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM items_vs_accounts WHERE item_id IN (SELECT id FROM item WHERE bill_id IN (" + CREATED_BILL_IDS + "))");
+        jdbcTemplate.update("DELETE FROM item WHERE bill_id IN (" + CREATED_BILL_IDS + ")");
+        jdbcTemplate.update("DELETE FROM tax WHERE bill_id IN (" + CREATED_BILL_IDS + ")");
+        jdbcTemplate.update("DELETE FROM bills_vs_accounts WHERE bill_id IN (" + CREATED_BILL_IDS + ")");
+        jdbcTemplate.update("DELETE FROM bill WHERE name = '" + BILL_NAME + "'");
+    }
+
+    @Test
+    @DisplayName("Should return 304 for the bills of a user without any bill")
+    void shouldReturn304ForBillsOfUserWithoutBills() throws Exception {
+        // Given
+        final MvcResult result = mockMvc.perform(get(BILL_ENDPOINT).header(JWT_HEADER, bearer(NO_BILLS_EMAIL))).andExpect(status().isOk()).andReturn();
+        final String eTag = result.getResponse().getHeader(HttpHeaders.ETAG);
+
+        // When
+        final MvcResult mvcResult = mockMvc.perform(get(BILL_ENDPOINT).header(JWT_HEADER, bearer(NO_BILLS_EMAIL)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified()).andReturn();
+
+        // Then
+        assertThat(eTag).isEqualTo("\"0-0-0-0\"");
+        assertThat(mvcResult.getResponse().getContentAsString()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should return the bills with a new ETag once the user has a new bill")
+    void shouldReturnBillsWithNewETagOnceBillAdded() throws Exception {
+        // Given
+        final String eTag = mockMvc.perform(get(BILL_ENDPOINT).header(JWT_HEADER, bearer(NO_BILLS_EMAIL))).andExpect(status().isOk()).andReturn()
+                .getResponse().getHeader(HttpHeaders.ETAG);
+        createBill(NO_BILLS_EMAIL);
+
+        // When
+        final MvcResult mvcResult = mockMvc.perform(get(BILL_ENDPOINT).header(JWT_HEADER, bearer(NO_BILLS_EMAIL)).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk()).andReturn();
+
+        // Then
+        assertThat(mvcResult.getResponse().getHeader(HttpHeaders.ETAG)).isNotBlank().isNotEqualTo(eTag);
+    }
+
+    @Test
+    @DisplayName("Should return the bill with a new ETag once its items were edited")
+    void shouldReturnBillWithNewETagOnceItemsEdited() throws Exception {
+        // Given
+        final BillResource bill = createBill(CREATOR_EMAIL);
+        final String eTag = getBillETag(bill);
+
+        final var item = new ItemResource();
+        item.setId(bill.getItems().get(0).getId());
+        item.setName(bill.getItems().get(0).getName());
+        item.setCost(BigDecimal.valueOf(30));
+        final var editBillResource = new EditBillResource();
+        editBillResource.setName(bill.getName());
+        editBillResource.setResponsible(CREATOR_EMAIL);
+        editBillResource.setCompany(bill.getCompany());
+        editBillResource.setCategory(bill.getCategory());
+        editBillResource.setTipAmount(BigDecimal.valueOf(5));
+        editBillResource.setItems(List.of(item));
+        editBillResource.setTaxes(List.of(TaxResourceFixture.getDefault()));
+        mockMvc.perform(put(String.format(BILL_BILLID_ENDPOINT, bill.getId())).header(JWT_HEADER, bearer(CREATOR_EMAIL))
+                .contentType(MediaType.APPLICATION_JSON_VALUE).content(mapper.writeValueAsString(editBillResource)))
+                .andExpect(status().isOk());
+
+        // When
+        final MvcResult mvcResult = performConditionalBillGet(bill, eTag);
+
+        // Then
+        assertThat(mvcResult.getResponse().getHeader(HttpHeaders.ETAG)).isNotBlank().isNotEqualTo(eTag);
+    }
+
+    @Test
+    @DisplayName("Should return the bill with a new ETag once its items were associated to accounts")
+    void shouldReturnBillWithNewETagOnceItemsAssociated() throws Exception {
+        // Given
+        final BillResource bill = createBill(CREATOR_EMAIL);
+        final String eTag = getBillETag(bill);
+
+        final var itemPercentageResource = new ItemPercentageResource();
+        itemPercentageResource.setItemId(bill.getItems().get(0).getId());
+        itemPercentageResource.setPercentage(BigDecimal.valueOf(100));
+        final var itemAssociationResource = new ItemAssociationResource();
+        itemAssociationResource.setEmail(CREATOR_EMAIL);
+        itemAssociationResource.setItems(List.of(itemPercentageResource));
+        final var associateBillResource = new AssociateBillResource();
+        associateBillResource.setId(bill.getId());
+        associateBillResource.setItemsPerAccount(List.of(itemAssociationResource));
+        mockMvc.perform(put(BILL_ENDPOINT).header(JWT_HEADER, bearer(CREATOR_EMAIL))
+                .contentType(MediaType.APPLICATION_JSON_VALUE).content(mapper.writeValueAsString(associateBillResource)))
+                .andExpect(status().isOk());
+
+        // When
+        final MvcResult mvcResult = performConditionalBillGet(bill, eTag);
+
+        // Then
+        assertThat(mvcResult.getResponse().getHeader(HttpHeaders.ETAG)).isNotBlank().isNotEqualTo(eTag);
+    }
+
+    private BillResource createBill(final String email) throws Exception {
+        final var billCreationResource = BillCreationResourceFixture.getDefault();
+        billCreationResource.setName(BILL_NAME);
+        final MvcResult result = mockMvc.perform(post(BILL_ENDPOINT).header(JWT_HEADER, bearer(email))
+                .contentType(MediaType.APPLICATION_JSON_VALUE).content(mapper.writeValueAsString(billCreationResource)))
+                .andExpect(status().isCreated()).andReturn();
+        return mapper.readValue(result.getResponse().getContentAsString(), BillResource.class);
+    }
+
+    private String getBillETag(final BillResource bill) throws Exception {
+        return mockMvc.perform(get(String.format(BILL_BILLID_ENDPOINT, bill.getId())).header(JWT_HEADER, bearer(CREATOR_EMAIL)))
+                .andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private MvcResult performConditionalBillGet(final BillResource bill, final String eTag) throws Exception {
+        return mockMvc.perform(get(String.format(BILL_BILLID_ENDPOINT, bill.getId())).header(JWT_HEADER, bearer(CREATOR_EMAIL))
+                .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk()).andReturn();
+    }
+
+    private String bearer(final String email) {
+        return JWT_PREFIX + jwtService.generateToken(UserFixture.getDefaultWithEmailAndPassword(email, "notEncrypted"));
+    }
+}
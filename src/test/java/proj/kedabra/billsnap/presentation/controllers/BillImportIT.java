@@ -0,0 +1,183 @@
+package proj.kedabra.billsnap.presentation.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.repository.BillRepository;
+import proj.kedabra.billsnap.business.service.BillService;
+import proj.kedabra.billsnap.fixtures.UserFixture;
+import proj.kedabra.billsnap.presentation.imports.BillImportReader;
+import proj.kedabra.billsnap.presentation.resources.BillImportErrorResource;
+import proj.kedabra.billsnap.presentation.resources.BillImportReportResource;
+import proj.kedabra.billsnap.security.JwtService;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+/**
+ * Not transactional, so that every batch commits on its own and a failing one is created again bill by bill, as in
+ * production. The imported bills are deleted after each test.
+ */
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest(properties = "bills.import.batch-size=2")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class BillImportIT {
+
+    private static final String IMPORT_ENDPOINT = "/bills/import";
+
+    private static final String JWT_HEADER = "Authorization";
+
+    private static final String JWT_PREFIX = "Bearer ";
+
+    private static final String CREATOR_EMAIL = "test@email.com";
+
+    private static final String IMPORTED_BILL_IDS = "SELECT id FROM bill WHERE name LIKE 'imported%'";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private BillService billService;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM items_vs_accounts WHERE item_id IN (SELECT id FROM item WHERE bill_id IN (" + IMPORTED_BILL_IDS + "))");
+        jdbcTemplate.update("DELETE FROM item WHERE bill_id IN (" + IMPORTED_BILL_IDS + ")");
+        jdbcTemplate.update("DELETE FROM tax WHERE bill_id IN (" + IMPORTED_BILL_IDS + ")");
+        jdbcTemplate.update("DELETE FROM notifications WHERE bill_id IN (" + IMPORTED_BILL_IDS + ")");
+        jdbcTemplate.update("DELETE FROM bills_vs_accounts WHERE bill_id IN (" + IMPORTED_BILL_IDS + ")");
+        jdbcTemplate.update("DELETE FROM bill WHERE name LIKE 'imported%'");
+        jdbcTemplate.update("DELETE FROM outbox WHERE subject LIKE '%imported%'");
+    }
+
+    @Test
+    @DisplayName("Should import the valid NDJSON bills and report the others by row")
+    void shouldImportNdjsonBills() throws Exception {
+        //Given
+        final String upload = String.join("\n",
+                "{\"name\":\"imported1\",\"items\":[{\"name\":\"pizza\",\"cost\":20}],\"accountsList\":[\"nobills@inthisemail.com\"],\"taxes\":[],\"tipAmount\":2}",
+                "{\"name\":\"\",\"items\":[],\"accountsList\":[],\"taxes\":[],\"tipAmount\":2}",
+                "{\"name\":\"imported3\",\"items\":[],\"accountsList\":[\"ghost@nowhere.com\"],\"taxes\":[],\"tipAmount\":2}",
+                "{\"name\":\"imported4\",\"items\":[{\"name\":\"wine\",\"cost\":30}],\"accountsList\":[],\"taxes\":[{\"name\":\"TPS\",\"percentage\":5}],\"tipPercent\":15}",
+                "{\"name\":\"imported5\",\"items\":\"oops\",\"accountsList\":[],\"taxes\":[],\"tipAmount\":2}",
+                "{\"name\":\"imported6\",\"items\":[],\"accountsList\":[],\"taxes\":[],\"tipAmount\":0}");
+
+        //When
+        final BillImportReportResource report = importBills(upload, BillImportReader.NDJSON_VALUE);
+
+        //Then
+        assertThat(report.getImported()).isEqualTo(3);
+        assertThat(report.getErrors()).extracting(BillImportErrorResource::getRow).containsExactly(2L, 3L, 5L);
+        assertThat(report.getErrors().get(1).getMessage()).isEqualTo(ErrorMessageEnum.LIST_ACCOUNT_DOES_NOT_EXIST.getMessage(List.of("ghost@nowhere.com").toString()));
+        assertThat(importedBillNames()).containsExactlyInAnyOrder("imported1", "imported4", "imported6");
+    }
+
+    @Test
+    @DisplayName("Should import the bills of a CSV upload")
+    void shouldImportCsvBills() throws Exception {
+        //Given
+        final String upload = String.join("\n",
+                "name,category,company,tipAmount,tipPercent,splitBy,accounts,items,taxes",
+                "importedCsv1,food,,5,,,nobills@inthisemail.com,pizza=20.50;wine=30,TPS=5;TVQ=9.975",
+                "importedCsv2,,,,10,,,salad=12,",
+                "importedCsv3,,,1,,,,salad,");
+
+        //When
+        final BillImportReportResource report = importBills(upload, BillImportReader.CSV_VALUE);
+
+        //Then
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(BillImportErrorResource::getRow).containsExactly(3L);
+        assertThat(importedBillNames()).containsExactlyInAnyOrder("importedCsv1", "importedCsv2");
+    }
+
+    @Test
+    @DisplayName("Should commit each batch and create a failed batch again bill by bill")
+    void shouldRetryFailedBatchBillByBill() throws Exception {
+        //Given
+        doThrow(new IllegalStateException("rejected")).when(billService)
+                .createBillToAccount(argThat(bill -> bill != null && "importedBatch2".equals(bill.getName())), any(), anyList());
+        final String upload = String.join("\n",
+                "{\"name\":\"importedBatch1\",\"items\":[{\"name\":\"pizza\",\"cost\":20}],\"accountsList\":[],\"taxes\":[],\"tipAmount\":2}",
+                "{\"name\":\"importedBatch2\",\"items\":[{\"name\":\"salad\",\"cost\":12}],\"accountsList\":[],\"taxes\":[],\"tipAmount\":2}",
+                "{\"name\":\"importedBatch3\",\"items\":[{\"name\":\"wine\",\"cost\":30}],\"accountsList\":[],\"taxes\":[],\"tipAmount\":2}");
+
+        //When
+        final BillImportReportResource report = importBills(upload, BillImportReader.NDJSON_VALUE);
+
+        //Then
+        assertThat(report.getImported()).isEqualTo(2);
+        assertThat(report.getErrors()).extracting(BillImportErrorResource::getRow, BillImportErrorResource::getMessage)
+                .containsExactly(tuple(2L, "rejected"));
+        //the first bill was rolled back with its batch, then created once on its own
+        assertThat(importedBillNames()).containsExactlyInAnyOrder("importedBatch1", "importedBatch3");
+        verify(billService, times(2)).createBillToAccount(argThat(bill -> bill != null && "importedBatch1".equals(bill.getName())), any(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should return 415 for an upload that is neither NDJSON nor CSV")
+    void shouldReturn415ForUnsupportedUpload() throws Exception {
+        //Given
+        final var bearerToken = JWT_PREFIX + jwtService.generateToken(UserFixture.getDefaultWithEmailAndPassword(CREATOR_EMAIL, "password"));
+
+        //When/Then
+        mockMvc.perform(post(IMPORT_ENDPOINT).header(JWT_HEADER, bearerToken).contentType(MediaType.APPLICATION_XML).content("<bills/>"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    private BillImportReportResource importBills(final String upload, final String contentType) throws Exception {
+        final var bearerToken = JWT_PREFIX + jwtService.generateToken(UserFixture.getDefaultWithEmailAndPassword(CREATOR_EMAIL, "password"));
+        final var result = mockMvc.perform(post(IMPORT_ENDPOINT).header(JWT_HEADER, bearerToken).contentType(contentType).content(upload))
+                .andExpect(status().isOk())
+                .andReturn();
+        return mapper.readValue(result.getResponse().getContentAsString(), BillImportReportResource.class);
+    }
+
+    private List<String> importedBillNames() {
+        return StreamSupport.stream(billRepository.findAll().spliterator(), false)
+                .map(Bill::getName)
+                .filter(name -> name != null && name.startsWith("imported"))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,141 @@
+package proj.kedabra.billsnap.presentation.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import proj.kedabra.billsnap.business.event.BillEvent;
+import proj.kedabra.billsnap.business.model.entities.Bill;
+import proj.kedabra.billsnap.business.utils.enums.BillEventTypeEnum;
+import proj.kedabra.billsnap.config.EventStreamProperties;
+import proj.kedabra.billsnap.fixtures.UserFixture;
+import proj.kedabra.billsnap.presentation.ApiError;
+import proj.kedabra.billsnap.security.JwtService;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class EventControllerIT {
+
+    private static final String JWT_HEADER = "Authorization";
+
+    private static final String JWT_PREFIX = "Bearer ";
+
+    private static final String EVENTS_ENDPOINT = "/events";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private EventStreamProperties eventStreamProperties;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Test
+    @DisplayName("Should stream the bill events published for the account")
+    void shouldStreamBillEventsOfAccount() throws Exception {
+        //Given
+        final var user = UserFixture.getDefault();
+        final var bearerToken = JWT_PREFIX + jwtService.generateToken(user);
+        final var bill = new Bill();
+        bill.setId(1000L);
+        bill.setName("streamed bill");
+
+        //When
+        final var result = mockMvc.perform(get(EVENTS_ENDPOINT).header(JWT_HEADER, bearerToken).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        eventPublisher.publishEvent(new BillEvent(BillEventTypeEnum.BILL_UPDATED, bill, List.of(user.getUsername())));
+        eventPublisher.publishEvent(new BillEvent(BillEventTypeEnum.INVITATION, bill, List.of("someone@else.com")));
+
+        //Then
+        final String content = awaitContent(result.getResponse(), "event:bill-updated");
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(content).contains("\"billId\":1000").contains("\"billName\":\"streamed bill\"").doesNotContain("event:invitation");
+    }
+
+    @Test
+    @DisplayName("Should ask to resync when resuming from an unknown Last-Event-ID")
+    void shouldResyncFromUnknownLastEventId() throws Exception {
+        //Given
+        final var user = UserFixture.getDefault();
+        final var bearerToken = JWT_PREFIX + jwtService.generateToken(user);
+
+        //When
+        final var result = mockMvc.perform(get(EVENTS_ENDPOINT).header(JWT_HEADER, bearerToken).header("Last-Event-ID", "unknown")
+                .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //Then
+        assertThat(awaitContent(result.getResponse(), "event:resync")).contains("event:resync");
+    }
+
+    @Test
+    @DisplayName("Should return 401 when subscribing without a token")
+    void shouldReturn401WithoutToken() throws Exception {
+        //When/Then
+        mockMvc.perform(get(EVENTS_ENDPOINT).accept(MediaType.TEXT_EVENT_STREAM)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Should return 429 when the account already has the maximum event streams open")
+    void shouldReturn429WithTooManyConnections() throws Exception {
+        //Given
+        final var user = UserFixture.getDefaultWithEmailAndPassword("nobills@inthisemail.com", "notEncrypted");
+        final var bearerToken = JWT_PREFIX + jwtService.generateToken(user);
+        final int maxConnections = eventStreamProperties.getMaxConnectionsPerAccount();
+        for (int i = 0; i < maxConnections; i++) {
+            mockMvc.perform(get(EVENTS_ENDPOINT).header(JWT_HEADER, bearerToken).accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted());
+        }
+
+        //When
+        final var result = mockMvc.perform(get(EVENTS_ENDPOINT).header(JWT_HEADER, bearerToken).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isTooManyRequests())
+                .andReturn();
+
+        //Then
+        final ApiError error = mapper.readValue(result.getResponse().getContentAsString(), ApiError.class);
+        assertThat(error.getMessage()).isEqualTo(ErrorMessageEnum.TOO_MANY_EVENT_CONNECTIONS.getMessage(String.valueOf(maxConnections)));
+    }
+
+    private static String awaitContent(final MockHttpServletResponse response, final String expected) throws Exception {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+}
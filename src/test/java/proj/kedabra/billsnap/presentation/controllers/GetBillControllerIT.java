@@ -1,9 +1,13 @@
 package proj.kedabra.billsnap.presentation.controllers;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.util.List;
@@ -30,8 +34,10 @@ import proj.kedabra.billsnap.fixtures.UserFixture;
 import proj.kedabra.billsnap.presentation.ApiError;
 import proj.kedabra.billsnap.presentation.resources.BillResource;
 import proj.kedabra.billsnap.presentation.resources.BillSplitResource;
+import proj.kedabra.billsnap.presentation.resources.ShortBillPageResource;
 import proj.kedabra.billsnap.presentation.resources.ShortBillResource;
 import proj.kedabra.billsnap.security.JwtService;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
 import proj.kedabra.billsnap.utils.SpringProfiles;
 
 @Tag("integration")
@@ -44,6 +50,8 @@ class GetBillControllerIT {
 
     private static final String BILL_ENDPOINT = "/bills";
 
+    private static final String EXPORT_ENDPOINT = "/bills/export";
+
     private static final String JWT_HEADER = "Authorization";
 
     private static final String JWT_PREFIX = "Bearer ";
@@ -180,6 +188,91 @@ class GetBillControllerIT {
         assertThat(response.get(0).getName()).isEqualTo("bill pagination 5");
     }
 
+    @Test
+    @DisplayName("Should return bills page by page when paginated by cursor")
+    void shouldReturnBillsPageByPageWhenPaginatedByCursor() throws Exception {
+        //Given
+        final var user = UserFixture.getDefaultWithEmailAndPassword("billPagination@email.com", "notEncrypted");
+        final var bearerToken = JWT_PREFIX + jwtService.generateToken(user);
+        final var path = "/bills?pagination=cursor&statuses=OPEN&start=2019-01-01&end=2020-01-01&page_size=1&category=restaurant&sort_by=CREATED&order_by=ASC";
+
+        //When
+        final ShortBillPageResource firstPage = mapper.readValue(performMvcGetRequest(bearerToken, 200, path).getResponse().getContentAsString(), ShortBillPageResource.class);
+        final ShortBillPageResource secondPage = mapper.readValue(performMvcGetRequest(bearerToken, 200, path + "&cursor=" + firstPage.getNextCursor()).getResponse().getContentAsString(), ShortBillPageResource.class);
+        final ShortBillPageResource lastPage = mapper.readValue(performMvcGetRequest(bearerToken, 200, path + "&cursor=" + secondPage.getNextCursor()).getResponse().getContentAsString(), ShortBillPageResource.class);
+
+        //Then
+        assertThat(firstPage.getBills()).hasSize(1);
+        assertThat(secondPage.getBills()).hasSize(1);
+        assertThat(List.of(firstPage.getBills().get(0).getName(), secondPage.getBills().get(0).getName())).containsExactlyInAnyOrder("bill pagination 2", "bill pagination 4");
+        assertThat(lastPage.getBills()).isEmpty();
+        assertThat(lastPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should return 400 when the cursor is not valid")
+    void shouldReturn400WhenCursorIsNotValid() throws Exception {
+        //Given
+        final var user = UserFixture.getDefaultWithEmailAndPassword("billPagination@email.com", "notEncrypted");
+        final var bearerToken = JWT_PREFIX + jwtService.generateToken(user);
+
+        //When
+        final MvcResult result = performMvcGetRequest(bearerToken, 400, "/bills?pagination=cursor&cursor=invalid");
+
+        //Then
+        final ApiError error = mapper.readValue(result.getResponse().getContentAsString(), ApiError.class);
+        assertThat(error.getMessage()).isEqualTo(ErrorMessageEnum.INVALID_CURSOR.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should stream the split of every bill as NDJSON, oldest first")
+    void shouldExportBillsAsNdjson() throws Exception {
+        //Given
+        final var user = UserFixture.getDefaultWithEmailAndPassword("billPagination@email.com", "notEncrypted");
+        final var bearerToken = JWT_PREFIX + jwtService.generateToken(user);
+        final var path = EXPORT_ENDPOINT + "?start=2019-01-01&end=2020-01-01&category=restaurant";
+
+        //When
+        final MvcResult result = performMvcExportRequest(bearerToken, path);
+
+        //Then
+        assertThat(result.getResponse().getContentType()).startsWith("application/x-ndjson");
+        final List<BillSplitResource> bills = mapper.readerFor(BillSplitResource.class)
+                .<BillSplitResource>readValues(result.getResponse().getContentAsString())
+                .readAll();
+        assertThat(bills).extracting(BillSplitResource::getName).containsExactly("bill pagination 2", "bill pagination 3", "bill pagination 4");
+    }
+
+    @Test
+    @DisplayName("Should stream a CSV summary of every bill with a header")
+    void shouldExportBillsAsCsv() throws Exception {
+        //Given
+        final var user = UserFixture.getDefaultWithEmailAndPassword("billPagination@email.com", "notEncrypted");
+        final var bearerToken = JWT_PREFIX + jwtService.generateToken(user);
+        final var path = EXPORT_ENDPOINT + "?start=2019-01-01&end=2020-01-01&category=restaurant&format=CSV";
+
+        //When
+        final MvcResult result = performMvcExportRequest(bearerToken, path);
+
+        //Then
+        assertThat(result.getResponse().getContentType()).startsWith("text/csv");
+        final String[] lines = result.getResponse().getContentAsString().split("\n");
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).startsWith("id,name,status,category,company,created,responsible");
+        assertThat(lines[1]).startsWith("1301,").contains("bill pagination 2", "OPEN", "restaurant");
+        assertThat(lines[3]).startsWith("1303,");
+    }
+
+    private MvcResult performMvcExportRequest(final String bearerToken, final String path) throws Exception {
+        final MvcResult started = mockMvc.perform(get(path).header(JWT_HEADER, bearerToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", startsWith("attachment")))
+                .andReturn();
+    }
+
     private MvcResult performMvcGetRequest(final String bearerToken, final int resultCode, final String status) throws Exception {
         return mockMvc.perform(get(status).header(JWT_HEADER, bearerToken))
                 .andExpect(status().is(resultCode)).andReturn();
@@ -0,0 +1,109 @@
+package proj.kedabra.billsnap.presentation.controllers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import javax.transaction.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import proj.kedabra.billsnap.fixtures.UserFixture;
+import proj.kedabra.billsnap.presentation.ApiError;
+import proj.kedabra.billsnap.presentation.resources.GroupCreationResource;
+import proj.kedabra.billsnap.presentation.resources.GroupMemberResource;
+import proj.kedabra.billsnap.presentation.resources.GroupResource;
+import proj.kedabra.billsnap.security.JwtService;
+import proj.kedabra.billsnap.utils.ErrorMessageEnum;
+import proj.kedabra.billsnap.utils.SpringProfiles;
+
+@Tag("integration")
+@ActiveProfiles(SpringProfiles.TEST)
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@Transactional
+class GroupControllerIT {
+
+    private static final String GROUPS_ENDPOINT = "/groups";
+
+    private static final String JWT_HEADER = "Authorization";
+
+    private static final String JWT_PREFIX = "Bearer ";
+
+    private static final String ADMIN_EMAIL = "test@email.com";
+
+    private static final String MEMBER_EMAIL = "nobills@inthisemail.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    @DisplayName("Should create a group and return it to its members only")
+    void shouldCreateGroupAndReturnItToMembers() throws Exception {
+        //Given
+        final var groupCreationResource = new GroupCreationResource();
+        groupCreationResource.setName("roommates");
+        groupCreationResource.setAccounts(List.of(MEMBER_EMAIL));
+
+        //When
+        final var created = mockMvc.perform(post(GROUPS_ENDPOINT).header(JWT_HEADER, bearerToken(ADMIN_EMAIL))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(groupCreationResource)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        final GroupResource group = mapper.readValue(created.getResponse().getContentAsString(), GroupResource.class);
+
+        //Then
+        assertThat(group.getName()).isEqualTo("roommates");
+        assertThat(group.getMembers()).extracting(GroupMemberResource::getEmail).containsExactlyInAnyOrder(ADMIN_EMAIL, MEMBER_EMAIL);
+
+        mockMvc.perform(get(GROUPS_ENDPOINT + "/" + group.getId()).header(JWT_HEADER, bearerToken(MEMBER_EMAIL)))
+                .andExpect(status().isOk());
+        final var forbidden = mockMvc.perform(get(GROUPS_ENDPOINT + "/" + group.getId()).header(JWT_HEADER, bearerToken("user@user.com")))
+                .andExpect(status().isForbidden())
+                .andReturn();
+        final ApiError error = mapper.readValue(forbidden.getResponse().getContentAsString(), ApiError.class);
+        assertThat(error.getMessage()).isEqualTo(ErrorMessageEnum.ACCOUNT_IS_NOT_IN_GROUP.getMessage());
+        mockMvc.perform(delete(GROUPS_ENDPOINT + "/" + group.getId()).header(JWT_HEADER, bearerToken(MEMBER_EMAIL)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a group without name")
+    void shouldReturn400ForGroupWithoutName() throws Exception {
+        //Given
+        final var groupCreationResource = new GroupCreationResource();
+        groupCreationResource.setAccounts(List.of(MEMBER_EMAIL));
+
+        //When/Then
+        mockMvc.perform(post(GROUPS_ENDPOINT).header(JWT_HEADER, bearerToken(ADMIN_EMAIL))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(mapper.writeValueAsString(groupCreationResource)))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String bearerToken(final String email) {
+        return JWT_PREFIX + jwtService.generateToken(UserFixture.getDefaultWithEmailAndPassword(email, "password"));
+    }
+}
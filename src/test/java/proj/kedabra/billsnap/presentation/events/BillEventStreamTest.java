@@ -0,0 +1,363 @@
+package proj.kedabra.billsnap.presentation.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.validation.Validation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import proj.kedabra.billsnap.business.event.BillEvent;
+import proj.kedabra.billsnap.business.exception.TooManyConnectionsException;
+import proj.kedabra.billsnap.business.utils.enums.BillEventTypeEnum;
+import proj.kedabra.billsnap.config.EventStreamProperties;
+import proj.kedabra.billsnap.fixtures.BillEntityFixture;
+import proj.kedabra.billsnap.presentation.resources.BillEventResource;
+
+@ExtendWith(MockitoExtension.class)
+class BillEventStreamTest {
+
+    private static final String EMAIL = "listener@email.com";
+
+    private static final String OTHER_EMAIL = "other@email.com";
+
+    @Mock
+    private ThreadPoolExecutor executor;
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+
+    private EventStreamProperties properties;
+
+    private BillEventStream billEventStream;
+
+    @BeforeEach
+    void setUp() {
+        //events are delivered on the calling thread
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any());
+        properties = new EventStreamProperties();
+        properties.setReplaySize(4);
+        properties.setConnectionQueueSize(2);
+        billEventStream = new BillEventStream(properties, executor, scheduler);
+    }
+
+    @Test
+    @DisplayName("Should push a committed bill event to the connections of its recipients only")
+    void shouldPushEventToRecipientsOnly() {
+        //Given
+        final var listener = new RecordingEmitter();
+        final var other = new RecordingEmitter();
+        billEventStream.register(EMAIL, listener, null);
+        billEventStream.register(OTHER_EMAIL, other, null);
+        final var bill = BillEntityFixture.getDefault();
+
+        //When
+        billEventStream.onBillEvent(new BillEvent(BillEventTypeEnum.INVITATION, bill, List.of(EMAIL)));
+
+        //Then
+        assertThat(listener.getEventNames()).containsExactly("invitation");
+        final BillEventResource resource = listener.getResources().get(0);
+        assertThat(resource.getType()).isEqualTo(BillEventTypeEnum.INVITATION);
+        assertThat(resource.getBillId()).isEqualTo(bill.getId());
+        assertThat(resource.getBillName()).isEqualTo(bill.getName());
+        assertThat(other.getEventNames()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replay the account's events after the Last-Event-ID on reconnection")
+    void shouldReplayEventsAfterLastEventId() {
+        //Given
+        final var first = new RecordingEmitter();
+        billEventStream.register(EMAIL, first, null);
+        billEventStream.publish(List.of(EMAIL), resource(1L));
+        final String lastEventId = first.getIds().get(0);
+        billEventStream.publish(List.of(OTHER_EMAIL), resource(2L));
+        billEventStream.publish(List.of(EMAIL, OTHER_EMAIL), resource(3L));
+
+        //When
+        final var reconnected = new RecordingEmitter();
+        billEventStream.register(EMAIL, reconnected, lastEventId);
+
+        //Then
+        assertThat(reconnected.getResources()).extracting(BillEventResource::getBillId).containsExactly(3L);
+        assertThat(reconnected.getIds()).allSatisfy(id -> assertThat(Long.parseLong(id)).isGreaterThan(Long.parseLong(lastEventId)));
+    }
+
+    @Test
+    @DisplayName("Should ask to resync when the Last-Event-ID is no longer in the replay buffer")
+    void shouldResyncWhenLastEventIdIsTooOld() {
+        //Given
+        final var first = new RecordingEmitter();
+        billEventStream.register(EMAIL, first, null);
+        billEventStream.publish(List.of(EMAIL), resource(1L));
+        final String lastEventId = first.getIds().get(0);
+        for (long billId = 2; billId <= properties.getReplaySize() + 2; billId++) {
+            billEventStream.publish(List.of(EMAIL), resource(billId));
+        }
+
+        //When
+        final var reconnected = new RecordingEmitter();
+        billEventStream.register(EMAIL, reconnected, lastEventId);
+
+        //Then
+        assertThat(reconnected.getEventNames()).containsExactly(BillEventStream.RESYNC);
+    }
+
+    @Test
+    @DisplayName("Should ask to resync when the Last-Event-ID was not issued by this instance")
+    void shouldResyncWhenLastEventIdIsUnknown() {
+        //When
+        final var reconnected = new RecordingEmitter();
+        billEventStream.register(EMAIL, reconnected, "42");
+
+        //Then
+        assertThat(reconnected.getEventNames()).containsExactly(BillEventStream.RESYNC);
+    }
+
+    @Test
+    @DisplayName("Should disconnect a client whose queue is full without holding up the others")
+    void shouldDisconnectSlowClient() throws Exception {
+        //Given
+        final var stream = new BillEventStream(properties, BillEventStream.newDeliveryExecutor(2), Executors.newSingleThreadScheduledExecutor());
+        final var slow = new RecordingEmitter();
+        slow.release = new CountDownLatch(1);
+        final var fast = new RecordingEmitter();
+        stream.register(EMAIL, slow, null);
+        stream.register(EMAIL, fast, null);
+        final int events = properties.getConnectionQueueSize() + 2;
+
+        try {
+            //When
+            for (int sent = 1; sent <= events; sent++) {
+                stream.publish(List.of(EMAIL), resource((long) sent));
+                final int received = sent;
+                awaitCondition(() -> fast.getResources().size() == received);
+            }
+
+            //Then
+            awaitCondition(() -> stream.getConnectionCount(EMAIL) == 1);
+            assertThat(fast.getResources()).hasSize(events);
+            assertThat(slow.completed).isFalse();
+            slow.release.countDown();
+            awaitCondition(() -> slow.completed);
+        } finally {
+            slow.release.countDown();
+            stream.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should drop the clients stuck in a write and keep delivering to the others with more stuck clients than threads")
+    void shouldDropStalledClients() throws Exception {
+        //Given
+        properties.setWriteTimeout(Duration.ofMillis(100));
+        final int deliveryThreads = 2;
+        final var stream = new BillEventStream(properties, BillEventStream.newDeliveryExecutor(deliveryThreads), Executors.newSingleThreadScheduledExecutor());
+        final var release = new CountDownLatch(1);
+        final List<RecordingEmitter> stalled = IntStream.range(0, deliveryThreads + 1).mapToObj(i -> {
+            final var emitter = new RecordingEmitter();
+            emitter.release = release;
+            stream.register(OTHER_EMAIL, emitter, null);
+            return emitter;
+        }).collect(Collectors.toList());
+        final var fast = new RecordingEmitter();
+        stream.register(EMAIL, fast, null);
+
+        try {
+            //When
+            for (int sent = 1; sent <= 3; sent++) {
+                stream.publish(List.of(EMAIL, OTHER_EMAIL), resource((long) sent));
+                final int received = sent;
+                awaitCondition(() -> fast.getResources().size() == received);
+            }
+
+            //Then
+            awaitCondition(() -> stream.getConnectionCount(OTHER_EMAIL) == 0);
+            assertThat(stream.getConnectionCount(EMAIL)).isEqualTo(1);
+            assertThat(stream.getDeliveryThreads()).isEqualTo(deliveryThreads + stalled.size());
+            release.countDown();
+            awaitCondition(() -> stalled.stream().allMatch(emitter -> emitter.completed));
+            awaitCondition(() -> stream.getDeliveryThreads() == deliveryThreads);
+        } finally {
+            release.countDown();
+            stream.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should not start more delivery threads than the maximum in place of the threads stuck in a write")
+    void shouldNotReplaceStalledThreadsPastMaximum() throws Exception {
+        //Given
+        properties.setWriteTimeout(Duration.ofMillis(100));
+        final int deliveryThreads = 2;
+        properties.setMaxDeliveryThreads(deliveryThreads + 1);
+        final var stream = new BillEventStream(properties, BillEventStream.newDeliveryExecutor(deliveryThreads), Executors.newSingleThreadScheduledExecutor());
+        final var release = new CountDownLatch(1);
+        final List<RecordingEmitter> stalled = IntStream.range(0, deliveryThreads + 1).mapToObj(i -> {
+            final var emitter = new RecordingEmitter();
+            emitter.release = release;
+            stream.register(i == 0 ? EMAIL : OTHER_EMAIL, emitter, null);
+            return emitter;
+        }).collect(Collectors.toList());
+
+        try {
+            //When
+            stream.publish(List.of(EMAIL, OTHER_EMAIL), resource(1L));
+
+            //Then
+            awaitCondition(() -> stream.getConnectionCount(EMAIL) + stream.getConnectionCount(OTHER_EMAIL) == 0);
+            assertThat(stream.getDeliveryThreads()).isEqualTo(properties.getMaxDeliveryThreads());
+            release.countDown();
+            awaitCondition(() -> stalled.stream().allMatch(emitter -> emitter.completed));
+            awaitCondition(() -> stream.getDeliveryThreads() == deliveryThreads);
+        } finally {
+            release.countDown();
+            stream.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a connection once the account has the maximum connections open")
+    void shouldRejectConnectionsPastMaximum() {
+        //Given
+        properties.setMaxConnectionsPerAccount(2);
+        billEventStream.register(EMAIL, new RecordingEmitter(), null);
+        billEventStream.register(EMAIL, new RecordingEmitter(), null);
+
+        //When/Then
+        assertThatThrownBy(() -> billEventStream.register(EMAIL, new RecordingEmitter(), null))
+                .isInstanceOf(TooManyConnectionsException.class)
+                .hasMessage("The account already has 2 event streams open, close one before opening another.");
+        billEventStream.register(OTHER_EMAIL, new RecordingEmitter(), null);
+        assertThat(billEventStream.getConnectionCount(EMAIL)).isEqualTo(2);
+        assertThat(billEventStream.getConnectionCount(OTHER_EMAIL)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reject an empty replay buffer")
+    void shouldRejectEmptyReplayBuffer() {
+        //Given
+        properties.setReplaySize(0);
+
+        //When/Then
+        assertThat(Validation.buildDefaultValidatorFactory().getValidator().validate(properties))
+                .extracting(violation -> violation.getPropertyPath().toString())
+                .containsExactly("replaySize");
+    }
+
+    @Test
+    @DisplayName("Should send a heartbeat comment to every connection")
+    void shouldSendHeartbeats() {
+        //Given
+        final var listener = new RecordingEmitter();
+        billEventStream.register(EMAIL, listener, null);
+
+        //When
+        billEventStream.sendHeartbeats();
+
+        //Then
+        assertThat(listener.getText()).contains(":heartbeat");
+    }
+
+    private static void awaitCondition(final BooleanSupplier condition) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static BillEventResource resource(final Long billId) {
+        final var resource = new BillEventResource();
+        resource.setType(BillEventTypeEnum.BILL_UPDATED);
+        resource.setBillId(billId);
+        resource.setBillName("bill" + billId);
+        return resource;
+    }
+
+    /**
+     * Records the events sent instead of writing them to a response. An emitter with a release latch blocks on its
+     * first event until released, as the write to a client that stopped reading would, so that the next ones queue up.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<Set<DataWithMediaType>> events = new CopyOnWriteArrayList<>();
+
+        private volatile CountDownLatch release;
+
+        private volatile boolean completed;
+
+        @Override
+        public void send(final SseEventBuilder builder) throws IOException {
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+            events.add(builder.build());
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed = true;
+        }
+
+        private String getText() {
+            return events.stream()
+                    .flatMap(Set::stream)
+                    .map(DataWithMediaType::getData)
+                    .filter(String.class::isInstance)
+                    .map(String.class::cast)
+                    .collect(Collectors.joining());
+        }
+
+        private List<String> getIds() {
+            return getFields("id:");
+        }
+
+        private List<String> getEventNames() {
+            return getFields("event:");
+        }
+
+        private List<String> getFields(final String field) {
+            return getText().lines().filter(line -> line.startsWith(field)).map(line -> line.substring(field.length())).collect(Collectors.toList());
+        }
+
+        private List<BillEventResource> getResources() {
+            return events.stream()
+                    .flatMap(Set::stream)
+                    .map(DataWithMediaType::getData)
+                    .filter(BillEventResource.class::isInstance)
+                    .map(BillEventResource.class::cast)
+                    .collect(Collectors.toList());
+        }
+    }
+}
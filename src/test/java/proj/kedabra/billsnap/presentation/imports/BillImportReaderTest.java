@@ -0,0 +1,130 @@
+package proj.kedabra.billsnap.presentation.imports;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import javax.validation.Validation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+
+import proj.kedabra.billsnap.business.dto.BillDTO;
+import proj.kedabra.billsnap.business.dto.BillImportDTO;
+import proj.kedabra.billsnap.business.dto.BillImportErrorDTO;
+import proj.kedabra.billsnap.business.mapper.BillMapper;
+import proj.kedabra.billsnap.presentation.resources.BillCreationResource;
+
+@ExtendWith(MockitoExtension.class)
+class BillImportReaderTest {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType(BillImportReader.NDJSON_VALUE);
+
+    private static final MediaType CSV = MediaType.parseMediaType(BillImportReader.CSV_VALUE);
+
+    @Mock
+    private BillMapper billMapper;
+
+    private BillImportReader billImportReader;
+
+    @BeforeEach
+    void setUp() {
+        billImportReader = new BillImportReader(new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(), billMapper);
+        when(billMapper.toBillDTO(any())).thenAnswer(invocation -> {
+            final BillCreationResource resource = invocation.getArgument(0);
+            final var billDTO = new BillDTO();
+            billDTO.setName(resource.getName());
+            billDTO.setAccountsList(resource.getAccountsList());
+            billDTO.setTipAmount(resource.getTipAmount());
+            return billDTO;
+        });
+    }
+
+    @Test
+    @DisplayName("Should read the valid NDJSON rows and report the others by row")
+    void shouldReadNdjsonRows() throws Exception {
+        //Given
+        final String upload = String.join("\n",
+                bill("first"),
+                "{\"name\":\"\",\"items\":[],\"accountsList\":[],\"taxes\":[],\"tipAmount\":1}",
+                "{\"name\":\"wrong items\",\"items\":\"none\",\"accountsList\":[],\"taxes\":[],\"tipAmount\":1}",
+                bill("second"));
+        final List<BillImportErrorDTO> errors = new ArrayList<>();
+
+        //When
+        final List<BillImportDTO> bills = toList(billImportReader.read(toStream(upload), NDJSON, errors));
+
+        //Then
+        assertThat(bills).extracting(BillImportDTO::getRow).containsExactly(1L, 4L);
+        assertThat(bills).extracting(bill -> bill.getBill().getName()).containsExactly("first", "second");
+        assertThat(errors).extracting(BillImportErrorDTO::getRow).containsExactly(2L, 3L);
+        assertThat(errors.get(0).getMessage()).startsWith("name: ");
+        assertThat(errors.get(1).getMessage()).startsWith("The bill could not be read");
+    }
+
+    @Test
+    @DisplayName("Should stop reading at a row that is not JSON")
+    void shouldStopAtUnparseableRow() throws Exception {
+        //Given
+        final String upload = String.join("\n", bill("first"), "{\"name\": oops", bill("never read"));
+        final List<BillImportErrorDTO> errors = new ArrayList<>();
+
+        //When
+        final List<BillImportDTO> bills = toList(billImportReader.read(toStream(upload), NDJSON, errors));
+
+        //Then
+        assertThat(bills).extracting(bill -> bill.getBill().getName()).containsExactly("first");
+        assertThat(errors).hasSize(1);
+        assertThat(errors.get(0).getRow()).isEqualTo(2L);
+        assertThat(errors.get(0).getMessage()).startsWith("The upload could not be read from this row on");
+    }
+
+    @Test
+    @DisplayName("Should read CSV rows with their packed invitees, items and taxes")
+    void shouldReadCsvRows() throws Exception {
+        //Given
+        final String upload = String.join("\n",
+                "name,category,company,tipAmount,tipPercent,splitBy,accounts,items,taxes",
+                "dinner,food,,5.00,,item,a@email.com; b@email.com,pizza=20.50;wine=30,TPS=5",
+                "broken,,,1,,,,pizza,",
+                "lunch,,,1,,,,salad=12,");
+        final List<BillImportErrorDTO> errors = new ArrayList<>();
+
+        //When
+        final List<BillImportDTO> bills = toList(billImportReader.read(toStream(upload), CSV, errors));
+
+        //Then
+        assertThat(bills).extracting(bill -> bill.getBill().getName()).containsExactly("dinner", "lunch");
+        assertThat(bills.get(0).getBill().getAccountsList()).containsExactly("a@email.com", "b@email.com");
+        assertThat(bills.get(0).getBill().getTipAmount()).isEqualByComparingTo(new BigDecimal("5.00"));
+        assertThat(errors).extracting(BillImportErrorDTO::getRow).containsExactly(2L);
+        assertThat(errors.get(0).getMessage()).contains("items").contains("pizza");
+    }
+
+    private static String bill(final String name) {
+        return "{\"name\":\"" + name + "\",\"items\":[{\"name\":\"item\",\"cost\":10}],\"accountsList\":[],\"taxes\":[],\"tipAmount\":1}";
+    }
+
+    private static ByteArrayInputStream toStream(final String upload) {
+        return new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static List<BillImportDTO> toList(final Iterator<BillImportDTO> bills) {
+        final List<BillImportDTO> list = new ArrayList<>();
+        bills.forEachRemaining(list::add);
+        return list;
+    }
+}
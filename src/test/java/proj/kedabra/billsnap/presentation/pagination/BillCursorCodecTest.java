@@ -0,0 +1,59 @@
+package proj.kedabra.billsnap.presentation.pagination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import proj.kedabra.billsnap.business.dto.BillCursorDTO;
+import proj.kedabra.billsnap.business.utils.enums.BillStatusEnum;
+
+class BillCursorCodecTest {
+
+    private final BillCursorCodec billCursorCodec = new BillCursorCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    @DisplayName("Should decode the cursor it encoded")
+    void shouldDecodeEncodedCursor() {
+        // Given
+        final var cursor = new BillCursorDTO();
+        cursor.setCreated(ZonedDateTime.of(2020, 5, 1, 12, 30, 15, 123456000, ZoneOffset.ofHours(-4)));
+        cursor.setStatus(BillStatusEnum.IN_PROGRESS);
+        cursor.setCategory("restaurant");
+        cursor.setName("dinner");
+        cursor.setId(1000L);
+
+        // When
+        final String encoded = billCursorCodec.encode(cursor);
+        final BillCursorDTO decoded = billCursorCodec.decode(encoded);
+
+        // Then
+        assertThat(encoded).doesNotContain("restaurant").matches("[A-Za-z0-9_-]+");
+        assertThat(decoded.getCreated()).isEqualTo(cursor.getCreated().withZoneSameInstant(decoded.getCreated().getZone()));
+        assertThat(decoded).isEqualToIgnoringGivenFields(cursor, "created");
+    }
+
+    @Test
+    @DisplayName("Should have no cursor before the first page and after the last one")
+    void shouldHaveNoCursorAtEitherEnd() {
+        // When/Then
+        assertThat(billCursorCodec.encode(null)).isNull();
+        assertThat(billCursorCodec.decode(null)).isNull();
+        assertThat(billCursorCodec.decode("")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should refuse a cursor it did not encode")
+    void shouldRefuseForgedCursor() {
+        // When/Then
+        assertThatIllegalArgumentException().isThrownBy(() -> billCursorCodec.decode("not a cursor!"));
+        assertThatIllegalArgumentException().isThrownBy(() -> billCursorCodec.decode("bm90IGpzb24"));
+    }
+}
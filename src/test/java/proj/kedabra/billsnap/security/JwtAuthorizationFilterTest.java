@@ -6,6 +6,8 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.List;
+
 import javax.servlet.FilterChain;
 import javax.servlet.http.HttpServletResponse;
 
@@ -19,14 +21,14 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.SignatureException;
 
-import proj.kedabra.billsnap.business.service.impl.UserDetailsServiceImpl;
+import proj.kedabra.billsnap.business.service.BillAuthorityService;
 import proj.kedabra.billsnap.fixtures.UserFixture;
 
 class JwtAuthorizationFilterTest {
@@ -43,7 +45,7 @@ class JwtAuthorizationFilterTest {
     private AuthenticationManager authenticationManager;
 
     @Mock
-    private UserDetailsService userDetailsService;
+    private BillAuthorityService billAuthorityService;
 
     private static final String TOKEN_PREFIX = "Bearer ";
 
@@ -61,7 +63,7 @@ class JwtAuthorizationFilterTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.initMocks(this);
-        filter = new JwtAuthorizationFilter(authenticationManager, jwtService, userDetailsService);
+        filter = new JwtAuthorizationFilter(authenticationManager, jwtService, billAuthorityService);
         SecurityContextHolder.setContext(securityContext);
     }
 
@@ -75,7 +77,7 @@ class JwtAuthorizationFilterTest {
 
         User defaultUser = UserFixture.getDefault();
         when(jwtService.getJwtUsername(any())).thenReturn(defaultUser.getUsername());
-        when(userDetailsService.loadUserByUsername(any())).thenReturn(defaultUser);
+        when(billAuthorityService.getAuthorities(any())).thenReturn(List.copyOf(defaultUser.getAuthorities()));
 
         final String testToken = TOKEN_PREFIX + "test-token";
         req.addHeader("Authorization", testToken);
@@ -188,4 +190,23 @@ class JwtAuthorizationFilterTest {
 
         //Then
         verify(securityContext, never()).setAuthentication(any());}
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Request to private API with the token of an account that no longer exists should not set Authentication to SecurityContext")
+    void RequestToPrivateAPIWithTokenOfNonexistentAccountShouldReturnError() throws Exception {
+        //Given
+        MockHttpServletRequest req = new MockHttpServletRequest();
+        HttpServletResponse resp = mock(HttpServletResponse.class);
+        FilterChain filterChain = mock(FilterChain.class);
+        req.addHeader("Authorization", TOKEN_PREFIX + "test-token");
+
+        when(jwtService.getJwtUsername(any())).thenReturn("deleted@user.com");
+        when(billAuthorityService.getAuthorities(any())).thenThrow(UsernameNotFoundException.class);
+
+        //When
+        filter.doFilterInternal(req, resp, filterChain);
+
+        //Then
+        verify(securityContext, never()).setAuthentication(any());
+    }
+}
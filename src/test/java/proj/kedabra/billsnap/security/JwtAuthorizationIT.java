@@ -166,4 +166,20 @@ class JwtAuthorizationIT {
         assertEquals(0, error.getErrors().size());
     }
 
+    @Test
+    @DisplayName("Request to private API with the token of an account that does not exist should return error")
+    void RequestToPrivateAPIWithTokenOfNonexistentAccountShouldReturnError() throws Exception {
+        //Given
+        User nonexistentUser = UserFixture.getDefaultWithEmailAndPassword("nonexistent@email.com", "somepass");
+        String token = TOKEN_PREFIX + jwtService.generateToken(nonexistentUser);
+
+        //When/Then
+        MvcResult result = mockMvc.perform(get(PRIVATE_ENDPOINT).header("Authorization", token)).andExpect(status().isUnauthorized()).andReturn();
+        String content = result.getResponse().getContentAsString();
+        ApiError error = mapper.readValue(content, ApiError.class);
+
+        assertEquals(ACCESS_UNAUTHORIZED, error.getMessage());
+        assertEquals(0, error.getErrors().size());
+    }
+
 }
@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.core.GrantedAuthority;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwsHeader;
 
 import proj.kedabra.billsnap.fixtures.AccountResourceFixture;
@@ -97,4 +98,36 @@ class JwtServiceTest {
         assertEquals("JWT", jwtHeaders.getType());
         assertEquals("HS512", jwtHeaders.getAlgorithm());
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should return the cached claims when the same token is parsed twice")
+    void shouldReturnCachedClaimsForSameToken() {
+        //Given
+        final String token = jwtService.generateToken(UserFixture.getDefault());
+        final Claims claims = jwtService.getJwtClaims(token);
+
+        //When
+        final Claims cachedClaims = jwtService.getJwtClaims("Bearer " + token);
+
+        //Then
+        assertThat(cachedClaims).isSameAs(claims);
+    }
+
+    @Test
+    @DisplayName("Should verify the token again once its claims are evicted from the cache")
+    void shouldParseTokenAgainWhenEvictedFromCache() {
+        //Given
+        final var singleEntryJwtService = new JwtService(mapper, JWT_SECRET, JWT_EXP, 1);
+        final String token = singleEntryJwtService.generateToken(UserFixture.getDefault());
+        final String otherToken = new JwtService(mapper, JWT_SECRET, JWT_EXP + 1000).generateToken(UserFixture.getDefault());
+        final Claims claims = singleEntryJwtService.getJwtClaims(token);
+
+        //When
+        singleEntryJwtService.getJwtClaims(otherToken);
+        final Claims reparsedClaims = singleEntryJwtService.getJwtClaims(token);
+
+        //Then
+        assertThat(reparsedClaims).isNotSameAs(claims);
+        assertThat(reparsedClaims.getSubject()).isEqualTo(claims.getSubject());
+    }
+}
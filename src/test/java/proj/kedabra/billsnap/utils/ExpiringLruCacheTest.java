@@ -0,0 +1,86 @@
+package proj.kedabra.billsnap.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ExpiringLruCacheTest {
+
+    private static final long NOW = 1_000_000L;
+
+    private final Clock clock = Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("Should return a value that has not expired")
+    void shouldReturnLiveValue() {
+        // Given
+        final var cache = new ExpiringLruCache<String, String>(10, clock);
+        cache.put("key", "value", NOW + 1);
+
+        // When
+        final String value = cache.get("key");
+
+        // Then
+        assertThat(value).isEqualTo("value");
+    }
+
+    @Test
+    @DisplayName("Should not return a value past its expiry")
+    void shouldNotReturnExpiredValue() {
+        // Given
+        final var earlierClock = Clock.offset(clock, Duration.ofMillis(-10));
+        final var cache = new ExpiringLruCache<String, String>(10, earlierClock);
+        cache.put("key", "value", NOW);
+        final var laterCache = new ExpiringLruCache<String, String>(10, clock);
+        laterCache.put("key", "value", NOW);
+
+        // When
+        final String value = laterCache.get("key");
+
+        // Then
+        assertThat(cache.get("key")).isEqualTo("value");
+        assertThat(value).isNull();
+        assertThat(laterCache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop the least recently used entry once full")
+    void shouldEvictLeastRecentlyUsedEntry() {
+        // Given
+        final var cache = new ExpiringLruCache<String, String>(2, clock);
+        cache.put("first", "1", NOW + 100);
+        cache.put("second", "2", NOW + 100);
+        cache.get("first");
+
+        // When
+        cache.put("third", "3", NOW + 100);
+
+        // Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get("first")).isEqualTo("1");
+        assertThat(cache.get("second")).isNull();
+        assertThat(cache.get("third")).isEqualTo("3");
+    }
+
+    @Test
+    @DisplayName("Should only remap entries that are present")
+    void shouldOnlyRemapPresentEntries() {
+        // Given
+        final var cache = new ExpiringLruCache<String, String>(10, clock);
+        cache.put("key", "value", NOW + 100);
+
+        // When
+        cache.computeIfPresent("key", value -> value + "-updated");
+        cache.computeIfPresent("absent", value -> value + "-updated");
+
+        // Then
+        assertThat(cache.get("key")).isEqualTo("value-updated");
+        assertThat(cache.get("absent")).isNull();
+    }
+}